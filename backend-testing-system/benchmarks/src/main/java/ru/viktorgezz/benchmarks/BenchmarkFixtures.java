@@ -0,0 +1,126 @@
+package ru.viktorgezz.benchmarks;
+
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.question.Type;
+import ru.viktorgezz.testing_system.domain.result.dto.ResultRequestDto;
+import ru.viktorgezz.testing_system.domain.test.Status;
+import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.user.Role;
+import ru.viktorgezz.testing_system.domain.user.User;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Синтетические тесты для бенчмарков. Повторяет форму тестовых помощников
+ * {@code GeneratorRandom}/{@code CreationModel}, но генератор случайных чисел фиксирован сидом,
+ * чтобы каждый запуск работал с одинаковыми данными.
+ */
+public final class BenchmarkFixtures {
+
+    public static final long SEED = 20_240_901L;
+
+    private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final String[] QUESTION_TEXT = {"Question1 text", "Question2 text", "Question3 text", "Question4 text"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Создает тест с заданным числом вопросов и вариантов ответа на вопрос вместе с отправкой ответов.
+     * Треть вопросов MULTIPLE_CHOICE с частичным зачетом, треть SINGLE_CHOICE, треть OPEN_TEXT.
+     */
+    public static TestFixture createTestFixture(int countQuestions, int countAnswerOptions) {
+        Random random = new Random(SEED);
+        long idNext = 1;
+
+        TestModel test = new TestModel("Test " + getRandomString(random, 14), getRandomString(random, 40), Status.PUBLIC,
+                new User("User" + getRandomString(random, 10), "password1", Role.USER));
+        test.setId(idNext++);
+
+        List<Question> questions = new ArrayList<>(countQuestions);
+        Map<Long, List<AnswerOption>> idQuestionToAnswerOptions = new HashMap<>();
+        Map<Long, ResultRequestDto.UserAnswerRequestDto> idQuestionToUserAnswer = new HashMap<>();
+
+        for (int i = 0; i < countQuestions; i++) {
+            Type type = switch (i % 3) {
+                case 0 -> Type.MULTIPLE_CHOICE;
+                case 1 -> Type.SINGLE_CHOICE;
+                default -> Type.OPEN_TEXT;
+            };
+            Question question = createQuestion(random, type, test);
+            question.setId(idNext++);
+            questions.add(question);
+
+            if (type == Type.OPEN_TEXT) {
+                question.setCorrectTextAnswers(List.of("Ответ " + i, " answer " + i + " "));
+                String written = random.nextBoolean() ? "  ОТВЕТ " + i : getRandomString(random, 8);
+                idQuestionToUserAnswer.put(question.getId(), new ResultRequestDto.UserAnswerRequestDto(written, List.of()));
+                continue;
+            }
+
+            List<AnswerOption> answerOptions = new ArrayList<>(countAnswerOptions);
+            List<Long> idsSelected = new ArrayList<>();
+            int ordinalCorrect = random.nextInt(countAnswerOptions);
+            for (int j = 0; j < countAnswerOptions; j++) {
+                boolean isCorrect = type == Type.SINGLE_CHOICE
+                        ? j == ordinalCorrect
+                        : j == ordinalCorrect || random.nextInt(3) == 0;
+                AnswerOption answerOption = new AnswerOption(getRandomString(random, 12), isCorrect, null, question, new ArrayList<>());
+                answerOption.setId(idNext++);
+                answerOptions.add(answerOption);
+                if (type == Type.SINGLE_CHOICE ? j == ordinalCorrect && random.nextBoolean() : random.nextInt(3) == 0) {
+                    idsSelected.add(answerOption.getId());
+                }
+            }
+            idQuestionToAnswerOptions.put(question.getId(), answerOptions);
+            idQuestionToUserAnswer.put(question.getId(), new ResultRequestDto.UserAnswerRequestDto("", idsSelected));
+        }
+
+        test.setQuestions(questions);
+        test.setScoreMax(questions.stream().map(Question::getPoint).reduce(BigDecimal.ZERO, BigDecimal::add));
+
+        return new TestFixture(test, questions, idQuestionToAnswerOptions, idQuestionToUserAnswer);
+    }
+
+    private static Question createQuestion(Random random, Type type, TestModel test) {
+        Question question = new Question(
+                QUESTION_TEXT[random.nextInt(QUESTION_TEXT.length)] + " " + getRandomString(random, 14),
+                type
+        );
+        question.setPoint(BigDecimal.valueOf(random.nextInt(10) + 1).setScale(2));
+        question.setAllowMistakes(type == Type.MULTIPLE_CHOICE);
+        question.setTest(test);
+        return question;
+    }
+
+    private static String getRandomString(Random random, int length) {
+        return random.ints(length, 0, CHARACTERS.length())
+                .mapToObj(CHARACTERS::charAt)
+                .map(Object::toString)
+                .collect(Collectors.joining());
+    }
+
+    /**
+     * Синтетический тест с содержимым и отправленными ответами.
+     */
+    public record TestFixture(
+            TestModel test,
+            List<Question> questions,
+            Map<Long, List<AnswerOption>> idQuestionToAnswerOptions,
+            Map<Long, ResultRequestDto.UserAnswerRequestDto> idQuestionToUserAnswer
+    ) {
+
+        public Map<Long, Question> idQuestionToQuestion() {
+            return questions.stream().collect(Collectors.toMap(Question::getId, question -> question));
+        }
+
+        public Map<Long, AnswerOption> idAnswerOptionToAnswerOption() {
+            return idQuestionToAnswerOptions.values().stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toMap(AnswerOption::getId, answerOption -> answerOption));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.viktorgezz.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Точка входа {@code benchmarks.jar}. Запускает бенчмарки модуля с GC-профайлером
+ * (аллокации на операцию: {@code gc.alloc.rate.norm}) и сохраняет отчет в JSON.
+ * <p>
+ * Принимает стандартные аргументы JMH, например:
+ * {@code java -jar benchmarks/target/benchmarks.jar ScoringBenchmark -p countQuestions=1000 -rff jmh-scoring.json}
+ * </p>
+ * <p>
+ * Без явного выбора бенчмарков запускаются только те, которым не нужна БД.
+ * </p>
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULT_FILE_DEFAULT = "jmh-result.json";
+    private static final String INCLUDE_DEFAULT = "ru\\.viktorgezz\\.benchmarks\\..*";
+    private static final String EXCLUDE_DEFAULT = String.join(
+            "|",
+            SubmissionInsertBenchmark.class.getSimpleName(),
+            CatalogPageBenchmark.class.getSimpleName()
+    );
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        ChainedOptionsBuilder optionsBuilder = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(commandLineOptions.getResult().orElse(RESULT_FILE_DEFAULT));
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            optionsBuilder.include(INCLUDE_DEFAULT).exclude(EXCLUDE_DEFAULT);
+        }
+
+        run(optionsBuilder);
+    }
+
+    private static void run(ChainedOptionsBuilder optionsBuilder) throws RunnerException {
+        new Runner(optionsBuilder.build()).run();
+    }
+}
@@ -0,0 +1,255 @@
+package ru.viktorgezz.benchmarks;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.data.jpa.repository.Query;
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.item_stats.AnswerOptionStats;
+import ru.viktorgezz.testing_system.domain.item_stats.QuestionStats;
+import ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic.TestTopic;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.result.AttemptSummary;
+import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.test.Status;
+import ru.viktorgezz.testing_system.domain.test.TestMapper;
+import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataResponseDto;
+import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
+import ru.viktorgezz.testing_system.domain.topic.Topic;
+import ru.viktorgezz.testing_system.domain.user.Role;
+import ru.viktorgezz.testing_system.domain.user.User;
+import ru.viktorgezz.testing_system.domain.user.UserProfile;
+import ru.viktorgezz.testing_system.domain.user_answer.UserAnswer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Бенчмарк загрузки страницы каталога тестов по ID страницы.
+ * <ul>
+ *     <li>{@code PROJECTION} — путь каталога в приложении: конструктор-проекция {@code TestRepo.findMetadataByIds}
+ *     прямо в {@link TestMetadataResponseDto} с темами одной колонкой {@code array_agg},
+ *     затем порядок ID страницы, как в {@code TestQueryServiceImpl}</li>
+ *     <li>{@code ENTITY} — базовая линия: {@code multiLoad} сущностей {@link TestModel} с маппингами приложения
+ *     (кеш второго уровня, {@link UserProfile}, пачки связей с темами) и {@link TestMapper#toDto(TestModel)}</li>
+ * </ul>
+ * Проекция берется из {@code @Query} метода {@link TestRepo}, поэтому измеряется тот же HQL, что в приложении.
+ * Кеш второго уровня заполняется на прогреве, в замерах {@code ENTITY} читает из него.
+ * Одна операция — одна страница: счетчик {@code rows} дает строки в секунду, {@code gc.alloc.rate.norm} — байты на страницу.
+ * <p>
+ * Нужен доступный PostgreSQL, подключение задается системными свойствами
+ * {@code benchmark.jdbc.url}, {@code benchmark.jdbc.username}, {@code benchmark.jdbc.password}.
+ * Таблицы создаются в отдельной схеме {@code bench_catalog}, которая удаляется после прогона.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class CatalogPageBenchmark {
+
+    private static final String URL_DEFAULT = "jdbc:postgresql://localhost:5432/testing_system";
+    private static final String SCHEMA = "bench_catalog";
+
+    private static final int COUNT_AUTHORS = 100;
+    private static final int COUNT_TOPICS = 50;
+    private static final int TOPICS_PER_TEST = 3;
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            User.class, UserProfile.class, TestModel.class, Topic.class, TestTopic.class, Question.class,
+            AnswerOption.class, Result.class, UserAnswer.class, AttemptSummary.class,
+            QuestionStats.class, AnswerOptionStats.class
+    );
+
+    public enum Loading {
+        ENTITY,
+        PROJECTION
+    }
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"ENTITY", "PROJECTION"})
+    private Loading loading;
+
+    @Param({"10000"})
+    private int countTests;
+
+    private SessionFactory sessionFactory;
+    private String hqlProjection;
+    private List<Long> idsTest;
+    private Random random;
+
+    /**
+     * Число загруженных строк каталога, суммируется за итерацию.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        executeOnDatabase("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE; CREATE SCHEMA " + SCHEMA);
+
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setURL(System.getProperty("benchmark.jdbc.url", URL_DEFAULT));
+        dataSource.setUser(System.getProperty("benchmark.jdbc.username", "postgres"));
+        dataSource.setPassword(System.getProperty("benchmark.jdbc.password", "postgres"));
+        dataSource.setCurrentSchema(SCHEMA);
+
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("hibernate.connection.datasource", dataSource);
+        settings.put("hibernate.hbm2ddl.auto", "create");
+        settings.put("hibernate.jdbc.batch_size", 50);
+        settings.put("hibernate.order_inserts", true);
+        settings.put("hibernate.default_batch_fetch_size", 50);
+        settings.put("hibernate.cache.use_second_level_cache", true);
+        settings.put("hibernate.cache.region.factory_class", "jcache");
+        settings.put("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+        settings.put("hibernate.javax.cache.missing_cache_strategy", "create");
+        MetadataSources sources = new MetadataSources(new StandardServiceRegistryBuilder().applySettings(settings).build());
+        ENTITIES.forEach(sources::addAnnotatedClass);
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+
+        hqlProjection = queryOf("findMetadataByIds", Collection.class);
+        random = new Random(BenchmarkFixtures.SEED);
+        idsTest = seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        sessionFactory.close();
+        executeOnDatabase("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Benchmark
+    public List<TestMetadataResponseDto> loadPage(Rows rows) {
+        int countPages = idsTest.size() / pageSize;
+        int offset = random.nextInt(countPages) * pageSize;
+        List<Long> idsPage = idsTest.subList(offset, offset + pageSize);
+
+        List<TestMetadataResponseDto> page = sessionFactory.fromTransaction(session -> switch (loading) {
+            case ENTITY -> loadPageEntity(session, idsPage);
+            case PROJECTION -> loadPageProjection(session, idsPage);
+        });
+        rows.rows += page.size();
+        return page;
+    }
+
+    /**
+     * Как {@code TestQueryServiceImpl.loadByIds}: одна проекция, затем порядок ID страницы.
+     */
+    private List<TestMetadataResponseDto> loadPageProjection(Session session, List<Long> idsPage) {
+        Map<Long, TestMetadataResponseDto> idToTest = session
+                .createSelectionQuery(hqlProjection, TestMetadataResponseDto.class)
+                .setParameterList("ids", idsPage)
+                .getResultList()
+                .stream()
+                .collect(Collectors.toMap(TestMetadataResponseDto::id, Function.identity()));
+        return idsPage.stream()
+                .map(idToTest::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Тесты страницы по ключу, чтобы работал кеш второго уровня; автор и темы догружаются маппером
+     * из кеша или пачками по {@code default_batch_fetch_size}.
+     */
+    private static List<TestMetadataResponseDto> loadPageEntity(Session session, List<Long> idsPage) {
+        return session.byMultipleIds(TestModel.class)
+                .enableOrderedReturn(true)
+                .multiLoad(idsPage)
+                .stream()
+                .filter(Objects::nonNull)
+                .map(TestMapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Авторы, темы и публичные тесты с {@link #TOPICS_PER_TEST} темами каждый.
+     *
+     * @return ID тестов по убыванию, как в каталоге по умолчанию
+     */
+    private List<Long> seed() {
+        return sessionFactory.fromStatelessTransaction(session -> {
+            List<User> authors = new ArrayList<>(COUNT_AUTHORS);
+            for (int i = 0; i < COUNT_AUTHORS; i++) {
+                User author = new User("author_" + i, "password", Role.USER);
+                session.insert(author);
+                authors.add(author);
+            }
+            List<Topic> topics = new ArrayList<>(COUNT_TOPICS);
+            for (int i = 0; i < COUNT_TOPICS; i++) {
+                Topic topic = new Topic("topic " + i);
+                session.insert(topic);
+                topics.add(topic);
+            }
+
+            List<Long> ids = new ArrayList<>(countTests);
+            for (int i = 0; i < countTests; i++) {
+                TestModel test = new TestModel(
+                        "Test " + i,
+                        "Description of test " + i,
+                        Status.PUBLIC,
+                        authors.get(random.nextInt(COUNT_AUTHORS))
+                );
+                session.insert(test);
+                ids.add(test.getId());
+                insertLinks(session, test, topics);
+            }
+            return ids.reversed();
+        });
+    }
+
+    private void insertLinks(StatelessSession session, TestModel test, List<Topic> topics) {
+        int indexFirst = random.nextInt(COUNT_TOPICS);
+        for (int i = 0; i < TOPICS_PER_TEST; i++) {
+            TestTopic link = new TestTopic();
+            link.setTest(test);
+            link.setTopic(topics.get((indexFirst + i) % COUNT_TOPICS));
+            session.insert(link);
+        }
+    }
+
+    private static String queryOf(String method, Class<?> parameterType) throws NoSuchMethodException {
+        return TestRepo.class.getMethod(method, parameterType).getAnnotation(Query.class).value();
+    }
+
+    private static void executeOnDatabase(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", URL_DEFAULT),
+                System.getProperty("benchmark.jdbc.username", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "postgres"));
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
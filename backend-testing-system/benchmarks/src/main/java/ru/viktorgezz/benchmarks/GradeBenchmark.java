@@ -0,0 +1,58 @@
+package ru.viktorgezz.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.viktorgezz.testing_system.domain.result.Grade;
+import ru.viktorgezz.testing_system.domain.result.service.util.ScoringPlan;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link Grade#calculateGrade}: вариант на {@link BigDecimal} и на масштабированных long.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GradeBenchmark {
+
+    private static final int COUNT_SCORES = 1024;
+
+    private final BigDecimal[] scores = new BigDecimal[COUNT_SCORES];
+    private final BigDecimal[] scoresMax = new BigDecimal[COUNT_SCORES];
+    private final long[] scoresScaled = new long[COUNT_SCORES];
+    private final long[] scoresMaxScaled = new long[COUNT_SCORES];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkFixtures.SEED);
+        for (int i = 0; i < COUNT_SCORES; i++) {
+            long scoreMaxScaled = 100L + random.nextInt(500_000);
+            long scoreScaled = (long) (random.nextDouble() * scoreMaxScaled);
+            scoresMax[i] = BigDecimal.valueOf(scoreMaxScaled, ScoringPlan.POINT_SCALE);
+            scores[i] = BigDecimal.valueOf(scoreScaled, ScoringPlan.POINT_SCALE);
+            scoresMaxScaled[i] = scoreMaxScaled;
+            scoresScaled[i] = scoreScaled;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT_SCORES)
+    public void calculateGradeBigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < COUNT_SCORES; i++) {
+            blackhole.consume(Grade.calculateGrade(scores[i], scoresMax[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT_SCORES)
+    public void calculateGradeScaled(Blackhole blackhole) {
+        for (int i = 0; i < COUNT_SCORES; i++) {
+            blackhole.consume(Grade.calculateGrade(scoresScaled[i], scoresMaxScaled[i]));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.viktorgezz.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.test.dto.TestToPassDto;
+import ru.viktorgezz.testing_system.domain.util.GroupingUtil;
+import ru.viktorgezz.testing_system.domain.util.TextAnswerMatcher;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки сборки DTO из {@link GroupingUtil}: тест для прохождения
+ * и ответы пользователя для страницы результата.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GroupingBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int countQuestions;
+
+    @Param({"2", "5", "20"})
+    private int countAnswerOptions;
+
+    private BenchmarkFixtures.TestFixture fixture;
+    private Map<Long, Set<Long>> idQuestionToIdsSelected;
+    private Map<Long, String> idQuestionToTextAnswer;
+    private Map<Long, TextAnswerMatcher> idQuestionToTextAnswerMatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BenchmarkFixtures.createTestFixture(countQuestions, countAnswerOptions);
+        idQuestionToIdsSelected = new HashMap<>();
+        idQuestionToTextAnswer = new HashMap<>();
+        idQuestionToTextAnswerMatcher = new HashMap<>();
+        fixture.questions().forEach(question ->
+                idQuestionToTextAnswerMatcher.put(question.getId(), TextAnswerMatcher.compile(question)));
+        fixture.idQuestionToUserAnswer().forEach((idQuestion, userAnswerDto) -> {
+            idQuestionToIdsSelected.put(idQuestion, Set.copyOf(userAnswerDto.idsSelectedAnswerOption()));
+            idQuestionToTextAnswer.put(idQuestion, userAnswerDto.textAnswerWritten());
+        });
+    }
+
+    @Benchmark
+    public List<TestToPassDto.QuestionDto> buildQuestionDtoTestToPass() {
+        return GroupingUtil.buildQuestionDtoTestToPass(fixture.questions(), fixture.idQuestionToAnswerOptions());
+    }
+
+    @Benchmark
+    public void buildUserAnswersResponseDto(Blackhole blackhole) {
+        for (Question question : fixture.questions()) {
+            blackhole.consume(GroupingUtil.buildUserAnswersResponseDto(
+                    fixture.idQuestionToAnswerOptions().getOrDefault(question.getId(), List.<AnswerOption>of()),
+                    idQuestionToIdsSelected.getOrDefault(question.getId(), Set.of()),
+                    idQuestionToTextAnswer.getOrDefault(question.getId(), ""),
+                    question,
+                    idQuestionToTextAnswerMatcher.get(question.getId())
+            ));
+        }
+    }
+
+    @Benchmark
+    public Map<Long, List<AnswerOption>> buildAnswerOptionMapByQuestionId() {
+        List<AnswerOption> answerOptions = new ArrayList<>();
+        fixture.idQuestionToAnswerOptions().values().forEach(answerOptions::addAll);
+        return GroupingUtil.buildAnswerOptionMapByQuestionId(answerOptions);
+    }
+
+}
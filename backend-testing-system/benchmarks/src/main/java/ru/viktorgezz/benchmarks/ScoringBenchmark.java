@@ -0,0 +1,79 @@
+package ru.viktorgezz.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.result.service.util.ResultScoringCalculator;
+import ru.viktorgezz.testing_system.domain.result.service.util.ScoringPlan;
+import ru.viktorgezz.testing_system.domain.user_answer.UserAnswer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки подсчета результата: компиляция {@link ScoringPlan}, подсчет отправки по плану
+ * и полный путь {@link ResultScoringCalculator} со сборкой {@link UserAnswer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ScoringBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int countQuestions;
+
+    @Param({"2", "5", "20"})
+    private int countAnswerOptions;
+
+    private BenchmarkFixtures.TestFixture fixture;
+    private ScoringPlan scoringPlan;
+    private Result result;
+    private Map<Long, Question> idQuestionToQuestion;
+    private Map<Long, AnswerOption> idAnswerOptionToAnswerOption;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BenchmarkFixtures.createTestFixture(countQuestions, countAnswerOptions);
+        scoringPlan = compileScoringPlan();
+        result = new Result(600, LocalDateTime.of(2024, 9, 1, 12, 0), fixture.test().getAuthor(), fixture.test());
+        idQuestionToQuestion = fixture.idQuestionToQuestion();
+        idAnswerOptionToAnswerOption = fixture.idAnswerOptionToAnswerOption();
+    }
+
+    @Benchmark
+    public ScoringPlan compileScoringPlan() {
+        return ScoringPlan.compile(
+                fixture.test().getId(),
+                fixture.test().getContentVersion(),
+                fixture.test().getScoreMax(),
+                fixture.questions(),
+                fixture.idQuestionToAnswerOptions()
+        );
+    }
+
+    @Benchmark
+    public ScoringPlan.Outcome scoreSubmission() {
+        return scoringPlan.score(fixture.idQuestionToUserAnswer());
+    }
+
+    @Benchmark
+    public List<UserAnswer> scoreAndCollectUserAnswers() {
+        List<UserAnswer> userAnswersProcessed = new ArrayList<>();
+        ResultScoringCalculator.calculateTotalScoreAndCollectUserAnswers(
+                scoringPlan,
+                fixture.idQuestionToUserAnswer(),
+                result,
+                idQuestionToQuestion::get,
+                idAnswerOptionToAnswerOption::get,
+                userAnswersProcessed
+        );
+        return userAnswersProcessed;
+    }
+}
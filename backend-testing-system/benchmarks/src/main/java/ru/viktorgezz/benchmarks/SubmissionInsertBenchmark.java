@@ -0,0 +1,280 @@
+package ru.viktorgezz.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк сохранения отправки результата: строка {@code results} и по строке {@code user_answers} на вопрос.
+ * <p>
+ * Повторяет SQL, который выполняет Hibernate:
+ * <ul>
+ *     <li>{@code IDENTITY} — каждая строка отдельным {@code INSERT ... RETURNING id}</li>
+ *     <li>{@code SEQUENCE_BATCH} — id берутся пулом из последовательности ({@code allocationSize = 50}),
+ *     вставки уходят JDBC-батчами по 50 строк ({@code hibernate.jdbc.batch_size})</li>
+ *     <li>{@code COPY} — id выделяются блоками одним запросом, ответы пишутся {@code COPY ... FROM STDIN}
+ *     ({@code UserAnswerCopyWriter})</li>
+ * </ul>
+ * Счетчик {@code roundTrips} — число обращений к БД за измерение, на одну отправку: {@code roundTrips / ops}.
+ * </p>
+ * <p>
+ * Нужен доступный PostgreSQL, подключение задается системными свойствами
+ * {@code benchmark.jdbc.url}, {@code benchmark.jdbc.username}, {@code benchmark.jdbc.password}.
+ * Таблицы создаются временными на время прогона.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SubmissionInsertBenchmark {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int BATCH_SIZE = 50;
+
+    private static final String URL_DEFAULT = "jdbc:postgresql://localhost:5432/testing_system?reWriteBatchedInserts=true";
+
+    private static final String SQL_CREATE_TABLES = """
+            CREATE TEMP TABLE bench_results (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                id_test BIGINT NOT NULL,
+                id_user BIGINT NOT NULL,
+                score NUMERIC(6, 2) NOT NULL,
+                completed_at TIMESTAMP NOT NULL
+            );
+            CREATE TEMP TABLE bench_user_answers (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                id_result BIGINT NOT NULL,
+                id_question BIGINT NOT NULL,
+                text_answer VARCHAR(255),
+                is_correct BOOLEAN NOT NULL
+            );
+            CREATE TEMP SEQUENCE bench_results_seq START WITH 50 INCREMENT BY 50;
+            CREATE TEMP SEQUENCE bench_user_answers_seq START WITH 50 INCREMENT BY 50;
+            """;
+
+    private static final String SQL_INSERT_RESULT_IDENTITY = """
+            INSERT INTO bench_results (id_test, id_user, score, completed_at) VALUES (?, ?, ?, ?) RETURNING id
+            """;
+    private static final String SQL_INSERT_ANSWER_IDENTITY = """
+            INSERT INTO bench_user_answers (id_result, id_question, text_answer, is_correct) VALUES (?, ?, ?, ?) RETURNING id
+            """;
+    private static final String SQL_INSERT_RESULT = """
+            INSERT INTO bench_results (id, id_test, id_user, score, completed_at) VALUES (?, ?, ?, ?, ?)
+            """;
+    private static final String SQL_INSERT_ANSWER = """
+            INSERT INTO bench_user_answers (id, id_result, id_question, text_answer, is_correct) VALUES (?, ?, ?, ?, ?)
+            """;
+    private static final String SQL_NEXT_BLOCKS = """
+            SELECT nextval('bench_user_answers_seq') FROM generate_series(1, ?)
+            """;
+    private static final String SQL_COPY_ANSWERS = """
+            COPY bench_user_answers (id, id_result, id_question, text_answer, is_correct) FROM STDIN WITH (FORMAT csv)
+            """;
+
+    public enum Strategy {
+        IDENTITY,
+        SEQUENCE_BATCH,
+        COPY
+    }
+
+    @Param({"10", "100", "500", "5000"})
+    private int countQuestions;
+
+    @Param({"IDENTITY", "SEQUENCE_BATCH", "COPY"})
+    private Strategy strategy;
+
+    private Connection connection;
+    private Random random;
+
+    private final IdPool idPoolResults = new IdPool("bench_results_seq");
+    private final IdPool idPoolUserAnswers = new IdPool("bench_user_answers_seq");
+
+    /**
+     * Число обращений к БД, суммируется за итерацию.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+
+        public long roundTrips;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            roundTrips = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", URL_DEFAULT),
+                System.getProperty("benchmark.jdbc.username", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "postgres")
+        );
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(SQL_CREATE_TABLES);
+        }
+        connection.setAutoCommit(false);
+        random = new Random(BenchmarkFixtures.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void saveSubmission(RoundTrips roundTrips) throws SQLException {
+        switch (strategy) {
+            case IDENTITY -> saveIdentity(roundTrips);
+            case SEQUENCE_BATCH -> saveSequenceBatch(roundTrips);
+            case COPY -> saveCopy(roundTrips);
+        }
+        connection.commit();
+        roundTrips.roundTrips++;
+    }
+
+    private void saveIdentity(RoundTrips roundTrips) throws SQLException {
+        long idResult;
+        try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT_RESULT_IDENTITY)) {
+            bindResult(statement, 1);
+            idResult = executeReturningId(statement);
+            roundTrips.roundTrips++;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT_ANSWER_IDENTITY)) {
+            for (int i = 0; i < countQuestions; i++) {
+                bindUserAnswer(statement, 1, idResult, i);
+                executeReturningId(statement);
+                roundTrips.roundTrips++;
+            }
+        }
+    }
+
+    private void saveSequenceBatch(RoundTrips roundTrips) throws SQLException {
+        long idResult = saveResultSequence(roundTrips);
+
+        try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT_ANSWER)) {
+            int countBatched = 0;
+            for (int i = 0; i < countQuestions; i++) {
+                statement.setLong(1, idPoolUserAnswers.next(roundTrips));
+                bindUserAnswer(statement, 2, idResult, i);
+                statement.addBatch();
+                if (++countBatched == BATCH_SIZE) {
+                    statement.executeBatch();
+                    roundTrips.roundTrips++;
+                    countBatched = 0;
+                }
+            }
+            if (countBatched > 0) {
+                statement.executeBatch();
+                roundTrips.roundTrips++;
+            }
+        }
+    }
+
+    private void saveCopy(RoundTrips roundTrips) throws SQLException {
+        long idResult = saveResultSequence(roundTrips);
+
+        List<Long> idsUserAnswer = new ArrayList<>(countQuestions);
+        try (PreparedStatement statement = connection.prepareStatement(SQL_NEXT_BLOCKS)) {
+            statement.setInt(1, (countQuestions + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    long upperBound = resultSet.getLong(1);
+                    for (long id = upperBound - ALLOCATION_SIZE + 1; id <= upperBound; id++) {
+                        idsUserAnswer.add(id);
+                    }
+                }
+            }
+            roundTrips.roundTrips++;
+        }
+
+        StringBuilder rows = new StringBuilder(countQuestions * 48);
+        for (int i = 0; i < countQuestions; i++) {
+            rows.append(idsUserAnswer.get(i)).append(',')
+                    .append(idResult).append(',')
+                    .append(i + 1L).append(',');
+            if (random.nextBoolean()) {
+                rows.append("\"answer ").append(i).append('"');
+            }
+            rows.append(',').append(random.nextBoolean() ? 't' : 'f').append('\n');
+        }
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(SQL_COPY_ANSWERS);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        copyIn.endCopy();
+        roundTrips.roundTrips++;
+    }
+
+    private long saveResultSequence(RoundTrips roundTrips) throws SQLException {
+        long idResult = idPoolResults.next(roundTrips);
+        try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT_RESULT)) {
+            statement.setLong(1, idResult);
+            bindResult(statement, 2);
+            statement.executeUpdate();
+            roundTrips.roundTrips++;
+        }
+        return idResult;
+    }
+
+    private void bindResult(PreparedStatement statement, int indexFirst) throws SQLException {
+        statement.setLong(indexFirst, 1L + random.nextInt(1000));
+        statement.setLong(indexFirst + 1, 1L + random.nextInt(10_000));
+        statement.setBigDecimal(indexFirst + 2, BigDecimal.valueOf(random.nextInt(10_000), 2));
+        statement.setTimestamp(indexFirst + 3, new Timestamp(System.currentTimeMillis()));
+    }
+
+    private void bindUserAnswer(PreparedStatement statement, int indexFirst, long idResult, int indexQuestion)
+            throws SQLException {
+        statement.setLong(indexFirst, idResult);
+        statement.setLong(indexFirst + 1, indexQuestion + 1L);
+        statement.setString(indexFirst + 2, random.nextBoolean() ? "answer " + indexQuestion : null);
+        statement.setBoolean(indexFirst + 3, random.nextBoolean());
+    }
+
+    private static long executeReturningId(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Пул id как у pooled-оптимизатора Hibernate: один {@code nextval} на {@link #ALLOCATION_SIZE} id.
+     */
+    private final class IdPool {
+
+        private final String sequence;
+        private long idNext;
+        private long idLimit;
+
+        private IdPool(String sequence) {
+            this.sequence = sequence;
+        }
+
+        private long next(RoundTrips roundTrips) throws SQLException {
+            if (idNext >= idLimit) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery("SELECT nextval('" + sequence + "')")) {
+                    resultSet.next();
+                    idLimit = resultSet.getLong(1) + 1;
+                    idNext = idLimit - ALLOCATION_SIZE;
+                }
+                roundTrips.roundTrips++;
+            }
+            return idNext++;
+        }
+    }
+}
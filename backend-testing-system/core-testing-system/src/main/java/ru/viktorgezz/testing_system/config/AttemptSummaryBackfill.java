@@ -0,0 +1,73 @@
+package ru.viktorgezz.testing_system.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Заполняет {@code attempt_summary} по уже подсчитанным результатам.
+ * <p>
+ * Сводка попыток ведется при подсчете результата, а результаты, подсчитанные до ее появления,
+ * переносятся одним {@code INSERT ... SELECT} при первом старте. Если в таблице уже есть строки,
+ * ничего не делается; существующие строки не перезаписываются.
+ * </p>
+ */
+@Component
+public class AttemptSummaryBackfill implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptSummaryBackfill.class);
+
+    private static final String SQL_IS_EMPTY = """
+            SELECT NOT EXISTS (SELECT 1 FROM attempt_summary)
+            """;
+
+    private static final String SQL_BACKFILL = """
+            INSERT INTO attempt_summary (id_user, id_test, attempt_count, best_score, last_completed_at, last_attempts)
+            SELECT r.id_user,
+                   r.id_test,
+                   COUNT(*),
+                   MAX(r.score),
+                   MAX(r.completed_at),
+                   COALESCE(
+                           jsonb_agg(jsonb_build_object(
+                                   'idResult', r.id,
+                                   'score', r.score,
+                                   'scoreMax', r.score_max,
+                                   'timeSpentSeconds', r.time_spent_seconds,
+                                   'completedAt', r.completed_at
+                           ) ORDER BY r.rn) FILTER (WHERE r.rn <= 3),
+                           CAST('[]' AS jsonb)
+                   )
+            FROM (SELECT res.id, res.id_user, res.id_test, res.score, res.time_spent_seconds, res.completed_at,
+                         t.score_max,
+                         ROW_NUMBER() OVER (
+                             PARTITION BY res.id_user, res.id_test
+                             ORDER BY res.completed_at DESC, res.id DESC
+                             ) AS rn
+                  FROM results res
+                           JOIN tests t ON t.id = res.id_test
+                  WHERE res.status = 'SCORED'
+                    AND res.id_user IS NOT NULL) r
+            GROUP BY r.id_user, r.id_test
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AttemptSummaryBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(SQL_IS_EMPTY, Boolean.class))) {
+            return;
+        }
+        int countRows = jdbcTemplate.update(SQL_BACKFILL);
+        log.info("Attempt summary backfilled: {} rows", countRows);
+    }
+}
@@ -0,0 +1,104 @@
+package ru.viktorgezz.testing_system.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Конфигурация in-memory кешей приложения на базе Caffeine.
+ * Все кеши ограничены по размеру и ведут статистику (hit/miss/eviction),
+ * которая публикуется в actuator как метрики {@code cache.*}.
+ * <p>
+ * Здесь же объявлены имена регионов кеша второго уровня Hibernate. Сами регионы (размеры и TTL)
+ * описаны в {@code hibernate-cache.conf}, их статистика публикуется как метрики {@code hibernate.second.level.cache.*}.
+ * </p>
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Неизменяемые снимки тестов для прохождения ({@code TestToPassDto}) по id теста.
+     */
+    public static final String TESTS_TO_PASS = "testsToPass";
+
+    /**
+     * Скомпилированные планы подсчета результатов ({@code ScoringPlan}) по id теста.
+     */
+    public static final String SCORING_PLANS = "scoringPlans";
+
+    /**
+     * Регион кеша второго уровня Hibernate для тем ({@code Topic}).
+     */
+    public static final String REGION_TOPICS = "topics";
+
+    /**
+     * Регион кеша второго уровня для метаданных тестов ({@code TestModel}).
+     */
+    public static final String REGION_TESTS = "tests";
+
+    /**
+     * Регион кеша второго уровня для связей тест–тема ({@code TestTopic}).
+     */
+    public static final String REGION_TEST_TOPICS = "test-topics";
+
+    /**
+     * Регион кеша второго уровня для коллекций связей теста ({@code TestModel#testTopics}).
+     */
+    public static final String REGION_TEST_TOPIC_LINKS = "test-topic-links";
+
+    /**
+     * Регион кеша второго уровня для публичной части пользователей ({@code UserProfile}).
+     */
+    public static final String REGION_USER_PROFILES = "user-profiles";
+
+    /**
+     * Регион кеша запросов Hibernate для поиска тем.
+     */
+    public static final String REGION_TOPIC_QUERIES = "topic-queries";
+
+    @Value("${cache.tests-to-pass.maximum-size:1000}")
+    private long testsToPassMaximumSize;
+
+    @Value("${cache.tests-to-pass.expire-after-access-minutes:60}")
+    private long testsToPassExpireAfterAccessMinutes;
+
+    @Value("${cache.scoring-plans.maximum-size:1000}")
+    private long scoringPlansMaximumSize;
+
+    @Value("${cache.scoring-plans.expire-after-access-minutes:60}")
+    private long scoringPlansExpireAfterAccessMinutes;
+
+    /**
+     * Менеджер кешей. Обернут в {@link TransactionAwareCacheManagerProxy}, чтобы инвалидация
+     * из транзакционных методов выполнялась только после коммита и читатели не успевали
+     * положить в кеш старое состояние.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.registerCustomCache(
+                TESTS_TO_PASS,
+                Caffeine.newBuilder()
+                        .maximumSize(testsToPassMaximumSize)
+                        .expireAfterAccess(Duration.ofMinutes(testsToPassExpireAfterAccessMinutes))
+                        .recordStats()
+                        .build()
+        );
+        caffeineCacheManager.registerCustomCache(
+                SCORING_PLANS,
+                Caffeine.newBuilder()
+                        .maximumSize(scoringPlansMaximumSize)
+                        .expireAfterAccess(Duration.ofMinutes(scoringPlansExpireAfterAccessMinutes))
+                        .recordStats()
+                        .build()
+        );
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.viktorgezz.testing_system.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Выравнивает sequence-генераторы id по уже существующим строкам.
+ * <p>
+ * Таблицы {@code user_answers}, {@code questions}, {@code answer_options}, {@code results} и {@code tests_topics}
+ * раньше заполнялись через IDENTITY-колонки, а созданные {@code ddl-auto} последовательности начинаются с 1.
+ * Перед стартом веб-сервера последовательность сдвигается не ниже {@code MAX(id)} таблицы,
+ * чтобы пулы id, выдаваемые Hibernate, не пересекались со старыми строками. Повторный запуск ничего не меняет.
+ * </p>
+ */
+@Component
+public class IdSequenceAlignment implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAlignment.class);
+
+    private static final Map<String, String> TABLE_TO_SEQUENCE = Map.of(
+            "user_answers", "user_answers_seq",
+            "questions", "questions_seq",
+            "answer_options", "answer_options_seq",
+            "results", "results_seq",
+            "tests_topics", "tests_topics_seq"
+    );
+
+    private static final String SQL_ALIGN = """
+            SELECT setval('%1$s', GREATEST((SELECT last_value FROM %1$s), (SELECT COALESCE(MAX(id), 0) FROM %2$s)))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public IdSequenceAlignment(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        TABLE_TO_SEQUENCE.forEach((table, sequence) -> {
+            Long value = jdbcTemplate.queryForObject(SQL_ALIGN.formatted(sequence, table), Long.class);
+            log.debug("Sequence {} aligned with {}: {}", sequence, table, value);
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package ru.viktorgezz.testing_system.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Конфигурация пула, на котором асинхронно подсчитываются результаты тестов.
+ * Очередь ограничена: при ее переполнении отправка результата отклоняется
+ * ({@link org.springframework.core.task.TaskRejectedException}), а не копится в памяти.
+ */
+@Configuration
+public class ScoringExecutorConfig {
+
+    public static final String SCORING_EXECUTOR = "scoringExecutor";
+
+    @Value("${scoring.executor.pool-size:4}")
+    private int poolSize;
+
+    @Value("${scoring.executor.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${scoring.executor.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${scoring.executor.await-termination-seconds:30}")
+    private int awaitTerminationSeconds;
+
+    @Bean(SCORING_EXECUTOR)
+    public ThreadPoolTaskExecutor scoringExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setVirtualThreads(virtualThreads);
+        executor.setThreadNamePrefix("scoring-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return executor;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.viktorgezz.testing_system.config.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Запрещает read-only транзакциям класть данные в кеш второго уровня Hibernate.
+ * <p>
+ * Read-only транзакция может читать с отстающей реплики, и сущность, загруженная оттуда, осталась бы в регионе
+ * кеша до истечения TTL уже после коммита ее изменения. На время такой транзакции сессия переводится в
+ * {@link CacheMode#GET}: попадания в кеш используются, промахи не кешируются. Кеш заполняют пишущие транзакции,
+ * которые всегда идут в primary. После завершения транзакции режим сессии восстанавливается —
+ * при open-in-view та же сессия обслуживает и следующие транзакции запроса.
+ * </p>
+ */
+public class ReadOnlySecondLevelCacheGuard implements TransactionExecutionListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReadOnlySecondLevelCacheGuard(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || !transaction.isReadOnly()) {
+            return;
+        }
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheModePrevious = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (session.isOpen()) {
+                    session.setCacheMode(cacheModePrevious);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package ru.viktorgezz.testing_system.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import ru.viktorgezz.security.UserIdentity;
+
+import java.time.Duration;
+
+/**
+ * Закрепляет чтения пользователя за primary на короткое окно после его собственной записи.
+ * <p>
+ * После коммита пишущей транзакции ID текущего пользователя запоминается с истечением через окно,
+ * поэтому только что отправленный результат или сохраненный тест не «пропадает» из-за отставания реплики.
+ * Транзакции без аутентифицированного пользователя (асинхронный подсчет, фоновые задачи) не закрепляют никого.
+ * </p>
+ */
+public class ReadYourWritesPinning implements TransactionExecutionListener {
+
+    private final Cache<Long, Boolean> pinnedUsers;
+
+    public ReadYourWritesPinning(Duration window, long maximumSize) {
+        this.pinnedUsers = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            Long idUser = findCurrentUserId();
+            if (idUser != null) {
+                pinnedUsers.put(idUser, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true}, если текущий пользователь недавно писал и должен читать с primary
+     */
+    public boolean isCurrentUserPinned() {
+        Long idUser = findCurrentUserId();
+        return idUser != null && pinnedUsers.getIfPresent(idUser) != null;
+    }
+
+    private static Long findCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserIdentity userIdentity) {
+            return userIdentity.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,130 @@
+package ru.viktorgezz.testing_system.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Маршрутизация read-only транзакций на реплики PostgreSQL. Включается {@code datasource.replicas.enabled},
+ * без нее приложение работает с одним автоконфигурированным {@link DataSource}.
+ * <p>
+ * Основной {@link DataSource} — {@link LazyConnectionDataSourceProxy} над {@link ReplicaRoutingDataSource}:
+ * соединение берется при первом запросе транзакции, когда ее флаг read-only уже известен.
+ * Hibernate переключается на освобождение соединения после каждой транзакции, иначе при open-in-view
+ * первое соединение запроса (например, с реплики) удерживалось бы до конца запроса и досталось бы пишущей транзакции.
+ * </p>
+ * <p>
+ * Кеши процесса заполняются только с primary: загрузчики кешей приложения выполняются в пишущих транзакциях,
+ * а read-only транзакции не кладут данные в кеш второго уровня ({@link ReadOnlySecondLevelCacheGuard}).
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesPinning readYourWritesPinning(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesPinning(
+                Duration.ofMillis(replicaProperties.getReadYourWritesWindowMs()),
+                replicaProperties.getPinnedUsersMaximumSize()
+        );
+    }
+
+    @Bean
+    public ReadOnlySecondLevelCacheGuard readOnlySecondLevelCacheGuard(EntityManagerFactory entityManagerFactory) {
+        return new ReadOnlySecondLevelCacheGuard(entityManagerFactory);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ReadYourWritesPinning readYourWritesPinning,
+            ReplicaProperties replicaProperties,
+            MeterRegistry meterRegistry
+    ) {
+        Map<String, DataSource> nameToReplica = new LinkedHashMap<>();
+        for (ReplicaProperties.Node node : replicaProperties.getNodes()) {
+            nameToReplica.put(node.getName(), createReplicaPool(node, primaryDataSource.getDriverClassName()));
+        }
+        return new ReplicaRoutingDataSource(
+                primaryDataSource,
+                nameToReplica,
+                readYourWritesPinning,
+                replicaProperties.getMaxLagMs(),
+                meterRegistry
+        );
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(
+                AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION
+        );
+    }
+
+    /**
+     * Недоступность реплик не делает приложение недоступным: чтения уходят в primary.
+     */
+    @Bean
+    public HealthIndicator replicasHealthIndicator(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return () -> {
+            Map<String, Boolean> nameToHealthy = replicaRoutingDataSource.describeReplicas();
+            Health.Builder builder = nameToHealthy.containsValue(Boolean.TRUE) ? Health.up() : Health.unknown();
+            nameToHealthy.forEach((name, healthy) -> builder.withDetail(name, healthy ? "UP" : "DOWN"));
+            return builder.build();
+        };
+    }
+
+    /**
+     * Пул реплики создается лениво и не падает при недоступной реплике, а соединения открывает read-only.
+     */
+    private static HikariDataSource createReplicaPool(ReplicaProperties.Node node, String driverClassName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica-" + node.getName());
+        dataSource.setDriverClassName(driverClassName);
+        dataSource.setJdbcUrl(node.getUrl());
+        dataSource.setUsername(node.getUsername());
+        dataSource.setPassword(node.getPassword());
+        dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(node.getConnectionTimeoutMs());
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.viktorgezz.testing_system.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Свойства реплик для чтения, считываются из application.yml (datasource.replicas).
+ */
+@ConfigurationProperties(prefix = "datasource.replicas")
+@Getter
+@Setter
+public class ReplicaProperties {
+
+    private boolean enabled;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    private long healthCheckIntervalMs = 5_000;
+
+    /**
+     * Максимальное отставание реплики от primary, при превышении чтения с нее снимаются.
+     */
+    private long maxLagMs = 1_000;
+
+    /**
+     * Сколько после своей записи пользователь читает только с primary.
+     */
+    private long readYourWritesWindowMs = 5_000;
+
+    private long pinnedUsersMaximumSize = 10_000;
+
+    @Getter
+    @Setter
+    public static class Node {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        /**
+         * Сколько ждать соединения с репликой, прежде чем читать с primary.
+         */
+        private long connectionTimeoutMs = 1_000;
+    }
+}
@@ -0,0 +1,186 @@
+package ru.viktorgezz.testing_system.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Источник соединений, который отдает соединения read-only транзакций репликам, а остальные — primary.
+ * <p>
+ * Решение принимается по флагу {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()}
+ * в момент первого обращения к соединению, поэтому источник должен стоять за
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: транзакция открывается раньше,
+ * чем выставляется ее флаг. Реплики выбираются по кругу среди здоровых. Чтение уходит в primary, если:
+ * </p>
+ * <ul>
+ *     <li>текущий пользователь недавно писал ({@link ReadYourWritesPinning});</li>
+ *     <li>ни одна реплика не здорова или ни одна не выдала соединение — такая реплика сразу помечается нездоровой.</li>
+ * </ul>
+ * <p>
+ * Здоровье реплик проверяется по расписанию: реплика недоступна или отстает больше {@code maxLagMs} — нездорова.
+ * Отставание считается нулевым, если реплика применила все полученные WAL, иначе — по времени последней
+ * примененной транзакции. Узел не в режиме восстановления считается репликой без отставания.
+ * </p>
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String SQL_LAG_MS = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesPinning readYourWritesPinning;
+    private final long maxLagMs;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter readsPinned;
+    private final Counter readsFailover;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            Map<String, DataSource> nameToReplica,
+            ReadYourWritesPinning readYourWritesPinning,
+            long maxLagMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.primary = primary;
+        this.replicas = nameToReplica.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.readYourWritesPinning = readYourWritesPinning;
+        this.maxLagMs = maxLagMs;
+
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica receives read-only transactions")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMs)
+                    .description("Replication lag measured by the last health check")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        this.readsPinned = Counter.builder("datasource.replica.primary.reads")
+                .description("Read-only transactions served by the primary instead of a replica")
+                .tag("reason", "pinned")
+                .register(meterRegistry);
+        this.readsFailover = Counter.builder("datasource.replica.primary.reads")
+                .description("Read-only transactions served by the primary instead of a replica")
+                .tag("reason", "failover")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        if (readYourWritesPinning.isCurrentUserPinned()) {
+            readsPinned.increment();
+            return primary.getConnection();
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.warn("Replica {} failed to provide a connection, marked unhealthy", replica.name, e);
+            }
+        }
+        readsFailover.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Routing data source does not accept explicit credentials");
+    }
+
+    /**
+     * Проверяет доступность и отставание каждой реплики.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthyBefore = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(SQL_LAG_MS)) {
+                rs.next();
+                replica.lagMs = rs.getDouble(1);
+                replica.healthy = replica.lagMs <= maxLagMs;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.debug("Health check of replica {} failed", replica.name, e);
+            }
+            if (healthyBefore != replica.healthy) {
+                log.info("Replica {} is {} (lag {} ms)",
+                        replica.name, replica.healthy ? "healthy" : "unhealthy", Math.round(replica.lagMs));
+            }
+        }
+    }
+
+    /**
+     * @return имя реплики → признак здоровья по последней проверке
+     */
+    public Map<String, Boolean> describeReplicas() {
+        Map<String, Boolean> nameToHealthy = new LinkedHashMap<>();
+        replicas.forEach(replica -> nameToHealthy.put(replica.name, replica.healthy));
+        return nameToHealthy;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Реплика считается нездоровой до первой успешной проверки.
+     */
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile double lagMs;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -31,15 +31,23 @@ public class AnswerOptionCommandServiceImpl implements AnswerOptionCommandServic
             Question questionLink,
             TestUpdateContentDto.AnswerOptionDto answerOptionDto
     ) {
-        AnswerOption answerOptionNew = new AnswerOption(
+        AnswerOption answerOptionNew = createAnswerOptionWithoutSave(questionLink, answerOptionDto);
+        questionLink.getAnswerOptions().add(answerOptionNew);
+        return answerOptionNew;
+    }
+
+    @Override
+    public AnswerOption createAnswerOptionWithoutSave(
+            Question questionExisting,
+            TestUpdateContentDto.AnswerOptionDto answerOptionDto
+    ) {
+        return new AnswerOption(
                 answerOptionDto.text(),
                 answerOptionDto.isCorrect(),
                 answerOptionDto.explanation(),
-                questionLink,
+                questionExisting,
                 new ArrayList<>()
         );
-        questionLink.getAnswerOptions().add(answerOptionNew);
-        return answerOptionNew;
     }
 
     @Transactional
@@ -58,4 +66,10 @@ public class AnswerOptionCommandServiceImpl implements AnswerOptionCommandServic
     public void saveAll(Iterable<AnswerOption> answerOptions) {
         answerOptionRepo.saveAll(answerOptions);
     }
+
+    @Transactional
+    @Override
+    public void deleteAll(Iterable<AnswerOption> answerOptions) {
+        answerOptionRepo.deleteAll(answerOptions);
+    }
 }
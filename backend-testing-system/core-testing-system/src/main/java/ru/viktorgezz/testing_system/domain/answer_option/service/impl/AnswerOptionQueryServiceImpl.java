@@ -2,6 +2,7 @@ package ru.viktorgezz.testing_system.domain.answer_option.service.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
 import ru.viktorgezz.testing_system.domain.answer_option.repo.AnswerOptionRepo;
 import ru.viktorgezz.testing_system.domain.answer_option.service.intrf.AnswerOptionQueryService;
@@ -13,6 +14,7 @@ import java.util.List;
  * выборка вариантов ответа с подгруженными вопросами.
  */
 @Service
+@Transactional(readOnly = true)
 public class AnswerOptionQueryServiceImpl implements AnswerOptionQueryService {
 
     private final AnswerOptionRepo answerOptionRepo;
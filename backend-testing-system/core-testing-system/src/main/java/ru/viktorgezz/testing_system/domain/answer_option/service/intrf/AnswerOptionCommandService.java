@@ -18,6 +18,16 @@ public interface AnswerOptionCommandService {
      */
     AnswerOption createAndLinkAnswerOption(Question questionExisting, TestUpdateContentDto.AnswerOptionDto answerOptionDto);
 
+    /**
+     * Создает новый вариант ответа сохраненного вопроса без сохранения в БД.
+     * В коллекцию вариантов вопроса не добавляется, чтобы не загружать ее.
+     *
+     * @param questionExisting сохраненный вопрос.
+     * @param answerOptionDto DTO с данными варианта ответа.
+     * @return созданный вариант ответа.
+     */
+    AnswerOption createAnswerOptionWithoutSave(Question questionExisting, TestUpdateContentDto.AnswerOptionDto answerOptionDto);
+
     /**
      * Обновляет существующий вариант ответа без сохранения в БД.
      *
@@ -32,4 +42,11 @@ public interface AnswerOptionCommandService {
      * @param answerOptions коллекция вариантов ответов для сохранения.
      */
     void saveAll(Iterable<AnswerOption> answerOptions);
+
+    /**
+     * Удаляет варианты ответов из БД.
+     *
+     * @param answerOptions коллекция вариантов ответов для удаления.
+     */
+    void deleteAll(Iterable<AnswerOption> answerOptions);
 }
@@ -0,0 +1,91 @@
+package ru.viktorgezz.testing_system.domain.item_stats;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.proxy.HibernateProxy;
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+
+import java.util.Objects;
+
+/**
+ * Накопленное число выборов варианта ответа. Обновляется вместе с {@link QuestionStats},
+ * удаляется базой вместе с вариантом ответа.
+ */
+@Entity
+@Table(
+        name = "answer_option_stats",
+        indexes = @Index(name = "idx_answer_option_stats_id_question", columnList = "id_question")
+)
+public class AnswerOptionStats {
+
+    @Id
+    @Column(name = "id_answer_option")
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_answer_option")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private AnswerOption answerOption;
+
+    @Column(name = "id_question", nullable = false)
+    private Long idQuestion;
+
+    @Column(name = "selection_count", nullable = false)
+    private long selectionCount;
+
+    public AnswerOptionStats() {
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+
+        Class<?> oEffectiveClass = (o instanceof HibernateProxy hibernateProxy) ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass() : o.getClass();
+        Class<?> thisEffectiveClass = (this instanceof HibernateProxy hibernateProxy) ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        AnswerOptionStats that = (AnswerOptionStats) o;
+
+        return getId() != null && Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return this instanceof HibernateProxy hibernateProxy ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public AnswerOption getAnswerOption() {
+        return answerOption;
+    }
+
+    public void setAnswerOption(AnswerOption answerOption) {
+        this.answerOption = answerOption;
+    }
+
+    public Long getIdQuestion() {
+        return idQuestion;
+    }
+
+    public void setIdQuestion(Long idQuestion) {
+        this.idQuestion = idQuestion;
+    }
+
+    public long getSelectionCount() {
+        return selectionCount;
+    }
+
+    public void setSelectionCount(long selectionCount) {
+        this.selectionCount = selectionCount;
+    }
+}
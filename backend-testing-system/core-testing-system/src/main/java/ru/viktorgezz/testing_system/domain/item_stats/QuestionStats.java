@@ -0,0 +1,174 @@
+package ru.viktorgezz.testing_system.domain.item_stats;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.proxy.HibernateProxy;
+import ru.viktorgezz.testing_system.domain.question.Question;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Накопленная статистика ответов на вопрос.
+ * <p>
+ * Строка обновляется атомарным upsert в транзакции подсчета каждого результата, поэтому статистика
+ * читается без обращения к {@code user_answers}. Кроме счетчиков хранятся суммы итоговых баллов результатов,
+ * достаточные для точечно-бисериального коэффициента {@link #calculateDiscrimination()}.
+ * Строка удаляется базой вместе с вопросом.
+ * </p>
+ */
+@Entity
+@Table(
+        name = "question_stats",
+        indexes = @Index(name = "idx_question_stats_id_test", columnList = "id_test")
+)
+public class QuestionStats {
+
+    @Id
+    @Column(name = "id_question")
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_question")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Question question;
+
+    @Column(name = "id_test", nullable = false)
+    private Long idTest;
+
+    @Column(nullable = false)
+    private long attempts;
+
+    @Column(name = "correct_count", nullable = false)
+    private long correctCount;
+
+    @Column(name = "point_earned_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal pointEarnedSum = BigDecimal.ZERO;
+
+    @Column(name = "sum_result_score", nullable = false)
+    private double sumResultScore;
+
+    @Column(name = "sum_result_score_squared", nullable = false)
+    private double sumResultScoreSquared;
+
+    @Column(name = "sum_result_score_correct", nullable = false)
+    private double sumResultScoreCorrect;
+
+    public QuestionStats() {
+    }
+
+    /**
+     * Точечно-бисериальная корреляция правильности ответа на вопрос с итоговым баллом результата.
+     * Близкое к нулю или отрицательное значение означает, что вопрос не отличает сильных участников от слабых.
+     *
+     * @return коэффициент в [-1, 1] или {@code null}, если он не определен (меньше двух попыток,
+     * все ответили одинаково или у всех одинаковый итоговый балл)
+     */
+    public Double calculateDiscrimination() {
+        if (attempts < 2 || correctCount == 0 || correctCount == attempts) {
+            return null;
+        }
+        double n = attempts;
+        double varianceScore = n * sumResultScoreSquared - sumResultScore * sumResultScore;
+        if (varianceScore <= 0) {
+            return null;
+        }
+        double varianceCorrect = correctCount * (n - correctCount);
+        double covariance = n * sumResultScoreCorrect - sumResultScore * correctCount;
+        double discrimination = covariance / Math.sqrt(varianceScore * varianceCorrect);
+        return Math.max(-1.0, Math.min(1.0, discrimination));
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+
+        Class<?> oEffectiveClass = (o instanceof HibernateProxy hibernateProxy) ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass() : o.getClass();
+        Class<?> thisEffectiveClass = (this instanceof HibernateProxy hibernateProxy) ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        QuestionStats that = (QuestionStats) o;
+
+        return getId() != null && Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return this instanceof HibernateProxy hibernateProxy ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Question getQuestion() {
+        return question;
+    }
+
+    public void setQuestion(Question question) {
+        this.question = question;
+    }
+
+    public Long getIdTest() {
+        return idTest;
+    }
+
+    public void setIdTest(Long idTest) {
+        this.idTest = idTest;
+    }
+
+    public long getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(long attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getCorrectCount() {
+        return correctCount;
+    }
+
+    public void setCorrectCount(long correctCount) {
+        this.correctCount = correctCount;
+    }
+
+    public BigDecimal getPointEarnedSum() {
+        return pointEarnedSum;
+    }
+
+    public void setPointEarnedSum(BigDecimal pointEarnedSum) {
+        this.pointEarnedSum = pointEarnedSum;
+    }
+
+    public double getSumResultScore() {
+        return sumResultScore;
+    }
+
+    public void setSumResultScore(double sumResultScore) {
+        this.sumResultScore = sumResultScore;
+    }
+
+    public double getSumResultScoreSquared() {
+        return sumResultScoreSquared;
+    }
+
+    public void setSumResultScoreSquared(double sumResultScoreSquared) {
+        this.sumResultScoreSquared = sumResultScoreSquared;
+    }
+
+    public double getSumResultScoreCorrect() {
+        return sumResultScoreCorrect;
+    }
+
+    public void setSumResultScoreCorrect(double sumResultScoreCorrect) {
+        this.sumResultScoreCorrect = sumResultScoreCorrect;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.viktorgezz.testing_system.domain.item_stats.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Статистика ответов на вопрос теста.
+ *
+ * @param idQuestion      ID вопроса
+ * @param attempts        сколько раз вопрос был в подсчитанных результатах (пропуск считается неверным ответом)
+ * @param correctCount    сколько раз на вопрос ответили полностью верно
+ * @param difficulty      доля верных ответов, {@code null} без попыток
+ * @param pointEarnedSum  сумма набранных за вопрос баллов
+ * @param pointEarnedMean средний набранный за вопрос балл, {@code null} без попыток
+ * @param discrimination  точечно-бисериальный коэффициент, {@code null} если не определен
+ * @param answerOptions   выборы вариантов ответа
+ */
+public record QuestionStatsDto(
+        Long idQuestion,
+        long attempts,
+        long correctCount,
+        Double difficulty,
+        BigDecimal pointEarnedSum,
+        BigDecimal pointEarnedMean,
+        Double discrimination,
+        List<AnswerOptionStatsDto> answerOptions
+) {
+
+    /**
+     * Выборы варианта ответа.
+     *
+     * @param idAnswerOption ID варианта ответа
+     * @param isCorrect      вариант правильный
+     * @param selectionCount сколько раз вариант выбран
+     * @param selectionRate  доля попыток вопроса, в которых выбран вариант, {@code null} без попыток
+     */
+    public record AnswerOptionStatsDto(
+            Long idAnswerOption,
+            boolean isCorrect,
+            long selectionCount,
+            Double selectionRate
+    ) {
+    }
+}
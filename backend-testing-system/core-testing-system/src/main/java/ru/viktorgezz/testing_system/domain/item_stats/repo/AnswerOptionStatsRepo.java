@@ -0,0 +1,15 @@
+package ru.viktorgezz.testing_system.domain.item_stats.repo;
+
+import org.springframework.data.repository.CrudRepository;
+import ru.viktorgezz.testing_system.domain.item_stats.AnswerOptionStats;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Репозиторий для чтения {@link AnswerOptionStats}. Запись выполняет {@link ItemStatsWriter}.
+ */
+public interface AnswerOptionStatsRepo extends CrudRepository<AnswerOptionStats, Long> {
+
+    List<AnswerOptionStats> findAllByIdQuestionIn(Collection<Long> idsQuestion);
+}
@@ -0,0 +1,107 @@
+package ru.viktorgezz.testing_system.domain.item_stats.repo;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.viktorgezz.testing_system.domain.item_stats.AnswerOptionStats;
+import ru.viktorgezz.testing_system.domain.item_stats.QuestionStats;
+import ru.viktorgezz.testing_system.domain.result.service.util.ScoringPlan;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Прибавляет итог подсчета результата к {@link QuestionStats} и {@link AnswerOptionStats}.
+ * <p>
+ * Каждая строка обновляется одним {@code INSERT ... ON CONFLICT DO UPDATE} с приращениями, поэтому параллельные
+ * подсчеты одного теста не теряют обновлений. Строки обновляются по возрастанию ID, чтобы транзакции
+ * брали блокировки в одном порядке и не попадали в deadlock.
+ * </p>
+ */
+@Repository
+public class ItemStatsWriter {
+
+    private static final String SQL_UPSERT_QUESTION_STATS = """
+            INSERT INTO question_stats (id_question, id_test, attempts, correct_count, point_earned_sum,
+                                        sum_result_score, sum_result_score_squared, sum_result_score_correct)
+            VALUES (?, ?, 1, ?, ?, ?, ?, ?)
+            ON CONFLICT (id_question) DO UPDATE SET
+                attempts = question_stats.attempts + 1,
+                correct_count = question_stats.correct_count + EXCLUDED.correct_count,
+                point_earned_sum = question_stats.point_earned_sum + EXCLUDED.point_earned_sum,
+                sum_result_score = question_stats.sum_result_score + EXCLUDED.sum_result_score,
+                sum_result_score_squared = question_stats.sum_result_score_squared + EXCLUDED.sum_result_score_squared,
+                sum_result_score_correct = question_stats.sum_result_score_correct + EXCLUDED.sum_result_score_correct
+            """;
+    private static final String SQL_UPSERT_ANSWER_OPTION_STATS = """
+            INSERT INTO answer_option_stats (id_answer_option, id_question, selection_count)
+            VALUES (?, ?, 1)
+            ON CONFLICT (id_answer_option) DO UPDATE SET
+                selection_count = answer_option_stats.selection_count + 1
+            """;
+
+    private static final String SQL_DELETE_ANSWER_OPTION_STATS = "DELETE FROM answer_option_stats WHERE id_question = ANY (?)";
+    private static final String SQL_DELETE_QUESTION_STATS = "DELETE FROM question_stats WHERE id_question = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ItemStatsWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Учитывает один подсчитанный результат. Вызывается в транзакции подсчета.
+     *
+     * @param idTest  ID теста
+     * @param outcome итог подсчета результата
+     */
+    public void add(Long idTest, ScoringPlan.Outcome outcome) {
+        List<ScoringPlan.QuestionOutcome> questionOutcomes = new ArrayList<>(outcome.questionOutcomes());
+        if (questionOutcomes.isEmpty()) {
+            return;
+        }
+        questionOutcomes.sort(Comparator.comparing(ScoringPlan.QuestionOutcome::idQuestion));
+
+        double score = outcome.score().doubleValue();
+        List<Object[]> questionRows = new ArrayList<>(questionOutcomes.size());
+        List<Object[]> answerOptionRows = new ArrayList<>();
+        for (ScoringPlan.QuestionOutcome questionOutcome : questionOutcomes) {
+            questionRows.add(new Object[]{
+                    questionOutcome.idQuestion(),
+                    idTest,
+                    questionOutcome.isCorrect() ? 1 : 0,
+                    BigDecimal.valueOf(questionOutcome.pointScaled(), ScoringPlan.POINT_SCALE),
+                    score,
+                    score * score,
+                    questionOutcome.isCorrect() ? score : 0.0
+            });
+            for (ScoringPlan.SelectedOption selectedOption : questionOutcome.selectedOptions()) {
+                answerOptionRows.add(new Object[]{selectedOption.idAnswerOption(), questionOutcome.idQuestion()});
+            }
+        }
+        answerOptionRows.sort(Comparator.comparing(row -> (Long) row[0]));
+
+        jdbcTemplate.batchUpdate(SQL_UPSERT_QUESTION_STATS, questionRows);
+        if (!answerOptionRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_UPSERT_ANSWER_OPTION_STATS, answerOptionRows);
+        }
+    }
+
+    /**
+     * Обнуляет статистику вопросов: строки удаляются, а отсутствующая строка читается как нулевые счетчики.
+     *
+     * @param idsQuestion ID вопросов
+     */
+    public void reset(Collection<Long> idsQuestion) {
+        if (idsQuestion.isEmpty()) {
+            return;
+        }
+        Long[] ids = idsQuestion.toArray(Long[]::new);
+        jdbcTemplate.update(SQL_DELETE_ANSWER_OPTION_STATS, (Object) ids);
+        jdbcTemplate.update(SQL_DELETE_QUESTION_STATS, (Object) ids);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.viktorgezz.testing_system.domain.item_stats.repo;
+
+import org.springframework.data.repository.CrudRepository;
+import ru.viktorgezz.testing_system.domain.item_stats.QuestionStats;
+
+import java.util.List;
+
+/**
+ * Репозиторий для чтения {@link QuestionStats}. Запись выполняет {@link ItemStatsWriter}.
+ */
+public interface QuestionStatsRepo extends CrudRepository<QuestionStats, Long> {
+
+    List<QuestionStats> findAllByIdTest(Long idTest);
+}
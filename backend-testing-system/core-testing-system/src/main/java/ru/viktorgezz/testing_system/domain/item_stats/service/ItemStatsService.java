@@ -0,0 +1,43 @@
+package ru.viktorgezz.testing_system.domain.item_stats.service;
+
+import ru.viktorgezz.testing_system.domain.item_stats.QuestionStats;
+import ru.viktorgezz.testing_system.domain.item_stats.dto.QuestionStatsDto;
+import ru.viktorgezz.testing_system.domain.result.service.util.ScoringPlan;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Сервис статистики вопросов {@link QuestionStats}.
+ * <p>
+ * Статистика накапливается с момента появления функции: результаты, подсчитанные раньше, в ней не учтены
+ * и задним числом не пересчитываются. После изменения подсчета вопроса его статистика начинается заново.
+ * </p>
+ */
+public interface ItemStatsService {
+
+    /**
+     * Учитывает подсчитанный результат в статистике вопросов. Вызывается в транзакции подсчета результата.
+     *
+     * @param idTest  ID теста
+     * @param outcome итог подсчета
+     */
+    void addOutcome(Long idTest, ScoringPlan.Outcome outcome);
+
+    /**
+     * Обнуляет статистику вопросов, у которых изменились правильные ответы или баллы:
+     * попытки, подсчитанные по старому ключу, смешались бы с новыми. Вызывается в транзакции изменения контента.
+     *
+     * @param idsQuestion ID вопросов
+     */
+    void resetQuestions(Collection<Long> idsQuestion);
+
+    /**
+     * Получает статистику по всем вопросам теста, доступна только автору.
+     * Читаются только агрегаты, время ответа зависит от числа вопросов, а не ответов.
+     *
+     * @param idTest ID теста
+     * @return статистика в порядке ID вопросов, вопросы без попыток — с нулевыми счетчиками
+     */
+    List<QuestionStatsDto> getQuestionStats(Long idTest);
+}
@@ -0,0 +1,132 @@
+package ru.viktorgezz.testing_system.domain.item_stats.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.answer_option.service.intrf.AnswerOptionQueryService;
+import ru.viktorgezz.testing_system.domain.item_stats.AnswerOptionStats;
+import ru.viktorgezz.testing_system.domain.item_stats.QuestionStats;
+import ru.viktorgezz.testing_system.domain.item_stats.dto.QuestionStatsDto;
+import ru.viktorgezz.testing_system.domain.item_stats.repo.AnswerOptionStatsRepo;
+import ru.viktorgezz.testing_system.domain.item_stats.repo.ItemStatsWriter;
+import ru.viktorgezz.testing_system.domain.item_stats.repo.QuestionStatsRepo;
+import ru.viktorgezz.testing_system.domain.question.repo.QuestionRepo;
+import ru.viktorgezz.testing_system.domain.result.service.util.ScoringPlan;
+import ru.viktorgezz.testing_system.domain.test.service.intrf.TestQueryService;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.viktorgezz.testing_system.domain.util.GroupingUtil.buildAnswerOptionMapByQuestionId;
+
+/**
+ * Реализация сервиса статистики вопросов. Реализует {@link ItemStatsService}.
+ */
+@Service
+public class ItemStatsServiceImpl implements ItemStatsService {
+
+    private final ItemStatsWriter itemStatsWriter;
+    private final QuestionStatsRepo questionStatsRepo;
+    private final AnswerOptionStatsRepo answerOptionStatsRepo;
+    private final QuestionRepo questionRepo;
+    private final AnswerOptionQueryService answerOptionQueryService;
+    private final TestQueryService testQueryService;
+
+    @Autowired
+    public ItemStatsServiceImpl(
+            ItemStatsWriter itemStatsWriter,
+            QuestionStatsRepo questionStatsRepo,
+            AnswerOptionStatsRepo answerOptionStatsRepo,
+            QuestionRepo questionRepo,
+            AnswerOptionQueryService answerOptionQueryService,
+            TestQueryService testQueryService
+    ) {
+        this.itemStatsWriter = itemStatsWriter;
+        this.questionStatsRepo = questionStatsRepo;
+        this.answerOptionStatsRepo = answerOptionStatsRepo;
+        this.questionRepo = questionRepo;
+        this.answerOptionQueryService = answerOptionQueryService;
+        this.testQueryService = testQueryService;
+    }
+
+    @Override
+    @Transactional
+    public void addOutcome(Long idTest, ScoringPlan.Outcome outcome) {
+        itemStatsWriter.add(idTest, outcome);
+    }
+
+    @Override
+    @Transactional
+    public void resetQuestions(Collection<Long> idsQuestion) {
+        itemStatsWriter.reset(idsQuestion);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuestionStatsDto> getQuestionStats(Long idTest) {
+        testQueryService.findOwnedById(idTest);
+
+        List<Long> idsQuestion = questionRepo.findIdsByTestId(idTest).stream().sorted().toList();
+        if (idsQuestion.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, QuestionStats> idQuestionToStats = questionStatsRepo.findAllByIdTest(idTest).stream()
+                .collect(Collectors.toMap(QuestionStats::getId, Function.identity()));
+        Map<Long, Long> idAnswerOptionToSelectionCount = answerOptionStatsRepo.findAllByIdQuestionIn(idsQuestion).stream()
+                .collect(Collectors.toMap(AnswerOptionStats::getId, AnswerOptionStats::getSelectionCount));
+        Map<Long, List<AnswerOption>> idQuestionToAnswerOptions = buildAnswerOptionMapByQuestionId(
+                answerOptionQueryService.findAllAnswerOptionByIdsQuestionWithQuestion(idsQuestion));
+
+        return idsQuestion.stream()
+                .map(idQuestion -> toDto(
+                        idQuestion,
+                        idQuestionToStats.get(idQuestion),
+                        idQuestionToAnswerOptions.getOrDefault(idQuestion, List.of()),
+                        idAnswerOptionToSelectionCount
+                ))
+                .toList();
+    }
+
+    private static QuestionStatsDto toDto(
+            Long idQuestion,
+            QuestionStats questionStats,
+            List<AnswerOption> answerOptions,
+            Map<Long, Long> idAnswerOptionToSelectionCount
+    ) {
+        long attempts = questionStats == null ? 0 : questionStats.getAttempts();
+        long correctCount = questionStats == null ? 0 : questionStats.getCorrectCount();
+        BigDecimal pointEarnedSum = questionStats == null ? BigDecimal.ZERO : questionStats.getPointEarnedSum();
+
+        List<QuestionStatsDto.AnswerOptionStatsDto> answerOptionStatsDtos = answerOptions.stream()
+                .sorted(Comparator.comparing(AnswerOption::getId))
+                .map(answerOption -> {
+                    long selectionCount = idAnswerOptionToSelectionCount.getOrDefault(answerOption.getId(), 0L);
+                    return new QuestionStatsDto.AnswerOptionStatsDto(
+                            answerOption.getId(),
+                            answerOption.isCorrect(),
+                            selectionCount,
+                            attempts == 0 ? null : (double) selectionCount / attempts
+                    );
+                })
+                .toList();
+
+        return new QuestionStatsDto(
+                idQuestion,
+                attempts,
+                correctCount,
+                attempts == 0 ? null : (double) correctCount / attempts,
+                pointEarnedSum,
+                attempts == 0 ? null : pointEarnedSum.divide(BigDecimal.valueOf(attempts), ScoringPlan.POINT_SCALE, RoundingMode.HALF_UP),
+                questionStats == null ? null : questionStats.calculateDiscrimination(),
+                answerOptionStatsDtos
+        );
+    }
+}
@@ -1,7 +1,11 @@
 package ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.proxy.HibernateProxy;
+import ru.viktorgezz.testing_system.config.CacheConfig;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
 import ru.viktorgezz.testing_system.domain.topic.Topic;
 
@@ -18,10 +22,14 @@ import java.util.Objects;
                 @UniqueConstraint(columnNames = {"id_test", "id_topic"})
         }
 )
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.REGION_TEST_TOPICS)
+@BatchSize(size = 50)
 public class TestTopic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tests_topics_seq")
+    @SequenceGenerator(name = "tests_topics_seq", sequenceName = "tests_topics_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
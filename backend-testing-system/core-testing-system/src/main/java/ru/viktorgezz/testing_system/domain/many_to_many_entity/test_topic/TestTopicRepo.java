@@ -1,9 +1,80 @@
 package ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import ru.viktorgezz.testing_system.domain.test.dto.TestTopicLinkDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TopicFacetDto;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Репозиторий для доступа к сущностям {@link TestTopic} (связи тест–тема).
  */
 public interface TestTopicRepo extends CrudRepository<TestTopic, Long> {
+
+    /**
+     * Получить связи публичных тестов с темами для построения индекса тем.
+     *
+     * @return ID теста, ID и название темы каждой связи
+     */
+    @Query("""
+            SELECT new ru.viktorgezz.testing_system.domain.test.dto.TestTopicLinkDto(test.id, topic.id, topic.title)
+            FROM TestTopic testTopic
+            JOIN testTopic.test test
+            JOIN testTopic.topic topic
+            WHERE test.status = Status.PUBLIC
+            """)
+    List<TestTopicLinkDto> findAllPublicLinks();
+
+    /**
+     * Число публичных тестов по темам среди тестов с подходящим названием.
+     *
+     * @param title    подстрока названия, пустая — любое название
+     * @param pageable ограничение числа тем
+     * @return темы по убыванию числа тестов
+     */
+    @Query("""
+            SELECT new ru.viktorgezz.testing_system.domain.test.dto.TopicFacetDto(topic.title, COUNT(testTopic))
+            FROM TestTopic testTopic
+            JOIN testTopic.test test
+            JOIN testTopic.topic topic
+            WHERE test.status = Status.PUBLIC
+            AND LOWER(test.title) LIKE LOWER(CONCAT('%', :title, '%'))
+            GROUP BY topic.title
+            ORDER BY COUNT(testTopic) DESC, topic.title
+            """)
+    List<TopicFacetDto> findTopicFacetsByTitle(@Param("title") String title, Pageable pageable);
+
+    /**
+     * Число публичных тестов по темам среди тестов, подходящих под темы и название фильтра.
+     *
+     * @param title          подстрока названия, пустая — любое название
+     * @param idsTopic       ID тем фильтра
+     * @param countTopicsMin сколько тем фильтра должно быть у теста: все — для ALL, одна — для ANY
+     * @param pageable       ограничение числа тем
+     * @return темы по убыванию числа тестов
+     */
+    @Query("""
+            SELECT new ru.viktorgezz.testing_system.domain.test.dto.TopicFacetDto(topic.title, COUNT(testTopic))
+            FROM TestTopic testTopic
+            JOIN testTopic.test test
+            JOIN testTopic.topic topic
+            WHERE test.status = Status.PUBLIC
+            AND LOWER(test.title) LIKE LOWER(CONCAT('%', :title, '%'))
+            AND (
+                SELECT COUNT(link) FROM TestTopic link
+                WHERE link.test = test AND link.topic.id IN :idsTopic
+            ) >= :countTopicsMin
+            GROUP BY topic.title
+            ORDER BY COUNT(testTopic) DESC, topic.title
+            """)
+    List<TopicFacetDto> findTopicFacetsByTitleAndTopics(
+            @Param("title") String title,
+            @Param("idsTopic") Collection<Long> idsTopic,
+            @Param("countTopicsMin") long countTopicsMin,
+            Pageable pageable
+    );
 }
@@ -1,6 +1,7 @@
 package ru.viktorgezz.testing_system.domain.question;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
 import ru.viktorgezz.testing_system.domain.user_answer.UserAnswer;
@@ -17,7 +18,8 @@ import java.util.List;
 public class Question {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "questions_seq")
+    @SequenceGenerator(name = "questions_seq", sequenceName = "questions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +35,13 @@ public class Question {
     @Column(name = "allow_mistakes")
     private boolean allowMistakes = false;
 
+    /**
+     * Допустимое число опечаток в текстовом ответе (расстояние Левенштейна), 0 — только точное совпадение.
+     */
+    @Column(name = "text_answer_tolerance", nullable = false)
+    @ColumnDefault("0")
+    private int textAnswerTolerance = 0;
+
     @Column(name = "correct_text_answers")
     private List<String> correctTextAnswers = new ArrayList<>();
 
@@ -133,6 +142,14 @@ public class Question {
         this.correctTextAnswers = correctTextAnswer;
     }
 
+    public int getTextAnswerTolerance() {
+        return textAnswerTolerance;
+    }
+
+    public void setTextAnswerTolerance(int textAnswerTolerance) {
+        this.textAnswerTolerance = textAnswerTolerance;
+    }
+
     public TestModel getTest() {
         return test;
     }
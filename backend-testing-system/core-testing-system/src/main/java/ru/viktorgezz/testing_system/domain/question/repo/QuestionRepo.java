@@ -1,9 +1,17 @@
 package ru.viktorgezz.testing_system.domain.question.repo;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import ru.viktorgezz.testing_system.domain.question.Question;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Репозиторий для доступа к сущностям {@link Question}.
@@ -18,4 +26,27 @@ public interface QuestionRepo extends CrudRepository<Question, Long> {
      */
     List<Question> findByTestId(Long idTest);
 
+    @Query("SELECT question.id FROM Question question WHERE question.test.id = :idTest")
+    List<Long> findIdsByTestId(@Param("idTest") Long idTest);
+
+    @Query("SELECT question FROM Question question WHERE question.test.id = :idTest AND question.id IN :ids")
+    List<Question> findAllByTestIdAndIdIn(@Param("idTest") Long idTest, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(SUM(question.point), 0) FROM Question question WHERE question.test.id = :idTest")
+    BigDecimal sumPointByTestId(@Param("idTest") Long idTest);
+
+    /**
+     * Потоково читает вопросы теста по возрастанию ID для выгрузки.
+     * Строки забираются курсором порциями по fetch size, сущности не отслеживаются на изменения.
+     * Поток нужно закрыть и читать внутри транзакции.
+     *
+     * @param idTest ID теста
+     * @return поток вопросов теста
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT question FROM Question question WHERE question.test.id = :idTest ORDER BY question.id")
+    Stream<Question> streamAllByTestId(@Param("idTest") Long idTest);
 }
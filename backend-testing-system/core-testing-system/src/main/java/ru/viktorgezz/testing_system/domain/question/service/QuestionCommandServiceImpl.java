@@ -27,7 +27,7 @@ public class QuestionCommandServiceImpl implements QuestionCommandService {
     @Override
     @Transactional
     public Question createQuestionWithoutSave(TestUpdateContentDto.QuestionDto questionDto, TestModel test) {
-        return new Question(
+        Question question = new Question(
                 questionDto.text(),
                 questionDto.type(),
                 questionDto.point(),
@@ -39,6 +39,8 @@ public class QuestionCommandServiceImpl implements QuestionCommandService {
                 new ArrayList<>(),
                 questionDto.allowMistakes()
         );
+        question.setTextAnswerTolerance(questionDto.textAnswerToleranceOrZero());
+        return question;
     }
 
     @Override
@@ -54,6 +56,7 @@ public class QuestionCommandServiceImpl implements QuestionCommandService {
                 .map(ArrayList::new)
                 .orElseGet(ArrayList::new));
         question.setAllowMistakes(questionDto.allowMistakes());
+        question.setTextAnswerTolerance(questionDto.textAnswerToleranceOrZero());
     }
 
     @Override
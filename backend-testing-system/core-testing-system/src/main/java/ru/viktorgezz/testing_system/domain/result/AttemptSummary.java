@@ -0,0 +1,150 @@
+package ru.viktorgezz.testing_system.domain.result;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.SqlTypes;
+import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.user.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Сводка попыток участника по тесту: число попыток, лучший балл и последние попытки.
+ * <p>
+ * Обновляется в транзакции подсчета каждого результата, поэтому последние попытки и лучший балл
+ * читаются одним поиском по первичному ключу без обращения к {@code results}.
+ * Строка удаляется базой вместе с участником или тестом.
+ * </p>
+ */
+@Entity
+@Table(name = "attempt_summary")
+public class AttemptSummary {
+
+    /**
+     * Сколько последних попыток хранится.
+     */
+    public static final int LAST_ATTEMPTS_SIZE = 3;
+
+    private static final Comparator<Attempt> ORDER_RECENT_FIRST = Comparator
+            .comparing(Attempt::completedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Attempt::idResult, Comparator.reverseOrder());
+
+    @EmbeddedId
+    private AttemptSummaryId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_user", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User participant;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_test", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private TestModel test;
+
+    @Column(name = "attempt_count", nullable = false)
+    private int attemptCount;
+
+    @Column(name = "best_score", scale = 2)
+    private BigDecimal bestScore;
+
+    @Column(name = "last_completed_at")
+    private LocalDateTime lastCompletedAt;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "last_attempts", nullable = false)
+    private List<Attempt> lastAttempts = List.of();
+
+    public AttemptSummary(AttemptSummaryId id) {
+        this.id = id;
+    }
+
+    public AttemptSummary() {
+    }
+
+    /**
+     * Учитывает подсчитанную попытку. Последние попытки упорядочены по времени завершения,
+     * поэтому порядок подсчета параллельных попыток не важен.
+     */
+    public void addAttempt(Attempt attempt) {
+        attemptCount++;
+        if (bestScore == null || attempt.score().compareTo(bestScore) > 0) {
+            bestScore = attempt.score();
+        }
+        if (lastCompletedAt == null || attempt.completedAt().isAfter(lastCompletedAt)) {
+            lastCompletedAt = attempt.completedAt();
+        }
+        lastAttempts = Stream.concat(lastAttempts.stream(), Stream.of(attempt))
+                .sorted(ORDER_RECENT_FIRST)
+                .limit(LAST_ATTEMPTS_SIZE)
+                .toList();
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+
+        Class<?> oEffectiveClass = (o instanceof HibernateProxy hibernateProxy) ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass() : o.getClass();
+        Class<?> thisEffectiveClass = (this instanceof HibernateProxy hibernateProxy) ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        AttemptSummary that = (AttemptSummary) o;
+
+        return getId() != null && Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return this instanceof HibernateProxy hibernateProxy ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+    }
+
+    public AttemptSummaryId getId() {
+        return id;
+    }
+
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    public BigDecimal getBestScore() {
+        return bestScore;
+    }
+
+    public LocalDateTime getLastCompletedAt() {
+        return lastCompletedAt;
+    }
+
+    /**
+     * Последние попытки, от новых к старым.
+     */
+    public List<Attempt> getLastAttempts() {
+        return lastAttempts;
+    }
+
+    /**
+     * Попытка в сводке.
+     *
+     * @param idResult         ID результата
+     * @param score            набранный балл
+     * @param scoreMax         максимальный балл теста на момент подсчета
+     * @param timeSpentSeconds время прохождения
+     * @param completedAt      время завершения
+     */
+    public record Attempt(
+            Long idResult,
+            BigDecimal score,
+            BigDecimal scoreMax,
+            int timeSpentSeconds,
+            LocalDateTime completedAt
+    ) {
+    }
+}
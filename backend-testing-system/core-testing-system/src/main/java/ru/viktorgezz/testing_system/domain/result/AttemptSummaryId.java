@@ -0,0 +1,48 @@
+package ru.viktorgezz.testing_system.domain.result;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Составной ключ {@link AttemptSummary}: участник и тест.
+ */
+@Embeddable
+public class AttemptSummaryId implements Serializable {
+
+    @Column(name = "id_user")
+    private Long idUser;
+
+    @Column(name = "id_test")
+    private Long idTest;
+
+    public AttemptSummaryId(Long idUser, Long idTest) {
+        this.idUser = idUser;
+        this.idTest = idTest;
+    }
+
+    public AttemptSummaryId() {
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AttemptSummaryId that)) return false;
+        return Objects.equals(idUser, that.idUser) && Objects.equals(idTest, that.idTest);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idUser, idTest);
+    }
+
+    public Long getIdUser() {
+        return idUser;
+    }
+
+    public Long getIdTest() {
+        return idTest;
+    }
+}
@@ -32,4 +32,43 @@ public enum Grade {
 
         return F;
     }
+
+    /**
+     * Вариант {@link #calculateGrade(BigDecimal, BigDecimal)} для баллов в виде масштабированных long
+     * (сотые доли балла). Дает тот же результат: доля округляется до 4 знаков по HALF_UP
+     * и сравнивается с теми же порогами.
+     *
+     * @param pointCurrScaled набранный балл, умноженный на 100
+     * @param pointMaxScaled  максимальный балл, умноженный на 100
+     * @throws ArithmeticException если максимальный балл равен нулю
+     */
+    public static Grade calculateGrade(long pointCurrScaled, long pointMaxScaled) {
+        long percentageScaled = divideHalfUp(Math.multiplyExact(pointCurrScaled, 10_000L), pointMaxScaled);
+
+        if (percentageScaled >= 9_000L) {
+            return A;
+        }
+
+        if (percentageScaled >= 8_000L) {
+            return B;
+        }
+
+        if (percentageScaled >= 6_000L) {
+            return C;
+        }
+
+        return F;
+    }
+
+    /**
+     * Целочисленное деление с округлением HALF_UP (половина округляется от нуля), как в {@link RoundingMode#HALF_UP}.
+     */
+    public static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder != 0 && 2 * Math.abs(remainder) >= Math.abs(divisor)) {
+            quotient += Long.signum(dividend) * Long.signum(divisor);
+        }
+        return quotient;
+    }
 }
@@ -2,6 +2,7 @@ package ru.viktorgezz.testing_system.domain.result;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.proxy.HibernateProxy;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
 import ru.viktorgezz.testing_system.domain.user.User;
@@ -17,11 +18,15 @@ import java.util.Objects;
  * Модель результата прохождения теста пользователем.
  */
 @Entity
-@Table(name = "results")
+@Table(
+        name = "results",
+        indexes = @Index(name = "idx_results_user_completed_at_id", columnList = "id_user, completed_at, id")
+)
 public class Result {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "results_seq")
+    @SequenceGenerator(name = "results_seq", sequenceName = "results_seq", allocationSize = 50)
     private Long id;
 
     @PositiveOrZero
@@ -32,6 +37,11 @@ public class Result {
     @Enumerated(EnumType.STRING)
     private Grade grade;
 
+    @Column(name = "status", length = 16, nullable = false)
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'SCORED'")
+    private ResultStatus status = ResultStatus.PENDING;
+
     @Column(name = "time_spent_seconds", nullable = false)
     private int timeSpentSeconds;
 
@@ -107,6 +117,14 @@ public class Result {
         this.grade = grade;
     }
 
+    public ResultStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ResultStatus status) {
+        this.status = status;
+    }
+
     public int getTimeSpentSeconds() {
         return timeSpentSeconds;
     }
@@ -0,0 +1,22 @@
+package ru.viktorgezz.testing_system.domain.result;
+
+/**
+ * Состояние обработки результата прохождения теста.
+ */
+public enum ResultStatus {
+
+    /**
+     * Результат принят и ожидает подсчета баллов в очереди.
+     */
+    PENDING,
+
+    /**
+     * Баллы и оценка подсчитаны.
+     */
+    SCORED,
+
+    /**
+     * Подсчет завершился ошибкой.
+     */
+    FAILED
+}
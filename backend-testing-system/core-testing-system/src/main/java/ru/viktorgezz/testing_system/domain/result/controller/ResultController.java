@@ -1,7 +1,10 @@
 package ru.viktorgezz.testing_system.domain.result.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -9,11 +12,14 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedModel;
 import org.springframework.web.bind.annotation.*;
 import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.result.dto.ResultCursorPageDto;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultMetadataResponseDto;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultRequestDto;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultResponseDto;
 import ru.viktorgezz.testing_system.domain.result.service.intrf.ResultCommandService;
 import ru.viktorgezz.testing_system.domain.result.service.intrf.ResultQueryService;
+import ru.viktorgezz.testing_system.exception.BusinessException;
+import ru.viktorgezz.testing_system.exception.ErrorCode;
 
 /**
  * REST-контроллер для чтения результатов прохождения тестов {@link Result}.
@@ -34,10 +40,25 @@ public class ResultController {
         this.resultCommandService = resultCommandService;
     }
 
+    /**
+     * Принимает ответы и ставит подсчет результата в очередь. Результат создается в состоянии PENDING,
+     * клиент опрашивает {@code GET /results/{id}} до перехода в SCORED или FAILED.
+     * При переполнении очереди принятый результат удаляется и возвращается 503.
+     */
     @PostMapping
     public Long createTestResult(@RequestBody @Valid ResultRequestDto resultRequestDto) {
         Long idResult = resultCommandService.initiateCompilationResult(resultRequestDto);
-        resultCommandService.compilateResultAsync(resultRequestDto.idQuestionToUserAnswers(), idResult);
+        try {
+            resultCommandService
+                    .compilateResultAsync(resultRequestDto.idQuestionToUserAnswers(), idResult)
+                    .exceptionally(e -> {
+                        resultCommandService.markResultFailed(idResult, e);
+                        return null;
+                    });
+        } catch (TaskRejectedException e) {
+            resultCommandService.deleteResult(idResult);
+            throw new BusinessException(ErrorCode.SCORING_QUEUE_FULL);
+        }
         return idResult;
     }
 
@@ -58,4 +79,17 @@ public class ResultController {
         Page<ResultMetadataResponseDto> page = resultQueryService.findUserResults(pageable);
         return new PagedModel<>(page);
     }
+
+    /**
+     * История результатов текущего пользователя с курсорной пагинацией (от новых к старым).
+     * Для следующей страницы передается {@code nextCursor} из предыдущего ответа.
+     */
+    @GetMapping("/cursor")
+    public ResultCursorPageDto getUserResultsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return resultQueryService.findUserResultsByCursor(cursor, size, withTotal);
+    }
 }
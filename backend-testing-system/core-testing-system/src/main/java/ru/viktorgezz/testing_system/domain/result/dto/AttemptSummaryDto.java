@@ -0,0 +1,20 @@
+package ru.viktorgezz.testing_system.domain.result.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Сводка попыток текущего пользователя по тесту.
+ *
+ * @param idTest          ID теста
+ * @param attemptCount    число подсчитанных попыток
+ * @param bestScore       лучший балл или {@code null} без попыток
+ * @param lastCompletedAt время завершения последней попытки или {@code null} без попыток
+ */
+public record AttemptSummaryDto(
+        Long idTest,
+        int attemptCount,
+        BigDecimal bestScore,
+        LocalDateTime lastCompletedAt
+) {
+}
@@ -0,0 +1,40 @@
+package ru.viktorgezz.testing_system.domain.result.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Таблица лидеров теста: лучшая попытка каждого участника.
+ *
+ * @param idTest            ID теста
+ * @param countParticipants число участников с подсчитанными попытками
+ * @param top               первые места
+ * @param me                место текущего пользователя или {@code null}, если он не проходил тест
+ */
+public record LeaderboardDto(
+        Long idTest,
+        int countParticipants,
+        List<EntryDto> top,
+        EntryDto me
+) {
+
+    /**
+     * Место в таблице.
+     *
+     * @param rank             место, начиная с 1
+     * @param idUser           ID участника
+     * @param username         имя участника
+     * @param idResult         ID лучшего результата
+     * @param score            балл
+     * @param timeSpentSeconds время прохождения
+     */
+    public record EntryDto(
+            int rank,
+            Long idUser,
+            String username,
+            Long idResult,
+            BigDecimal score,
+            int timeSpentSeconds
+    ) {
+    }
+}
@@ -0,0 +1,17 @@
+package ru.viktorgezz.testing_system.domain.result.dto;
+
+import java.util.List;
+
+/**
+ * Страница результатов при курсорной (keyset) пагинации.
+ *
+ * @param content       результаты страницы, от новых к старым
+ * @param nextCursor    непрозрачный курсор следующей страницы или {@code null}, если страница последняя
+ * @param totalElements общее количество результатов, если оно было запрошено, иначе {@code null}
+ */
+public record ResultCursorPageDto(
+        List<ResultMetadataResponseDto> content,
+        String nextCursor,
+        Long totalElements
+) {
+}
@@ -0,0 +1,22 @@
+package ru.viktorgezz.testing_system.domain.result.dto;
+
+import ru.viktorgezz.testing_system.domain.result.Grade;
+import ru.viktorgezz.testing_system.domain.result.ResultStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Строка выгрузки результатов теста в NDJSON.
+ */
+public record ResultExportDto(
+        Long id,
+        Long idUser,
+        String username,
+        ResultStatus status,
+        BigDecimal score,
+        Grade grade,
+        int timeSpentSeconds,
+        LocalDateTime completedAt
+) {
+}
@@ -2,6 +2,7 @@ package ru.viktorgezz.testing_system.domain.result.dto;
 
 import ru.viktorgezz.testing_system.domain.question.Type;
 import ru.viktorgezz.testing_system.domain.result.Grade;
+import ru.viktorgezz.testing_system.domain.result.ResultStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -13,6 +14,7 @@ import java.util.List;
 public record ResultResponseDto(
         Long id,
         Long idTest,
+        ResultStatus status,
         BigDecimal score,
         BigDecimal scoreMax,
         Grade grade,
@@ -0,0 +1,41 @@
+package ru.viktorgezz.testing_system.domain.result.leaderboard;
+
+import ru.viktorgezz.testing_system.domain.result.service.util.ScoringPlan;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+
+/**
+ * Лучшая попытка участника в таблице лидеров теста.
+ *
+ * @param idResult         ID результата
+ * @param idUser           ID участника
+ * @param scoreScaled      балл в сотых долях ({@link ScoringPlan#POINT_SCALE})
+ * @param timeSpentSeconds время прохождения
+ */
+public record LeaderboardEntry(
+        Long idResult,
+        Long idUser,
+        long scoreScaled,
+        int timeSpentSeconds
+) {
+
+    /**
+     * Порядок таблицы: больший балл выше, при равном балле выше более быстрая попытка, затем более ранняя.
+     */
+    public static final Comparator<LeaderboardEntry> ORDER = Comparator
+            .comparingLong(LeaderboardEntry::scoreScaled).reversed()
+            .thenComparingInt(LeaderboardEntry::timeSpentSeconds)
+            .thenComparing(LeaderboardEntry::idResult);
+
+    /**
+     * Конструктор для JPQL-проекции.
+     */
+    public LeaderboardEntry(Long idResult, Long idUser, BigDecimal score, int timeSpentSeconds) {
+        this(idResult, idUser, ScoringPlan.toScaled(score), timeSpentSeconds);
+    }
+
+    public BigDecimal score() {
+        return BigDecimal.valueOf(scoreScaled, ScoringPlan.POINT_SCALE);
+    }
+}
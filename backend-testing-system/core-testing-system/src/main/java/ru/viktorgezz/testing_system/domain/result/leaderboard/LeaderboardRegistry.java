@@ -0,0 +1,87 @@
+package ru.viktorgezz.testing_system.domain.result.leaderboard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Таблицы лидеров {@link TestLeaderboard} по ID теста в памяти процесса.
+ * <p>
+ * Таблица строится из {@code results} при первом обращении и дальше обновляется точечно после коммита
+ * подсчета каждого результата. Таблицы, к которым давно не обращались, вытесняются и при следующем обращении
+ * строятся заново. Обновление ждет построения таблицы того же теста, поэтому результат,
+ * закоммиченный во время построения, не теряется.
+ * </p>
+ */
+@Component
+public class LeaderboardRegistry {
+
+    static final String CACHE_NAME = "leaderboards";
+
+    private final Cache<Long, TestLeaderboard> idTestToLeaderboard;
+
+    @Autowired
+    public LeaderboardRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${leaderboard.cache.maximum-size:1000}") long maximumSize,
+            @Value("${leaderboard.cache.expire-after-access-minutes:60}") long expireAfterAccessMinutes
+    ) {
+        this.idTestToLeaderboard = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, idTestToLeaderboard, CACHE_NAME);
+    }
+
+    /**
+     * Возвращает таблицу теста, при промахе строит ее загрузчиком. Исключение загрузчика пробрасывается,
+     * таблица при этом не кешируется.
+     *
+     * @param idTest ID теста
+     * @param loader построение таблицы из БД
+     */
+    public TestLeaderboard get(Long idTest, Function<Long, TestLeaderboard> loader) {
+        return idTestToLeaderboard.get(idTest, loader);
+    }
+
+    /**
+     * Учитывает подсчитанный результат в таблице теста, если она уже построена.
+     * Внутри транзакции применяется после ее коммита.
+     */
+    public void onResultScored(Long idTest, LeaderboardEntry entry) {
+        runAfterCommit(() -> idTestToLeaderboard.asMap().computeIfPresent(idTest, (id, leaderboard) -> {
+            leaderboard.offer(entry);
+            return leaderboard;
+        }));
+    }
+
+    /**
+     * Удаляет таблицу удаленного теста. Внутри транзакции применяется после ее коммита.
+     */
+    public void onTestDeleted(Long idTest) {
+        runAfterCommit(() -> idTestToLeaderboard.invalidate(idTest));
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
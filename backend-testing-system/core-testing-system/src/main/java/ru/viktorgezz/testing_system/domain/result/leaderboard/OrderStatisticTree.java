@@ -0,0 +1,173 @@
+package ru.viktorgezz.testing_system.domain.result.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Упорядоченное множество с порядковой статистикой: декартово дерево (treap), узлы которого хранят размер поддерева.
+ * <p>
+ * Вставка, удаление и позиция элемента выполняются за ожидаемое O(log n), первые k элементов — за O(log n + k).
+ * Элементы, равные по компаратору, считаются одним элементом. Класс не потокобезопасен.
+ * </p>
+ *
+ * @param <E> тип элементов
+ */
+public final class OrderStatisticTree<E> {
+
+    private final Comparator<? super E> comparator;
+    private Node<E> root;
+
+    public OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * @return {@code false}, если равный элемент уже есть
+     */
+    public boolean add(E element) {
+        if (contains(element)) {
+            return false;
+        }
+        Node<E>[] split = split(root, element);
+        root = merge(merge(split[0], new Node<>(element)), split[1]);
+        return true;
+    }
+
+    /**
+     * @return {@code false}, если элемента нет
+     */
+    public boolean remove(E element) {
+        if (!contains(element)) {
+            return false;
+        }
+        root = remove(root, element);
+        return true;
+    }
+
+    public boolean contains(E element) {
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(element, node.element);
+            if (cmp == 0) {
+                return true;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Число элементов строго меньше заданного, то есть позиция элемента с нуля.
+     */
+    public int rank(E element) {
+        int rank = 0;
+        Node<E> node = root;
+        while (node != null) {
+            if (comparator.compare(element, node.element) <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Первые {@code limit} элементов по возрастанию.
+     */
+    public List<E> first(int limit) {
+        List<E> elements = new ArrayList<>(Math.min(limit, size()));
+        collect(root, limit, elements);
+        return elements;
+    }
+
+    private void collect(Node<E> node, int limit, List<E> elements) {
+        if (node == null || elements.size() >= limit) {
+            return;
+        }
+        collect(node.left, limit, elements);
+        if (elements.size() < limit) {
+            elements.add(node.element);
+            collect(node.right, limit, elements);
+        }
+    }
+
+    /**
+     * Делит дерево на элементы меньше {@code element} и не меньше его.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E>[] split(Node<E> node, E element) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (comparator.compare(node.element, element) < 0) {
+            Node<E>[] split = split(node.right, element);
+            node.right = split[0];
+            node.update();
+            return new Node[]{node, split[1]};
+        }
+        Node<E>[] split = split(node.left, element);
+        node.left = split[1];
+        node.update();
+        return new Node[]{split[0], node};
+    }
+
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node<E> remove(Node<E> node, E element) {
+        int cmp = comparator.compare(element, node.element);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, element);
+        } else {
+            node.right = remove(node.right, element);
+        }
+        node.update();
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<E> {
+
+        private final E element;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node<E> left;
+        private Node<E> right;
+
+        private Node(E element) {
+            this.element = element;
+        }
+
+        private void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
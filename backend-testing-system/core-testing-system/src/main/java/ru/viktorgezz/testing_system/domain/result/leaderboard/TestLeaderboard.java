@@ -0,0 +1,89 @@
+package ru.viktorgezz.testing_system.domain.result.leaderboard;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Таблица лидеров одного теста: лучшая попытка каждого участника в {@link OrderStatisticTree}.
+ * <p>
+ * Первые N мест и место участника вычисляются за O(log n + N) без обращения к БД.
+ * Обновление идемпотентно: повторное или худшее предложение той же попытки ничего не меняет.
+ * </p>
+ */
+public final class TestLeaderboard {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OrderStatisticTree<LeaderboardEntry> entries = new OrderStatisticTree<>(LeaderboardEntry.ORDER);
+    private final Map<Long, LeaderboardEntry> idUserToBest = new HashMap<>();
+
+    /**
+     * Учитывает попытку, если она лучше сохраненной лучшей попытки участника.
+     *
+     * @return {@code true}, если таблица изменилась
+     */
+    public boolean offer(LeaderboardEntry entry) {
+        lock.writeLock().lock();
+        try {
+            LeaderboardEntry best = idUserToBest.get(entry.idUser());
+            if (best != null && LeaderboardEntry.ORDER.compare(best, entry) <= 0) {
+                return false;
+            }
+            if (best != null) {
+                entries.remove(best);
+            }
+            entries.add(entry);
+            idUserToBest.put(entry.idUser(), entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Согласованный снимок первых мест и места участника.
+     *
+     * @param limit  сколько первых мест вернуть
+     * @param idUser участник, место которого нужно найти
+     */
+    public View view(int limit, Long idUser) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> top = entries.first(limit);
+            List<Ranked> rankedTop = new ArrayList<>(top.size());
+            for (int i = 0; i < top.size(); i++) {
+                rankedTop.add(new Ranked(i + 1, top.get(i)));
+            }
+
+            LeaderboardEntry best = idUserToBest.get(idUser);
+            Ranked rankedUser = best == null ? null : new Ranked(entries.rank(best) + 1, best);
+            return new View(rankedTop, rankedUser, entries.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Попытка с местом (с единицы).
+     */
+    public record Ranked(int rank, LeaderboardEntry entry) {
+    }
+
+    /**
+     * Снимок таблицы.
+     *
+     * @param top               первые места
+     * @param user              место участника или {@code null}, если у него нет подсчитанных попыток
+     * @param countParticipants число участников в таблице
+     */
+    public record View(List<Ranked> top, Ranked user, int countParticipants) {
+    }
+}
@@ -0,0 +1,41 @@
+package ru.viktorgezz.testing_system.domain.result.repo;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import ru.viktorgezz.testing_system.domain.result.AttemptSummary;
+import ru.viktorgezz.testing_system.domain.result.AttemptSummaryId;
+
+import java.util.Optional;
+
+/**
+ * Репозиторий для доступа к сущностям {@link AttemptSummary}.
+ */
+public interface AttemptSummaryRepo extends CrudRepository<AttemptSummary, AttemptSummaryId> {
+
+    /**
+     * Создает пустую сводку, если ее еще нет. Параллельные первые попытки не конфликтуют по ключу.
+     * Затрагиваемая таблица указана явно, иначе Hibernate сбрасывал бы весь кеш второго уровня на каждый подсчет.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "attempt_summary"))
+    @Query(value = """
+            INSERT INTO attempt_summary (id_user, id_test, attempt_count, last_attempts)
+            VALUES (:idUser, :idTest, 0, CAST('[]' AS jsonb))
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("idUser") Long idUser, @Param("idTest") Long idTest);
+
+    /**
+     * Читает сводку с блокировкой строки до конца транзакции.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT summary FROM AttemptSummary summary WHERE summary.id = :id")
+    Optional<AttemptSummary> findByIdForUpdate(@Param("id") AttemptSummaryId id);
+}
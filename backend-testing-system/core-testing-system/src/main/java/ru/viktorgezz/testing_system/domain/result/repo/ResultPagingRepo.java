@@ -1,11 +1,16 @@
 package ru.viktorgezz.testing_system.domain.result.repo;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.result.dto.ResultMetadataResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Репозиторий для доступа к сущностям {@link Result} с пагинацией и поиском.
@@ -17,4 +22,54 @@ public interface ResultPagingRepo extends PagingAndSortingRepository<Result, Lon
             WHERE result.participant.id = :idUser
             """)
     Page<Long> findAllUserResults(@Param("idUser") Long idUser, Pageable pageable);
+
+    /**
+     * Первая страница истории результатов пользователя (keyset-пагинация).
+     * Использует индекс {@code idx_results_user_completed_at_id}.
+     *
+     * @param idUser ID пользователя
+     * @param limit  максимальное количество строк
+     * @return метаданные результатов в порядке {@code completedAt DESC, id DESC}
+     */
+    @Query("""
+            SELECT new ru.viktorgezz.testing_system.domain.result.dto.ResultMetadataResponseDto(
+                result.id, test.id, test.status, test.title, result.score, test.scoreMax,
+                result.completedAt, result.timeSpentSeconds
+            )
+            FROM Result result
+            JOIN result.test test
+            WHERE result.participant.id = :idUser
+            ORDER BY result.completedAt DESC, result.id DESC
+            """)
+    List<ResultMetadataResponseDto> findUserResultsFirst(@Param("idUser") Long idUser, Limit limit);
+
+    /**
+     * Следующая страница истории результатов пользователя после позиции курсора (keyset-пагинация).
+     *
+     * @param idUser      ID пользователя
+     * @param completedAt время завершения последнего результата предыдущей страницы
+     * @param id          ID последнего результата предыдущей страницы
+     * @param limit       максимальное количество строк
+     * @return метаданные результатов в порядке {@code completedAt DESC, id DESC}
+     */
+    @Query("""
+            SELECT new ru.viktorgezz.testing_system.domain.result.dto.ResultMetadataResponseDto(
+                result.id, test.id, test.status, test.title, result.score, test.scoreMax,
+                result.completedAt, result.timeSpentSeconds
+            )
+            FROM Result result
+            JOIN result.test test
+            WHERE result.participant.id = :idUser
+              AND (result.completedAt < :completedAt
+                   OR (result.completedAt = :completedAt AND result.id < :id))
+            ORDER BY result.completedAt DESC, result.id DESC
+            """)
+    List<ResultMetadataResponseDto> findUserResultsAfter(
+            @Param("idUser") Long idUser,
+            @Param("completedAt") LocalDateTime completedAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    long countByParticipantId(Long idUser);
 }
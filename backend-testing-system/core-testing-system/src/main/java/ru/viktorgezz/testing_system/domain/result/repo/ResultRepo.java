@@ -1,10 +1,14 @@
 package ru.viktorgezz.testing_system.domain.result.repo;
 
 import io.micrometer.common.lang.NonNull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.result.leaderboard.LeaderboardEntry;
 
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +40,14 @@ public interface ResultRepo extends CrudRepository<Result, Long> {
     )
     Optional<Result> findByIdWithTestAndQuestions(@Param("id") Long id);
 
+    @Query("""
+            SELECT result FROM Result result
+            LEFT JOIN FETCH result.test
+            WHERE result.id = :id
+            """
+    )
+    Optional<Result> findByIdWithTest(@Param("id") Long id);
+
     /**
      * Получить результаты по списку ID с тестом.
      *
@@ -49,14 +61,45 @@ public interface ResultRepo extends CrudRepository<Result, Long> {
             """)
     List<Result> findAllWithTestByIds(@Param("ids") List<Long> ids);
 
+    /**
+     * Потоково читает результаты теста с участником по возрастанию ID для выгрузки.
+     * Строки забираются курсором порциями по fetch size, сущности не отслеживаются на изменения.
+     * Поток нужно закрыть и читать внутри транзакции.
+     *
+     * @param idTest ID теста
+     * @return поток результатов теста
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("""
             SELECT result FROM Result result
-            LEFT JOIN result.test test
-            WHERE result.participant.id = :idUser AND test.id = :idTest
-            ORDER BY result.completedAt DESC
+            LEFT JOIN FETCH result.participant
+            WHERE result.test.id = :idTest
+            ORDER BY result.id
+            """)
+    Stream<Result> streamAllByTestIdWithParticipant(@Param("idTest") Long idTest);
+
+    /**
+     * Потоково читает подсчитанные попытки теста для построения таблицы лидеров.
+     *
+     * @param idTest ID теста
+     * @return поток попыток, по одной на результат
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new ru.viktorgezz.testing_system.domain.result.leaderboard.LeaderboardEntry(
+                result.id, result.participant.id, result.score, result.timeSpentSeconds
+            )
+            FROM Result result
+            WHERE result.test.id = :idTest
+            AND result.status = ResultStatus.SCORED
+            AND result.participant IS NOT NULL
+            AND result.score IS NOT NULL
             """)
-    Stream<Result> findResultLastAttempts(
-            @Param("idTest") Long idTest,
-            @Param("idUser") Long idUser
-    );
+    Stream<LeaderboardEntry> streamLeaderboardEntriesByTestId(@Param("idTest") Long idTest);
 }
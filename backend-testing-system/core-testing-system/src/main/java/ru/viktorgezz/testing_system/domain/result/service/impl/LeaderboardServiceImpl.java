@@ -0,0 +1,118 @@
+package ru.viktorgezz.testing_system.domain.result.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.result.dto.LeaderboardDto;
+import ru.viktorgezz.testing_system.domain.result.leaderboard.LeaderboardEntry;
+import ru.viktorgezz.testing_system.domain.result.leaderboard.LeaderboardRegistry;
+import ru.viktorgezz.testing_system.domain.result.leaderboard.TestLeaderboard;
+import ru.viktorgezz.testing_system.domain.result.repo.ResultRepo;
+import ru.viktorgezz.testing_system.domain.result.service.intrf.LeaderboardService;
+import ru.viktorgezz.testing_system.domain.test.service.intrf.TestQueryService;
+import ru.viktorgezz.testing_system.domain.user.service.intrf.UserQueryService;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static ru.viktorgezz.testing_system.domain.util.CurrentUserUtils.getCurrentUserId;
+
+/**
+ * Реализация сервиса таблиц лидеров. Реализует {@link LeaderboardService}.
+ * <p>
+ * Таблицы хранятся в {@link LeaderboardRegistry}; из БД при просмотре читаются только имена участников,
+ * попавших в ответ.
+ * </p>
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+    private final LeaderboardRegistry leaderboardRegistry;
+    private final ResultRepo resultRepo;
+    private final TestQueryService testQueryService;
+    private final UserQueryService userQueryService;
+
+    @Autowired
+    public LeaderboardServiceImpl(
+            LeaderboardRegistry leaderboardRegistry,
+            ResultRepo resultRepo,
+            TestQueryService testQueryService,
+            UserQueryService userQueryService
+    ) {
+        this.leaderboardRegistry = leaderboardRegistry;
+        this.resultRepo = resultRepo;
+        this.testQueryService = testQueryService;
+        this.userQueryService = userQueryService;
+    }
+
+    /**
+     * Выполняется в пишущей транзакции, то есть с primary: таблица, построенная с отстающей реплики,
+     * навсегда пропустила бы результат, подсчитанный до ее построения.
+     */
+    @Override
+    @Transactional
+    public LeaderboardDto getLeaderboard(Long idTest, int limit) {
+        TestLeaderboard leaderboard = leaderboardRegistry.get(idTest, this::loadLeaderboard);
+        TestLeaderboard.View view = leaderboard.view(limit, getCurrentUserId());
+
+        Set<Long> idsUser = new HashSet<>();
+        view.top().forEach(ranked -> idsUser.add(ranked.entry().idUser()));
+        if (view.user() != null) {
+            idsUser.add(view.user().entry().idUser());
+        }
+        Map<Long, String> idUserToUsername = userQueryService.findUsernamesByIds(idsUser);
+
+        return new LeaderboardDto(
+                idTest,
+                view.countParticipants(),
+                view.top().stream().map(ranked -> toDto(ranked, idUserToUsername)).toList(),
+                view.user() == null ? null : toDto(view.user(), idUserToUsername)
+        );
+    }
+
+    @Override
+    public void onResultScored(Result result) {
+        if (result.getParticipant() == null || result.getScore() == null) {
+            return;
+        }
+        Long idTest = result.getTest().getId();
+        LeaderboardEntry entry = new LeaderboardEntry(
+                result.getId(),
+                result.getParticipant().getId(),
+                result.getScore(),
+                result.getTimeSpentSeconds()
+        );
+        leaderboardRegistry.onResultScored(idTest, entry);
+    }
+
+    /**
+     * Строит таблицу из подсчитанных результатов теста. Выполняется в транзакции {@link #getLeaderboard}.
+     */
+    private TestLeaderboard loadLeaderboard(Long idTest) {
+        testQueryService.findById(idTest);
+
+        TestLeaderboard leaderboard = new TestLeaderboard();
+        try (Stream<LeaderboardEntry> entries = resultRepo.streamLeaderboardEntriesByTestId(idTest)) {
+            entries.forEach(leaderboard::offer);
+        }
+        log.debug("Leaderboard of test {} built with {} participants", idTest, leaderboard.size());
+        return leaderboard;
+    }
+
+    private static LeaderboardDto.EntryDto toDto(TestLeaderboard.Ranked ranked, Map<Long, String> idUserToUsername) {
+        LeaderboardEntry entry = ranked.entry();
+        return new LeaderboardDto.EntryDto(
+                ranked.rank(),
+                entry.idUser(),
+                idUserToUsername.get(entry.idUser()),
+                entry.idResult(),
+                entry.score(),
+                entry.timeSpentSeconds()
+        );
+    }
+}
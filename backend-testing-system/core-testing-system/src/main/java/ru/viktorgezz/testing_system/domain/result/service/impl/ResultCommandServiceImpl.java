@@ -1,17 +1,28 @@
 package ru.viktorgezz.testing_system.domain.result.service.impl;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import ru.viktorgezz.testing_system.config.ScoringExecutorConfig;
 import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
-import ru.viktorgezz.testing_system.domain.answer_option.service.intrf.AnswerOptionQueryService;
+import ru.viktorgezz.testing_system.domain.item_stats.service.ItemStatsService;
 import ru.viktorgezz.testing_system.domain.question.Question;
-import ru.viktorgezz.testing_system.domain.result.Grade;
+import ru.viktorgezz.testing_system.domain.result.AttemptSummary;
+import ru.viktorgezz.testing_system.domain.result.AttemptSummaryId;
 import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.result.ResultStatus;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultRequestDto;
+import ru.viktorgezz.testing_system.domain.result.repo.AttemptSummaryRepo;
 import ru.viktorgezz.testing_system.domain.result.repo.ResultRepo;
+import ru.viktorgezz.testing_system.domain.result.service.intrf.LeaderboardService;
 import ru.viktorgezz.testing_system.domain.result.service.intrf.ResultCommandService;
+import ru.viktorgezz.testing_system.domain.result.service.intrf.ScoringPlanService;
+import ru.viktorgezz.testing_system.domain.result.service.util.ScoringPlan;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
 import ru.viktorgezz.testing_system.domain.test.service.intrf.TestQueryService;
 import ru.viktorgezz.testing_system.domain.user.User;
@@ -19,7 +30,6 @@ import ru.viktorgezz.testing_system.domain.user_answer.UserAnswer;
 import ru.viktorgezz.testing_system.domain.user_answer.service.UserAnswerService;
 import ru.viktorgezz.testing_system.domain.util.CurrentUserUtils;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
@@ -28,8 +38,6 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import static ru.viktorgezz.testing_system.domain.result.service.util.ResultScoringCalculator.calculateTotalScoreAndCollectUserAnswers;
-import static ru.viktorgezz.testing_system.domain.util.GroupingUtil.buildAnswerOptionMapByQuestionId;
-import static ru.viktorgezz.testing_system.domain.util.GroupingUtil.extractQuestionIds;
 
 /**
  * Реализация сервиса управления результатами тестов {@link Result}. Реализует {@link ResultCommandService}.
@@ -39,30 +47,44 @@ public class ResultCommandServiceImpl implements ResultCommandService {
 
     public static final String MOSCOW_ZONE_ID = "Europe/Moscow";
 
+    private static final Logger log = LoggerFactory.getLogger(ResultCommandServiceImpl.class);
+
     private final ResultRepo resultRepo;
+    private final AttemptSummaryRepo attemptSummaryRepo;
     private final TestQueryService testQueryService;
     private final UserAnswerService userAnswerService;
-    private final AnswerOptionQueryService answerOptionQueryService;
-
+    private final ScoringPlanService scoringPlanService;
+    private final ItemStatsService itemStatsService;
+    private final LeaderboardService leaderboardService;
+    private final EntityManager entityManager;
 
     @Autowired
     public ResultCommandServiceImpl(
             ResultRepo resultRepo,
+            AttemptSummaryRepo attemptSummaryRepo,
             TestQueryService testQueryService,
             UserAnswerService userAnswerService,
-            AnswerOptionQueryService answerOptionQueryService
+            ScoringPlanService scoringPlanService,
+            ItemStatsService itemStatsService,
+            LeaderboardService leaderboardService,
+            EntityManager entityManager
     ) {
         this.resultRepo = resultRepo;
+        this.attemptSummaryRepo = attemptSummaryRepo;
         this.testQueryService = testQueryService;
         this.userAnswerService = userAnswerService;
-        this.answerOptionQueryService = answerOptionQueryService;
+        this.scoringPlanService = scoringPlanService;
+        this.itemStatsService = itemStatsService;
+        this.leaderboardService = leaderboardService;
+        this.entityManager = entityManager;
     }
 
     @Override
     @Transactional
     public Long initiateCompilationResult(ResultRequestDto resultRequestDto) {
         TestModel test = testQueryService.findById(resultRequestDto.idTest());
-        User user = CurrentUserUtils.getCurrentUser();
+        // Участнику достаточно ссылки по ID из токена, сущность пользователя не загружается
+        User user = entityManager.getReference(User.class, CurrentUserUtils.getCurrentUserId());
         Result result = new Result(
                 resultRequestDto.timeSpentSeconds(),
                 LocalDateTime.now(ZoneId.of(MOSCOW_ZONE_ID)),
@@ -76,43 +98,70 @@ public class ResultCommandServiceImpl implements ResultCommandService {
     }
 
     @Override
+    @Async(ScoringExecutorConfig.SCORING_EXECUTOR)
     @Transactional
     public CompletableFuture<Result> compilateResultAsync(
             Map<Long, ResultRequestDto.UserAnswerRequestDto> idQuestionToUserAnswer,
             Long idResult
     ) {
-        Result resultCompilated = resultRepo.findByIdWithTestAndQuestions(idResult)
+        Result resultCompilated = resultRepo.findByIdWithTest(idResult)
                 .orElseThrow(EntityNotFoundException::new);
-        TestModel testCurr = resultCompilated.getTest();
-
-        final BigDecimal scoreMax = testCurr.getScoreMax();
-        List<Question> questions = testCurr.getQuestions();
-
-        List<Long> idsQuestion = extractQuestionIds(questions);
-        List<AnswerOption> answerOptions = answerOptionQueryService
-                .findAllAnswerOptionByIdsQuestionWithQuestion(idsQuestion);
-        Map<Long, List<AnswerOption>> idQuestionToAnswerOptions =
-                buildAnswerOptionMapByQuestionId(answerOptions);
+        ScoringPlan scoringPlan = scoringPlanService.getScoringPlan(resultCompilated.getTest());
 
         List<UserAnswer> userAnswersProcessed = new ArrayList<>();
-        BigDecimal scoreCommon = calculateTotalScoreAndCollectUserAnswers(
-                questions,
+        ScoringPlan.Outcome outcome = calculateTotalScoreAndCollectUserAnswers(
+                scoringPlan,
                 idQuestionToUserAnswer,
-                idQuestionToAnswerOptions,
                 resultCompilated,
+                idQuestion -> entityManager.getReference(Question.class, idQuestion),
+                idAnswerOption -> entityManager.getReference(AnswerOption.class, idAnswerOption),
                 userAnswersProcessed
         );
 
-        List<UserAnswer> userAnswersSaved = userAnswerService.saveAll(userAnswersProcessed);
+        // Ответы связаны с результатом внешним ключом; большие отправки пишутся через COPY мимо контекста
+        // персистентности, поэтому в каскадную коллекцию результата они не добавляются
+        userAnswerService.saveAll(userAnswersProcessed);
 
-        resultCompilated.setScore(scoreCommon);
-        resultCompilated.setGrade(Grade.calculateGrade(scoreCommon, scoreMax));
-        resultCompilated.getUserAnswers().addAll(userAnswersSaved);
+        resultCompilated.setScore(outcome.score());
+        resultCompilated.setGrade(outcome.grade());
+        resultCompilated.setStatus(ResultStatus.SCORED);
         Result resultSaved = resultRepo.save(resultCompilated);
 
+        itemStatsService.addOutcome(scoringPlan.getIdTest(), outcome);
+        addToAttemptSummary(resultSaved, scoringPlan);
+        leaderboardService.onResultScored(resultSaved);
+
         return CompletableFuture.completedFuture(resultSaved);
     }
 
+    /**
+     * Учитывает результат в сводке попыток участника. Строка сводки блокируется до коммита,
+     * поэтому параллельные подсчеты попыток одного участника не теряют обновлений.
+     */
+    private void addToAttemptSummary(Result result, ScoringPlan scoringPlan) {
+        if (result.getParticipant() == null) {
+            return;
+        }
+        AttemptSummaryId idSummary = new AttemptSummaryId(result.getParticipant().getId(), scoringPlan.getIdTest());
+        attemptSummaryRepo.insertIfAbsent(idSummary.getIdUser(), idSummary.getIdTest());
+        AttemptSummary summary = attemptSummaryRepo.findByIdForUpdate(idSummary)
+                .orElseThrow(EntityNotFoundException::new);
+        summary.addAttempt(new AttemptSummary.Attempt(
+                result.getId(),
+                result.getScore(),
+                scoringPlan.getScoreMax(),
+                result.getTimeSpentSeconds(),
+                result.getCompletedAt()
+        ));
+    }
+
+    @Override
+    @Transactional
+    public void markResultFailed(Long idResult, Throwable cause) {
+        log.error("Scoring of result {} failed", idResult, cause);
+        resultRepo.findById(idResult).ifPresent(result -> result.setStatus(ResultStatus.FAILED));
+    }
+
     @Override
     @Transactional
     public void deleteResult(Long idResult) {
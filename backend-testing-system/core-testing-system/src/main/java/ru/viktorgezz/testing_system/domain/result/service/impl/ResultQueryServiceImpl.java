@@ -1,6 +1,7 @@
 package ru.viktorgezz.testing_system.domain.result.service.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -9,15 +10,21 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
 import ru.viktorgezz.testing_system.domain.answer_option.service.intrf.AnswerOptionQueryService;
 import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.result.AttemptSummaryId;
 import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.result.dto.AttemptSummaryDto;
+import ru.viktorgezz.testing_system.domain.result.dto.ResultCursorPageDto;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultMetadataResponseDto;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultResponseDto;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultShortMetadataResponseDto;
+import ru.viktorgezz.testing_system.domain.result.repo.AttemptSummaryRepo;
 import ru.viktorgezz.testing_system.domain.result.repo.ResultPagingRepo;
 import ru.viktorgezz.testing_system.domain.result.repo.ResultRepo;
 import ru.viktorgezz.testing_system.domain.result.service.intrf.ResultQueryService;
+import ru.viktorgezz.testing_system.domain.result.service.intrf.ScoringPlanService;
+import ru.viktorgezz.testing_system.domain.result.service.util.ResultCursor;
+import ru.viktorgezz.testing_system.domain.result.service.util.ScoringPlan;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
-import ru.viktorgezz.testing_system.domain.user.User;
 import ru.viktorgezz.testing_system.domain.user_answer.UserAnswer;
 import ru.viktorgezz.testing_system.domain.user_answer.service.UserAnswerService;
 import ru.viktorgezz.testing_system.exception.BusinessException;
@@ -32,24 +39,31 @@ import static ru.viktorgezz.testing_system.domain.util.CurrentUserUtils.*;
  * Реализация сервиса, который читает данные {@link Result}. Реализует {@link ResultQueryService}.
  */
 @Service
+@Transactional(readOnly = true)
 public class ResultQueryServiceImpl implements ResultQueryService {
 
     private final ResultRepo resultRepo;
     private final ResultPagingRepo resultPagingRepo;
+    private final AttemptSummaryRepo attemptSummaryRepo;
     private final AnswerOptionQueryService answerOptionQueryService;
     private final UserAnswerService userAnswerService;
+    private final ScoringPlanService scoringPlanService;
 
     @Autowired
     public ResultQueryServiceImpl(
             ResultRepo resultRepo,
             ResultPagingRepo resultPagingRepo,
+            AttemptSummaryRepo attemptSummaryRepo,
             AnswerOptionQueryService answerOptionQueryService,
-            UserAnswerService userAnswerService
+            UserAnswerService userAnswerService,
+            ScoringPlanService scoringPlanService
     ) {
         this.resultRepo = resultRepo;
         this.resultPagingRepo = resultPagingRepo;
+        this.attemptSummaryRepo = attemptSummaryRepo;
         this.answerOptionQueryService = answerOptionQueryService;
         this.userAnswerService = userAnswerService;
+        this.scoringPlanService = scoringPlanService;
     }
 
     @Override
@@ -57,6 +71,7 @@ public class ResultQueryServiceImpl implements ResultQueryService {
         Result resultFound = resultRepo.findByIdWithTestAndQuestions(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESULT_NOT_FOUND, id));
         TestModel test = resultFound.getTest();
+        ScoringPlan scoringPlan = scoringPlanService.getScoringPlan(test);
 
         List<Question> questions = test.getQuestions();
         List<Long> idsQuestion = extractQuestionIds(questions);
@@ -80,7 +95,8 @@ public class ResultQueryServiceImpl implements ResultQueryService {
                             answerOptionsCurrent,
                             idsSelected,
                             userTextAnswer,
-                            question
+                            question,
+                            scoringPlan.getTextAnswerMatcher(question.getId())
                     );
 
                     return new ResultResponseDto.QuestionDto(
@@ -96,6 +112,7 @@ public class ResultQueryServiceImpl implements ResultQueryService {
         return new ResultResponseDto(
                 id,
                 test.getId(),
+                resultFound.getStatus(),
                 resultFound.getScore(),
                 test.getScoreMax(),
                 resultFound.getGrade(),
@@ -112,8 +129,7 @@ public class ResultQueryServiceImpl implements ResultQueryService {
 
     @Override
     public Page<ResultMetadataResponseDto> findUserResults(Pageable pageable) {
-        User currentUser = getCurrentUser();
-        Page<Long> idsPage = resultPagingRepo.findAllUserResults(currentUser.getId(), pageable);
+        Page<Long> idsPage = resultPagingRepo.findAllUserResults(getCurrentUserId(), pageable);
 
         if (idsPage.isEmpty()) {
             return Page.empty(pageable);
@@ -121,8 +137,12 @@ public class ResultQueryServiceImpl implements ResultQueryService {
 
         List<Result> results = resultRepo.findAllWithTestByIds(idsPage.getContent());
 
+        Map<Long, Integer> idToPosition = new HashMap<>();
         List<Long> orderedIds = idsPage.getContent();
-        results.sort(Comparator.comparingInt(result -> orderedIds.indexOf(result.getId())));
+        for (int i = 0; i < orderedIds.size(); i++) {
+            idToPosition.put(orderedIds.get(i), i);
+        }
+        results.sort(Comparator.comparingInt(result -> idToPosition.get(result.getId())));
 
         List<ResultMetadataResponseDto> resultsDto = results.stream()
                 .map(result -> {
@@ -144,20 +164,58 @@ public class ResultQueryServiceImpl implements ResultQueryService {
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<ResultShortMetadataResponseDto> findResultLastThreeAttempts(Long idTest) {
-        Long idUser = getCurrentUser().getId();
-        if (idUser == null) {
-            return Collections.emptyList();
+    public ResultCursorPageDto findUserResultsByCursor(String cursor, int size, boolean withTotal) {
+        Long idUser = getCurrentUserId();
+        // Берем на одну строку больше, чтобы без отдельного запроса понять, есть ли следующая страница
+        Limit limit = Limit.of(size + 1);
+
+        List<ResultMetadataResponseDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = resultPagingRepo.findUserResultsFirst(idUser, limit);
+        } else {
+            ResultCursor resultCursor = ResultCursor.decode(cursor);
+            rows = resultPagingRepo.findUserResultsAfter(idUser, resultCursor.completedAt(), resultCursor.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<ResultMetadataResponseDto> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            ResultMetadataResponseDto last = content.getLast();
+            nextCursor = new ResultCursor(last.completedAt(), last.id()).encode();
         }
-        return resultRepo.findResultLastAttempts(idTest, getCurrentUser().getId())
-                .limit(3)
-                .map(result ->
-                        new ResultShortMetadataResponseDto(
-                                result.getScore(),
-                                result.getTest().getScoreMax(),
-                                result.getTimeSpentSeconds()
+
+        return new ResultCursorPageDto(
+                List.copyOf(content),
+                nextCursor,
+                withTotal ? resultPagingRepo.countByParticipantId(idUser) : null
+        );
+    }
+
+    @Override
+    public List<ResultShortMetadataResponseDto> findResultLastThreeAttempts(Long idTest) {
+        Long idUser = getCurrentUserId();
+        return attemptSummaryRepo.findById(new AttemptSummaryId(idUser, idTest))
+                .map(summary -> summary.getLastAttempts().stream()
+                        .map(attempt -> new ResultShortMetadataResponseDto(
+                                attempt.score(),
+                                attempt.scoreMax(),
+                                attempt.timeSpentSeconds()
                         ))
-                .toList();
+                        .toList())
+                .orElse(Collections.emptyList());
+    }
+
+    @Override
+    public AttemptSummaryDto findAttemptSummary(Long idTest) {
+        Long idUser = getCurrentUserId();
+        return attemptSummaryRepo.findById(new AttemptSummaryId(idUser, idTest))
+                .map(found -> new AttemptSummaryDto(
+                        idTest,
+                        found.getAttemptCount(),
+                        found.getBestScore(),
+                        found.getLastCompletedAt()
+                ))
+                .orElseGet(() -> new AttemptSummaryDto(idTest, 0, null, null));
     }
 }
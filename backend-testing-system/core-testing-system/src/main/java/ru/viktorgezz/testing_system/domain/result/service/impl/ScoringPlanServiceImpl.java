@@ -0,0 +1,58 @@
+package ru.viktorgezz.testing_system.domain.result.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import ru.viktorgezz.testing_system.config.CacheConfig;
+import ru.viktorgezz.testing_system.domain.answer_option.service.intrf.AnswerOptionQueryService;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.result.service.intrf.ScoringPlanService;
+import ru.viktorgezz.testing_system.domain.result.service.util.ScoringPlan;
+import ru.viktorgezz.testing_system.domain.test.TestModel;
+
+import java.util.List;
+
+import static ru.viktorgezz.testing_system.domain.util.GroupingUtil.buildAnswerOptionMapByQuestionId;
+import static ru.viktorgezz.testing_system.domain.util.GroupingUtil.extractQuestionIds;
+
+/**
+ * Реализация сервиса планов подсчета. Реализует {@link ScoringPlanService}.
+ */
+@Service
+public class ScoringPlanServiceImpl implements ScoringPlanService {
+
+    private final Cache scoringPlans;
+    private final AnswerOptionQueryService answerOptionQueryService;
+
+    @Autowired
+    public ScoringPlanServiceImpl(
+            CacheManager cacheManager,
+            AnswerOptionQueryService answerOptionQueryService
+    ) {
+        this.scoringPlans = cacheManager.getCache(CacheConfig.SCORING_PLANS);
+        this.answerOptionQueryService = answerOptionQueryService;
+    }
+
+    @Override
+    public ScoringPlan getScoringPlan(TestModel test) {
+        ScoringPlan scoringPlanCached = scoringPlans.get(test.getId(), ScoringPlan.class);
+        if (scoringPlanCached != null && scoringPlanCached.getContentVersion() == test.getContentVersion()) {
+            return scoringPlanCached;
+        }
+
+        List<Question> questions = test.getQuestions();
+        List<Long> idsQuestion = extractQuestionIds(questions);
+        ScoringPlan scoringPlanCompiled = ScoringPlan.compile(
+                test.getId(),
+                test.getContentVersion(),
+                test.getScoreMax(),
+                questions,
+                buildAnswerOptionMapByQuestionId(
+                        answerOptionQueryService.findAllAnswerOptionByIdsQuestionWithQuestion(idsQuestion))
+        );
+        scoringPlans.put(test.getId(), scoringPlanCompiled);
+
+        return scoringPlanCompiled;
+    }
+}
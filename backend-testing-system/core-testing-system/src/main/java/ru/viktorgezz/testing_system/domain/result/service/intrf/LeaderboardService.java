@@ -0,0 +1,26 @@
+package ru.viktorgezz.testing_system.domain.result.service.intrf;
+
+import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.result.dto.LeaderboardDto;
+
+/**
+ * Сервис таблиц лидеров тестов по подсчитанным результатам {@link Result}.
+ */
+public interface LeaderboardService {
+
+    /**
+     * Получает первые места теста и место текущего пользователя.
+     *
+     * @param idTest ID теста
+     * @param limit  сколько первых мест вернуть
+     * @throws jakarta.persistence.EntityNotFoundException если тест не найден
+     */
+    LeaderboardDto getLeaderboard(Long idTest, int limit);
+
+    /**
+     * Учитывает подсчитанный результат в таблице лидеров после коммита текущей транзакции.
+     *
+     * @param result подсчитанный результат
+     */
+    void onResultScored(Result result);
+}
@@ -21,13 +21,24 @@ public interface ResultCommandService {
 
     /**
      * Асинхронно компилирует результат теста: обрабатывает ответы, вычисляет баллы и оценку.
+     * Задача ставится в ограниченную очередь пула подсчета, вызывающий поток не блокируется.
      *
      * @param idQuestionToUserAnswer карта ответов пользователя по ID вопросов.
      * @param idResult ID результата для компиляции.
      * @return CompletableFuture с скомпилированным результатом.
+     * @throws org.springframework.core.task.TaskRejectedException если очередь подсчета переполнена.
      */
     CompletableFuture<Result> compilateResultAsync(Map<Long, ResultRequestDto.UserAnswerRequestDto> idQuestionToUserAnswer, Long idResult);
 
+    /**
+     * Переводит результат в состояние {@link ru.viktorgezz.testing_system.domain.result.ResultStatus#FAILED}
+     * после неудачного подсчета.
+     *
+     * @param idResult ID результата.
+     * @param cause причина ошибки подсчета.
+     */
+    void markResultFailed(Long idResult, Throwable cause);
+
     /**
      * Удаляет результат теста по его ID, включая все связанные ответы пользователя.
      * Операция выполняется транзакционно.
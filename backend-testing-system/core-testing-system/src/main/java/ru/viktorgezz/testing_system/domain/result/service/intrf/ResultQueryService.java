@@ -3,6 +3,8 @@ package ru.viktorgezz.testing_system.domain.result.service.intrf;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.result.dto.AttemptSummaryDto;
+import ru.viktorgezz.testing_system.domain.result.dto.ResultCursorPageDto;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultMetadataResponseDto;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultResponseDto;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultShortMetadataResponseDto;
@@ -32,5 +34,31 @@ public interface ResultQueryService {
 
     Page<ResultMetadataResponseDto> findUserResults(Pageable pageable);
 
+    /**
+     * Получает страницу истории результатов текущего пользователя курсорной (keyset) пагинацией.
+     * Страница читается одним запросом по индексу, время ответа не зависит от глубины страницы.
+     *
+     * @param cursor    курсор из предыдущей страницы или {@code null} для первой страницы.
+     * @param size      размер страницы.
+     * @param withTotal нужно ли дополнительно посчитать общее количество результатов.
+     * @return страница результатов с курсором следующей страницы.
+     */
+    ResultCursorPageDto findUserResultsByCursor(String cursor, int size, boolean withTotal);
+
+    /**
+     * Последние три попытки текущего пользователя по тесту, от новых к старым.
+     * Читаются из сводки {@link ru.viktorgezz.testing_system.domain.result.AttemptSummary} одним поиском по ключу.
+     *
+     * @param idTest ID теста.
+     * @return последние попытки или пустой список.
+     */
     List<ResultShortMetadataResponseDto> findResultLastThreeAttempts(Long idTest);
+
+    /**
+     * Сводка попыток текущего пользователя по тесту: число попыток, лучший балл, время последней попытки.
+     *
+     * @param idTest ID теста.
+     * @return сводка, без попыток — с нулевым счетчиком.
+     */
+    AttemptSummaryDto findAttemptSummary(Long idTest);
 }
@@ -0,0 +1,19 @@
+package ru.viktorgezz.testing_system.domain.result.service.intrf;
+
+import ru.viktorgezz.testing_system.domain.result.service.util.ScoringPlan;
+import ru.viktorgezz.testing_system.domain.test.TestModel;
+
+/**
+ * Сервис получения скомпилированных планов подсчета результатов {@link ScoringPlan}.
+ */
+public interface ScoringPlanService {
+
+    /**
+     * Возвращает план подсчета для текущей версии содержимого теста.
+     * План берется из кеша, а при отсутствии или устаревшей версии компилируется заново.
+     *
+     * @param test тест, загруженный в текущей транзакции.
+     * @return план подсчета, соответствующий {@code test.getContentVersion()}.
+     */
+    ScoringPlan getScoringPlan(TestModel test);
+}
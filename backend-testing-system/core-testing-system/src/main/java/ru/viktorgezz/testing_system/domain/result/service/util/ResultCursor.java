@@ -0,0 +1,55 @@
+package ru.viktorgezz.testing_system.domain.result.service.util;
+
+import ru.viktorgezz.testing_system.exception.BusinessException;
+import ru.viktorgezz.testing_system.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в истории результатов пользователя для keyset-пагинации: последний отданный результат
+ * в порядке {@code completedAt DESC, id DESC}. Клиенту передается в виде непрозрачной строки.
+ *
+ * @param completedAt время завершения последнего результата страницы
+ * @param id          ID последнего результата страницы
+ */
+public record ResultCursor(
+        LocalDateTime completedAt,
+        Long id
+) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Кодирует курсор в URL-безопасную строку Base64.
+     */
+    public String encode() {
+        String raw = completedAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Декодирует курсор, полученный от клиента.
+     *
+     * @throws BusinessException с кодом {@link ErrorCode#INVALID_CURSOR}, если строка не является курсором
+     */
+    public static ResultCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int indexSeparator = raw.lastIndexOf(SEPARATOR);
+            if (indexSeparator < 0) {
+                throw new BusinessException(ErrorCode.INVALID_CURSOR, cursor);
+            }
+            return new ResultCursor(
+                    LocalDateTime.parse(raw.substring(0, indexSeparator)),
+                    Long.parseLong(raw.substring(indexSeparator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR, cursor);
+        }
+    }
+}
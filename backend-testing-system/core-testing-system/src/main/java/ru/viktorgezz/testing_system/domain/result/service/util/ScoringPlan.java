@@ -0,0 +1,343 @@
+package ru.viktorgezz.testing_system.domain.result.service.util;
+
+import jakarta.persistence.EntityNotFoundException;
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.question.Type;
+import ru.viktorgezz.testing_system.domain.result.Grade;
+import ru.viktorgezz.testing_system.domain.result.dto.ResultRequestDto;
+import ru.viktorgezz.testing_system.domain.util.TextAnswerMatcher;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * Скомпилированный неизменяемый ключ ответов теста.
+ * <p>
+ * Строится один раз на версию содержимого теста ({@code TestModel#contentVersion}) и переиспользуется
+ * для всех отправок результатов:
+ * <ul>
+ *     <li>id вариантов ответа вопроса отсортированы, индекс в массиве служит плотным порядковым номером</li>
+ *     <li>правильные варианты хранятся битовой маской по порядковым номерам</li>
+ *     <li>текстовые ответы проверяются скомпилированным {@link TextAnswerMatcher}, он же используется при показе результата</li>
+ *     <li>баллы хранятся как long в сотых долях ({@link #POINT_SCALE})</li>
+ * </ul>
+ * Результат подсчета совпадает с прежним алгоритмом на {@link BigDecimal}, включая округления
+ * частичного балла и пороги {@link Grade#calculateGrade(BigDecimal, BigDecimal)}.
+ * </p>
+ */
+public final class ScoringPlan {
+
+    /**
+     * Масштаб баллов: в колонках {@code questions.point} и {@code tests.score_max} два знака после запятой.
+     */
+    public static final int POINT_SCALE = 2;
+
+    private static final long RATIO_ONE = 10_000L;
+    private static final long[] EMPTY_MASK = new long[0];
+
+    private final Long idTest;
+    private final long contentVersion;
+    private final long scoreMaxScaled;
+    private final QuestionPlan[] questionPlans;
+    private final Map<Long, TextAnswerMatcher> idQuestionToTextAnswerMatcher;
+
+    private ScoringPlan(Long idTest, long contentVersion, long scoreMaxScaled, QuestionPlan[] questionPlans) {
+        this.idTest = idTest;
+        this.contentVersion = contentVersion;
+        this.scoreMaxScaled = scoreMaxScaled;
+        this.questionPlans = questionPlans;
+
+        Map<Long, TextAnswerMatcher> idQuestionToTextAnswerMatcherBuilt = new HashMap<>();
+        for (QuestionPlan questionPlan : questionPlans) {
+            if (questionPlan.type == Type.OPEN_TEXT) {
+                idQuestionToTextAnswerMatcherBuilt.put(questionPlan.idQuestion, questionPlan.textAnswerMatcher);
+            }
+        }
+        this.idQuestionToTextAnswerMatcher = Map.copyOf(idQuestionToTextAnswerMatcherBuilt);
+    }
+
+    /**
+     * Компилирует план подсчета для теста.
+     *
+     * @param idTest                    ID теста
+     * @param contentVersion            версия содержимого теста, из которой построен план
+     * @param scoreMax                  максимальный балл теста
+     * @param questions                 вопросы теста в порядке подсчета
+     * @param idQuestionToAnswerOptions варианты ответов по ID вопроса
+     * @throws ArithmeticException если балл содержит больше {@link #POINT_SCALE} знаков после запятой
+     */
+    public static ScoringPlan compile(
+            Long idTest,
+            long contentVersion,
+            BigDecimal scoreMax,
+            List<Question> questions,
+            Map<Long, List<AnswerOption>> idQuestionToAnswerOptions
+    ) {
+        QuestionPlan[] questionPlans = new QuestionPlan[questions.size()];
+        for (int i = 0; i < questionPlans.length; i++) {
+            Question question = questions.get(i);
+            questionPlans[i] = compileQuestion(
+                    question,
+                    idQuestionToAnswerOptions.getOrDefault(question.getId(), List.of())
+            );
+        }
+        return new ScoringPlan(idTest, contentVersion, toScaled(scoreMax), questionPlans);
+    }
+
+    /**
+     * Подсчитывает баллы и оценку за отправленные ответы.
+     *
+     * @param idQuestionToUserAnswer ответы пользователя по ID вопроса
+     * @return итог подсчета с выбранными вариантами и нормализованными текстовыми ответами
+     * @throws EntityNotFoundException если выбран вариант, не принадлежащий вопросу
+     */
+    public Outcome score(Map<Long, ResultRequestDto.UserAnswerRequestDto> idQuestionToUserAnswer) {
+        List<QuestionOutcome> questionOutcomes = new ArrayList<>(questionPlans.length);
+        long scoreScaled = 0;
+
+        for (QuestionPlan questionPlan : questionPlans) {
+            ResultRequestDto.UserAnswerRequestDto userAnswerDto = idQuestionToUserAnswer.get(questionPlan.idQuestion);
+            QuestionOutcome questionOutcome = switch (questionPlan.type) {
+                case SINGLE_CHOICE, MULTIPLE_CHOICE -> questionPlan.scoreChoice(userAnswerDto);
+                case OPEN_TEXT -> questionPlan.scoreOpenText(userAnswerDto);
+            };
+            scoreScaled = Math.addExact(scoreScaled, questionOutcome.pointScaled());
+            questionOutcomes.add(questionOutcome);
+        }
+
+        return new Outcome(
+                scoreScaled,
+                Grade.calculateGrade(scoreScaled, scoreMaxScaled),
+                Collections.unmodifiableList(questionOutcomes)
+        );
+    }
+
+    public Long getIdTest() {
+        return idTest;
+    }
+
+    public long getContentVersion() {
+        return contentVersion;
+    }
+
+    public BigDecimal getScoreMax() {
+        return BigDecimal.valueOf(scoreMaxScaled, POINT_SCALE);
+    }
+
+    public int getQuestionCount() {
+        return questionPlans.length;
+    }
+
+    /**
+     * Проверка текстового ответа вопроса OPEN_TEXT, по которой подсчитывается результат.
+     *
+     * @param idQuestion ID вопроса
+     * @return проверка или {@code null}, если вопрос не OPEN_TEXT или не входит в план
+     */
+    public TextAnswerMatcher getTextAnswerMatcher(Long idQuestion) {
+        return idQuestionToTextAnswerMatcher.get(idQuestion);
+    }
+
+    /**
+     * Переводит балл в long с масштабом {@link #POINT_SCALE}.
+     */
+    public static long toScaled(BigDecimal point) {
+        return point
+                .setScale(POINT_SCALE, RoundingMode.UNNECESSARY)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    /**
+     * Форма, в которой текстовый ответ сохраняется: нижний регистр и обрезка пробелов.
+     * Сравнение с правильными ответами выполняет {@link TextAnswerMatcher}.
+     */
+    static String normalizeTextAnswer(String textAnswer) {
+        return textAnswer.toLowerCase().trim();
+    }
+
+    private static QuestionPlan compileQuestion(Question question, List<AnswerOption> answerOptions) {
+        long[] idsAnswerOption = answerOptions.stream()
+                .mapToLong(AnswerOption::getId)
+                .sorted()
+                .distinct()
+                .toArray();
+        long[] correctMask = idsAnswerOption.length == 0 ? EMPTY_MASK : new long[wordCount(idsAnswerOption.length)];
+        for (AnswerOption answerOption : answerOptions) {
+            if (answerOption.isCorrect()) {
+                int ordinal = Arrays.binarySearch(idsAnswerOption, answerOption.getId());
+                correctMask[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+
+        return new QuestionPlan(
+                question.getId(),
+                question.getType(),
+                toScaled(question.getPoint()),
+                question.isAllowMistakes(),
+                idsAnswerOption,
+                correctMask,
+                bitCount(correctMask),
+                question.getType() == Type.OPEN_TEXT ? TextAnswerMatcher.compile(question) : null
+        );
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static int bitCount(long[] mask) {
+        int count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Скомпилированный вопрос.
+     */
+    private record QuestionPlan(
+            Long idQuestion,
+            Type type,
+            long pointScaled,
+            boolean allowMistakes,
+            long[] idsAnswerOption,
+            long[] correctMask,
+            int correctCount,
+            TextAnswerMatcher textAnswerMatcher
+    ) {
+
+        private QuestionOutcome scoreChoice(ResultRequestDto.UserAnswerRequestDto userAnswerDto) {
+            long[] selectedMask = correctMask.length == 0 ? EMPTY_MASK : new long[correctMask.length];
+            boolean isAnySelected = false;
+
+            if (userAnswerDto != null && userAnswerDto.idsSelectedAnswerOption() != null) {
+                for (Long idSelected : userAnswerDto.idsSelectedAnswerOption()) {
+                    int ordinal = ordinalOf(idSelected);
+                    selectedMask[ordinal >>> 6] |= 1L << ordinal;
+                    isAnySelected = true;
+                }
+            }
+
+            int countErrors = 0;
+            for (int i = 0; i < correctMask.length; i++) {
+                countErrors += Long.bitCount(correctMask[i] ^ selectedMask[i]);
+            }
+
+            long pointEarnedScaled;
+            if (countErrors == 0) {
+                pointEarnedScaled = pointScaled;
+            } else if (allowMistakes && isAnySelected) {
+                pointEarnedScaled = calculatePartialScaled(countErrors);
+            } else {
+                pointEarnedScaled = 0;
+            }
+
+            return new QuestionOutcome(
+                    idQuestion,
+                    type,
+                    pointEarnedScaled,
+                    countErrors == 0,
+                    collectSelectedOptions(selectedMask),
+                    null
+            );
+        }
+
+        /**
+         * point * (1 - round(errors / correctCount, 4, HALF_UP)), округленное до 2 знаков по HALF_UP.
+         */
+        private long calculatePartialScaled(int countErrors) {
+            long ratioErrors = Grade.divideHalfUp(countErrors * RATIO_ONE, correctCount);
+            return Grade.divideHalfUp(Math.multiplyExact(pointScaled, RATIO_ONE - ratioErrors), RATIO_ONE);
+        }
+
+        private List<SelectedOption> collectSelectedOptions(long[] selectedMask) {
+            List<SelectedOption> selectedOptions = new ArrayList<>();
+            for (int word = 0; word < selectedMask.length; word++) {
+                long bits = selectedMask[word];
+                while (bits != 0) {
+                    int ordinal = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    boolean isCorrect = (correctMask[word] & (1L << ordinal)) != 0;
+                    selectedOptions.add(new SelectedOption(idsAnswerOption[ordinal], isCorrect));
+                }
+            }
+            return selectedOptions;
+        }
+
+        private int ordinalOf(Long idAnswerOption) {
+            int ordinal = idAnswerOption == null ? -1 : Arrays.binarySearch(idsAnswerOption, idAnswerOption);
+            if (ordinal < 0) {
+                throw new EntityNotFoundException("AnswerOption not found: " + idAnswerOption);
+            }
+            return ordinal;
+        }
+
+        private QuestionOutcome scoreOpenText(ResultRequestDto.UserAnswerRequestDto userAnswerDto) {
+            String textAnswerWritten = userAnswerDto == null || userAnswerDto.textAnswerWritten() == null
+                    ? ""
+                    : userAnswerDto.textAnswerWritten();
+            String textAnswer = normalizeTextAnswer(textAnswerWritten);
+            boolean isCorrect = textAnswerMatcher.matches(textAnswerWritten);
+
+            return new QuestionOutcome(
+                    idQuestion,
+                    type,
+                    isCorrect ? pointScaled : 0,
+                    isCorrect,
+                    List.of(),
+                    textAnswer
+            );
+        }
+    }
+
+    /**
+     * Итог подсчета отправки.
+     *
+     * @param scoreScaled      набранный балл в сотых долях
+     * @param grade            оценка
+     * @param questionOutcomes итоги по вопросам в порядке плана
+     */
+    public record Outcome(
+            long scoreScaled,
+            Grade grade,
+            List<QuestionOutcome> questionOutcomes
+    ) {
+
+        public BigDecimal score() {
+            return BigDecimal.valueOf(scoreScaled, POINT_SCALE);
+        }
+    }
+
+    /**
+     * Итог подсчета по одному вопросу.
+     *
+     * @param idQuestion      ID вопроса
+     * @param type            тип вопроса
+     * @param pointScaled     набранный за вопрос балл в сотых долях
+     * @param isCorrect       ответ полностью верный (без ошибок)
+     * @param selectedOptions выбранные варианты ответа (для вопросов с выбором)
+     * @param textAnswer      нормализованный текстовый ответ (для OPEN_TEXT), иначе {@code null}
+     */
+    public record QuestionOutcome(
+            Long idQuestion,
+            Type type,
+            long pointScaled,
+            boolean isCorrect,
+            List<SelectedOption> selectedOptions,
+            String textAnswer
+    ) {
+    }
+
+    /**
+     * Выбранный пользователем вариант ответа.
+     */
+    public record SelectedOption(
+            Long idAnswerOption,
+            boolean isCorrect
+    ) {
+    }
+}
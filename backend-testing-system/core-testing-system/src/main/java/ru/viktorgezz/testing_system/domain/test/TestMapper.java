@@ -12,6 +12,7 @@ public class TestMapper {
 
     /**
      * Конвертирует {@link TestModel} в {@link TestMetadataResponseDto}.
+     * Автор берется из кешируемого {@link TestModel#getAuthorProfile()}, у нового теста — из {@link TestModel#getAuthor()}.
      *
      * @param testModel модель теста
      * @return DTO теста
@@ -22,7 +23,12 @@ public class TestMapper {
         }
 
         TestMetadataResponseDto.AuthorDto authorDto = null;
-        if (testModel.getAuthor() != null) {
+        if (testModel.getAuthorProfile() != null) {
+            authorDto = new TestMetadataResponseDto.AuthorDto(
+                    testModel.getAuthorProfile().getId(),
+                    testModel.getAuthorProfile().getUsername()
+            );
+        } else if (testModel.getAuthor() != null) {
             authorDto = new TestMetadataResponseDto.AuthorDto(
                     testModel.getAuthor().getId(),
                     testModel.getAuthor().getUsername()
@@ -1,12 +1,18 @@
 package ru.viktorgezz.testing_system.domain.test;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.proxy.HibernateProxy;
+import ru.viktorgezz.testing_system.config.CacheConfig;
 import ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic.TestTopic;
 import ru.viktorgezz.testing_system.domain.question.Question;
 import ru.viktorgezz.testing_system.domain.result.Result;
 import ru.viktorgezz.testing_system.domain.topic.Topic;
 import ru.viktorgezz.testing_system.domain.user.User;
+import ru.viktorgezz.testing_system.domain.user.UserProfile;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -14,9 +20,12 @@ import java.util.stream.Collectors;
 
 /**
  * Модель теста (набора вопросов) с метаданными.
+ * Метаданные и связи с темами кешируются во втором уровне Hibernate; вопросы и результаты не кешируются.
  */
 @Entity
 @Table(name = "tests")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.REGION_TESTS)
 public class TestModel {
 
     @Id
@@ -32,6 +41,14 @@ public class TestModel {
     @Column(name = "score_max")
     private BigDecimal scoreMax = BigDecimal.ZERO;
 
+    /**
+     * Версия содержимого (вопросов и вариантов ответов). Увеличивается при каждом изменении содержимого,
+     * по ней инвалидируются скомпилированные структуры, построенные из вопросов теста.
+     */
+    @Column(name = "content_version", nullable = false)
+    @ColumnDefault("0")
+    private long contentVersion = 0;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Status status;
@@ -40,12 +57,26 @@ public class TestModel {
     @JoinColumn(name = "id_user")
     private User author;
 
+    /**
+     * Автор без учетных данных, только для чтения. В отличие от {@link #author} берется из кеша второго уровня.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(
+            name = "id_user",
+            insertable = false,
+            updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)
+    )
+    private UserProfile authorProfile;
+
     @OneToMany(
             mappedBy = "test",
             cascade = CascadeType.ALL,
             orphanRemoval = true,
             fetch = FetchType.LAZY
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.REGION_TEST_TOPIC_LINKS)
+    @BatchSize(size = 50)
     private Set<TestTopic> testTopics = new HashSet<>();
 
 
@@ -159,6 +190,18 @@ public class TestModel {
         this.scoreMax = scoreMax;
     }
 
+    public long getContentVersion() {
+        return contentVersion;
+    }
+
+    public void setContentVersion(long contentVersion) {
+        this.contentVersion = contentVersion;
+    }
+
+    public void incrementContentVersion() {
+        this.contentVersion++;
+    }
+
     public Status getStatus() {
         return status;
     }
@@ -175,6 +218,13 @@ public class TestModel {
         this.testTopics = testTopics;
     }
 
+    /**
+     * Автор без учетных данных; {@code null} у еще не перечитанного из БД нового теста.
+     */
+    public UserProfile getAuthorProfile() {
+        return authorProfile;
+    }
+
     public User getAuthor() {
         return author;
     }
@@ -1,26 +1,41 @@
 package ru.viktorgezz.testing_system.domain.test.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedModel;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.viktorgezz.testing_system.domain.item_stats.dto.QuestionStatsDto;
+import ru.viktorgezz.testing_system.domain.item_stats.service.ItemStatsService;
+import ru.viktorgezz.testing_system.domain.result.dto.AttemptSummaryDto;
+import ru.viktorgezz.testing_system.domain.result.dto.LeaderboardDto;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultShortMetadataResponseDto;
+import ru.viktorgezz.testing_system.domain.result.service.intrf.LeaderboardService;
 import ru.viktorgezz.testing_system.domain.result.service.intrf.ResultQueryService;
-import ru.viktorgezz.testing_system.domain.test.TestMapper;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.dto.TestCatalogFilterDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TestContentChangesDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataRequestDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataResponseDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestToPassDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TopicFacetDto;
 import ru.viktorgezz.testing_system.domain.test.service.intrf.TestCommandService;
+import ru.viktorgezz.testing_system.domain.test.service.intrf.TestExportService;
 import ru.viktorgezz.testing_system.domain.test.service.intrf.TestQueryService;
-import ru.viktorgezz.testing_system.domain.util.TestJsonConverter;
 import ru.viktorgezz.testing_system.domain.util.CurrentUserUtils;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -33,27 +48,35 @@ public class TestController {
     private final TestQueryService testQueryService;
     private final TestCommandService testCommandService;
     private final ResultQueryService resultQueryService;
+    private final TestExportService testExportService;
+    private final ItemStatsService itemStatsService;
+    private final LeaderboardService leaderboardService;
 
     @Autowired
     public TestController(
             TestQueryService testQueryService,
             TestCommandService testCommandService,
-            ResultQueryService resultQueryService
+            ResultQueryService resultQueryService,
+            TestExportService testExportService,
+            ItemStatsService itemStatsService,
+            LeaderboardService leaderboardService
     ) {
         this.testQueryService = testQueryService;
         this.testCommandService = testCommandService;
         this.resultQueryService = resultQueryService;
+        this.testExportService = testExportService;
+        this.itemStatsService = itemStatsService;
+        this.leaderboardService = leaderboardService;
     }
 
     @PutMapping("/content")
-    public void updateTestContent(@RequestBody @Valid TestUpdateContentDto testDto) {
-        testCommandService.updateTestContent(testDto);
+    public TestContentChangesDto updateTestContent(@RequestBody @Valid TestUpdateContentDto testDto) {
+        return testCommandService.updateTestContent(testDto);
     }
 
     @PutMapping("/content/json")
-    public void updateTestContent(@RequestBody String testJson) {
-        TestUpdateContentDto testDto = TestJsonConverter.parseDto(testJson);
-        testCommandService.updateTestContent(testDto);
+    public TestContentChangesDto updateTestContent(InputStream testJson) {
+        return testCommandService.importTestContent(testJson);
     }
 
     @GetMapping("content")
@@ -63,7 +86,7 @@ public class TestController {
 
     @GetMapping("/metadata")
     public TestMetadataResponseDto getTestMetadataById(@RequestParam("id") Long id) {
-        return TestMapper.toDto(testQueryService.findById(id));
+        return testQueryService.findMetadataById(id);
     }
 
     @PostMapping("/metadata")
@@ -81,9 +104,16 @@ public class TestController {
         testCommandService.deleteById(id);
     }
 
+    /**
+     * Каталог тестов. Фильтр по темам ({@code topicMatch}: ALL — все темы, ANY — любая) и названию
+     * применяется к публичным тестам; для {@code onlyMyTests} не используется.
+     */
     @GetMapping
     public PagedModel<TestMetadataResponseDto> getTests(
             @RequestParam(required = false, defaultValue = "false") Boolean onlyMyTests,
+            @RequestParam(required = false) List<String> topics,
+            @RequestParam(required = false, defaultValue = "ALL") TestCatalogFilterDto.TopicMatch topicMatch,
+            @RequestParam(required = false) String title,
             @PageableDefault(
                     size = 20,
                     sort = "id",
@@ -92,17 +122,31 @@ public class TestController {
             Pageable pageable
     ) {
         Page<TestMetadataResponseDto> page;
+        TestCatalogFilterDto filter = TestCatalogFilterDto.of(topics, topicMatch, title);
         if (Boolean.TRUE.equals(onlyMyTests)) {
-            Long userId = CurrentUserUtils.getCurrentUser().getId();
-            page = testQueryService.findAllByUserIdWithAuthorAndTopics(userId, pageable)
-                    .map(TestMapper::toDto);
+            Long userId = CurrentUserUtils.getCurrentUserId();
+            page = testQueryService.findAllByUserIdWithAuthorAndTopics(userId, pageable);
+        } else if (filter.isEmpty()) {
+            page = testQueryService.findAllWithAuthorAndTopics(pageable);
         } else {
-            page = testQueryService.findAllWithAuthorAndTopics(pageable)
-                    .map(TestMapper::toDto);
+            page = testQueryService.findByFilter(filter, pageable);
         }
         return new PagedModel<>(page);
     }
 
+    /**
+     * Число публичных тестов по темам для того же фильтра, что и у каталога.
+     */
+    @GetMapping("/facets")
+    public List<TopicFacetDto> getTopicFacets(
+            @RequestParam(required = false) List<String> topics,
+            @RequestParam(required = false, defaultValue = "ALL") TestCatalogFilterDto.TopicMatch topicMatch,
+            @RequestParam(required = false) String title,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        return testQueryService.findTopicFacets(TestCatalogFilterDto.of(topics, topicMatch, title), limit);
+    }
+
     @GetMapping("/title")
     public PagedModel<TestMetadataResponseDto> getTestsByTitle(
             @RequestParam String title,
@@ -116,18 +160,73 @@ public class TestController {
     ) {
         Page<TestMetadataResponseDto> page;
         if (Boolean.TRUE.equals(onlyMyTests)) {
-            Long userId = CurrentUserUtils.getCurrentUser().getId();
-            page = testQueryService.findByUserIdAndTitle(userId, title, pageable)
-                    .map(TestMapper::toDto);
+            Long userId = CurrentUserUtils.getCurrentUserId();
+            page = testQueryService.findByUserIdAndTitle(userId, title, pageable);
         } else {
-            page = testQueryService.findByTitle(title, pageable)
-                    .map(TestMapper::toDto);
+            page = testQueryService.findByTitle(title, pageable);
         }
         return new PagedModel<>(page);
     }
 
+    /**
+     * Статистика вопросов теста для автора: доля верных ответов, средний балл,
+     * дискриминативность и выборы вариантов ответа.
+     */
+    @GetMapping("/{id}/stats/questions")
+    public List<QuestionStatsDto> getQuestionStats(@PathVariable Long id) {
+        return itemStatsService.getQuestionStats(id);
+    }
+
+    /**
+     * Таблица лидеров теста: первые {@code limit} участников по лучшей попытке
+     * (балл, при равенстве — время прохождения) и место текущего пользователя.
+     */
+    @GetMapping("/{id}/leaderboard")
+    public LeaderboardDto getLeaderboard(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit
+    ) {
+        return leaderboardService.getLeaderboard(id, limit);
+    }
+
     @GetMapping("/{idTest}/results/last")
     public List<ResultShortMetadataResponseDto> getTestLastAttempts(@PathVariable Long idTest) {
         return resultQueryService.findResultLastThreeAttempts(idTest);
     }
+
+    @GetMapping("/{idTest}/results/summary")
+    public AttemptSummaryDto getTestAttemptSummary(@PathVariable Long idTest) {
+        return resultQueryService.findAttemptSummary(idTest);
+    }
+
+    /**
+     * Выгрузка вопросов теста в NDJSON. Ответ пишется потоком по мере чтения из БД.
+     */
+    @GetMapping(value = "/{id}/export/content", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTestContent(@PathVariable Long id) {
+        testExportService.checkExportAllowed(id);
+        return toNdjsonAttachment(
+                "test-" + id + "-content.ndjson",
+                outputStream -> testExportService.writeContent(id, outputStream)
+        );
+    }
+
+    /**
+     * Выгрузка всех результатов теста в NDJSON. Ответ пишется потоком по мере чтения из БД.
+     */
+    @GetMapping(value = "/{id}/export/results", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTestResults(@PathVariable Long id) {
+        testExportService.checkExportAllowed(id);
+        return toNdjsonAttachment(
+                "test-" + id + "-results.ndjson",
+                outputStream -> testExportService.writeResults(id, outputStream)
+        );
+    }
+
+    private static ResponseEntity<StreamingResponseBody> toNdjsonAttachment(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
 }
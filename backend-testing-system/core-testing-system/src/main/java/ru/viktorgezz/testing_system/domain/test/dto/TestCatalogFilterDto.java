@@ -0,0 +1,70 @@
+package ru.viktorgezz.testing_system.domain.test.dto;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Фильтр каталога публичных тестов по темам и подстроке названия.
+ *
+ * @param titlesTopic нормализованные названия тем, пустое — без фильтра по темам
+ * @param topicMatch  как сочетаются темы фильтра
+ * @param title       подстрока названия теста, {@code null} — без фильтра по названию
+ */
+public record TestCatalogFilterDto(
+        Set<String> titlesTopic,
+        TopicMatch topicMatch,
+        String title
+) {
+
+    /**
+     * Сочетание тем фильтра.
+     */
+    public enum TopicMatch {
+        /**
+         * Тест связан со всеми темами фильтра.
+         */
+        ALL,
+        /**
+         * Тест связан хотя бы с одной темой фильтра.
+         */
+        ANY
+    }
+
+    /**
+     * Собирает фильтр из параметров запроса: названия тем нормализуются так же, как при сохранении темы,
+     * пустые значения отбрасываются.
+     */
+    public static TestCatalogFilterDto of(Collection<String> titlesTopic, TopicMatch topicMatch, String title) {
+        Set<String> titlesTopicNormalized = titlesTopic == null
+                ? Set.of()
+                : titlesTopic.stream()
+                .filter(Objects::nonNull)
+                .map(titleTopic -> titleTopic.trim().toLowerCase())
+                .filter(titleTopic -> !titleTopic.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        String titleTest = title == null || title.isBlank() ? null : title;
+        return new TestCatalogFilterDto(
+                titlesTopicNormalized,
+                topicMatch == null ? TopicMatch.ALL : topicMatch,
+                titleTest
+        );
+    }
+
+    public boolean isEmpty() {
+        return titlesTopic.isEmpty() && title == null;
+    }
+
+    public boolean hasTitle() {
+        return title != null;
+    }
+
+    /**
+     * Подстрока названия для {@code LIKE}: пустая строка совпадает с любым названием.
+     */
+    public String titleOrEmpty() {
+        return title == null ? "" : title;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.viktorgezz.testing_system.domain.test.dto;
+
+/**
+ * Итог обновления контента теста: сколько вопросов и вариантов ответа создано, изменено и удалено.
+ *
+ * @param questionsCreated         создано вопросов
+ * @param questionsUpdated         изменено вопросов
+ * @param questionsDeleted         удалено вопросов (вместе с их вариантами ответов)
+ * @param answerOptionsCreated     создано вариантов ответа
+ * @param answerOptionsUpdated     изменено вариантов ответа
+ * @param answerOptionsDeleted     удалено вариантов ответа у сохраненных вопросов
+ * @param scoreMaxRecalculated     пересчитан максимальный балл теста
+ * @param contentVersion           версия содержимого теста после обновления
+ */
+public record TestContentChangesDto(
+        int questionsCreated,
+        int questionsUpdated,
+        int questionsDeleted,
+        int answerOptionsCreated,
+        int answerOptionsUpdated,
+        int answerOptionsDeleted,
+        boolean scoreMaxRecalculated,
+        long contentVersion
+) {
+
+    public static TestContentChangesDto none(long contentVersion) {
+        return new TestContentChangesDto(0, 0, 0, 0, 0, 0, false, contentVersion);
+    }
+
+    public boolean hasChanges() {
+        return questionsCreated + questionsUpdated + questionsDeleted
+                + answerOptionsCreated + answerOptionsUpdated + answerOptionsDeleted > 0;
+    }
+
+    /**
+     * Суммирует изменения порций одного обновления.
+     */
+    public TestContentChangesDto plus(TestContentChangesDto other) {
+        return new TestContentChangesDto(
+                questionsCreated + other.questionsCreated,
+                questionsUpdated + other.questionsUpdated,
+                questionsDeleted + other.questionsDeleted,
+                answerOptionsCreated + other.answerOptionsCreated,
+                answerOptionsUpdated + other.answerOptionsUpdated,
+                answerOptionsDeleted + other.answerOptionsDeleted,
+                scoreMaxRecalculated || other.scoreMaxRecalculated,
+                Math.max(contentVersion, other.contentVersion)
+        );
+    }
+
+    public TestContentChangesDto withContentVersion(long contentVersionNew) {
+        return new TestContentChangesDto(
+                questionsCreated, questionsUpdated, questionsDeleted,
+                answerOptionsCreated, answerOptionsUpdated, answerOptionsDeleted,
+                scoreMaxRecalculated,
+                contentVersionNew
+        );
+    }
+}
@@ -2,6 +2,7 @@ package ru.viktorgezz.testing_system.domain.test.dto;
 
 import ru.viktorgezz.testing_system.domain.test.Status;
 
+import java.util.Arrays;
 import java.util.Set;
 
 /**
@@ -16,6 +17,29 @@ public record TestMetadataResponseDto(
         Set<String> namesTopics
 ) {
 
+    /**
+     * Конструктор для проекции каталога: автор и темы приходят плоскими колонками,
+     * темы — агрегированным массивом ({@code null}, если тем нет).
+     */
+    public TestMetadataResponseDto(
+            Long id,
+            String title,
+            String description,
+            Status status,
+            Long idAuthor,
+            String usernameAuthor,
+            String[] titlesTopic
+    ) {
+        this(
+                id,
+                title,
+                description,
+                status,
+                idAuthor == null ? null : new AuthorDto(idAuthor, usernameAuthor),
+                titlesTopic == null ? Set.of() : Set.copyOf(Arrays.asList(titlesTopic))
+        );
+    }
+
     /**
      * DTO для представления автора теста в ответе.
      */
@@ -0,0 +1,10 @@
+package ru.viktorgezz.testing_system.domain.test.dto;
+
+/**
+ * DTO с ID и названием теста для построения поискового индекса.
+ */
+public record TestTitleDto(
+        Long id,
+        String title
+) {
+}
@@ -0,0 +1,11 @@
+package ru.viktorgezz.testing_system.domain.test.dto;
+
+/**
+ * DTO связи публичного теста с темой для построения индекса тем.
+ */
+public record TestTopicLinkDto(
+        Long idTest,
+        Long idTopic,
+        String titleTopic
+) {
+}
@@ -2,10 +2,13 @@ package ru.viktorgezz.testing_system.domain.test.dto;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import ru.viktorgezz.testing_system.domain.question.Type;
+import ru.viktorgezz.testing_system.domain.util.TextAnswerMatcher;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -31,8 +34,30 @@ public record TestUpdateContentDto(
             List<@Size(max = 150, message = "Длина ответа на вопрос не должна превышать 150 символов")
                     String> correctTextAnswer,
             @Valid List<AnswerOptionDto> answerOptions,
-            boolean allowMistakes
+            boolean allowMistakes,
+            @Min(value = 0, message = "Допуск опечаток не может быть отрицательным")
+            @Max(value = TextAnswerMatcher.TOLERANCE_MAX, message = "Допуск опечаток не может превышать 2")
+            Integer textAnswerTolerance
     ) {
+
+        public QuestionDto(
+                Long idQuestion,
+                String text,
+                Type type,
+                BigDecimal point,
+                List<String> correctTextAnswer,
+                List<AnswerOptionDto> answerOptions,
+                boolean allowMistakes
+        ) {
+            this(idQuestion, text, type, point, correctTextAnswer, answerOptions, allowMistakes, null);
+        }
+
+        /**
+         * Допуск опечаток текстового ответа, без значения — 0.
+         */
+        public int textAnswerToleranceOrZero() {
+            return textAnswerTolerance == null ? 0 : textAnswerTolerance;
+        }
     }
 
     public record AnswerOptionDto(
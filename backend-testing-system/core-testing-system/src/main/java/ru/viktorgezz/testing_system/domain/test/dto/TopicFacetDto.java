@@ -0,0 +1,10 @@
+package ru.viktorgezz.testing_system.domain.test.dto;
+
+/**
+ * Число публичных тестов с темой среди тестов, подходящих под фильтр каталога.
+ */
+public record TopicFacetDto(
+        String title,
+        Long countTests
+) {
+}
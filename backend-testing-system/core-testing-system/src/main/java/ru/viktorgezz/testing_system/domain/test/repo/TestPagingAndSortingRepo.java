@@ -7,6 +7,8 @@ import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
 
+import java.util.Collection;
+
 /**
  * Репозиторий для доступа к сущностям {@link TestModel} с пагинацией и поиском.
  */
@@ -66,4 +68,29 @@ public interface TestPagingAndSortingRepo extends PagingAndSortingRepository<Tes
             """)
     Page<Long> findTestIdsByUserIdAndTitle(@Param("userId") Long userId, @Param("title") String title, Pageable pageable);
 
+    /**
+     * Поиск ID публичных тестов по темам и частичному совпадению названия (без учёта регистра).
+     *
+     * @param title          подстрока для поиска в названии, пустая — любое название
+     * @param idsTopic       ID тем фильтра
+     * @param countTopicsMin сколько тем фильтра должно быть у теста: все — для ALL, одна — для ANY
+     * @param pageable       параметры пагинации
+     * @return страница ID тестов
+     */
+    @Query("""
+            SELECT test.id FROM TestModel test
+            WHERE test.status = Status.PUBLIC
+            AND LOWER(test.title) LIKE LOWER(CONCAT('%', :title, '%'))
+            AND (
+                SELECT COUNT(testTopic) FROM TestTopic testTopic
+                WHERE testTopic.test = test AND testTopic.topic.id IN :idsTopic
+            ) >= :countTopicsMin
+            """)
+    Page<Long> findTestIdsByTitleAndTopics(
+            @Param("title") String title,
+            @Param("idsTopic") Collection<Long> idsTopic,
+            @Param("countTopicsMin") long countTopicsMin,
+            Pageable pageable
+    );
+
 }
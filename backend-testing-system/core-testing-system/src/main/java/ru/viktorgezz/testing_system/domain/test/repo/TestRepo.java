@@ -4,7 +4,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataResponseDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TestTitleDto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,19 +39,25 @@ public interface TestRepo extends CrudRepository<TestModel, Long> {
     List<TestModel> findAllWithAuthorAndTopics();
 
     /**
-     * Получить тесты по списку ID с автором и темами.
+     * Метаданные тестов по списку ID одним запросом, без загрузки сущностей в контекст персистентности.
+     * Темы собираются в массив {@code array_agg}; группировки по первичным ключам достаточно для PostgreSQL.
      *
      * @param ids список ID тестов
-     * @return тесты с подгруженными автором и темами
+     * @return DTO каталога в произвольном порядке
      */
     @Query("""
-            SELECT DISTINCT test FROM TestModel test
-            LEFT JOIN FETCH test.author
-            LEFT JOIN FETCH test.testTopics testTopic
-            LEFT JOIN FETCH testTopic.topic
+            SELECT new ru.viktorgezz.testing_system.domain.test.dto.TestMetadataResponseDto(
+                test.id, test.title, test.description, test.status, author.id, author.username,
+                array_agg(topic.title) WITHIN GROUP (ORDER BY topic.title) FILTER (WHERE topic.id IS NOT NULL)
+            )
+            FROM TestModel test
+            LEFT JOIN test.author author
+            LEFT JOIN test.testTopics testTopic
+            LEFT JOIN testTopic.topic topic
             WHERE test.id IN :ids
+            GROUP BY test.id, author.id
             """)
-    List<TestModel> findAllWithAuthorAndTopicsByIds(@Param("ids") List<Long> ids);
+    List<TestMetadataResponseDto> findMetadataByIds(@Param("ids") Collection<Long> ids);
 
     /**
      * Получить все тесты текущего пользователя со связанными автором и темами.
@@ -66,23 +75,6 @@ public interface TestRepo extends CrudRepository<TestModel, Long> {
     )
     List<TestModel> findAllWithAuthorAndTopicsByUserId(@Param("userId") Long userId);
 
-    /**
-     * Получить тесты текущего пользователя по списку ID с автором и темами.
-     *
-     * @param userId ID пользователя
-     * @param ids    список ID тестов
-     * @return тесты пользователя с подгруженными автором и темами
-     */
-    @Query("""
-            SELECT DISTINCT test FROM TestModel test
-            LEFT JOIN FETCH test.author
-            LEFT JOIN FETCH test.testTopics testTopic
-            LEFT JOIN FETCH testTopic.topic
-            WHERE test.author.id = :userId
-            AND test.id IN :ids
-            """)
-    List<TestModel> findAllWithAuthorAndTopicsByUserIdAndIds(@Param("userId") Long userId, @Param("ids") List<Long> ids);
-
     /**
      * Загрузить тест с вопросами и вариантами ответов для обновления.
      *
@@ -112,4 +104,26 @@ public interface TestRepo extends CrudRepository<TestModel, Long> {
             """)
     Optional<TestModel> findForEditingMetadata(@Param("idTest") Long idTest);
 
+    /**
+     * Получить ID и названия всех публичных тестов.
+     *
+     * @return ID и названия публичных тестов
+     */
+    @Query("""
+            SELECT new ru.viktorgezz.testing_system.domain.test.dto.TestTitleDto(test.id, test.title)
+            FROM TestModel test
+            WHERE test.status = Status.PUBLIC
+            """)
+    List<TestTitleDto> findAllPublicTitles();
+
+    /**
+     * Получить ID всех публичных тестов.
+     *
+     * @return ID публичных тестов
+     */
+    @Query("""
+            SELECT test.id FROM TestModel test
+            WHERE test.status = Status.PUBLIC
+            """)
+    List<Long> findAllPublicIds();
 }
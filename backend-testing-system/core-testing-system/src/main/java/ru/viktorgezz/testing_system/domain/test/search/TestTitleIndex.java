@@ -0,0 +1,359 @@
+package ru.viktorgezz.testing_system.domain.test.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.viktorgezz.testing_system.domain.test.Status;
+import ru.viktorgezz.testing_system.domain.test.dto.TestTitleDto;
+import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный триграммный индекс названий публичных тестов в памяти процесса.
+ * <p>
+ * Заменяет {@code LOWER(title) LIKE '%x%'}, который на каждый запрос поиска читает всю таблицу {@code tests}.
+ * Индекс строится при старте приложения и обновляется точечно после коммита изменений метаданных и удаления теста.
+ * Пока индекс не построен (или выключен), {@link #findIdsByTitle(String, Pageable)} возвращает пустой
+ * {@link Optional}, и поиск выполняется запросом в БД.
+ * </p>
+ * <p>
+ * Поиск: триграммы запроса дают кандидатов из самого короткого списка, кандидаты проверяются
+ * вхождением подстроки в нормализованное название. Запросы короче триграммы проверяются перебором названий.
+ * </p>
+ */
+@Component
+public class TestTitleIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TestTitleIndex.class);
+
+    static final int GRAM_LENGTH = 3;
+
+    /**
+     * Оценки размера объектов в куче (64-bit JVM со сжатыми указателями), используются только для метрики.
+     */
+    private static final long BYTES_PER_TITLE = 88;
+    private static final long BYTES_PER_GRAM = 144;
+    private static final long BYTES_PER_POSTING = 48;
+
+    private static final String PROPERTY_SORT = "title";
+
+    private final TestRepo testRepo;
+    private final boolean enabled;
+
+    private final Timer timerBuild;
+    private final Timer timerQuery;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> idToTitle = new HashMap<>();
+    private final Map<String, Set<Long>> gramToIds = new HashMap<>();
+    private long countPostings;
+    private long countTitleChars;
+
+    /**
+     * Изменения, закоммиченные во время перестроения: применяются поверх прочитанного из БД снимка.
+     */
+    private final Map<Long, String> idToTitleChangedDuringBuild = new HashMap<>();
+    private boolean building;
+
+    private volatile boolean ready;
+
+    @Autowired
+    public TestTitleIndex(
+            TestRepo testRepo,
+            MeterRegistry meterRegistry,
+            @Value("${search.title-index.enabled:true}") boolean enabled
+    ) {
+        this.testRepo = testRepo;
+        this.enabled = enabled;
+
+        this.timerBuild = Timer.builder("search.title_index.build")
+                .description("Time to build the test title index")
+                .register(meterRegistry);
+        this.timerQuery = Timer.builder("search.title_index.query")
+                .description("Latency of test title search served from the index")
+                .register(meterRegistry);
+        Gauge.builder("search.title_index.memory", this, TestTitleIndex::estimateMemoryBytes)
+                .description("Estimated heap size of the test title index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("search.title_index.tests", this, TestTitleIndex::size)
+                .description("Number of indexed public tests")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Полностью перестраивает индекс из БД. Пока идет перестроение, поиск обслуживается прежним индексом
+     * (или БД, если индекс еще не был построен).
+     */
+    public synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        withWriteLock(() -> {
+            building = true;
+            idToTitleChangedDuringBuild.clear();
+        });
+
+        try {
+            List<TestTitleDto> titles = testRepo.findAllPublicTitles();
+            withWriteLock(() -> {
+                idToTitle.clear();
+                gramToIds.clear();
+                countPostings = 0;
+                countTitleChars = 0;
+                titles.forEach(title -> addUnlocked(title.id(), title.title()));
+                idToTitleChangedDuringBuild.forEach(this::replaceUnlocked);
+                ready = true;
+            });
+            timerBuild.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            log.info("Test title index built: {} public tests", titles.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to build test title index, title search falls back to the database", e);
+        } finally {
+            withWriteLock(() -> {
+                building = false;
+                idToTitleChangedDuringBuild.clear();
+            });
+        }
+    }
+
+    /**
+     * Обновляет название теста в индексе после коммита текущей транзакции.
+     * Непубличные тесты из индекса удаляются.
+     */
+    public void onTestSaved(Long idTest, String title, Status status) {
+        String titleIndexed = status == Status.PUBLIC ? title : null;
+        runAfterCommit(() -> apply(idTest, titleIndexed));
+    }
+
+    /**
+     * Удаляет тест из индекса после коммита текущей транзакции.
+     */
+    public void onTestDeleted(Long idTest) {
+        runAfterCommit(() -> apply(idTest, null));
+    }
+
+    /**
+     * Ищет ID публичных тестов, название которых содержит подстроку (без учета регистра).
+     *
+     * @param title    подстрока для поиска
+     * @param pageable параметры пагинации, поддерживается сортировка только по {@code title}
+     * @return страница ID тестов или пустой {@link Optional}, если запрос нужно выполнить в БД
+     */
+    public Optional<Page<Long>> findIdsByTitle(String title, Pageable pageable) {
+        if (!ready || !isSortSupported(pageable.getSort())) {
+            return Optional.empty();
+        }
+
+        long startedAt = System.nanoTime();
+        String query = normalize(title);
+        List<Long> idsMatched;
+        lock.readLock().lock();
+        try {
+            idsMatched = findMatchesUnlocked(query);
+            idsMatched.sort(comparatorUnlocked(pageable.getSort()));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> idsPage = idsMatched;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), idsMatched.size());
+            int to = Math.min(from + pageable.getPageSize(), idsMatched.size());
+            idsPage = idsMatched.subList(from, to);
+        }
+        timerQuery.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        return Optional.of(new PageImpl<>(List.copyOf(idsPage), pageable, idsMatched.size()));
+    }
+
+    /**
+     * Ищет ID всех публичных тестов, название которых содержит подстроку (без учета регистра), без порядка.
+     *
+     * @param title подстрока для поиска
+     * @return ID тестов или пустой {@link Optional}, если запрос нужно выполнить в БД
+     */
+    public Optional<List<Long>> findAllIdsByTitle(String title) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(findMatchesUnlocked(normalize(title)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return idToTitle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Оценка занимаемой индексом памяти в байтах.
+     */
+    public long estimateMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            return idToTitle.size() * BYTES_PER_TITLE
+                    + countTitleChars * Character.BYTES
+                    + gramToIds.size() * BYTES_PER_GRAM
+                    + countPostings * BYTES_PER_POSTING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String title) {
+        return title == null ? "" : title.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> extractGrams(String titleNormalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= titleNormalized.length(); i++) {
+            grams.add(titleNormalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private List<Long> findMatchesUnlocked(String query) {
+        List<Long> idsMatched = new ArrayList<>();
+        if (query.length() < GRAM_LENGTH) {
+            idToTitle.forEach((id, title) -> {
+                if (title.contains(query)) {
+                    idsMatched.add(id);
+                }
+            });
+            return idsMatched;
+        }
+
+        Set<Long> candidates = null;
+        for (String gram : extractGrams(query)) {
+            Set<Long> ids = gramToIds.get(gram);
+            if (ids == null) {
+                return idsMatched;
+            }
+            if (candidates == null || ids.size() < candidates.size()) {
+                candidates = ids;
+            }
+        }
+        for (Long id : candidates) {
+            if (idToTitle.get(id).contains(query)) {
+                idsMatched.add(id);
+            }
+        }
+        return idsMatched;
+    }
+
+    private boolean isSortSupported(Sort sort) {
+        return sort.stream().allMatch(order -> PROPERTY_SORT.equals(order.getProperty()));
+    }
+
+    private Comparator<Long> comparatorUnlocked(Sort sort) {
+        Comparator<Long> byTitle = Comparator.comparing(idToTitle::get);
+        Sort.Order order = sort.getOrderFor(PROPERTY_SORT);
+        if (order != null && order.isDescending()) {
+            byTitle = byTitle.reversed();
+        }
+        return byTitle.thenComparing(Comparator.naturalOrder());
+    }
+
+    private void apply(Long idTest, String title) {
+        withWriteLock(() -> {
+            if (building) {
+                idToTitleChangedDuringBuild.put(idTest, title);
+            }
+            replaceUnlocked(idTest, title);
+        });
+    }
+
+    private void replaceUnlocked(Long idTest, String title) {
+        removeUnlocked(idTest);
+        if (title != null) {
+            addUnlocked(idTest, title);
+        }
+    }
+
+    private void addUnlocked(Long idTest, String title) {
+        String titleNormalized = normalize(title);
+        idToTitle.put(idTest, titleNormalized);
+        countTitleChars += titleNormalized.length();
+        for (String gram : extractGrams(titleNormalized)) {
+            gramToIds.computeIfAbsent(gram, key -> new HashSet<>()).add(idTest);
+            countPostings++;
+        }
+    }
+
+    private void removeUnlocked(Long idTest) {
+        String titleNormalized = idToTitle.remove(idTest);
+        if (titleNormalized == null) {
+            return;
+        }
+        countTitleChars -= titleNormalized.length();
+        for (String gram : extractGrams(titleNormalized)) {
+            Set<Long> ids = gramToIds.get(gram);
+            if (ids != null && ids.remove(idTest)) {
+                countPostings--;
+                if (ids.isEmpty()) {
+                    gramToIds.remove(gram);
+                }
+            }
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package ru.viktorgezz.testing_system.domain.test.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic.TestTopicRepo;
+import ru.viktorgezz.testing_system.domain.test.Status;
+import ru.viktorgezz.testing_system.domain.test.dto.TestCatalogFilterDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TestTopicLinkDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TopicFacetDto;
+import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
+import ru.viktorgezz.testing_system.domain.topic.Topic;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс «тема → сжатое множество ID публичных тестов» в памяти процесса.
+ * <p>
+ * Множества хранятся в {@link RoaringBitmap}: фильтр по темам — пересечение (ALL) или объединение (ANY)
+ * множеств, число тестов темы под фильтром — мощность пересечения без построения результата.
+ * Поэтому фильтр и подсчет тем не требуют {@code GROUP BY} по {@code tests_topics} на каждый запрос.
+ * Индекс строится при старте приложения и обновляется точечно после коммита изменений метаданных и удаления теста.
+ * Пока индекс не построен (или выключен), методы поиска возвращают пустой {@link Optional},
+ * и запрос выполняется в БД.
+ * </p>
+ * <p>
+ * ID тестов хранятся как 32-битные: тест с ID больше {@link Integer#MAX_VALUE} выключает индекс до перестроения.
+ * </p>
+ */
+@Component
+public class TestTopicIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TestTopicIndex.class);
+
+    private static final String PROPERTY_SORT = "id";
+
+    private final TestRepo testRepo;
+    private final TestTopicRepo testTopicRepo;
+    private final boolean enabled;
+
+    private final Timer timerBuild;
+    private final Timer timerQuery;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap idsPublic = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> idTopicToIdsTest = new HashMap<>();
+    private final Map<Long, String> idTopicToTitle = new HashMap<>();
+    private final Map<String, Long> titleToIdTopic = new HashMap<>();
+    private final Map<Long, long[]> idTestToIdsTopic = new HashMap<>();
+
+    /**
+     * Изменения, закоммиченные во время перестроения: применяются поверх прочитанного из БД снимка.
+     * {@code null} — тест удален или перестал быть публичным.
+     */
+    private final Map<Long, Map<Long, String>> idTestToTopicsChangedDuringBuild = new HashMap<>();
+    private boolean building;
+
+    private volatile boolean ready;
+
+    @Autowired
+    public TestTopicIndex(
+            TestRepo testRepo,
+            TestTopicRepo testTopicRepo,
+            MeterRegistry meterRegistry,
+            @Value("${search.topic-index.enabled:true}") boolean enabled
+    ) {
+        this.testRepo = testRepo;
+        this.testTopicRepo = testTopicRepo;
+        this.enabled = enabled;
+
+        this.timerBuild = Timer.builder("search.topic_index.build")
+                .description("Time to build the test topic index")
+                .register(meterRegistry);
+        this.timerQuery = Timer.builder("search.topic_index.query")
+                .description("Latency of topic filtering and facet counting served from the index")
+                .register(meterRegistry);
+        Gauge.builder("search.topic_index.memory", this, TestTopicIndex::estimateMemoryBytes)
+                .description("Heap size of the test topic index bitmaps")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("search.topic_index.topics", this, TestTopicIndex::countTopics)
+                .description("Number of topics linked to public tests")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Полностью перестраивает индекс из БД. Пока идет перестроение, запросы обслуживаются прежним индексом
+     * (или БД, если индекс еще не был построен).
+     */
+    public synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        withWriteLock(() -> {
+            building = true;
+            idTestToTopicsChangedDuringBuild.clear();
+        });
+
+        try {
+            Map<Long, Map<Long, String>> idTestToTopics = new HashMap<>();
+            testRepo.findAllPublicIds().forEach(idTest -> idTestToTopics.put(idTest, new HashMap<>()));
+            for (TestTopicLinkDto link : testTopicRepo.findAllPublicLinks()) {
+                idTestToTopics.computeIfAbsent(link.idTest(), id -> new HashMap<>())
+                        .put(link.idTopic(), link.titleTopic());
+            }
+            withWriteLock(() -> {
+                clearUnlocked();
+                idTestToTopics.forEach(this::addUnlocked);
+                idTestToTopicsChangedDuringBuild.forEach(this::replaceUnlocked);
+                ready = true;
+            });
+            timerBuild.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            log.info("Test topic index built: {} public tests, {} topics", idTestToTopics.size(), countTopics());
+        } catch (RuntimeException e) {
+            withWriteLock(() -> ready = false);
+            log.warn("Failed to build test topic index, topic filtering falls back to the database", e);
+        } finally {
+            withWriteLock(() -> {
+                building = false;
+                idTestToTopicsChangedDuringBuild.clear();
+            });
+        }
+    }
+
+    /**
+     * Обновляет темы теста в индексе после коммита текущей транзакции.
+     * Непубличные тесты из индекса удаляются.
+     */
+    public void onTestSaved(Long idTest, Status status, Collection<Topic> topics) {
+        Map<Long, String> idTopicToTitleTest = null;
+        if (status == Status.PUBLIC) {
+            idTopicToTitleTest = new HashMap<>();
+            for (Topic topic : topics) {
+                idTopicToTitleTest.put(topic.getId(), topic.getTitle());
+            }
+        }
+        Map<Long, String> topicsIndexed = idTopicToTitleTest;
+        runAfterCommit(() -> apply(idTest, topicsIndexed));
+    }
+
+    /**
+     * Удаляет тест из индекса после коммита текущей транзакции.
+     */
+    public void onTestDeleted(Long idTest) {
+        runAfterCommit(() -> apply(idTest, null));
+    }
+
+    /**
+     * Ищет ID публичных тестов под фильтр по темам.
+     *
+     * @param filter          фильтр каталога, название теста учитывается через {@code idsTitleMatched}
+     * @param idsTitleMatched ID тестов с подходящим названием, {@code null} — без фильтра по названию
+     * @param pageable        параметры пагинации, поддерживается сортировка только по {@code id}
+     * @return страница ID тестов или пустой {@link Optional}, если запрос нужно выполнить в БД
+     */
+    public Optional<Page<Long>> findIds(
+            TestCatalogFilterDto filter,
+            Collection<Long> idsTitleMatched,
+            Pageable pageable
+    ) {
+        if (!ready || !isSortSupported(pageable.getSort())) {
+            return Optional.empty();
+        }
+
+        long startedAt = System.nanoTime();
+        Sort.Order order = pageable.getSort().getOrderFor(PROPERTY_SORT);
+        boolean descending = order != null && order.isDescending();
+        List<Long> idsPage = new ArrayList<>();
+        int countMatched;
+        lock.readLock().lock();
+        try {
+            RoaringBitmap idsMatched = matchUnlocked(filter, idsTitleMatched);
+            countMatched = idsMatched.getCardinality();
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), countMatched) : 0;
+            int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), countMatched) : countMatched;
+            for (int position = from; position < to; position++) {
+                int rank = descending ? countMatched - 1 - position : position;
+                idsPage.add((long) idsMatched.select(rank));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        timerQuery.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        return Optional.of(new PageImpl<>(idsPage, pageable, countMatched));
+    }
+
+    /**
+     * Считает публичные тесты под фильтр по каждой теме.
+     *
+     * @param filter          фильтр каталога, название теста учитывается через {@code idsTitleMatched}
+     * @param idsTitleMatched ID тестов с подходящим названием, {@code null} — без фильтра по названию
+     * @param limit           максимальное число тем
+     * @return темы с ненулевым числом тестов по убыванию числа, затем по названию,
+     * или пустой {@link Optional}, если запрос нужно выполнить в БД
+     */
+    public Optional<List<TopicFacetDto>> findFacets(
+            TestCatalogFilterDto filter,
+            Collection<Long> idsTitleMatched,
+            int limit
+    ) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        long startedAt = System.nanoTime();
+        List<TopicFacetDto> facets = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap idsMatched = matchUnlocked(filter, idsTitleMatched);
+            if (!idsMatched.isEmpty()) {
+                idTopicToIdsTest.forEach((idTopic, idsTest) -> {
+                    int countTests = RoaringBitmap.andCardinality(idsTest, idsMatched);
+                    if (countTests > 0) {
+                        facets.add(new TopicFacetDto(idTopicToTitle.get(idTopic), (long) countTests));
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        facets.sort(Comparator.comparing(TopicFacetDto::countTests).reversed()
+                .thenComparing(TopicFacetDto::title));
+        timerQuery.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        return Optional.of(List.copyOf(facets.subList(0, Math.min(limit, facets.size()))));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int countTopics() {
+        lock.readLock().lock();
+        try {
+            return idTopicToIdsTest.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Размер множеств индекса в байтах.
+     */
+    public long estimateMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = idsPublic.getLongSizeInBytes();
+            for (RoaringBitmap idsTest : idTopicToIdsTest.values()) {
+                bytes += idsTest.getLongSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращаемое множество только для чтения: может быть множеством самого индекса.
+     */
+    private RoaringBitmap matchUnlocked(TestCatalogFilterDto filter, Collection<Long> idsTitleMatched) {
+        RoaringBitmap idsMatched = idsPublic;
+        if (!filter.titlesTopic().isEmpty()) {
+            List<RoaringBitmap> idsByTopic = new ArrayList<>();
+            for (String titleTopic : filter.titlesTopic()) {
+                Long idTopic = titleToIdTopic.get(titleTopic);
+                if (idTopic != null) {
+                    idsByTopic.add(idTopicToIdsTest.get(idTopic));
+                } else if (filter.topicMatch() == TestCatalogFilterDto.TopicMatch.ALL) {
+                    return new RoaringBitmap();
+                }
+            }
+            if (idsByTopic.isEmpty()) {
+                return new RoaringBitmap();
+            }
+            idsMatched = filter.topicMatch() == TestCatalogFilterDto.TopicMatch.ALL
+                    ? FastAggregation.and(idsByTopic.iterator())
+                    : FastAggregation.or(idsByTopic.iterator());
+        }
+
+        if (idsTitleMatched != null) {
+            RoaringBitmap idsTitle = new RoaringBitmap();
+            idsTitleMatched.stream()
+                    .filter(idTest -> idTest <= Integer.MAX_VALUE)
+                    .forEach(idTest -> idsTitle.add(idTest.intValue()));
+            idsMatched = RoaringBitmap.and(idsMatched, idsTitle);
+        }
+        return idsMatched;
+    }
+
+    private boolean isSortSupported(Sort sort) {
+        return sort.stream().allMatch(order -> PROPERTY_SORT.equals(order.getProperty()));
+    }
+
+    private void apply(Long idTest, Map<Long, String> idTopicToTitleTest) {
+        withWriteLock(() -> {
+            if (building) {
+                idTestToTopicsChangedDuringBuild.put(idTest, idTopicToTitleTest);
+            }
+            try {
+                replaceUnlocked(idTest, idTopicToTitleTest);
+            } catch (IllegalArgumentException e) {
+                ready = false;
+                log.warn("Test topic index disabled, topic filtering falls back to the database", e);
+            }
+        });
+    }
+
+    private void replaceUnlocked(Long idTest, Map<Long, String> idTopicToTitleTest) {
+        removeUnlocked(idTest);
+        if (idTopicToTitleTest != null) {
+            addUnlocked(idTest, idTopicToTitleTest);
+        }
+    }
+
+    private void addUnlocked(Long idTest, Map<Long, String> idTopicToTitleTest) {
+        int idIndexed = toIndexed(idTest);
+        idsPublic.add(idIndexed);
+        long[] idsTopic = new long[idTopicToTitleTest.size()];
+        int i = 0;
+        for (Map.Entry<Long, String> topic : idTopicToTitleTest.entrySet()) {
+            Long idTopic = topic.getKey();
+            idTopicToIdsTest.computeIfAbsent(idTopic, id -> new RoaringBitmap()).add(idIndexed);
+            idTopicToTitle.put(idTopic, topic.getValue());
+            titleToIdTopic.put(topic.getValue(), idTopic);
+            idsTopic[i++] = idTopic;
+        }
+        idTestToIdsTopic.put(idTest, idsTopic);
+    }
+
+    private void removeUnlocked(Long idTest) {
+        long[] idsTopic = idTestToIdsTopic.remove(idTest);
+        if (idsTopic == null) {
+            return;
+        }
+        int idIndexed = toIndexed(idTest);
+        idsPublic.remove(idIndexed);
+        for (long idTopic : idsTopic) {
+            RoaringBitmap idsTest = idTopicToIdsTest.get(idTopic);
+            if (idsTest == null) {
+                continue;
+            }
+            idsTest.remove(idIndexed);
+            if (idsTest.isEmpty()) {
+                idTopicToIdsTest.remove(idTopic);
+                titleToIdTopic.remove(idTopicToTitle.remove(idTopic));
+            }
+        }
+    }
+
+    private void clearUnlocked() {
+        idsPublic.clear();
+        idTopicToIdsTest.clear();
+        idTopicToTitle.clear();
+        titleToIdTopic.clear();
+        idTestToIdsTopic.clear();
+    }
+
+    private static int toIndexed(Long idTest) {
+        if (idTest < 0 || idTest > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Test id is out of the topic index range: " + idTest);
+        }
+        return idTest.intValue();
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
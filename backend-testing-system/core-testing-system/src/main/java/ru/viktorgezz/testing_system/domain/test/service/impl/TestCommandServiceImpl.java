@@ -1,30 +1,49 @@
 package ru.viktorgezz.testing_system.domain.test.service.impl;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.viktorgezz.testing_system.config.CacheConfig;
 import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
 import ru.viktorgezz.testing_system.domain.answer_option.service.intrf.AnswerOptionCommandService;
 import ru.viktorgezz.testing_system.domain.answer_option.service.intrf.AnswerOptionQueryService;
+import ru.viktorgezz.testing_system.domain.item_stats.service.ItemStatsService;
 import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.question.repo.QuestionRepo;
 import ru.viktorgezz.testing_system.domain.question.service.QuestionCommandService;
+import ru.viktorgezz.testing_system.domain.result.leaderboard.LeaderboardRegistry;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.dto.TestContentChangesDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataRequestDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
 import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
+import ru.viktorgezz.testing_system.domain.test.search.TestTitleIndex;
+import ru.viktorgezz.testing_system.domain.test.search.TestTopicIndex;
 import ru.viktorgezz.testing_system.domain.test.service.intrf.TestCommandService;
+import ru.viktorgezz.testing_system.domain.test.service.util.TestContentDiff;
 import ru.viktorgezz.testing_system.domain.topic.Topic;
 import ru.viktorgezz.testing_system.domain.topic.service.TopicService;
 import ru.viktorgezz.testing_system.domain.user.User;
+import ru.viktorgezz.testing_system.domain.util.CurrentUserLoader;
+import ru.viktorgezz.testing_system.domain.util.TestJsonStreamReader;
 import ru.viktorgezz.testing_system.exception.BusinessException;
 import ru.viktorgezz.testing_system.exception.ErrorCode;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import static ru.viktorgezz.testing_system.domain.util.CurrentUserUtils.getCurrentUser;
+import static ru.viktorgezz.testing_system.domain.util.CurrentUserUtils.getCurrentUserId;
 
 /**
  * Реализация сервиса для управления тестами. Реализует {@link TestCommandService}.
@@ -32,30 +51,63 @@ import static ru.viktorgezz.testing_system.domain.util.CurrentUserUtils.getCurre
 @Service
 public class TestCommandServiceImpl implements TestCommandService {
 
+    private static final Logger log = LoggerFactory.getLogger(TestCommandServiceImpl.class);
+
     private final TestRepo testRepo;
+    private final QuestionRepo questionRepo;
 
     private final TopicService topicService;
     private final AnswerOptionCommandService answerOptionCommandService;
     private final AnswerOptionQueryService answerOptionQueryService;
     private final QuestionCommandService questionCommandService;
+    private final ItemStatsService itemStatsService;
+    private final TestTitleIndex testTitleIndex;
+    private final TestTopicIndex testTopicIndex;
+    private final LeaderboardRegistry leaderboardRegistry;
+    private final CurrentUserLoader currentUserLoader;
+    private final CacheManager cacheManager;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final int importChunkSize;
 
     @Autowired
     public TestCommandServiceImpl(
             TestRepo testRepo,
+            QuestionRepo questionRepo,
             TopicService topicService,
             AnswerOptionCommandService answerOptionCommandService,
             AnswerOptionQueryService answerOptionQueryService,
-            QuestionCommandService questionCommandService
+            QuestionCommandService questionCommandService,
+            ItemStatsService itemStatsService,
+            TestTitleIndex testTitleIndex,
+            TestTopicIndex testTopicIndex,
+            LeaderboardRegistry leaderboardRegistry,
+            CurrentUserLoader currentUserLoader,
+            CacheManager cacheManager,
+            Validator validator,
+            EntityManager entityManager,
+            @Value("${test-import.chunk-size:500}") int importChunkSize
     ) {
         this.testRepo = testRepo;
+        this.questionRepo = questionRepo;
         this.topicService = topicService;
         this.answerOptionCommandService = answerOptionCommandService;
         this.answerOptionQueryService = answerOptionQueryService;
         this.questionCommandService = questionCommandService;
+        this.itemStatsService = itemStatsService;
+        this.testTitleIndex = testTitleIndex;
+        this.testTopicIndex = testTopicIndex;
+        this.leaderboardRegistry = leaderboardRegistry;
+        this.currentUserLoader = currentUserLoader;
+        this.cacheManager = cacheManager;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.importChunkSize = importChunkSize;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TESTS_TO_PASS, key = "#testDto.idTest()", condition = "#testDto.idTest() != null")
     public Long updateTestMetadata(TestMetadataRequestDto testDto) {
         TestModel testNew = new TestModel();
         if (testDto.idTest() != null) {
@@ -67,7 +119,7 @@ public class TestCommandServiceImpl implements TestCommandService {
         testNew.setStatus(testDto.status());
 
         if (testNew.getAuthor() == null) {
-            testNew.setAuthor(getCurrentUser());
+            testNew.setAuthor(currentUserLoader.getCurrentUser());
         }
 
         List<Topic> topicsActual = topicService.findOrCreateTopics(testDto.titlesTopic());
@@ -75,127 +127,185 @@ public class TestCommandServiceImpl implements TestCommandService {
         topicsToRemove.forEach(testNew::removeTopic);
         topicsActual.forEach(testNew::addTopic);
 
-        topicService.saveAll(topicsActual);
         TestModel testSaved = testRepo.save(testNew);
+        testTitleIndex.onTestSaved(testSaved.getId(), testSaved.getTitle(), testSaved.getStatus());
+        testTopicIndex.onTestSaved(testSaved.getId(), testSaved.getStatus(), topicsActual);
 
         return testSaved.getId();
     }
 
     @Override
     @Transactional
-    public void updateTestContent(TestUpdateContentDto testDto) {
+    @CacheEvict(cacheNames = {CacheConfig.TESTS_TO_PASS, CacheConfig.SCORING_PLANS}, key = "#testDto.idTest()")
+    public TestContentChangesDto updateTestContent(TestUpdateContentDto testDto) {
         Optional<TestModel> testOptional = testRepo.findForEditingContent(testDto.idTest());
         TestModel testExisting = getValidatedTest(testOptional);
 
-        // Создаем мапы для быстрого поиска существующих вопросов и вариантов ответов по их ID
-        // Это позволяет эффективно определять, какие сущности нужно обновить, а какие создать/удалить
-        Map<Long, Question> questionsExistingMap = testExisting
-                .getQuestions()
+        // Варианты ответов всех вопросов загружаются одним запросом, коллекции вопросов не инициализируются
+        Set<Long> idsQuestion = testExisting.getQuestions()
                 .stream()
-                .filter(question -> question.getId() != null)
-                .collect(Collectors.toMap(Question::getId, question -> question));
-
-        Set<Long> idsQuestions = questionsExistingMap.keySet();
-        Map<Long, AnswerOption> answerOptionsExistingMap = answerOptionQueryService.findAllAnswerOptionByIdsQuestionWithQuestion(idsQuestions)
+                .map(Question::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<AnswerOption>> idQuestionToAnswerOptions = answerOptionQueryService
+                .findAllAnswerOptionByIdsQuestionWithQuestion(idsQuestion)
                 .stream()
-                .filter(answerOption -> answerOption.getId() != null)
-                .collect(Collectors.toMap(AnswerOption::getId, answerOption -> answerOption));
-
-        Set<Long> idsChangedQuestion = new HashSet<>();
-
-        // Обрабатываем вопросы из DTO: обновляем существующие или создаем новые
-        testDto.questions().forEach(questionDto -> {
-            Question questionExisting = Optional.ofNullable(questionDto.idQuestion())
-                    .map(questionsExistingMap::get)
-                    .orElse(null);
-
-            if (questionExisting != null) {
-                // Обновляем существующий вопрос: меняем его поля
-                questionCommandService.updateQuestionWithoutSave(questionExisting, questionDto);
-
-                Set<Long> idsChangedAnswerOption = new HashSet<>();
-                List<AnswerOption> newlyCreatedAnswerOptions = new ArrayList<>();
-
-                // Обрабатываем варианты ответов для существующего вопроса
-                if (questionDto.answerOptions() != null) {
-                    questionDto.answerOptions().forEach(answerOptionDto -> {
-                        Long answerOptionId = answerOptionDto.idAnswerOption();
-                        if (answerOptionId != null && answerOptionsExistingMap.containsKey(answerOptionId)) {
-                            // Найден существующий: Обновляем и добавляем ID в список измененных
-                            AnswerOption existing = answerOptionsExistingMap.get(answerOptionId);
-                            answerOptionCommandService.updateAnswerOptionWithoutSave(existing, answerOptionDto);
-                            idsChangedAnswerOption.add(answerOptionId);
-                        } else {
-                            // Не найден (ID был null или не нашелся в мапе): Создаем новый
-                            AnswerOption newAnswerOption = answerOptionCommandService.createAndLinkAnswerOption(
-                                    questionExisting, answerOptionDto);
-                            newlyCreatedAnswerOptions.add(newAnswerOption);
-                        }
-                    });
-                }
+                .collect(Collectors.groupingBy(answerOption -> answerOption.getQuestion().getId()));
+
+        TestContentDiff diff = TestContentDiff.compute(
+                testExisting.getQuestions(),
+                idQuestionToAnswerOptions,
+                testDto.questions()
+        );
+        if (diff.isEmpty()) {
+            return TestContentChangesDto.none(testExisting.getContentVersion());
+        }
 
-                // Удаляем варианты ответов, которых нет в DTO (они были удалены из вопроса)
-                // Учитываем только существующие AnswerOption с ID (новые созданные не удаляем)
-                List<AnswerOption> answerOptionsToRemove = questionExisting
-                        .getAnswerOptions()
-                        .stream()
-                        .filter(answerOption -> answerOption.getId() != null)
-                        .filter(answerOption -> !idsChangedAnswerOption.contains(answerOption.getId()))
-                        .filter(answerOption -> !newlyCreatedAnswerOptions.contains(answerOption))
-                        .toList();
-                questionExisting.getAnswerOptions().removeAll(answerOptionsToRemove);
-
-                // Сохраняем обновленные и новые варианты ответов
-                answerOptionCommandService.saveAll(questionExisting.getAnswerOptions());
-
-                idsChangedQuestion.add(questionExisting.getId());
-            } else {
-                // Создаем новый вопрос
-                Question questionNew = questionCommandService.createQuestionWithoutSave(questionDto, testExisting);
-
-                List<AnswerOption> answerOptionsNew = new ArrayList<>();
-                // Создаем варианты ответов для нового вопроса
-                if (questionDto.answerOptions() != null) {
-                    questionDto.answerOptions().forEach(answerOptionDto -> {
-                        AnswerOption answerOptionNew = answerOptionCommandService.createAndLinkAnswerOption(questionNew, answerOptionDto);
-                        answerOptionsNew.add(answerOptionNew);
-                    });
-                }
+        testExisting.getQuestions().removeAll(diff.getQuestionsToDelete());
+        testExisting.getQuestions().addAll(writeDiff(testExisting, diff));
 
-                answerOptionCommandService.saveAll(answerOptionsNew);
-                testExisting.getQuestions().add(questionNew);
-            }
-        });
+        // Максимальный балл пересчитывается, только если изменились баллы или набор вопросов
+        if (diff.isPointsChanged()) {
+            final BigDecimal pointSumMax = testExisting.getQuestions()
+                    .stream()
+                    .map(Question::getPoint)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            testExisting.setScoreMax(pointSumMax);
+        }
+        testExisting.incrementContentVersion();
 
-        // Удаляем вопросы, которых нет в DTO (они были удалены из теста)
-        List<Question> questionsToRemove = testExisting
-                .getQuestions()
-                .stream()
-                .filter(question -> question.getId() != null)
-                .filter(question -> !idsChangedQuestion.contains(question.getId()))
-                .toList();
+        return diff.toChanges(testExisting.getContentVersion());
+    }
 
-        testExisting.getQuestions().removeAll(questionsToRemove);
+    @Override
+    @Transactional
+    public TestContentChangesDto importTestContent(InputStream inputStream) {
+        try (TestJsonStreamReader reader = TestJsonStreamReader.open(inputStream)) {
+            Long idTest = reader.getIdTest();
+            getValidatedTest(testRepo.findByIdWithAuthor(idTest));
+
+            Set<Long> idsQuestionStored = new HashSet<>(questionRepo.findIdsByTestId(idTest));
+            TestContentChangesDto changes = TestContentChangesDto.none(0);
+
+            List<TestUpdateContentDto.QuestionDto> chunk;
+            while (!(chunk = reader.readChunk(importChunkSize)).isEmpty()) {
+                validateChunk(chunk, reader.getCountQuestionsRead() - chunk.size());
+
+                Set<Long> idsQuestionChunk = chunk.stream()
+                        .map(TestUpdateContentDto.QuestionDto::idQuestion)
+                        .filter(idsQuestionStored::remove)
+                        .collect(Collectors.toSet());
+                List<Question> questionsStored = idsQuestionChunk.isEmpty()
+                        ? List.of()
+                        : questionRepo.findAllByTestIdAndIdIn(idTest, idsQuestionChunk);
+                Map<Long, List<AnswerOption>> idQuestionToAnswerOptions = answerOptionQueryService
+                        .findAllAnswerOptionByIdsQuestionWithQuestion(idsQuestionChunk)
+                        .stream()
+                        .collect(Collectors.groupingBy(answerOption -> answerOption.getQuestion().getId()));
 
-        questionCommandService.saveAll(testExisting.getQuestions());
+                TestContentDiff diff = TestContentDiff.compute(questionsStored, idQuestionToAnswerOptions, chunk);
+                writeDiff(entityManager.getReference(TestModel.class, idTest), diff);
 
-        // Обновляем максимальное количество всех балов за тест
-        final BigDecimal pointSumMax = testExisting.getQuestions()
-                .stream()
-                .map(Question::getPoint)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        testExisting.setScoreMax(pointSumMax);
+                changes = changes.plus(diff.toChanges(0));
+
+                // Порция записана: контекст персистентности очищается, чтобы память не росла с размером импорта
+                entityManager.flush();
+                entityManager.clear();
+                log.info("Test {} import: {} questions processed", idTest, reader.getCountQuestionsRead());
+            }
+
+            // Вопросы, которых нет в документе, удаляются порциями
+            List<Long> idsQuestionToDelete = new ArrayList<>(idsQuestionStored);
+            for (int from = 0; from < idsQuestionToDelete.size(); from += importChunkSize) {
+                List<Long> idsChunk = idsQuestionToDelete.subList(from, Math.min(from + importChunkSize, idsQuestionToDelete.size()));
+                questionRepo.deleteAll(questionRepo.findAllById(idsChunk));
+                entityManager.flush();
+                entityManager.clear();
+            }
+            if (!idsQuestionToDelete.isEmpty()) {
+                changes = changes.plus(new TestContentChangesDto(0, 0, idsQuestionToDelete.size(), 0, 0, 0, true, 0));
+            }
 
-        // Сохраняем тест
-        testRepo.save(testExisting);
+            TestModel test = testRepo.findById(idTest).orElseThrow(() -> new EntityNotFoundException("Test not found"));
+            if (changes.hasChanges()) {
+                if (changes.scoreMaxRecalculated()) {
+                    test.setScoreMax(questionRepo.sumPointByTestId(idTest));
+                }
+                test.incrementContentVersion();
+                evictContentCaches(idTest);
+            }
+            changes = changes.withContentVersion(test.getContentVersion());
+            log.info("Test {} import finished: {}", idTest, changes);
+            return changes;
+        }
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TESTS_TO_PASS, CacheConfig.SCORING_PLANS}, key = "#id")
     public void deleteById(Long id) {
         getValidatedTest(testRepo.findByIdWithAuthor(id));
         testRepo.deleteById(id);
+        testTitleIndex.onTestDeleted(id);
+        testTopicIndex.onTestDeleted(id);
+        leaderboardRegistry.onTestDeleted(id);
+    }
+
+    /**
+     * Записывает изменения вопросов и вариантов ответа, кроме удаления вопросов.
+     * Измененные сущности управляемые, поэтому UPDATE при flush выполнится только для них;
+     * новые сущности вставляются JDBC-батчами. Статистика вопросов с измененным подсчетом обнуляется.
+     *
+     * @return созданные вопросы
+     */
+    private List<Question> writeDiff(TestModel test, TestContentDiff diff) {
+        itemStatsService.resetQuestions(diff.getIdsQuestionScoringChanged());
+
+        diff.getQuestionsToUpdate().forEach(change ->
+                questionCommandService.updateQuestionWithoutSave(change.question(), change.questionDto()));
+        diff.getAnswerOptionsToUpdate().forEach(change ->
+                answerOptionCommandService.updateAnswerOptionWithoutSave(change.answerOption(), change.answerOptionDto()));
+
+        answerOptionCommandService.deleteAll(diff.getAnswerOptionsToDelete());
+
+        answerOptionCommandService.saveAll(diff.getAnswerOptionsToCreate()
+                .stream()
+                .map(creation -> answerOptionCommandService.createAnswerOptionWithoutSave(
+                        creation.question(), creation.answerOptionDto()))
+                .toList());
+
+        List<Question> questionsNew = new ArrayList<>();
+        diff.getQuestionsToCreate().forEach(questionDto -> {
+            Question questionNew = questionCommandService.createQuestionWithoutSave(questionDto, test);
+            if (questionDto.answerOptions() != null) {
+                questionDto.answerOptions().forEach(answerOptionDto ->
+                        answerOptionCommandService.createAndLinkAnswerOption(questionNew, answerOptionDto));
+            }
+            questionsNew.add(questionNew);
+        });
+        questionCommandService.saveAll(questionsNew);
+        return questionsNew;
+    }
+
+    private void validateChunk(List<TestUpdateContentDto.QuestionDto> chunk, int indexFirst) {
+        for (int i = 0; i < chunk.size(); i++) {
+            Set<ConstraintViolation<TestUpdateContentDto.QuestionDto>> violations = validator.validate(chunk.get(i));
+            if (!violations.isEmpty()) {
+                ConstraintViolation<TestUpdateContentDto.QuestionDto> violation = violations.iterator().next();
+                throw new BusinessException(
+                        ErrorCode.INVALID_TEST_IMPORT,
+                        "questions[" + (indexFirst + i) + "]." + violation.getPropertyPath() + ": " + violation.getMessage()
+                );
+            }
+        }
+    }
 
+    /**
+     * Ключ теста в импорте известен только после чтения документа, поэтому {@code @CacheEvict} не подходит.
+     * Кеши из {@link CacheConfig#cacheManager()} транзакционные: инвалидация сама откладывается до коммита.
+     */
+    private void evictContentCaches(Long idTest) {
+        Optional.ofNullable(cacheManager.getCache(CacheConfig.TESTS_TO_PASS)).ifPresent(cache -> cache.evict(idTest));
+        Optional.ofNullable(cacheManager.getCache(CacheConfig.SCORING_PLANS)).ifPresent(cache -> cache.evict(idTest));
     }
 
     private TestModel getValidatedTest(Optional<TestModel> test) {
@@ -208,7 +318,7 @@ public class TestCommandServiceImpl implements TestCommandService {
         }
 
         Long idOwner = author.getId();
-        Long idCurrentUser = getCurrentUser().getId();
+        Long idCurrentUser = getCurrentUserId();
 
         if (!idOwner.equals(idCurrentUser)) {
             throw new BusinessException(ErrorCode.USER_FORBIDDEN, idCurrentUser);
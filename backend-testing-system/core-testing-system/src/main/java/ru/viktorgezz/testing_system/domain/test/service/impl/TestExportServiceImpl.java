@@ -0,0 +1,135 @@
+package ru.viktorgezz.testing_system.domain.test.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.answer_option.service.intrf.AnswerOptionQueryService;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.question.repo.QuestionRepo;
+import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.result.dto.ResultExportDto;
+import ru.viktorgezz.testing_system.domain.result.repo.ResultRepo;
+import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
+import ru.viktorgezz.testing_system.domain.test.service.intrf.TestExportService;
+import ru.viktorgezz.testing_system.domain.test.service.intrf.TestQueryService;
+import ru.viktorgezz.testing_system.domain.user.User;
+import ru.viktorgezz.testing_system.domain.util.NdjsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static ru.viktorgezz.testing_system.domain.util.GroupingUtil.*;
+
+/**
+ * Реализация потоковой выгрузки тестов. Реализует {@link TestExportService}.
+ * <p>
+ * Сущности читаются read-only потоком с fetch size и отсоединяются от контекста сразу после записи,
+ * чтобы persistence context не рос вместе с выгрузкой. Варианты ответа подгружаются одним запросом на порцию вопросов.
+ * </p>
+ */
+@Service
+public class TestExportServiceImpl implements TestExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TestExportServiceImpl.class);
+
+    private final TestQueryService testQueryService;
+    private final QuestionRepo questionRepo;
+    private final ResultRepo resultRepo;
+    private final AnswerOptionQueryService answerOptionQueryService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    @Autowired
+    public TestExportServiceImpl(
+            TestQueryService testQueryService,
+            QuestionRepo questionRepo,
+            ResultRepo resultRepo,
+            AnswerOptionQueryService answerOptionQueryService,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${test-export.chunk-size:500}") int chunkSize
+    ) {
+        this.testQueryService = testQueryService;
+        this.questionRepo = questionRepo;
+        this.resultRepo = resultRepo;
+        this.answerOptionQueryService = answerOptionQueryService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void checkExportAllowed(Long idTest) {
+        testQueryService.findOwnedById(idTest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeContent(Long idTest, OutputStream outputStream) throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream, chunkSize);
+             Stream<Question> questions = questionRepo.streamAllByTestId(idTest)) {
+            List<Question> chunk = new ArrayList<>(chunkSize);
+            Iterator<Question> iterator = questions.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    writeQuestionsChunk(chunk, writer);
+                    chunk.clear();
+                }
+            }
+            log.debug("Exported {} questions of test {}", writer.getCountLines(), idTest);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeResults(Long idTest, OutputStream outputStream) throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream, chunkSize);
+             Stream<Result> results = resultRepo.streamAllByTestIdWithParticipant(idTest)) {
+            Iterator<Result> iterator = results.iterator();
+            while (iterator.hasNext()) {
+                Result result = iterator.next();
+                User participant = result.getParticipant();
+                writer.write(new ResultExportDto(
+                        result.getId(),
+                        participant == null ? null : participant.getId(),
+                        participant == null ? null : participant.getUsername(),
+                        result.getStatus(),
+                        result.getScore(),
+                        result.getGrade(),
+                        result.getTimeSpentSeconds(),
+                        result.getCompletedAt()
+                ));
+                entityManager.detach(result);
+                if (participant != null) {
+                    entityManager.detach(participant);
+                }
+            }
+            log.debug("Exported {} results of test {}", writer.getCountLines(), idTest);
+        }
+    }
+
+    private void writeQuestionsChunk(List<Question> chunk, NdjsonWriter writer) throws IOException {
+        List<AnswerOption> answerOptions = answerOptionQueryService
+                .findAllAnswerOptionByIdsQuestionWithQuestion(extractQuestionIds(chunk));
+        Map<Long, List<AnswerOption>> idQuestionToAnswerOptions = buildAnswerOptionMapByQuestionId(answerOptions);
+
+        for (TestUpdateContentDto.QuestionDto questionDto : buildQuestionsDtoTestUpdate(chunk, idQuestionToAnswerOptions)) {
+            writer.write(questionDto);
+        }
+        answerOptions.forEach(entityManager::detach);
+        chunk.forEach(entityManager::detach);
+    }
+}
@@ -2,45 +2,77 @@ package ru.viktorgezz.testing_system.domain.test.service.impl;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.viktorgezz.testing_system.config.CacheConfig;
 import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
 import ru.viktorgezz.testing_system.domain.answer_option.service.intrf.AnswerOptionQueryService;
 import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic.TestTopicRepo;
+import ru.viktorgezz.testing_system.domain.test.TestMapper;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.dto.TestCatalogFilterDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataResponseDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestToPassDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TopicFacetDto;
 import ru.viktorgezz.testing_system.domain.test.repo.TestPagingAndSortingRepo;
 import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
+import ru.viktorgezz.testing_system.domain.test.search.TestTitleIndex;
+import ru.viktorgezz.testing_system.domain.test.search.TestTopicIndex;
 import ru.viktorgezz.testing_system.domain.test.service.intrf.TestQueryService;
+import ru.viktorgezz.testing_system.domain.topic.repo.TopicWriter;
+import ru.viktorgezz.testing_system.exception.BusinessException;
+import ru.viktorgezz.testing_system.exception.ErrorCode;
 
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static ru.viktorgezz.testing_system.domain.util.CurrentUserUtils.getCurrentUserId;
 import static ru.viktorgezz.testing_system.domain.util.GroupingUtil.*;
 
 /**
  * Реализация сервиса чтения тестов. Реализует {@link TestQueryService}.
  */
 @Service
+@Transactional(readOnly = true)
 public class TestQueryServiceImpl implements TestQueryService {
 
     private final TestRepo testRepo;
     private final TestPagingAndSortingRepo testPagingAndSortingRepo;
     private final AnswerOptionQueryService answerOptionQueryService;
+    private final TestTopicRepo testTopicRepo;
+    private final TopicWriter topicWriter;
+    private final TestTitleIndex testTitleIndex;
+    private final TestTopicIndex testTopicIndex;
 
     @Autowired
     public TestQueryServiceImpl(
             TestRepo testRepo,
             TestPagingAndSortingRepo testPagingAndSortingRepo,
-            AnswerOptionQueryService answerOptionQueryService
+            AnswerOptionQueryService answerOptionQueryService,
+            TestTopicRepo testTopicRepo,
+            TopicWriter topicWriter,
+            TestTitleIndex testTitleIndex,
+            TestTopicIndex testTopicIndex
     ) {
         this.testRepo = testRepo;
         this.testPagingAndSortingRepo = testPagingAndSortingRepo;
         this.answerOptionQueryService = answerOptionQueryService;
+        this.testTopicRepo = testTopicRepo;
+        this.topicWriter = topicWriter;
+        this.testTitleIndex = testTitleIndex;
+        this.testTopicIndex = testTopicIndex;
     }
 
     @Override
@@ -48,7 +80,34 @@ public class TestQueryServiceImpl implements TestQueryService {
         return testRepo.findByIdWithAuthor(id).orElseThrow(EntityNotFoundException::new);
     }
 
+    /**
+     * Тест загружается по ключу, а не запросом с {@code JOIN FETCH}: запрос обходит кеш второго уровня.
+     */
     @Override
+    public TestMetadataResponseDto findMetadataById(Long id) {
+        return TestMapper.toDto(testRepo.findById(id).orElseThrow(EntityNotFoundException::new));
+    }
+
+    @Override
+    public TestModel findOwnedById(Long id) {
+        TestModel test = findById(id);
+        Long idCurrentUser = getCurrentUserId();
+        if (test.getAuthor() == null || !test.getAuthor().getId().equals(idCurrentUser)) {
+            throw new BusinessException(ErrorCode.USER_FORBIDDEN, idCurrentUser);
+        }
+        return test;
+    }
+
+    /**
+     * Снимок теста для прохождения кешируется: {@link TestToPassDto} неизменяем,
+     * поэтому один экземпляр безопасно отдается всем участникам.
+     * {@code sync = true} не дает одновременным промахам по одному тесту собирать снимок параллельно.
+     * Снимок собирается в пишущей транзакции, то есть с primary: снимок с отстающей реплики пережил бы
+     * инвалидацию после изменения контента.
+     */
+    @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.TESTS_TO_PASS, key = "#id", sync = true)
     public TestToPassDto findTestToPassById(Long id) {
         TestModel testFound = testRepo.findForEditingContent(id).orElseThrow(EntityNotFoundException::new);
         List<Question> questions = testFound.getQuestions();
@@ -58,8 +117,6 @@ public class TestQueryServiceImpl implements TestQueryService {
                 answerOptionQueryService
                         .findAllAnswerOptionByIdsQuestionWithQuestion(idsQuestion));
 
-        answerOptionQueryService.findAllAnswerOptionByIdsQuestionWithQuestion(idsQuestion);
-
         List<TestToPassDto.QuestionDto> questionsDto = buildQuestionDtoTestToPass(
                 questions, idQuestionToAnswerOptions);
 
@@ -89,17 +146,42 @@ public class TestQueryServiceImpl implements TestQueryService {
     }
 
     @Override
-    public Page<TestModel> findAllWithAuthorAndTopics(Pageable pageable) {
+    public Page<TestMetadataResponseDto> findAllWithAuthorAndTopics(Pageable pageable) {
         return getTestsByIdsPage(testPagingAndSortingRepo.findAllTestIds(pageable), pageable);
     }
 
+    /**
+     * ID тестов ищутся в {@link TestTitleIndex}; пока индекс не построен, поиск выполняется в БД.
+     */
     @Override
-    public Page<TestModel> findByTitle(String title, Pageable pageable) {
-        return getTestsByIdsPage(testPagingAndSortingRepo.findTestIdsByTitle(title, pageable), pageable);
+    public Page<TestMetadataResponseDto> findByTitle(String title, Pageable pageable) {
+        Page<Long> idsPage = testTitleIndex.findIdsByTitle(title, pageable)
+                .orElseGet(() -> testPagingAndSortingRepo.findTestIdsByTitle(title, pageable));
+        return getTestsByIdsPage(idsPage, pageable);
     }
 
+    /**
+     * Темы фильтруются в {@link TestTopicIndex}, название — в {@link TestTitleIndex};
+     * если один из индексов не построен или сортировка не по {@code id}, поиск выполняется в БД.
+     */
     @Override
-    public Page<TestModel> findAllByUserIdWithAuthorAndTopics(Long userId, Pageable pageable) {
+    public Page<TestMetadataResponseDto> findByFilter(TestCatalogFilterDto filter, Pageable pageable) {
+        Page<Long> idsPage = fromIndexes(filter, idsTitleMatched -> testTopicIndex.findIds(filter, idsTitleMatched, pageable))
+                .orElseGet(() -> findIdsByFilterInDb(filter, pageable));
+        return getTestsByIdsPage(idsPage, pageable);
+    }
+
+    /**
+     * Темы считаются пересечением множеств {@link TestTopicIndex}; пока индексы не построены — запросом в БД.
+     */
+    @Override
+    public List<TopicFacetDto> findTopicFacets(TestCatalogFilterDto filter, int limit) {
+        return fromIndexes(filter, idsTitleMatched -> testTopicIndex.findFacets(filter, idsTitleMatched, limit))
+                .orElseGet(() -> findTopicFacetsInDb(filter, limit));
+    }
+
+    @Override
+    public Page<TestMetadataResponseDto> findAllByUserIdWithAuthorAndTopics(Long userId, Pageable pageable) {
         return getTestsByIdsPageByUserId(
                 testPagingAndSortingRepo.findAllTestIdsByUserId(userId, pageable),
                 userId,
@@ -108,7 +190,7 @@ public class TestQueryServiceImpl implements TestQueryService {
     }
 
     @Override
-    public Page<TestModel> findByUserIdAndTitle(Long userId, String title, Pageable pageable) {
+    public Page<TestMetadataResponseDto> findByUserIdAndTitle(Long userId, String title, Pageable pageable) {
         return getTestsByIdsPageByUserId(
                 testPagingAndSortingRepo.findTestIdsByUserIdAndTitle(userId, title, pageable),
                 userId,
@@ -116,29 +198,86 @@ public class TestQueryServiceImpl implements TestQueryService {
         );
     }
 
-    private Page<TestModel> getTestsByIdsPage(Page<Long> idsPage, Pageable pageable) {
-        if (idsPage.isEmpty()) {
+    private <T> Optional<T> fromIndexes(
+            TestCatalogFilterDto filter,
+            Function<Collection<Long>, Optional<T>> queryTopicIndex
+    ) {
+        if (!filter.hasTitle()) {
+            return queryTopicIndex.apply(null);
+        }
+        return testTitleIndex.findAllIdsByTitle(filter.title()).flatMap(queryTopicIndex);
+    }
+
+    private Page<Long> findIdsByFilterInDb(TestCatalogFilterDto filter, Pageable pageable) {
+        if (filter.titlesTopic().isEmpty()) {
+            return testPagingAndSortingRepo.findTestIdsByTitle(filter.titleOrEmpty(), pageable);
+        }
+
+        Collection<Long> idsTopic = topicWriter.findIdsByTitles(filter.titlesTopic()).values();
+        long countTopicsMin = countTopicsMin(filter, idsTopic);
+        if (countTopicsMin < 0) {
             return Page.empty(pageable);
         }
+        return testPagingAndSortingRepo.findTestIdsByTitleAndTopics(filter.titleOrEmpty(), idsTopic, countTopicsMin, pageable);
+    }
 
-        List<TestModel> tests = testRepo.findAllWithAuthorAndTopicsByIds(idsPage.getContent());
+    private List<TopicFacetDto> findTopicFacetsInDb(TestCatalogFilterDto filter, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        if (filter.titlesTopic().isEmpty()) {
+            return testTopicRepo.findTopicFacetsByTitle(filter.titleOrEmpty(), pageable);
+        }
 
-        List<Long> orderedIds = idsPage.getContent();
-        tests.sort(Comparator.comparingInt(test -> orderedIds.indexOf(test.getId())));
+        Collection<Long> idsTopic = topicWriter.findIdsByTitles(filter.titlesTopic()).values();
+        long countTopicsMin = countTopicsMin(filter, idsTopic);
+        if (countTopicsMin < 0) {
+            return List.of();
+        }
+        return testTopicRepo.findTopicFacetsByTitleAndTopics(filter.titleOrEmpty(), idsTopic, countTopicsMin, pageable);
+    }
 
-        return new PageImpl<>(tests, pageable, idsPage.getTotalElements());
+    /**
+     * Сколько тем фильтра должно быть у теста; {@code -1}, если под фильтр не подходит ни один тест:
+     * для ALL не найдена одна из тем, для ANY — ни одной.
+     */
+    private static long countTopicsMin(TestCatalogFilterDto filter, Collection<Long> idsTopicFound) {
+        if (filter.topicMatch() == TestCatalogFilterDto.TopicMatch.ANY) {
+            return idsTopicFound.isEmpty() ? -1 : 1;
+        }
+        return idsTopicFound.size() < filter.titlesTopic().size() ? -1 : idsTopicFound.size();
     }
 
-    private Page<TestModel> getTestsByIdsPageByUserId(Page<Long> idsPage, Long userId, Pageable pageable) {
+    private Page<TestMetadataResponseDto> getTestsByIdsPage(Page<Long> idsPage, Pageable pageable) {
         if (idsPage.isEmpty()) {
             return Page.empty(pageable);
         }
 
-        List<TestModel> tests = testRepo.findAllWithAuthorAndTopicsByUserIdAndIds(userId, idsPage.getContent());
+        return new PageImpl<>(loadByIds(idsPage.getContent()), pageable, idsPage.getTotalElements());
+    }
+
+    private Page<TestMetadataResponseDto> getTestsByIdsPageByUserId(Page<Long> idsPage, Long userId, Pageable pageable) {
+        if (idsPage.isEmpty()) {
+            return Page.empty(pageable);
+        }
 
-        List<Long> orderedIds = idsPage.getContent();
-        tests.sort(Comparator.comparingInt(test -> orderedIds.indexOf(test.getId())));
+        List<TestMetadataResponseDto> tests = loadByIds(idsPage.getContent())
+                .stream()
+                .filter(test -> test.author() != null && userId.equals(test.author().id()))
+                .toList();
 
         return new PageImpl<>(tests, pageable, idsPage.getTotalElements());
     }
+
+    /**
+     * Загружает метаданные тестов страницы одной проекцией с темами и автором и возвращает их в порядке ID страницы;
+     * удаленные между запросами тесты пропускаются.
+     */
+    private List<TestMetadataResponseDto> loadByIds(List<Long> ids) {
+        Map<Long, TestMetadataResponseDto> idToTest = testRepo.findMetadataByIds(ids)
+                .stream()
+                .collect(Collectors.toMap(TestMetadataResponseDto::id, Function.identity()));
+        return ids.stream()
+                .map(idToTest::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 }
@@ -1,9 +1,12 @@
 package ru.viktorgezz.testing_system.domain.test.service.intrf;
 
 import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.dto.TestContentChangesDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataRequestDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
 
+import java.io.InputStream;
+
 /**
  * Контракт сервиса для управления тестами {@link TestModel}.
  */
@@ -20,10 +23,22 @@ public interface TestCommandService {
 
     /**
      * Обновляет содержимое теста (вопросы и варианты ответов).
+     * Записываются только отличающиеся от сохраненных вопросы и варианты ответов,
+     * версия содержимого меняется только при наличии изменений.
      *
      * @param testDto DTO с содержимым теста для обновления.
+     * @return сводка изменений.
+     */
+    TestContentChangesDto updateTestContent(TestUpdateContentDto testDto);
+
+    /**
+     * Обновляет содержимое теста из JSON в формате {@link TestUpdateContentDto}, читая его потоком.
+     * Вопросы проверяются и записываются порциями в одной транзакции, память не зависит от размера документа.
+     *
+     * @param inputStream JSON с содержимым теста, поле {@code idTest} должно идти до {@code questions}.
+     * @return сводка изменений.
      */
-    void updateTestContent(TestUpdateContentDto testDto);
+    TestContentChangesDto importTestContent(InputStream inputStream);
 
     void deleteById(Long id);
 }
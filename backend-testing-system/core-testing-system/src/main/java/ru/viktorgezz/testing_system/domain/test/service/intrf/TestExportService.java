@@ -0,0 +1,41 @@
+package ru.viktorgezz.testing_system.domain.test.service.intrf;
+
+import ru.viktorgezz.testing_system.domain.test.TestModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Контракт сервиса потоковой выгрузки теста {@link TestModel} и его результатов в NDJSON.
+ * <p>
+ * Выгрузка читает БД курсором и пишет строки в поток по мере чтения,
+ * поэтому память не зависит от объема теста и числа результатов.
+ * </p>
+ */
+public interface TestExportService {
+
+    /**
+     * Проверяет, что текущий пользователь может выгружать тест. Вызывается до начала записи ответа.
+     *
+     * @param idTest ID теста.
+     * @throws jakarta.persistence.EntityNotFoundException если тест не найден.
+     * @throws ru.viktorgezz.testing_system.exception.BusinessException если пользователь не автор теста.
+     */
+    void checkExportAllowed(Long idTest);
+
+    /**
+     * Пишет вопросы теста с вариантами ответа, по одному {@code TestUpdateContentDto.QuestionDto} на строку.
+     *
+     * @param idTest       ID теста.
+     * @param outputStream поток ответа.
+     */
+    void writeContent(Long idTest, OutputStream outputStream) throws IOException;
+
+    /**
+     * Пишет результаты прохождения теста, по одному {@code ResultExportDto} на строку.
+     *
+     * @param idTest       ID теста.
+     * @param outputStream поток ответа.
+     */
+    void writeResults(Long idTest, OutputStream outputStream) throws IOException;
+}
@@ -3,8 +3,13 @@ package ru.viktorgezz.testing_system.domain.test.service.intrf;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.dto.TestCatalogFilterDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataResponseDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestToPassDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TopicFacetDto;
+
+import java.util.List;
 
 /**
  * Контракт сервиса для чтения тестов {@link TestModel}.
@@ -20,6 +25,26 @@ public interface TestQueryService {
      */
     TestModel findById(Long id);
 
+    /**
+     * Получает метаданные теста по ID: тест, автор и темы читаются из кеша второго уровня,
+     * при промахах — отдельными запросами по ключу.
+     *
+     * @param id ID теста.
+     * @return DTO метаданных теста с автором и темами.
+     * @throws jakarta.persistence.EntityNotFoundException если тест с таким ID не найден.
+     */
+    TestMetadataResponseDto findMetadataById(Long id);
+
+    /**
+     * Находит тест по ID и проверяет, что текущий пользователь — его автор.
+     *
+     * @param id ID теста.
+     * @return найденный тест с автором.
+     * @throws jakarta.persistence.EntityNotFoundException если тест с таким ID не найден.
+     * @throws ru.viktorgezz.testing_system.exception.BusinessException если пользователь не автор теста.
+     */
+    TestModel findOwnedById(Long id);
+
     /**
      * Получает тест для прохождения по ID и преобразует его в DTO.
      *
@@ -40,11 +65,12 @@ public interface TestQueryService {
 
     /**
      * Получает все тесты с информацией об авторе и темах с пагинацией.
+     * Метаданные страницы читаются проекцией прямо в DTO, без загрузки сущностей.
      *
      * @param pageable параметры пагинации.
      * @return страница тестов.
      */
-    Page<TestModel> findAllWithAuthorAndTopics(Pageable pageable);
+    Page<TestMetadataResponseDto> findAllWithAuthorAndTopics(Pageable pageable);
 
     /**
      * Ищет публичные тесты по названию с пагинацией.
@@ -53,7 +79,25 @@ public interface TestQueryService {
      * @param pageable параметры пагинации.
      * @return страница найденных тестов.
      */
-    Page<TestModel> findByTitle(String title, Pageable pageable);
+    Page<TestMetadataResponseDto> findByTitle(String title, Pageable pageable);
+
+    /**
+     * Ищет публичные тесты по темам (все или любая из тем) и названию с пагинацией.
+     *
+     * @param filter фильтр каталога.
+     * @param pageable параметры пагинации.
+     * @return страница найденных тестов.
+     */
+    Page<TestMetadataResponseDto> findByFilter(TestCatalogFilterDto filter, Pageable pageable);
+
+    /**
+     * Считает публичные тесты под фильтр каталога по каждой теме.
+     *
+     * @param filter фильтр каталога.
+     * @param limit максимальное число тем.
+     * @return темы по убыванию числа тестов.
+     */
+    List<TopicFacetDto> findTopicFacets(TestCatalogFilterDto filter, int limit);
 
     /**
      * Получает все тесты текущего пользователя с информацией об авторе и темах с пагинацией.
@@ -62,7 +106,7 @@ public interface TestQueryService {
      * @param pageable параметры пагинации.
      * @return страница тестов пользователя.
      */
-    Page<TestModel> findAllByUserIdWithAuthorAndTopics(Long userId, Pageable pageable);
+    Page<TestMetadataResponseDto> findAllByUserIdWithAuthorAndTopics(Long userId, Pageable pageable);
 
     /**
      * Ищет тесты текущего пользователя по названию с пагинацией.
@@ -72,6 +116,6 @@ public interface TestQueryService {
      * @param pageable параметры пагинации.
      * @return страница найденных тестов пользователя.
      */
-    Page<TestModel> findByUserIdAndTitle(Long userId, String title, Pageable pageable);
+    Page<TestMetadataResponseDto> findByUserIdAndTitle(Long userId, String title, Pageable pageable);
 
 }
@@ -0,0 +1,226 @@
+package ru.viktorgezz.testing_system.domain.test.service.util;
+
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.test.dto.TestContentChangesDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Разница между сохраненным контентом теста и пришедшим {@link TestUpdateContentDto}.
+ * <p>
+ * Сравнивает вопросы и варианты ответа по ID и полям и ничего не меняет сам: по результату сервис
+ * создает, изменяет и удаляет только те сущности, которые действительно отличаются.
+ * Вопрос или вариант без ID, с чужим или повторным ID считается новым.
+ * </p>
+ */
+public final class TestContentDiff {
+
+    private final List<TestUpdateContentDto.QuestionDto> questionsToCreate = new ArrayList<>();
+    private final List<QuestionChange> questionsToUpdate = new ArrayList<>();
+    private final List<Question> questionsToDelete = new ArrayList<>();
+    private final List<AnswerOptionCreation> answerOptionsToCreate = new ArrayList<>();
+    private final List<AnswerOptionChange> answerOptionsToUpdate = new ArrayList<>();
+    private final List<AnswerOption> answerOptionsToDelete = new ArrayList<>();
+    private final Set<Long> idsQuestionScoringChanged = new TreeSet<>();
+    private boolean pointsChanged;
+
+    private TestContentDiff() {
+    }
+
+    /**
+     * Вычисляет разницу контента.
+     *
+     * @param questionsStored           сохраненные вопросы теста
+     * @param idQuestionToAnswerOptions сохраненные варианты ответа по ID вопроса
+     * @param questionDtos              вопросы из запроса на обновление
+     */
+    public static TestContentDiff compute(
+            List<Question> questionsStored,
+            Map<Long, List<AnswerOption>> idQuestionToAnswerOptions,
+            List<TestUpdateContentDto.QuestionDto> questionDtos
+    ) {
+        TestContentDiff diff = new TestContentDiff();
+
+        Map<Long, Question> idToQuestionStored = new HashMap<>();
+        questionsStored.forEach(question -> idToQuestionStored.put(question.getId(), question));
+
+        for (TestUpdateContentDto.QuestionDto questionDto : questionDtos) {
+            Question questionStored = questionDto.idQuestion() == null
+                    ? null
+                    : idToQuestionStored.remove(questionDto.idQuestion());
+            if (questionStored == null) {
+                diff.questionsToCreate.add(questionDto);
+                diff.pointsChanged = true;
+                continue;
+            }
+
+            if (isQuestionChanged(questionStored, questionDto)) {
+                diff.questionsToUpdate.add(new QuestionChange(questionStored, questionDto));
+                diff.pointsChanged |= !isSamePoint(questionStored.getPoint(), questionDto.point());
+                if (isQuestionScoringChanged(questionStored, questionDto)) {
+                    diff.idsQuestionScoringChanged.add(questionStored.getId());
+                }
+            }
+            diff.computeAnswerOptions(
+                    questionStored,
+                    idQuestionToAnswerOptions.getOrDefault(questionStored.getId(), List.of()),
+                    questionDto.answerOptions() == null ? List.of() : questionDto.answerOptions()
+            );
+        }
+
+        if (!idToQuestionStored.isEmpty()) {
+            questionsStored.stream()
+                    .filter(question -> idToQuestionStored.containsKey(question.getId()))
+                    .forEach(diff.questionsToDelete::add);
+            diff.pointsChanged = true;
+        }
+        return diff;
+    }
+
+    private void computeAnswerOptions(
+            Question questionStored,
+            List<AnswerOption> answerOptionsStored,
+            List<TestUpdateContentDto.AnswerOptionDto> answerOptionDtos
+    ) {
+        Map<Long, AnswerOption> idToAnswerOptionStored = new LinkedHashMap<>();
+        answerOptionsStored.forEach(answerOption -> idToAnswerOptionStored.put(answerOption.getId(), answerOption));
+
+        for (TestUpdateContentDto.AnswerOptionDto answerOptionDto : answerOptionDtos) {
+            AnswerOption answerOptionStored = answerOptionDto.idAnswerOption() == null
+                    ? null
+                    : idToAnswerOptionStored.remove(answerOptionDto.idAnswerOption());
+            if (answerOptionStored == null) {
+                answerOptionsToCreate.add(new AnswerOptionCreation(questionStored, answerOptionDto));
+                idsQuestionScoringChanged.add(questionStored.getId());
+            } else if (isAnswerOptionChanged(answerOptionStored, answerOptionDto)) {
+                answerOptionsToUpdate.add(new AnswerOptionChange(answerOptionStored, answerOptionDto));
+                if (answerOptionStored.isCorrect() != answerOptionDto.isCorrect()) {
+                    idsQuestionScoringChanged.add(questionStored.getId());
+                }
+            }
+        }
+        if (!idToAnswerOptionStored.isEmpty()) {
+            answerOptionsToDelete.addAll(idToAnswerOptionStored.values());
+            idsQuestionScoringChanged.add(questionStored.getId());
+        }
+    }
+
+    static boolean isQuestionChanged(Question question, TestUpdateContentDto.QuestionDto questionDto) {
+        return !Objects.equals(question.getText(), questionDto.text())
+                || isQuestionScoringChanged(question, questionDto);
+    }
+
+    /**
+     * Изменились поля, от которых зависит подсчет ответа на вопрос. Текст вопроса на подсчет не влияет.
+     */
+    static boolean isQuestionScoringChanged(Question question, TestUpdateContentDto.QuestionDto questionDto) {
+        return question.getType() != questionDto.type()
+                || !isSamePoint(question.getPoint(), questionDto.point())
+                || question.isAllowMistakes() != questionDto.allowMistakes()
+                || question.getTextAnswerTolerance() != questionDto.textAnswerToleranceOrZero()
+                || !Objects.equals(
+                        Objects.requireNonNullElse(question.getCorrectTextAnswers(), List.of()),
+                        Objects.requireNonNullElse(questionDto.correctTextAnswer(), List.of())
+                );
+    }
+
+    static boolean isAnswerOptionChanged(AnswerOption answerOption, TestUpdateContentDto.AnswerOptionDto answerOptionDto) {
+        return !Objects.equals(answerOption.getText(), answerOptionDto.text())
+                || answerOption.isCorrect() != answerOptionDto.isCorrect()
+                || !Objects.equals(answerOption.getExplanation(), answerOptionDto.explanation());
+    }
+
+    private static boolean isSamePoint(BigDecimal point, BigDecimal pointNew) {
+        return point == null ? pointNew == null : pointNew != null && point.compareTo(pointNew) == 0;
+    }
+
+    public List<TestUpdateContentDto.QuestionDto> getQuestionsToCreate() {
+        return questionsToCreate;
+    }
+
+    public List<QuestionChange> getQuestionsToUpdate() {
+        return questionsToUpdate;
+    }
+
+    public List<Question> getQuestionsToDelete() {
+        return questionsToDelete;
+    }
+
+    public List<AnswerOptionCreation> getAnswerOptionsToCreate() {
+        return answerOptionsToCreate;
+    }
+
+    public List<AnswerOptionChange> getAnswerOptionsToUpdate() {
+        return answerOptionsToUpdate;
+    }
+
+    public List<AnswerOption> getAnswerOptionsToDelete() {
+        return answerOptionsToDelete;
+    }
+
+    /**
+     * Изменились баллы: вопросы добавлены, удалены или у сохраненного вопроса другой балл.
+     */
+    public boolean isPointsChanged() {
+        return pointsChanged;
+    }
+
+    /**
+     * ID сохраненных вопросов, у которых изменился подсчет: правильные ответы, набор вариантов, тип или балл.
+     * Накопленная статистика таких вопросов описывает уже другой вопрос.
+     */
+    public Set<Long> getIdsQuestionScoringChanged() {
+        return idsQuestionScoringChanged;
+    }
+
+    public boolean isEmpty() {
+        return questionsToCreate.isEmpty()
+                && questionsToUpdate.isEmpty()
+                && questionsToDelete.isEmpty()
+                && answerOptionsToCreate.isEmpty()
+                && answerOptionsToUpdate.isEmpty()
+                && answerOptionsToDelete.isEmpty();
+    }
+
+    /**
+     * Сводка изменений. Варианты ответа новых вопросов считаются созданными.
+     *
+     * @param contentVersion версия содержимого теста после применения
+     */
+    public TestContentChangesDto toChanges(long contentVersion) {
+        int countAnswerOptionsOfCreatedQuestions = questionsToCreate.stream()
+                .mapToInt(questionDto -> questionDto.answerOptions() == null ? 0 : questionDto.answerOptions().size())
+                .sum();
+        return new TestContentChangesDto(
+                questionsToCreate.size(),
+                questionsToUpdate.size(),
+                questionsToDelete.size(),
+                answerOptionsToCreate.size() + countAnswerOptionsOfCreatedQuestions,
+                answerOptionsToUpdate.size(),
+                answerOptionsToDelete.size(),
+                pointsChanged,
+                contentVersion
+        );
+    }
+
+    /**
+     * Сохраненный вопрос, поля которого отличаются от запроса.
+     */
+    public record QuestionChange(Question question, TestUpdateContentDto.QuestionDto questionDto) {
+    }
+
+    /**
+     * Новый вариант ответа сохраненного вопроса.
+     */
+    public record AnswerOptionCreation(Question question, TestUpdateContentDto.AnswerOptionDto answerOptionDto) {
+    }
+
+    /**
+     * Сохраненный вариант ответа, поля которого отличаются от запроса.
+     */
+    public record AnswerOptionChange(AnswerOption answerOption, TestUpdateContentDto.AnswerOptionDto answerOptionDto) {
+    }
+}
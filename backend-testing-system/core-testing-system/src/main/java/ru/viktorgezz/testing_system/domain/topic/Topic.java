@@ -1,7 +1,11 @@
 package ru.viktorgezz.testing_system.domain.topic;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.proxy.HibernateProxy;
+import ru.viktorgezz.testing_system.config.CacheConfig;
 import ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic.TestTopic;
 
 import java.util.HashSet;
@@ -11,9 +15,13 @@ import java.util.Set;
 /**
  * Модель тематической категории тестов.
  * Хранит уникальный заголовок темы и связи с тестами через сущность связывания.
+ * Кешируется во втором уровне Hibernate: темы меняются редко, а читаются с каждым тестом.
  */
 @Entity
 @Table(name = "topics")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.REGION_TOPICS)
+@BatchSize(size = 50)
 public class Topic {
 
     @Id
@@ -36,6 +44,11 @@ public class Topic {
         this.title = title;
     }
 
+    public Topic(Long id, String title) {
+        this.id = id;
+        this.title = title;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,110 @@
+package ru.viktorgezz.testing_system.domain.topic.dictionary;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.viktorgezz.testing_system.domain.topic.repo.TopicWriter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Словарь «нормализованное название темы → ID» в памяти процесса.
+ * <p>
+ * Темы только создаются и никогда не переименовываются и не удаляются, поэтому запись словаря не устаревает.
+ * Словарь заполняется при старте приложения и дополняется темами, найденными или созданными при сохранении
+ * метаданных теста; созданные темы попадают в словарь только после коммита транзакции.
+ * Названия интернируются, чтобы повторяющиеся строки названий не дублировались в куче.
+ * Промах словаря не ошибка — тема ищется в БД.
+ * </p>
+ */
+@Component
+public class TopicDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicDictionary.class);
+
+    private final TopicWriter topicWriter;
+    private final boolean enabled;
+
+    private final Map<String, Long> titleToId = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TopicDictionary(
+            TopicWriter topicWriter,
+            MeterRegistry meterRegistry,
+            @Value("${topics.dictionary.enabled:true}") boolean enabled
+    ) {
+        this.topicWriter = topicWriter;
+        this.enabled = enabled;
+
+        Gauge.builder("topics.dictionary.size", titleToId, Map::size)
+                .description("Number of topic titles cached in the dictionary")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Map<String, Long> titleToIdStored = topicWriter.findAllIds();
+            putAll(titleToIdStored);
+            log.info("Topic dictionary warmed: {} topics", titleToIdStored.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to warm topic dictionary, topics are resolved through the database", e);
+        }
+    }
+
+    /**
+     * @param title нормализованное название
+     * @return ID темы или {@code null}, если темы нет в словаре
+     */
+    public Long findId(String title) {
+        return titleToId.get(title);
+    }
+
+    /**
+     * Добавляет уже закоммиченные темы, прочитанные из БД.
+     */
+    public void onTopicsFound(Map<String, Long> titleToIdFound) {
+        if (enabled) {
+            putAll(titleToIdFound);
+        }
+    }
+
+    /**
+     * Добавляет темы, созданные в текущей транзакции, после ее коммита.
+     */
+    public void onTopicsCreated(Map<String, Long> titleToIdCreated) {
+        if (!enabled || titleToIdCreated.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putAll(titleToIdCreated);
+                }
+            });
+        } else {
+            putAll(titleToIdCreated);
+        }
+    }
+
+    public int size() {
+        return titleToId.size();
+    }
+
+    private void putAll(Map<String, Long> titleToIdNew) {
+        titleToIdNew.forEach((title, id) -> titleToId.putIfAbsent(title.intern(), id));
+    }
+}
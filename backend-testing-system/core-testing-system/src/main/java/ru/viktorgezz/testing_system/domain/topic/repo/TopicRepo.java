@@ -1,9 +1,13 @@
 package ru.viktorgezz.testing_system.domain.topic.repo;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
+import ru.viktorgezz.testing_system.config.CacheConfig;
 import ru.viktorgezz.testing_system.domain.topic.Topic;
 
 import java.util.List;
@@ -15,8 +19,19 @@ import java.util.Optional;
 public interface TopicRepo extends CrudRepository<Topic, Long> {
 
     @NonNull
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.REGION_TOPIC_QUERIES)
+    })
     List<Topic> findAll();
 
+    /**
+     * Поиск темы по названию. Результат кешируется в кеше запросов и сбрасывается Hibernate при изменении {@code topics}.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.REGION_TOPIC_QUERIES)
+    })
     Optional<Topic> findByTitle(String title);
 
     @Query("""
@@ -0,0 +1,82 @@
+package ru.viktorgezz.testing_system.domain.topic.repo;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import ru.viktorgezz.testing_system.domain.topic.Topic;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Пакетное чтение и создание {@link Topic} по названиям в обход контекста Hibernate.
+ * <p>
+ * Названия передаются одним массивом, поэтому любое число тем укладывается в один запрос с одним планом.
+ * Создание — {@code INSERT ... ON CONFLICT (title) DO NOTHING RETURNING}: параллельное создание той же темы
+ * не падает на уникальности, а строки, вставленные другой транзакцией, просто не возвращаются.
+ * Новые строки вставляются в порядке названий, чтобы транзакции брали блокировки в одном порядке.
+ * </p>
+ */
+@Repository
+public class TopicWriter {
+
+    private static final String SQL_FIND_ALL = """
+            SELECT id, title FROM topics
+            """;
+    private static final String SQL_FIND_BY_TITLES = """
+            SELECT id, title FROM topics WHERE title = ANY (?)
+            """;
+    private static final String SQL_INSERT_IF_ABSENT = """
+            INSERT INTO topics (title)
+            SELECT title FROM unnest(?::varchar[]) AS titles(title) ORDER BY title
+            ON CONFLICT (title) DO NOTHING
+            RETURNING id, title
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TopicWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return название → ID всех тем
+     */
+    public Map<String, Long> findAllIds() {
+        return query(SQL_FIND_ALL);
+    }
+
+    /**
+     * @param titles нормализованные названия
+     * @return название → ID существующих тем из переданных
+     */
+    public Map<String, Long> findIdsByTitles(Collection<String> titles) {
+        if (titles.isEmpty()) {
+            return Map.of();
+        }
+        return query(SQL_FIND_BY_TITLES, (Object) titles.toArray(String[]::new));
+    }
+
+    /**
+     * Создает отсутствующие темы.
+     *
+     * @param titles нормализованные названия
+     * @return название → ID тем, созданных этим вызовом
+     */
+    public Map<String, Long> insertIfAbsent(Collection<String> titles) {
+        if (titles.isEmpty()) {
+            return Map.of();
+        }
+        return query(SQL_INSERT_IF_ABSENT, (Object) titles.toArray(String[]::new));
+    }
+
+    private Map<String, Long> query(String sql, Object... args) {
+        Map<String, Long> titleToId = new HashMap<>();
+        RowCallbackHandler handler = rs -> titleToId.put(rs.getString("title"), rs.getLong("id"));
+        jdbcTemplate.query(sql, handler, args);
+        return titleToId;
+    }
+}
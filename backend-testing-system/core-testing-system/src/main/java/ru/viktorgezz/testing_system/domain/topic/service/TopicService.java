@@ -12,9 +12,10 @@ import java.util.Set;
 public interface TopicService {
 
     /**
-     * Сохраняет темы и связывает их с тестом.
+     * Связывает сохраненные темы с тестом. Темы не сохраняются: они приходят из {@link #findOrCreateTopics(List)}
+     * уже с ID, и повторное сохранение было бы лишним SELECT на каждую тему.
      *
-     * @param topics  множество тем для сохранения и связи.
+     * @param topics  множество сохраненных тем для связи.
      * @param testNew тест для связи с темами.
      */
     void saveAndLinkAll(Set<Topic> topics, TestModel testNew);
@@ -1,52 +1,97 @@
 package ru.viktorgezz.testing_system.domain.topic.service;
 
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.viktorgezz.testing_system.config.CacheConfig;
 import ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic.TestTopic;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
 import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
 import ru.viktorgezz.testing_system.domain.topic.Topic;
+import ru.viktorgezz.testing_system.domain.topic.dictionary.TopicDictionary;
 import ru.viktorgezz.testing_system.domain.topic.repo.TopicRepo;
+import ru.viktorgezz.testing_system.domain.topic.repo.TopicWriter;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 /**
  * Реализация сервиса тем. Реализует {@link TopicService}.
+ * <p>
+ * Темы по названиям разрешаются без запросов на каждое название: сначала {@link TopicDictionary},
+ * затем один поиск промахов в БД и одна вставка недостающих. Вставка идет в обход Hibernate,
+ * поэтому кеш запросов тем сбрасывается после коммита.
+ * </p>
  */
 @Service
 public class TopicServiceImpl implements TopicService {
 
     private final TopicRepo topicRepo;
+    private final TopicWriter topicWriter;
+    private final TopicDictionary topicDictionary;
     private final TestRepo testRepo;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Autowired
     public TopicServiceImpl(
             TopicRepo topicRepo,
-            TestRepo testRepo
+            TopicWriter topicWriter,
+            TopicDictionary topicDictionary,
+            TestRepo testRepo,
+            EntityManagerFactory entityManagerFactory
     ) {
         this.topicRepo = topicRepo;
+        this.topicWriter = topicWriter;
+        this.topicDictionary = topicDictionary;
         this.testRepo = testRepo;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
+    /**
+     * Возвращает темы с заполненными ID и названием, не привязанные к контексту Hibernate.
+     * Выполняет не более трех запросов при любом числе названий: поиск промахов словаря, вставку недостающих
+     * и, если недостающую тему параллельно создала другая транзакция, повторный поиск.
+     */
     @Override
     @Transactional
     public List<Topic> findOrCreateTopics(List<String> titlesTopic) {
-        List<Topic> topics = new ArrayList<>();
-        titlesTopic
+        Set<String> titles = titlesTopic
                 .stream()
                 .map(title -> title.trim().toLowerCase())
-                .distinct()
-                .forEach(title -> {
-                    Optional<Topic> topicOptional = topicRepo.findByTitle(title.trim().toLowerCase());
-                    topics.add(topicOptional.orElse(new Topic(title)));
-                });
-        return StreamSupport.stream(topicRepo.saveAll(topics).spliterator(), false).toList();
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<String, Long> titleToId = new HashMap<>();
+        List<String> titlesMissing = new ArrayList<>();
+        titles.forEach(title -> {
+            Long id = topicDictionary.findId(title);
+            if (id != null) {
+                titleToId.put(title, id);
+            } else {
+                titlesMissing.add(title);
+            }
+        });
+
+        if (!titlesMissing.isEmpty()) {
+            resolveFound(titlesMissing, titleToId);
+        }
+        if (!titlesMissing.isEmpty()) {
+            Map<String, Long> titleToIdCreated = topicWriter.insertIfAbsent(titlesMissing);
+            topicDictionary.onTopicsCreated(titleToIdCreated);
+            evictTopicQueriesAfterCommit();
+            titleToId.putAll(titleToIdCreated);
+            titlesMissing.removeIf(titleToIdCreated::containsKey);
+        }
+        if (!titlesMissing.isEmpty()) {
+            resolveFound(titlesMissing, titleToId);
+        }
+
+        return titles.stream()
+                .map(title -> new Topic(titleToId.get(title), title))
+                .toList();
     }
 
     @Override
@@ -61,8 +106,6 @@ public class TopicServiceImpl implements TopicService {
             Set<Topic> topics,
             TestModel testNew
     ) {
-        topicRepo.saveAll(topics);
-
         Set<Long> idsTopicExistingLinked = testNew.getTestTopics().stream()
                 .map(testTopic -> testTopic.getTopic().getId())
                 .collect(Collectors.toSet());
@@ -76,8 +119,25 @@ public class TopicServiceImpl implements TopicService {
             }
         });
 
-        topicRepo.saveAll(topics);
         testRepo.save(testNew);
     }
 
+    private void resolveFound(List<String> titlesMissing, Map<String, Long> titleToId) {
+        Map<String, Long> titleToIdFound = topicWriter.findIdsByTitles(titlesMissing);
+        topicDictionary.onTopicsFound(titleToIdFound);
+        titleToId.putAll(titleToIdFound);
+        titlesMissing.removeIf(titleToIdFound::containsKey);
+    }
+
+    private void evictTopicQueriesAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.unwrap(SessionFactory.class)
+                        .getCache()
+                        .evictQueryRegion(CacheConfig.REGION_TOPIC_QUERIES);
+            }
+        });
+    }
+
 }
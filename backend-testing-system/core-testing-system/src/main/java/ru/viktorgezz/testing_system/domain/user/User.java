@@ -5,6 +5,7 @@ import org.hibernate.proxy.HibernateProxy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import ru.viktorgezz.security.UserIdentity;
 import ru.viktorgezz.testing_system.domain.result.Result;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
 
@@ -18,7 +19,7 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "users")
-public class User implements UserDetails {
+public class User implements UserDetails, UserIdentity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -101,6 +102,7 @@ public class User implements UserDetails {
         return this instanceof HibernateProxy hibernateProxy ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
     }
 
+    @Override
     public Long getId() {
         return id;
     }
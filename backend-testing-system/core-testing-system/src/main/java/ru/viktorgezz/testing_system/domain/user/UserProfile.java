@@ -0,0 +1,67 @@
+package ru.viktorgezz.testing_system.domain.user;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+import org.hibernate.proxy.HibernateProxy;
+import ru.viktorgezz.testing_system.config.CacheConfig;
+
+import java.util.Objects;
+
+/**
+ * Публичная часть пользователя: ID и имя, без хеша пароля и флагов учетной записи.
+ * <p>
+ * Читается из таблицы {@code users} подзапросом и в схеме не участвует. {@link User} не кешируется,
+ * чтобы учетные данные не попадали в кеш второго уровня; автор в метаданных теста читается через эту сущность.
+ * Имя пользователя не меняется, поэтому кеш не требует инвалидации.
+ * </p>
+ */
+@Entity
+@Immutable
+@Subselect("SELECT u.id, u.username FROM users u")
+@Synchronize("users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = CacheConfig.REGION_USER_PROFILES)
+@BatchSize(size = 50)
+public class UserProfile {
+
+    @Id
+    private Long id;
+
+    @Column(name = "username")
+    private String username;
+
+    protected UserProfile() {
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+
+        Class<?> oEffectiveClass = (o instanceof HibernateProxy hibernateProxy) ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass() : o.getClass();
+        Class<?> thisEffectiveClass = (this instanceof HibernateProxy hibernateProxy) ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        UserProfile userProfile = (UserProfile) o;
+
+        return getId() != null && Objects.equals(getId(), userProfile.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return this instanceof HibernateProxy hibernateProxy ? hibernateProxy.getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
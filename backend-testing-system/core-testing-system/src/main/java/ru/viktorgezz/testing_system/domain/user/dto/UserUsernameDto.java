@@ -0,0 +1,10 @@
+package ru.viktorgezz.testing_system.domain.user.dto;
+
+/**
+ * DTO с ID и именем пользователя.
+ */
+public record UserUsernameDto(
+        Long id,
+        String username
+) {
+}
@@ -5,7 +5,9 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import ru.viktorgezz.testing_system.domain.user.Role;
 import ru.viktorgezz.testing_system.domain.user.User;
+import ru.viktorgezz.testing_system.domain.user.dto.UserUsernameDto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,4 +35,7 @@ public interface UserRepo extends CrudRepository<User, Long> {
 
     @Query("SELECT COUNT(u) FROM User u")
     long getCountUsers();
+
+    @Query("SELECT new ru.viktorgezz.testing_system.domain.user.dto.UserUsernameDto(u.id, u.username) FROM User u WHERE u.id IN :ids")
+    List<UserUsernameDto> findUsernamesByIds(@Param("ids") Collection<Long> ids);
 }
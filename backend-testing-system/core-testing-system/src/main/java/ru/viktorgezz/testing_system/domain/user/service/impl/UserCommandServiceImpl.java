@@ -2,6 +2,8 @@ package ru.viktorgezz.testing_system.domain.user.service.impl;
 
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import ru.viktorgezz.testing_system.domain.user.User;
 import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
@@ -26,4 +28,14 @@ public class UserCommandServiceImpl implements UserCommandService {
         userRepo.save(user);
     }
 
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User userExisting = userRepo.findByUsername(user.getUsername()).orElseThrow(
+                () -> new UsernameNotFoundException("Username " + user.getUsername() + " not found")
+        );
+        userExisting.setPassword(newPassword);
+        return userRepo.save(userExisting);
+    }
+
 }
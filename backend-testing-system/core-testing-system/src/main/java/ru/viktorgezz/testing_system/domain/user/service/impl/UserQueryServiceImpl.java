@@ -3,28 +3,35 @@ package ru.viktorgezz.testing_system.domain.user.service.impl;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.viktorgezz.testing_system.domain.user.dto.UserResponseDto;
+import ru.viktorgezz.testing_system.domain.user.dto.UserUsernameDto;
 import ru.viktorgezz.testing_system.exception.BusinessException;
 import ru.viktorgezz.testing_system.exception.ErrorCode;
 import ru.viktorgezz.testing_system.domain.user.Role;
 import ru.viktorgezz.testing_system.domain.user.User;
 import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
 import ru.viktorgezz.testing_system.domain.user.service.intrf.UserQueryService;
+import ru.viktorgezz.testing_system.domain.util.CurrentUserLoader;
 
+import java.util.Collection;
 import java.util.List;
-
-import static ru.viktorgezz.testing_system.domain.util.CurrentUserUtils.getCurrentUser;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Реализация сервиса чтения пользователей. Реализует {@link UserQueryService}.
  */
 @Service
+@Transactional(readOnly = true)
 public class UserQueryServiceImpl implements UserQueryService {
 
     private final UserRepo userRepo;
+    private final CurrentUserLoader currentUserLoader;
 
-    public UserQueryServiceImpl(UserRepo userRepo) {
+    public UserQueryServiceImpl(UserRepo userRepo, CurrentUserLoader currentUserLoader) {
         this.userRepo = userRepo;
+        this.currentUserLoader = currentUserLoader;
     }
 
     @Override
@@ -43,13 +50,27 @@ public class UserQueryServiceImpl implements UserQueryService {
         return userRepo.getCountUsers();
     }
 
+    @Override
+    public Map<Long, String> findUsernamesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepo.findUsernamesByIds(ids).stream()
+                .collect(Collectors.toMap(UserUsernameDto::id, UserUsernameDto::username));
+    }
+
     @Override
     public UserResponseDto getUserDtoFromSecurityContext() {
-        User user = getCurrentUser();
+        User user = currentUserLoader.getCurrentUser();
         return new UserResponseDto(user.getUsername(), user.getRole());
     }
 
+    /**
+     * Читается с primary: вход сразу после регистрации еще не аутентифицирован и не закреплен за primary,
+     * а отстающая реплика не нашла бы нового пользователя.
+     */
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepo.findByUsername(username).orElseThrow(
                 () -> new UsernameNotFoundException("Username " + username + " not found")
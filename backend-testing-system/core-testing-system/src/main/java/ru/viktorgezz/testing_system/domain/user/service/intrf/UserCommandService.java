@@ -1,11 +1,13 @@
 package ru.viktorgezz.testing_system.domain.user.service.intrf;
 
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import ru.viktorgezz.testing_system.domain.user.User;
 
 /**
  * Сервис для управления пользователями (создание, обновление).
+ * Как {@link UserDetailsPasswordService} перехеширует пароль при входе, если изменилась стоимость хеширования.
  */
-public interface UserCommandService {
+public interface UserCommandService extends UserDetailsPasswordService {
 
     void save(User user);
 }
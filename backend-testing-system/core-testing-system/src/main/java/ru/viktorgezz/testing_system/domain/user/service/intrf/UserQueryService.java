@@ -5,7 +5,9 @@ import ru.viktorgezz.testing_system.domain.user.Role;
 import ru.viktorgezz.testing_system.domain.user.User;
 import ru.viktorgezz.testing_system.domain.user.dto.UserResponseDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Сервис получения данных о User
@@ -29,5 +31,13 @@ public interface UserQueryService extends UserDetailsService {
 
     long computeCountUsers();
 
+    /**
+     * Имена пользователей по ID без загрузки сущностей.
+     *
+     * @param ids ID пользователей
+     * @return имя по ID, отсутствующие пользователи не попадают в Map
+     */
+    Map<Long, String> findUsernamesByIds(Collection<Long> ids);
+
     UserResponseDto getUserDtoFromSecurityContext();
 }
@@ -15,7 +15,8 @@ import ru.viktorgezz.testing_system.domain.result.Result;
 public class UserAnswer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_answers_seq")
+    @SequenceGenerator(name = "user_answers_seq", sequenceName = "user_answers_seq", allocationSize = 50)
     private Long id;
 
     @Column
@@ -0,0 +1,161 @@
+package ru.viktorgezz.testing_system.domain.user_answer.repo;
+
+import jakarta.persistence.EntityManager;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.viktorgezz.testing_system.domain.user_answer.UserAnswer;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Запись ответов пользователя в {@code user_answers} через {@code COPY ... FROM STDIN} в формате CSV.
+ * <p>
+ * Используется для больших отправок вместо построчных INSERT. Id выделяются заранее блоками
+ * из {@code user_answers_seq} так же, как их выделяет pooled-оптимизатор Hibernate
+ * (значение {@code nextval} — верхняя граница блока из {@link #ALLOCATION_SIZE} id),
+ * поэтому id, записанные через COPY и через Hibernate, не пересекаются.
+ * Записанные ответы не попадают в контекст персистентности: вызывающий код получает их с проставленными id,
+ * но не должен добавлять их в каскадные коллекции управляемых сущностей.
+ * </p>
+ */
+@Repository
+public class UserAnswerCopyWriter {
+
+    /**
+     * Совпадает с {@code allocationSize} генератора {@link UserAnswer#getId()}.
+     */
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final int FLUSH_SIZE_CHARS = 64 * 1024;
+
+    private static final String SQL_NEXT_BLOCKS = """
+            SELECT nextval('user_answers_seq') FROM generate_series(1, ?)
+            """;
+    private static final String SQL_COPY = """
+            COPY user_answers (id, text_answer, is_correct, id_test_result, id_question, id_answer_option)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public UserAnswerCopyWriter(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Записывает ответы в текущей транзакции и проставляет им id.
+     * Перед записью сбрасывает изменения Hibernate, чтобы внешние ключи указывали на уже записанные строки.
+     *
+     * @param userAnswers ответы пользователя без id
+     * @return те же ответы с проставленными id
+     */
+    @Transactional
+    public List<UserAnswer> copyAll(List<UserAnswer> userAnswers) {
+        if (userAnswers.isEmpty()) {
+            return userAnswers;
+        }
+        entityManager.flush();
+
+        List<Long> ids = allocateIds(userAnswers.size());
+        for (int i = 0; i < userAnswers.size(); i++) {
+            userAnswers.get(i).setId(ids.get(i));
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> copy(connection, userAnswers));
+        return userAnswers;
+    }
+
+    private List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int countBlocks = (count - ids.size() + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+            List<Long> blockUpperBounds = jdbcTemplate.queryForList(SQL_NEXT_BLOCKS, Long.class, countBlocks);
+            for (Long upperBound : blockUpperBounds) {
+                for (long id = Math.max(1, upperBound - ALLOCATION_SIZE + 1); id <= upperBound && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static long copy(Connection connection, List<UserAnswer> userAnswers) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(SQL_COPY);
+        try {
+            StringBuilder rows = new StringBuilder(FLUSH_SIZE_CHARS + 1024);
+            for (UserAnswer userAnswer : userAnswers) {
+                appendRow(rows, userAnswer);
+                if (rows.length() >= FLUSH_SIZE_CHARS) {
+                    write(copyIn, rows);
+                }
+            }
+            write(copyIn, rows);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void appendRow(StringBuilder rows, UserAnswer userAnswer) {
+        rows.append(userAnswer.getId()).append(',');
+        appendText(rows, userAnswer.getTextAnswer());
+        rows.append(',');
+        if (userAnswer.getCorrect() != null) {
+            rows.append(userAnswer.getCorrect() ? 't' : 'f');
+        }
+        rows.append(',');
+        if (userAnswer.getResult() != null) {
+            rows.append(userAnswer.getResult().getId());
+        }
+        rows.append(',');
+        if (userAnswer.getQuestion() != null) {
+            rows.append(userAnswer.getQuestion().getId());
+        }
+        rows.append(',');
+        if (userAnswer.getAnswerOption() != null) {
+            rows.append(userAnswer.getAnswerOption().getId());
+        }
+        rows.append('\n');
+    }
+
+    /**
+     * Пустое поле без кавычек в CSV — NULL, поэтому строки всегда пишутся в кавычках.
+     */
+    private static void appendText(StringBuilder rows, String text) {
+        if (text == null) {
+            return;
+        }
+        rows.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                rows.append('"');
+            }
+            rows.append(c);
+        }
+        rows.append('"');
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        rows.setLength(0);
+    }
+}
@@ -12,6 +12,7 @@ public interface UserAnswerService {
 
     /**
      * Сохраняет коллекцию ответов пользователя в БД.
+     * Большие коллекции записываются через COPY: ответы получают id, но остаются вне контекста персистентности.
      *
      * @param userAnswers коллекция ответов пользователя для сохранения.
      * @return список сохраненных ответов пользователя.
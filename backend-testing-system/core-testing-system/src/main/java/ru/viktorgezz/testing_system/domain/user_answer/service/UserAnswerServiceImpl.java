@@ -1,29 +1,54 @@
 package ru.viktorgezz.testing_system.domain.user_answer.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import ru.viktorgezz.testing_system.domain.user_answer.UserAnswer;
+import ru.viktorgezz.testing_system.domain.user_answer.repo.UserAnswerCopyWriter;
 import ru.viktorgezz.testing_system.domain.user_answer.repo.UserAnswerRepo;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 /**
  * Реализация сервиса для работы с ответами пользователей. Реализует {@link UserAnswerService}.
+ * <p>
+ * Отправки от {@code user-answer.copy.threshold} ответов записываются через {@link UserAnswerCopyWriter}.
+ * </p>
  */
 @Service
 public class UserAnswerServiceImpl implements UserAnswerService {
 
     private final UserAnswerRepo userAnswerRepo;
+    private final UserAnswerCopyWriter userAnswerCopyWriter;
+    private final boolean copyEnabled;
+    private final int copyThreshold;
 
     @Autowired
-    public UserAnswerServiceImpl(UserAnswerRepo userAnswerRepo) {
+    public UserAnswerServiceImpl(
+            UserAnswerRepo userAnswerRepo,
+            UserAnswerCopyWriter userAnswerCopyWriter,
+            @Value("${user-answer.copy.enabled:true}") boolean copyEnabled,
+            @Value("${user-answer.copy.threshold:1000}") int copyThreshold
+    ) {
         this.userAnswerRepo = userAnswerRepo;
+        this.userAnswerCopyWriter = userAnswerCopyWriter;
+        this.copyEnabled = copyEnabled;
+        this.copyThreshold = copyThreshold;
     }
 
     @Override
     public List<UserAnswer> saveAll(Iterable<UserAnswer> userAnswers) {
+        if (copyEnabled) {
+            List<UserAnswer> userAnswersList = new ArrayList<>();
+            userAnswers.forEach(userAnswersList::add);
+            if (userAnswersList.size() >= copyThreshold) {
+                return userAnswerCopyWriter.copyAll(userAnswersList);
+            }
+            userAnswers = userAnswersList;
+        }
         return StreamSupport.stream(userAnswerRepo.saveAll(userAnswers).spliterator(), false)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,47 @@
+package ru.viktorgezz.testing_system.domain.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import ru.viktorgezz.security.JwtPrincipal;
+import ru.viktorgezz.testing_system.domain.user.User;
+import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
+
+/**
+ * Загружает сущность текущего аутентифицированного пользователя.
+ * <p>
+ * При аутентификации по JWT сущность {@link User} загружается по ID из токена не более одного раза за запрос
+ * и кешируется в {@link JwtPrincipal}. Если нужен только ID, достаточно {@link CurrentUserUtils#getCurrentUserId()}.
+ * </p>
+ */
+@Component
+public class CurrentUserLoader {
+
+    private final UserRepo userRepo;
+
+    @Autowired
+    public CurrentUserLoader(UserRepo userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    /**
+     * Получает текущего аутентифицированного пользователя из внешнего модуля.
+     *
+     * @return объект {@link User} текущего пользователя
+     * @throws RuntimeException если пользователь не аутентифицирован
+     */
+    public User getCurrentUser() {
+        UserDetails principal = ru.viktorgezz.security.util.CurrentUserUtils.getCurrentUser();
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return jwtPrincipal.getUser(this::load);
+        }
+        return (User) principal;
+    }
+
+    private User load(Long idUser) {
+        return userRepo.findById(idUser).orElseThrow(
+                () -> new UsernameNotFoundException("User with id " + idUser + " not found")
+        );
+    }
+}
@@ -1,9 +1,16 @@
 package ru.viktorgezz.testing_system.domain.util;
 
-import ru.viktorgezz.testing_system.domain.user.User;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.userdetails.UserDetails;
+import ru.viktorgezz.security.JwtPrincipal;
+import ru.viktorgezz.security.UserIdentity;
 
 /**
- * Утилитный класс для получения текущего аутентифицированного пользователя из SecurityContext.
+ * Утилитный класс для получения ID текущего аутентифицированного пользователя из SecurityContext.
+ * <p>
+ * При аутентификации по JWT в SecurityContext лежит {@link JwtPrincipal}, построенный из claims токена,
+ * и ID пользователя берется из него без обращения к БД. Сущность пользователя загружает {@link CurrentUserLoader}.
+ * </p>
  */
 public class CurrentUserUtils {
 
@@ -11,12 +18,16 @@ public class CurrentUserUtils {
     }
 
     /**
-     * Получает текущего аутентифицированного пользователя из внешнего модуля.
+     * Получает ID текущего аутентифицированного пользователя без обращения к БД.
      *
-     * @return объект {@link User} текущего пользователя
+     * @return ID текущего пользователя
      * @throws RuntimeException если пользователь не аутентифицирован
      */
-    public static User getCurrentUser() {
-        return (User) ru.viktorgezz.security.util.CurrentUserUtils.getCurrentUser();
+    public static Long getCurrentUserId() {
+        UserDetails principal = ru.viktorgezz.security.util.CurrentUserUtils.getCurrentUser();
+        if (!(principal instanceof UserIdentity userIdentity) || userIdentity.getId() == null) {
+            throw new AuthenticationServiceException("Authentication principal has no user id");
+        }
+        return userIdentity.getId();
     }
 }
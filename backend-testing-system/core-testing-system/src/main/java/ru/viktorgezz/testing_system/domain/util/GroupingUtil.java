@@ -95,13 +95,15 @@ public class GroupingUtil {
      * @param idsSelectedAnswerOption множество ID выбранных вариантов ответов.
      * @param userTextAnswer текстовый ответ пользователя.
      * @param question вопрос.
+     * @param textAnswerMatcher проверка текстового ответа вопроса, та же, что при подсчете результата.
      * @return список DTO ответов пользователя.
      */
     public static List<ResultResponseDto.UserAnswerResponseDto> buildUserAnswersResponseDto(
             List<AnswerOption> answerOptions,
             Set<Long> idsSelectedAnswerOption,
             String userTextAnswer,
-            Question question
+            Question question,
+            TextAnswerMatcher textAnswerMatcher
     ) {
         Type typeQuestion = question.getType();
         if (typeQuestion.equals(Type.SINGLE_CHOICE) || typeQuestion.equals(Type.MULTIPLE_CHOICE)) {
@@ -117,16 +119,11 @@ public class GroupingUtil {
                     ))
                     .toList();
         } else if (typeQuestion.equals(Type.OPEN_TEXT)) {
-            List<String> answersTextCorrect = question
-                    .getCorrectTextAnswers()
-                    .stream()
-                    .map(answer -> answer.trim().toLowerCase())
-                    .toList();
             return List.of(new ResultResponseDto.UserAnswerResponseDto(
                     null,
                     null,
                     false,
-                    answersTextCorrect.contains(userTextAnswer.trim().toLowerCase()),
+                    textAnswerMatcher.matches(userTextAnswer),
                     userTextAnswer,
                     question.getCorrectTextAnswers()
             ));
@@ -202,7 +199,8 @@ public class GroupingUtil {
                             question.getPoint(),
                             question.getCorrectTextAnswers(),
                             answerOptionsDto,
-                            question.isAllowMistakes()
+                            question.isAllowMistakes(),
+                            question.getTextAnswerTolerance()
                     );
                 })
                 .toList();
@@ -0,0 +1,52 @@
+package ru.viktorgezz.testing_system.domain.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Запись объектов в поток в формате NDJSON: один JSON-объект на строку.
+ * <p>
+ * Первая строка сбрасывается в поток сразу, чтобы клиент начал получать ответ до окончания выгрузки,
+ * дальше — каждые {@code flushEvery} строк. Закрытие не закрывает исходный поток.
+ * </p>
+ */
+public final class NdjsonWriter implements Closeable {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter objectWriter;
+    private final int flushEvery;
+    private long countLines;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream, int flushEvery) throws IOException {
+        this.generator = objectMapper.getFactory()
+                .createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.flushEvery = flushEvery;
+    }
+
+    public void write(Object value) throws IOException {
+        objectWriter.writeValue(generator, value);
+        generator.writeRaw('\n');
+        countLines++;
+        if (countLines == 1 || countLines % flushEvery == 0) {
+            generator.flush();
+        }
+    }
+
+    public long getCountLines() {
+        return countLines;
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,151 @@
+package ru.viktorgezz.testing_system.domain.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
+import ru.viktorgezz.testing_system.exception.BusinessException;
+import ru.viktorgezz.testing_system.exception.ErrorCode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Потоковое чтение JSON контента теста в формате {@link TestUpdateContentDto}.
+ * <p>
+ * Вопросы читаются из потока порциями через token API Jackson, поэтому в памяти находится
+ * не больше одной порции независимо от размера файла. Поле {@code idTest} должно идти до {@code questions}.
+ * Маппинг совпадает с прежним разбором всего документа: неизвестные поля игнорируются,
+ * Enum читаются без учета регистра.
+ * </p>
+ */
+public final class TestJsonStreamReader implements Closeable {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+            .build();
+
+    private static final String FIELD_ID_TEST = "idTest";
+    private static final String FIELD_QUESTIONS = "questions";
+
+    private final JsonParser parser;
+    private Long idTest;
+    private int countQuestionsRead;
+    private boolean finished;
+
+    private TestJsonStreamReader(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Открывает поток и читает заголовок документа до начала массива {@code questions}.
+     *
+     * @param inputStream тело запроса с JSON
+     * @throws BusinessException если JSON некорректен или не содержит {@code idTest} перед {@code questions}
+     */
+    public static TestJsonStreamReader open(InputStream inputStream) {
+        try {
+            TestJsonStreamReader reader = new TestJsonStreamReader(MAPPER.createParser(inputStream));
+            reader.readHeader();
+            return reader;
+        } catch (JsonProcessingException e) {
+            throw invalid(e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Long getIdTest() {
+        return idTest;
+    }
+
+    /**
+     * Число вопросов, прочитанных из потока.
+     */
+    public int getCountQuestionsRead() {
+        return countQuestionsRead;
+    }
+
+    /**
+     * Читает очередную порцию вопросов.
+     *
+     * @param size максимальный размер порции
+     * @return вопросы порции, пустой список — вопросы закончились
+     * @throws BusinessException если JSON некорректен
+     */
+    public List<TestUpdateContentDto.QuestionDto> readChunk(int size) {
+        List<TestUpdateContentDto.QuestionDto> questionDtos = new ArrayList<>(size);
+        try {
+            while (!finished && questionDtos.size() < size) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY) {
+                    readTrailer();
+                    finished = true;
+                } else if (token == JsonToken.START_OBJECT) {
+                    questionDtos.add(MAPPER.readValue(parser, TestUpdateContentDto.QuestionDto.class));
+                    countQuestionsRead++;
+                } else {
+                    throw invalid("questions[" + countQuestionsRead + "] must be an object");
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw invalid("questions[" + countQuestionsRead + "]: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return questionDtos;
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw invalid("expected JSON object");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (FIELD_ID_TEST.equals(fieldName)) {
+                idTest = MAPPER.readValue(parser, Long.class);
+            } else if (FIELD_QUESTIONS.equals(fieldName)) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw invalid("questions must be an array");
+                }
+                if (idTest == null) {
+                    throw invalid("idTest must precede questions");
+                }
+                return;
+            } else {
+                parser.skipChildren();
+            }
+        }
+        throw invalid("questions are missing");
+    }
+
+    private void readTrailer() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+    }
+
+    private static BusinessException invalid(String reason) {
+        return new BusinessException(ErrorCode.INVALID_TEST_IMPORT, reason);
+    }
+}
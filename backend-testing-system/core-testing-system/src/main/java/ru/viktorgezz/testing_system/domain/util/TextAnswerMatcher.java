@@ -0,0 +1,181 @@
+package ru.viktorgezz.testing_system.domain.util;
+
+import ru.viktorgezz.testing_system.domain.question.Question;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Скомпилированная проверка текстового ответа вопроса OPEN_TEXT.
+ * <p>
+ * Правильные ответы нормализуются один раз при компиляции ({@link #normalize(String)}) и лежат в хеш-множестве,
+ * поэтому точное совпадение проверяется одним поиском. Если у вопроса задан допуск опечаток,
+ * ответ, не совпавший точно, сравнивается с правильными ответами близкой длины по расстоянию Левенштейна
+ * с ограничением: считается только полоса шириной {@code 2 * tolerance + 1} вокруг диагонали,
+ * и сравнение прекращается, как только все состояния полосы превысили допуск.
+ * Один и тот же экземпляр используется при подсчете результата и при его показе, поэтому они всегда совпадают.
+ * </p>
+ */
+public final class TextAnswerMatcher {
+
+    /**
+     * Максимальный допуск опечаток.
+     */
+    public static final int TOLERANCE_MAX = 2;
+
+    /**
+     * Минимальная длина правильного ответа, к которому применяется допуск: короткие ответы сравниваются только точно.
+     */
+    static final int FUZZY_LENGTH_MIN = 4;
+
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+", Pattern.UNICODE_CHARACTER_CLASS);
+
+    private static final TextAnswerMatcher EMPTY = new TextAnswerMatcher(Set.of(), new int[0][], 0);
+
+    private final Set<String> answersCorrect;
+    private final int[][] answersFuzzy;
+    private final int tolerance;
+
+    private TextAnswerMatcher(Set<String> answersCorrect, int[][] answersFuzzy, int tolerance) {
+        this.answersCorrect = answersCorrect;
+        this.answersFuzzy = answersFuzzy;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Компилирует проверку по правильным ответам и допуску вопроса.
+     */
+    public static TextAnswerMatcher compile(Question question) {
+        return compile(question.getCorrectTextAnswers(), question.getTextAnswerTolerance());
+    }
+
+    /**
+     * Компилирует проверку.
+     *
+     * @param correctTextAnswers правильные ответы, {@code null} — ответов нет
+     * @param tolerance          допустимое число опечаток, обрезается до {@link #TOLERANCE_MAX}
+     */
+    public static TextAnswerMatcher compile(Collection<String> correctTextAnswers, int tolerance) {
+        if (correctTextAnswers == null || correctTextAnswers.isEmpty()) {
+            return EMPTY;
+        }
+
+        Set<String> answersCorrect = new HashSet<>();
+        correctTextAnswers.stream()
+                .filter(Objects::nonNull)
+                .map(TextAnswerMatcher::normalize)
+                .forEach(answersCorrect::add);
+
+        int toleranceBounded = Math.clamp(tolerance, 0, TOLERANCE_MAX);
+        int[][] answersFuzzy = toleranceBounded == 0
+                ? new int[0][]
+                : answersCorrect.stream()
+                .map(answer -> answer.codePoints().toArray())
+                .filter(answer -> answer.length >= FUZZY_LENGTH_MIN)
+                .toArray(int[][]::new);
+
+        return new TextAnswerMatcher(Set.copyOf(answersCorrect), answersFuzzy, toleranceBounded);
+    }
+
+    /**
+     * Нормализация текстового ответа: NFKC, приведение регистра, схлопывание пробелов, «ё» как «е».
+     */
+    public static String normalize(String textAnswer) {
+        String normalized = Normalizer.normalize(textAnswer, Normalizer.Form.NFKC)
+                .toUpperCase(Locale.ROOT)
+                .toLowerCase(Locale.ROOT)
+                .replace('ё', 'е');
+        return WHITESPACES.matcher(normalized).replaceAll(" ").strip();
+    }
+
+    /**
+     * Проверяет ответ пользователя.
+     *
+     * @param textAnswer ответ как есть, {@code null} — ответа нет
+     * @return {@code true}, если ответ совпал с правильным точно или в пределах допуска
+     */
+    public boolean matches(String textAnswer) {
+        if (textAnswer == null || answersCorrect.isEmpty()) {
+            return false;
+        }
+        return matchesNormalized(normalize(textAnswer));
+    }
+
+    /**
+     * Проверяет уже нормализованный через {@link #normalize(String)} ответ.
+     */
+    public boolean matchesNormalized(String textAnswerNormalized) {
+        if (answersCorrect.contains(textAnswerNormalized)) {
+            return true;
+        }
+        if (answersFuzzy.length == 0) {
+            return false;
+        }
+
+        int[] answer = textAnswerNormalized.codePoints().toArray();
+        for (int[] answerCorrect : answersFuzzy) {
+            if (Math.abs(answerCorrect.length - answer.length) <= tolerance
+                    && isWithinDistance(answerCorrect, answer, tolerance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Расстояние Левенштейна не больше {@code k}. Хранится только полоса {@code |i - j| <= k}:
+     * клетки вне нее заведомо дороже {@code k}. Возвращает {@code false}, как только минимум строки превысил {@code k}.
+     */
+    static boolean isWithinDistance(int[] source, int[] target, int k) {
+        int n = source.length;
+        int m = target.length;
+        if (Math.abs(n - m) > k) {
+            return false;
+        }
+
+        int outside = k + 1;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= k ? j : outside;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - k);
+            int to = Math.min(m, i + k);
+            current[0] = i <= k ? i : outside;
+            current[from - 1] = from > 1 ? outside : current[0];
+            if (to < m) {
+                current[to + 1] = outside;
+            }
+
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = source[i - 1] == target[j - 1] ? 0 : 1;
+                int distance = Math.min(
+                        previous[j - 1] + cost,
+                        Math.min(previous[j], current[j - 1]) + 1
+                );
+                current[j] = Math.min(distance, outside);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > k) {
+                return false;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m] <= k;
+    }
+}
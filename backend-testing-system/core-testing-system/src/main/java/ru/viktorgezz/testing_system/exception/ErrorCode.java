@@ -17,6 +17,10 @@ public enum ErrorCode {
     BAD_CREDENTIALS("BAD_CREDENTIALS", "Username and / or password is incorrect", HttpStatus.UNAUTHORIZED),
     TOKEN_REFRESH_EXPIRED("UNAUTHORIZED", "JWT token is expired", HttpStatus.UNAUTHORIZED),
     USER_FORBIDDEN("Forbidden", "User with id: %s is not authorized to access this resource", HttpStatus.FORBIDDEN),
+    INVALID_CURSOR("INVALID_CURSOR", "Invalid pagination cursor: %s", HttpStatus.BAD_REQUEST),
+    INVALID_TEST_IMPORT("INVALID_TEST_IMPORT", "Invalid test content: %s", HttpStatus.BAD_REQUEST),
+    PASSWORD_HASHING_BUSY("PASSWORD_HASHING_BUSY", "Too many sign-in requests, try again later", HttpStatus.SERVICE_UNAVAILABLE),
+    SCORING_QUEUE_FULL("SCORING_QUEUE_FULL", "Too many results are being scored, try again later", HttpStatus.SERVICE_UNAVAILABLE),
     INTERNAL_EXCEPTION("INTERNAL_EXCEPTION", "Internal error", HttpStatus.INTERNAL_SERVER_ERROR);
 
     private final String code;
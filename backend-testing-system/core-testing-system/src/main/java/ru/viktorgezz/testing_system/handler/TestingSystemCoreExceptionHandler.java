@@ -9,6 +9,9 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import ru.viktorgezz.security.exception.PasswordHashingBusyException;
 import ru.viktorgezz.testing_system.exception.BusinessException;
 import ru.viktorgezz.testing_system.exception.ErrorCode;
 
@@ -65,6 +68,52 @@ public class TestingSystemCoreExceptionHandler {
                 .body(errorResponse);
     }
 
+    /**
+     * Нарушение ограничений на параметрах метода контроллера ({@code @Min}, {@code @Max} у {@code @RequestParam}).
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleHandlerMethodValidationException(
+            final HandlerMethodValidationException e
+    ) {
+        final List<ValidationError> errors = new ArrayList<>();
+        e.getParameterValidationResults()
+                .forEach(result -> {
+                    final String parameterName = result.getMethodParameter().getParameterName();
+                    result.getResolvableErrors()
+                            .forEach(error -> errors.add(new ValidationError(
+                                            parameterName,
+                                            error.getDefaultMessage()
+                                    )
+                            ));
+                });
+
+        final ErrorResponse errorResponse = new ErrorResponse(
+                errors
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorResponse);
+    }
+
+    /**
+     * Параметр запроса не приводится к типу параметра метода контроллера, например неизвестное значение enum.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            final MethodArgumentTypeMismatchException e
+    ) {
+        log.debug(e.getMessage(), e);
+        final ErrorResponse errorResponse = new ErrorResponse(
+                List.of(new ValidationError(
+                        e.getName(),
+                        "Invalid value: " + e.getValue()
+                ))
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentialsException(final BadCredentialsException e) {
         log.debug(e.getMessage(), e);
@@ -76,6 +125,17 @@ public class TestingSystemCoreExceptionHandler {
                 .body(body);
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusyException(final PasswordHashingBusyException e) {
+        log.warn(e.getMessage());
+        final ErrorResponse body = new ErrorResponse(
+                ErrorCode.PASSWORD_HASHING_BUSY.getDefaultMessage(),
+                ErrorCode.PASSWORD_HASHING_BUSY.getCode()
+        );
+        return ResponseEntity.status(ErrorCode.PASSWORD_HASHING_BUSY.getStatus())
+                .body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(
             final Exception e
@@ -0,0 +1,180 @@
+package ru.viktorgezz.testing_system.config.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.viktorgezz.testing_system.TestApplication;
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.answer_option.repo.AnswerOptionRepo;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.question.Type;
+import ru.viktorgezz.testing_system.domain.question.repo.QuestionRepo;
+import ru.viktorgezz.testing_system.domain.test.Status;
+import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.dto.TestToPassDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
+import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
+import ru.viktorgezz.testing_system.domain.test.service.intrf.TestCommandService;
+import ru.viktorgezz.testing_system.domain.test.service.intrf.TestQueryService;
+import ru.viktorgezz.testing_system.domain.user.User;
+import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.viktorgezz.testing_system.util.CreationModel.*;
+
+/**
+ * Кеши процесса при включенных репликах. «Реплика» — схема {@code replica_lagging} той же базы
+ * со снимком таблиц теста: она отдает контент, каким он был до изменения, как отстающая реплика.
+ */
+@Testcontainers
+@SpringBootTest(classes = TestApplication.class)
+class ReplicaCacheConsistencyIntegrationTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES_CONTAINER =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:18-alpine"));
+
+    private static final String SCHEMA_REPLICA = "replica_lagging";
+    private static final List<String> TABLES_SNAPSHOT = List.of("users", "tests", "questions", "answer_options");
+
+    static {
+        POSTGRES_CONTAINER.start();
+    }
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES_CONTAINER::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES_CONTAINER::getUsername);
+        registry.add("spring.datasource.password", POSTGRES_CONTAINER::getPassword);
+        registry.add("datasource.replicas.enabled", () -> true);
+        registry.add("datasource.replicas.nodes[0].name", () -> "lagging");
+        registry.add("datasource.replicas.nodes[0].url",
+                () -> POSTGRES_CONTAINER.getJdbcUrl() + "&currentSchema=" + SCHEMA_REPLICA);
+        registry.add("datasource.replicas.nodes[0].username", POSTGRES_CONTAINER::getUsername);
+        registry.add("datasource.replicas.nodes[0].password", POSTGRES_CONTAINER::getPassword);
+    }
+
+    @Autowired
+    private TestQueryService testQueryService;
+
+    @Autowired
+    private TestCommandService testCommandService;
+
+    @Autowired
+    private TestRepo testRepo;
+
+    @Autowired
+    private QuestionRepo questionRepo;
+
+    @Autowired
+    private AnswerOptionRepo answerOptionRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    private User author;
+    private User participant;
+    private TestModel test;
+    private Question question;
+    private AnswerOption answerOption;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepo.save(createUserRandom());
+        participant = userRepo.save(createUserRandom());
+        test = testRepo.save(createTest("Replica Test", "Desc", Status.PUBLIC, author));
+        question = questionRepo.save(createQuestionSingleChoice("Question old", BigDecimal.ONE, test));
+        answerOption = answerOptionRepo.save(createAnswerOption("Answer", true, question));
+
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA_REPLICA + " CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA_REPLICA);
+        TABLES_SNAPSHOT.forEach(table ->
+                jdbcTemplate.execute("CREATE TABLE " + SCHEMA_REPLICA + "." + table + " AS TABLE public." + table));
+        replicaRoutingDataSource.checkHealth();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA_REPLICA + " CASCADE");
+        answerOptionRepo.deleteAll();
+        questionRepo.deleteAll();
+        testRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("findTestToPassById: после изменения контента снимок собирается с primary, а не с отстающей реплики")
+    void findTestToPassById_ShouldReturnUpdatedContent_WhenReplicaLags() {
+        authenticate(participant);
+        assertThat(textFirstQuestion(testQueryService.findTestToPassById(test.getId()))).isEqualTo("Question old");
+
+        authenticate(author);
+        testCommandService.updateTestContent(new TestUpdateContentDto(
+                test.getId(),
+                List.of(new TestUpdateContentDto.QuestionDto(
+                        question.getId(),
+                        "Question new",
+                        Type.SINGLE_CHOICE,
+                        BigDecimal.ONE,
+                        null,
+                        List.of(new TestUpdateContentDto.AnswerOptionDto(answerOption.getId(), "Answer", true, null)),
+                        false
+                ))
+        ));
+
+        authenticate(participant);
+        assertThat(textFirstQuestion(testQueryService.findTestToPassById(test.getId()))).isEqualTo("Question new");
+    }
+
+    @Test
+    @DisplayName("read-only транзакция не кладет сущности в кеш второго уровня, пишущая — кладет")
+    void readOnlyTransaction_ShouldNotPutEntitiesIntoSecondLevelCache() {
+        authenticate(participant);
+
+        testQueryService.findById(test.getId());
+        assertThat(entityManagerFactory.getCache().contains(TestModel.class, test.getId())).isFalse();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> testQueryService.findById(test.getId()));
+        assertThat(entityManagerFactory.getCache().contains(TestModel.class, test.getId())).isTrue();
+    }
+
+    private static String textFirstQuestion(TestToPassDto testToPass) {
+        return testToPass.questionsDto().getFirst().text();
+    }
+
+    private static void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+    }
+}
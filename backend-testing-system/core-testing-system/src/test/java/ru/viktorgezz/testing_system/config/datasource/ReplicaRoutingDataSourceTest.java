@@ -0,0 +1,163 @@
+package ru.viktorgezz.testing_system.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.viktorgezz.testing_system.domain.user.User;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static ru.viktorgezz.testing_system.util.CreationModel.createUserRandom;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_MS = 1_000;
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replicaFirst;
+    @Mock
+    private DataSource replicaSecond;
+
+    private final Connection connectionPrimary = mock(Connection.class);
+    private final Connection connectionFirst = mock(Connection.class);
+    private final Connection connectionSecond = mock(Connection.class);
+
+    private ReadYourWritesPinning readYourWritesPinning;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> nameToReplica = new LinkedHashMap<>();
+        nameToReplica.put("first", replicaFirst);
+        nameToReplica.put("second", replicaSecond);
+        readYourWritesPinning = new ReadYourWritesPinning(Duration.ofMinutes(1), 100);
+        routingDataSource = new ReplicaRoutingDataSource(
+                primary, nameToReplica, readYourWritesPinning, MAX_LAG_MS, new SimpleMeterRegistry()
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("getConnection: пишущая транзакция всегда получает соединение primary")
+    void getConnection_ShouldUsePrimary_WhenTransactionIsNotReadOnly() throws SQLException {
+        when(primary.getConnection()).thenReturn(connectionPrimary);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(connectionPrimary);
+    }
+
+    @Test
+    @DisplayName("getConnection: до первой проверки здоровья read-only транзакция читает с primary")
+    void getConnection_ShouldUsePrimary_WhenReplicasNotCheckedYet() throws SQLException {
+        when(primary.getConnection()).thenReturn(connectionPrimary);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(connectionPrimary);
+    }
+
+    @Test
+    @DisplayName("getConnection: read-only транзакции распределяются по кругу между здоровыми репликами")
+    void getConnection_ShouldRoundRobinReplicas_WhenReplicasHealthy() throws SQLException {
+        mockLag(replicaFirst, connectionFirst, 0);
+        mockLag(replicaSecond, connectionSecond, 0);
+        routingDataSource.checkHealth();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(connectionFirst);
+        assertThat(routingDataSource.getConnection()).isSameAs(connectionSecond);
+        assertThat(routingDataSource.getConnection()).isSameAs(connectionFirst);
+    }
+
+    @Test
+    @DisplayName("checkHealth: отстающая реплика не получает чтения")
+    void checkHealth_ShouldExcludeReplica_WhenLagExceedsMax() throws SQLException {
+        mockLag(replicaFirst, connectionFirst, MAX_LAG_MS + 1);
+        mockLag(replicaSecond, connectionSecond, 10);
+        routingDataSource.checkHealth();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.describeReplicas()).containsExactly(Map.entry("first", false), Map.entry("second", true));
+        assertThat(routingDataSource.getConnection()).isSameAs(connectionSecond);
+        assertThat(routingDataSource.getConnection()).isSameAs(connectionSecond);
+    }
+
+    @Test
+    @DisplayName("getConnection: реплика, не выдавшая соединение, помечается нездоровой, чтение уходит в primary")
+    void getConnection_ShouldFailoverToPrimary_WhenReplicaConnectionFails() throws SQLException {
+        mockLag(replicaFirst, connectionFirst, 0);
+        when(replicaSecond.getConnection()).thenThrow(new SQLException("replica is down"));
+        routingDataSource.checkHealth();
+        when(replicaFirst.getConnection()).thenThrow(new SQLException("replica is down"));
+        when(primary.getConnection()).thenReturn(connectionPrimary);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(connectionPrimary);
+        assertThat(routingDataSource.describeReplicas()).containsEntry("first", false);
+    }
+
+    @Test
+    @DisplayName("getConnection: после своей записи пользователь читает с primary")
+    void getConnection_ShouldUsePrimary_WhenCurrentUserPinned() throws SQLException {
+        mockLag(replicaFirst, connectionFirst, 0);
+        mockLag(replicaSecond, connectionSecond, 0);
+        routingDataSource.checkHealth();
+        when(primary.getConnection()).thenReturn(connectionPrimary);
+        authenticate(42L);
+
+        TransactionExecution transactionWriting = mock(TransactionExecution.class);
+        when(transactionWriting.isReadOnly()).thenReturn(false);
+        readYourWritesPinning.afterCommit(transactionWriting, null);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(connectionPrimary);
+
+        authenticate(7L);
+        assertThat(routingDataSource.getConnection()).isSameAs(connectionFirst);
+    }
+
+    private static void mockLag(DataSource replica, Connection connection, double lagMs) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getDouble(1)).thenReturn(lagMs);
+    }
+
+    private static void authenticate(Long idUser) {
+        User user = createUserRandom();
+        user.setId(idUser);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+    }
+}
@@ -0,0 +1,107 @@
+package ru.viktorgezz.testing_system.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.viktorgezz.testing_system.TestApplication;
+import ru.viktorgezz.testing_system.domain.user.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.viktorgezz.testing_system.util.CreationModel.createUserRandom;
+
+/**
+ * Маршрутизация на двух независимых контейнерах PostgreSQL: primary и «реплика» различаются именем базы.
+ */
+@Testcontainers
+@SpringBootTest(classes = TestApplication.class)
+class ReplicaRoutingIntegrationTest {
+
+    private static final PostgreSQLContainer<?> PRIMARY_CONTAINER =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:18-alpine")).withDatabaseName("primary_db");
+    private static final PostgreSQLContainer<?> REPLICA_CONTAINER =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:18-alpine")).withDatabaseName("replica_db");
+
+    private static final String SQL_CURRENT_DATABASE = "SELECT current_database()";
+
+    static {
+        PRIMARY_CONTAINER.start();
+        REPLICA_CONTAINER.start();
+    }
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARY_CONTAINER::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY_CONTAINER::getUsername);
+        registry.add("spring.datasource.password", PRIMARY_CONTAINER::getPassword);
+        registry.add("datasource.replicas.enabled", () -> true);
+        registry.add("datasource.replicas.nodes[0].name", () -> "replica");
+        registry.add("datasource.replicas.nodes[0].url", REPLICA_CONTAINER::getJdbcUrl);
+        registry.add("datasource.replicas.nodes[0].username", REPLICA_CONTAINER::getUsername);
+        registry.add("datasource.replicas.nodes[0].password", REPLICA_CONTAINER::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        replicaRoutingDataSource.checkHealth();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("read-only транзакция читает с реплики, пишущая — с primary")
+    void transaction_ShouldBeRoutedByReadOnlyFlag() {
+        assertThat(currentDatabase(true)).isEqualTo("replica_db");
+        assertThat(currentDatabase(false)).isEqualTo("primary_db");
+    }
+
+    @Test
+    @DisplayName("после своей записи пользователь читает с primary, другой пользователь — с реплики")
+    void readOnlyTransaction_ShouldUsePrimary_WhenUserWroteRecently() {
+        authenticate(1L);
+        currentDatabase(false);
+
+        assertThat(currentDatabase(true)).isEqualTo("primary_db");
+
+        authenticate(2L);
+        assertThat(currentDatabase(true)).isEqualTo("replica_db");
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject(SQL_CURRENT_DATABASE, String.class));
+    }
+
+    private static void authenticate(Long idUser) {
+        User user = createUserRandom();
+        user.setId(idUser);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+    }
+}
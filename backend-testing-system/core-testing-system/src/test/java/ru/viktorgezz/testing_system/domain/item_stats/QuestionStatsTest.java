@@ -0,0 +1,55 @@
+package ru.viktorgezz.testing_system.domain.item_stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("QuestionStats Unit Tests")
+class QuestionStatsTest {
+
+    @Test
+    @DisplayName("calculateDiscrimination: совпадает с корреляцией Пирсона по накопленным суммам")
+    void calculateDiscrimination_ShouldMatchPearsonCorrelation() {
+        QuestionStats questionStats = accumulate(
+                new double[]{10, 8, 4, 2},
+                new boolean[]{true, true, false, false}
+        );
+
+        assertThat(questionStats.calculateDiscrimination()).isCloseTo(6 / Math.sqrt(40), within(1e-9));
+    }
+
+    @Test
+    @DisplayName("calculateDiscrimination: отрицательна, когда верно отвечают слабые участники")
+    void calculateDiscrimination_ShouldBeNegative_WhenWeakParticipantsAnswerCorrectly() {
+        QuestionStats questionStats = accumulate(
+                new double[]{10, 8, 4, 2},
+                new boolean[]{false, false, true, true}
+        );
+
+        assertThat(questionStats.calculateDiscrimination()).isNegative();
+    }
+
+    @Test
+    @DisplayName("calculateDiscrimination: не определена, если все ответили одинаково или баллы равны")
+    void calculateDiscrimination_ShouldBeNull_WhenUndefined() {
+        assertThat(accumulate(new double[]{10, 2}, new boolean[]{true, true}).calculateDiscrimination()).isNull();
+        assertThat(accumulate(new double[]{5, 5}, new boolean[]{true, false}).calculateDiscrimination()).isNull();
+        assertThat(accumulate(new double[]{5}, new boolean[]{true}).calculateDiscrimination()).isNull();
+    }
+
+    private static QuestionStats accumulate(double[] scores, boolean[] corrects) {
+        QuestionStats questionStats = new QuestionStats();
+        for (int i = 0; i < scores.length; i++) {
+            questionStats.setAttempts(questionStats.getAttempts() + 1);
+            questionStats.setSumResultScore(questionStats.getSumResultScore() + scores[i]);
+            questionStats.setSumResultScoreSquared(questionStats.getSumResultScoreSquared() + scores[i] * scores[i]);
+            if (corrects[i]) {
+                questionStats.setCorrectCount(questionStats.getCorrectCount() + 1);
+                questionStats.setSumResultScoreCorrect(questionStats.getSumResultScoreCorrect() + scores[i]);
+            }
+        }
+        return questionStats;
+    }
+}
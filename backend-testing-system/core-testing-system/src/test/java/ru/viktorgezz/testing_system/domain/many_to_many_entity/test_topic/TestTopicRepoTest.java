@@ -0,0 +1,114 @@
+package ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import ru.viktorgezz.testing_system.domain.test.Status;
+import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.dto.TopicFacetDto;
+import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
+import ru.viktorgezz.testing_system.domain.topic.Topic;
+import ru.viktorgezz.testing_system.domain.topic.repo.TopicRepo;
+import ru.viktorgezz.testing_system.domain.user.User;
+import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
+import ru.viktorgezz.testing_system.testconfig.AbstractIntegrationPostgresTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.viktorgezz.testing_system.util.CreationModel.createTest;
+import static ru.viktorgezz.testing_system.util.CreationModel.createTopic;
+import static ru.viktorgezz.testing_system.util.CreationModel.createUserRandom;
+
+@DisplayName("TestTopicRepo Integration Tests")
+class TestTopicRepoTest extends AbstractIntegrationPostgresTest {
+
+    @Autowired
+    private TestTopicRepo testTopicRepo;
+
+    @Autowired
+    private TestRepo testRepo;
+
+    @Autowired
+    private TopicRepo topicRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private User userAuthor;
+    private Topic topicJava;
+    private Topic topicSpring;
+
+    @BeforeEach
+    void setUp() {
+        userAuthor = userRepo.save(createUserRandom());
+        topicJava = topicRepo.save(createTopic("java"));
+        topicSpring = topicRepo.save(createTopic("spring"));
+
+        saveTestWithTopics("Java Web", Status.PUBLIC, topicJava, topicSpring);
+        saveTestWithTopics("Java Core", Status.PUBLIC, topicJava);
+        saveTestWithTopics("Java Hidden", Status.PRIVATE, topicJava, topicSpring);
+        saveTestWithTopics("Python Web", Status.PUBLIC, topicJava, topicSpring);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testRepo.deleteAll();
+        topicRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("findTopicFacetsByTitle: число публичных тестов по темам среди тестов с подходящим названием")
+    void findTopicFacetsByTitle_ShouldCountPublicTestsPerTopic_WhenTitleMatches() {
+        List<TopicFacetDto> facets = testTopicRepo.findTopicFacetsByTitle("java", PageRequest.of(0, 10));
+
+        assertThat(facets).containsExactly(
+                new TopicFacetDto("java", 2L),
+                new TopicFacetDto("spring", 1L)
+        );
+    }
+
+    @Test
+    @DisplayName("findTopicFacetsByTitle: возврат не больше лимита тем, самые частые первыми")
+    void findTopicFacetsByTitle_ShouldReturnMostFrequentTopics_WhenLimitApplied() {
+        List<TopicFacetDto> facets = testTopicRepo.findTopicFacetsByTitle("", PageRequest.of(0, 1));
+
+        assertThat(facets).containsExactly(new TopicFacetDto("java", 3L));
+    }
+
+    @Test
+    @DisplayName("findTopicFacetsByTitleAndTopics: темы считаются только по тестам, подходящим под фильтр тем")
+    void findTopicFacetsByTitleAndTopics_ShouldCountOnlyFilteredTests_WhenTopicsGiven() {
+        List<TopicFacetDto> facets = testTopicRepo.findTopicFacetsByTitleAndTopics(
+                "", List.of(topicSpring.getId()), 1, PageRequest.of(0, 10));
+
+        assertThat(facets).containsExactly(
+                new TopicFacetDto("java", 2L),
+                new TopicFacetDto("spring", 2L)
+        );
+    }
+
+    @Test
+    @DisplayName("findTopicFacetsByTitleAndTopics: для ALL учитываются только тесты со всеми темами фильтра")
+    void findTopicFacetsByTitleAndTopics_ShouldRequireAllTopics_WhenCountTopicsMinIsFilterSize() {
+        List<TopicFacetDto> facets = testTopicRepo.findTopicFacetsByTitleAndTopics(
+                "java", List.of(topicJava.getId(), topicSpring.getId()), 2, PageRequest.of(0, 10));
+
+        assertThat(facets).containsExactly(
+                new TopicFacetDto("java", 1L),
+                new TopicFacetDto("spring", 1L)
+        );
+    }
+
+    private void saveTestWithTopics(String title, Status status, Topic... topics) {
+        TestModel test = createTest(title, "Desc", status, userAuthor);
+        for (Topic topic : topics) {
+            test.addTopic(topic);
+        }
+        testRepo.save(test);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.viktorgezz.testing_system.domain.result;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AttemptSummary Unit Tests")
+class AttemptSummaryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Test
+    @DisplayName("addAttempt: хранит три последние попытки от новых к старым")
+    void addAttempt_ShouldKeepThreeMostRecent_WhenMoreAttemptsAdded() {
+        AttemptSummary summary = new AttemptSummary(new AttemptSummaryId(1L, 2L));
+
+        summary.addAttempt(createAttempt(10L, "3.00", 0));
+        summary.addAttempt(createAttempt(11L, "5.00", 1));
+        summary.addAttempt(createAttempt(13L, "2.00", 3));
+        summary.addAttempt(createAttempt(12L, "4.00", 2));
+
+        assertThat(summary.getAttemptCount()).isEqualTo(4);
+        assertThat(summary.getLastAttempts())
+                .extracting(AttemptSummary.Attempt::idResult)
+                .containsExactly(13L, 12L, 11L);
+        assertThat(summary.getLastCompletedAt()).isEqualTo(START.plusMinutes(3));
+    }
+
+    @Test
+    @DisplayName("addAttempt: лучший балл не уменьшается после слабой попытки")
+    void addAttempt_ShouldKeepBestScore_WhenLaterAttemptIsWorse() {
+        AttemptSummary summary = new AttemptSummary(new AttemptSummaryId(1L, 2L));
+
+        summary.addAttempt(createAttempt(10L, "3.00", 0));
+        summary.addAttempt(createAttempt(11L, "7.50", 1));
+        summary.addAttempt(createAttempt(12L, "1.00", 2));
+
+        assertThat(summary.getBestScore()).isEqualByComparingTo("7.50");
+    }
+
+    @Test
+    @DisplayName("addAttempt: попытки с одинаковым временем упорядочены по ID результата")
+    void addAttempt_ShouldOrderById_WhenCompletedAtIsEqual() {
+        AttemptSummary summary = new AttemptSummary(new AttemptSummaryId(1L, 2L));
+
+        summary.addAttempt(createAttempt(21L, "1.00", 0));
+        summary.addAttempt(createAttempt(20L, "1.00", 0));
+
+        assertThat(summary.getLastAttempts())
+                .extracting(AttemptSummary.Attempt::idResult)
+                .containsExactly(21L, 20L);
+    }
+
+    private static AttemptSummary.Attempt createAttempt(Long idResult, String score, int minutes) {
+        return new AttemptSummary.Attempt(
+                idResult,
+                new BigDecimal(score),
+                BigDecimal.TEN,
+                60,
+                START.plusMinutes(minutes)
+        );
+    }
+}
@@ -0,0 +1,65 @@
+package ru.viktorgezz.testing_system.domain.result.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.viktorgezz.security.JwtAuthenticationFilter;
+import ru.viktorgezz.testing_system.domain.result.service.intrf.ResultCommandService;
+import ru.viktorgezz.testing_system.domain.result.service.intrf.ResultQueryService;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тесты веб-слоя для {@link ResultController}.
+ */
+@WebMvcTest(
+        controllers = ResultController.class,
+        excludeAutoConfiguration = {SecurityAutoConfiguration.class},
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthenticationFilter.class
+        )
+)
+class ResultControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ResultQueryService resultQueryService;
+
+    @MockitoBean
+    private ResultCommandService resultCommandService;
+
+    @Test
+    @DisplayName("GET /results/cursor возвращает 400 с ошибкой параметра при размере страницы 0")
+    void getUserResultsByCursor_sizeZero_returns400() throws Exception {
+        expectSizeRejected("0");
+    }
+
+    @Test
+    @DisplayName("GET /results/cursor возвращает 400 с ошибкой параметра при размере страницы больше 100")
+    void getUserResultsByCursor_sizeAboveMax_returns400() throws Exception {
+        expectSizeRejected("101");
+    }
+
+    private void expectSizeRejected(String size) throws Exception {
+        mockMvc.perform(get("/results/cursor")
+                        .param("size", size)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors[0].field").value("size"));
+
+        verifyNoInteractions(resultQueryService);
+    }
+}
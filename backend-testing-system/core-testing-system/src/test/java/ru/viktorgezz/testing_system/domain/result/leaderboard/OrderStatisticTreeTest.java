@@ -0,0 +1,38 @@
+package ru.viktorgezz.testing_system.domain.result.leaderboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OrderStatisticTree Unit Tests")
+class OrderStatisticTreeTest {
+
+    @Test
+    @DisplayName("add/remove/rank/first: совпадают с отсортированным списком на случайных операциях")
+    void operations_ShouldMatchSortedList_WhenRandomized() {
+        Random random = new Random(42);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(1_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(tree.remove(value)).isEqualTo(expected.remove(value));
+            } else {
+                assertThat(tree.add(value)).isEqualTo(expected.add(value));
+            }
+        }
+
+        List<Integer> sorted = new ArrayList<>(expected);
+        assertThat(tree.size()).isEqualTo(sorted.size());
+        assertThat(tree.first(Integer.MAX_VALUE)).isEqualTo(sorted);
+        assertThat(tree.first(10)).isEqualTo(sorted.subList(0, 10));
+        for (int value = 0; value < 1_000; value += 7) {
+            assertThat(tree.rank(value)).isEqualTo(expected.headSet(value).size());
+            assertThat(tree.contains(value)).isEqualTo(expected.contains(value));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.viktorgezz.testing_system.domain.result.leaderboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TestLeaderboard Unit Tests")
+class TestLeaderboardTest {
+
+    @Test
+    @DisplayName("view: места по баллу, при равном балле выше более быстрая попытка")
+    void view_ShouldOrderByScoreThenTimeSpent() {
+        TestLeaderboard leaderboard = new TestLeaderboard();
+        leaderboard.offer(new LeaderboardEntry(1L, 10L, 500, 300));
+        leaderboard.offer(new LeaderboardEntry(2L, 20L, 900, 300));
+        leaderboard.offer(new LeaderboardEntry(3L, 30L, 500, 120));
+
+        TestLeaderboard.View view = leaderboard.view(2, 10L);
+
+        assertThat(view.top())
+                .extracting(ranked -> ranked.entry().idUser())
+                .containsExactly(20L, 30L);
+        assertThat(view.user().rank()).isEqualTo(3);
+        assertThat(view.countParticipants()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("offer: учитывается только лучшая попытка участника")
+    void offer_ShouldKeepOnlyBestAttemptPerUser() {
+        TestLeaderboard leaderboard = new TestLeaderboard();
+        leaderboard.offer(new LeaderboardEntry(1L, 10L, 500, 300));
+        leaderboard.offer(new LeaderboardEntry(2L, 20L, 700, 300));
+
+        assertThat(leaderboard.offer(new LeaderboardEntry(3L, 10L, 400, 100))).isFalse();
+        assertThat(leaderboard.offer(new LeaderboardEntry(1L, 10L, 500, 300))).isFalse();
+        assertThat(leaderboard.offer(new LeaderboardEntry(4L, 10L, 800, 600))).isTrue();
+
+        TestLeaderboard.View view = leaderboard.view(10, 10L);
+        assertThat(view.countParticipants()).isEqualTo(2);
+        assertThat(view.user().rank()).isEqualTo(1);
+        assertThat(view.user().entry().idResult()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("view: место участника без попыток не определено")
+    void view_ShouldHaveNoUserRank_WhenUserHasNoAttempts() {
+        TestLeaderboard leaderboard = new TestLeaderboard();
+        leaderboard.offer(new LeaderboardEntry(1L, 10L, 500, 300));
+
+        assertThat(leaderboard.view(10, 99L).user()).isNull();
+    }
+}
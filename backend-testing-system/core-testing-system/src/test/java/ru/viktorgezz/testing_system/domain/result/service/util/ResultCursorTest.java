@@ -0,0 +1,34 @@
+package ru.viktorgezz.testing_system.domain.result.service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.viktorgezz.testing_system.exception.BusinessException;
+import ru.viktorgezz.testing_system.exception.ErrorCode;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ResultCursor Unit Tests")
+class ResultCursorTest {
+
+    @Test
+    @DisplayName("decode: восстанавливает закодированный курсор")
+    void decode_ShouldReturnSameCursor_WhenEncoded() {
+        ResultCursor cursor = new ResultCursor(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_000_000), 42L);
+
+        ResultCursor decoded = ResultCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("decode: бросает INVALID_CURSOR для произвольной строки")
+    void decode_ShouldThrowInvalidCursor_WhenMalformed() {
+        assertThatThrownBy(() -> ResultCursor.decode("not a cursor"))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_CURSOR);
+    }
+}
@@ -0,0 +1,186 @@
+package ru.viktorgezz.testing_system.domain.result.service.util;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.question.Type;
+import ru.viktorgezz.testing_system.domain.result.Grade;
+import ru.viktorgezz.testing_system.domain.result.dto.ResultRequestDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.viktorgezz.testing_system.util.CreationModel.*;
+
+@DisplayName("ScoringPlan Unit Tests")
+class ScoringPlanTest {
+
+    @Test
+    @DisplayName("score: частичный балл MULTIPLE_CHOICE округляется как в BigDecimal")
+    void score_ShouldRoundPartialScoreHalfUp_WhenMultipleChoiceWithMistakes() {
+        Question question = createQuestionMultipleChoiceWithAllowMistakes("Q", new BigDecimal("2.00"), null);
+        question.setId(1L);
+        List<AnswerOption> answerOptions = List.of(
+                createAnswerOptionWithId(11L, true, question),
+                createAnswerOptionWithId(12L, true, question),
+                createAnswerOptionWithId(13L, true, question),
+                createAnswerOptionWithId(14L, false, question)
+        );
+        ScoringPlan scoringPlan = ScoringPlan.compile(
+                100L, 0, new BigDecimal("2.00"), List.of(question), Map.of(1L, answerOptions));
+
+        ScoringPlan.Outcome outcome = scoringPlan.score(Map.of(
+                1L, createUserAnswerRequestDtoWithSelectedOptions(List.of(11L, 12L))));
+
+        // 1 ошибка из 3 правильных: 2.00 * (1 - 0.3333) = 1.3334 -> 1.33
+        assertThat(outcome.score()).isEqualByComparingTo("1.33");
+        assertThat(outcome.grade()).isEqualTo(Grade.C); // 1.33 / 2.00 = 66.5%
+        assertThat(outcome.questionOutcomes().getFirst().selectedOptions())
+                .extracting(ScoringPlan.SelectedOption::idAnswerOption)
+                .containsExactly(11L, 12L);
+    }
+
+    @Test
+    @DisplayName("score: OPEN_TEXT сравнивается без учета регистра и пробелов по краям")
+    void score_ShouldAcceptNormalizedText_WhenOpenText() {
+        Question question = createQuestionOpenText("Q", new BigDecimal("3.00"), List.of(" Москва "), null);
+        question.setId(1L);
+        ScoringPlan scoringPlan = ScoringPlan.compile(
+                100L, 0, new BigDecimal("3.00"), List.of(question), Map.of());
+
+        ScoringPlan.Outcome outcome = scoringPlan.score(Map.of(
+                1L, createUserAnswerRequestDtoWithTextAnswer("  МОСКВА")));
+
+        assertThat(outcome.score()).isEqualByComparingTo("3.00");
+        assertThat(outcome.grade()).isEqualTo(Grade.A);
+        assertThat(outcome.questionOutcomes().getFirst().textAnswer()).isEqualTo("москва");
+    }
+
+    @Test
+    @DisplayName("score: выбор чужого варианта ответа приводит к EntityNotFoundException")
+    void score_ShouldThrow_WhenSelectedOptionDoesNotBelongToQuestion() {
+        Question question = createQuestionSingleChoice("Q", BigDecimal.ONE, null);
+        question.setId(1L);
+        ScoringPlan scoringPlan = ScoringPlan.compile(
+                100L, 0, BigDecimal.ONE, List.of(question),
+                Map.of(1L, List.of(createAnswerOptionWithId(11L, true, question))));
+
+        assertThatThrownBy(() -> scoringPlan.score(Map.of(
+                1L, createUserAnswerRequestDtoWithSelectedOptions(List.of(99L)))))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("score: совпадает с прежним алгоритмом на BigDecimal для случайных тестов")
+    void score_ShouldMatchLegacyAlgorithm_WhenRandomTests() {
+        Random random = new Random(42);
+
+        for (int iteration = 0; iteration < 300; iteration++) {
+            long idNext = 1;
+            List<Question> questions = new ArrayList<>();
+            Map<Long, List<AnswerOption>> idQuestionToAnswerOptions = new HashMap<>();
+            Map<Long, ResultRequestDto.UserAnswerRequestDto> idQuestionToUserAnswer = new HashMap<>();
+
+            int countQuestions = 1 + random.nextInt(15);
+            for (int i = 0; i < countQuestions; i++) {
+                Type type = Type.values()[random.nextInt(Type.values().length)];
+                BigDecimal point = BigDecimal.valueOf(1 + random.nextInt(999), 2);
+                Question question = new Question("Q" + i, type);
+                question.setId(idNext++);
+                question.setPoint(point);
+                question.setAllowMistakes(random.nextBoolean());
+
+                if (type == Type.OPEN_TEXT) {
+                    question.setCorrectTextAnswers(List.of("Ответ", " second "));
+                    String written = switch (random.nextInt(3)) {
+                        case 0 -> " ответ";
+                        case 1 -> "SECOND";
+                        default -> "wrong";
+                    };
+                    idQuestionToUserAnswer.put(question.getId(), createUserAnswerRequestDtoWithTextAnswer(written));
+                } else {
+                    int countOptions = 2 + random.nextInt(70);
+                    List<AnswerOption> answerOptions = new ArrayList<>();
+                    List<Long> idsSelected = new ArrayList<>();
+                    for (int j = 0; j < countOptions; j++) {
+                        AnswerOption answerOption = createAnswerOptionWithId(idNext++, j == 0 || random.nextInt(4) == 0, question);
+                        answerOptions.add(answerOption);
+                        if (random.nextInt(3) == 0) {
+                            idsSelected.add(answerOption.getId());
+                        }
+                    }
+                    Collections.shuffle(answerOptions, random);
+                    idQuestionToAnswerOptions.put(question.getId(), answerOptions);
+                    if (random.nextInt(5) != 0) {
+                        idQuestionToUserAnswer.put(question.getId(), createUserAnswerRequestDtoWithSelectedOptions(idsSelected));
+                    }
+                }
+                questions.add(question);
+            }
+
+            BigDecimal scoreMax = questions.stream().map(Question::getPoint).reduce(BigDecimal.ZERO, BigDecimal::add);
+            ScoringPlan.Outcome outcome = ScoringPlan
+                    .compile(1L, 0, scoreMax, questions, idQuestionToAnswerOptions)
+                    .score(idQuestionToUserAnswer);
+            BigDecimal scoreLegacy = calculateLegacyScore(questions, idQuestionToUserAnswer, idQuestionToAnswerOptions);
+
+            assertThat(outcome.score()).isEqualByComparingTo(scoreLegacy);
+            assertThat(outcome.grade()).isEqualTo(Grade.calculateGrade(scoreLegacy, scoreMax));
+        }
+    }
+
+    private static AnswerOption createAnswerOptionWithId(Long id, boolean isCorrect, Question question) {
+        AnswerOption answerOption = createAnswerOption("Option " + id, isCorrect, question);
+        answerOption.setId(id);
+        return answerOption;
+    }
+
+    /**
+     * Прежний алгоритм подсчета на {@link Set} и {@link BigDecimal}, эталон для сравнения.
+     */
+    private static BigDecimal calculateLegacyScore(
+            List<Question> questions,
+            Map<Long, ResultRequestDto.UserAnswerRequestDto> idQuestionToUserAnswer,
+            Map<Long, List<AnswerOption>> idQuestionToAnswerOptions
+    ) {
+        ResultRequestDto.UserAnswerRequestDto answerEmpty = new ResultRequestDto.UserAnswerRequestDto("", List.of());
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (Question question : questions) {
+            ResultRequestDto.UserAnswerRequestDto answer = idQuestionToUserAnswer.getOrDefault(question.getId(), answerEmpty);
+            if (question.getType() == Type.OPEN_TEXT) {
+                String textAnswer = answer.textAnswerWritten().toLowerCase().trim();
+                boolean isCorrect = question.getCorrectTextAnswers().stream()
+                        .map(answerString -> answerString.trim().toLowerCase())
+                        .toList()
+                        .contains(textAnswer);
+                total = total.add(isCorrect ? question.getPoint() : BigDecimal.ZERO);
+                continue;
+            }
+
+            Set<Long> idsSelected = new HashSet<>(answer.idsSelectedAnswerOption());
+            Set<Long> idsCorrect = idQuestionToAnswerOptions.get(question.getId()).stream()
+                    .filter(AnswerOption::isCorrect)
+                    .map(AnswerOption::getId)
+                    .collect(Collectors.toSet());
+            long countErrors = idsCorrect.stream().filter(id -> !idsSelected.contains(id)).count()
+                    + idsSelected.stream().filter(id -> !idsCorrect.contains(id)).count();
+
+            if (countErrors == 0) {
+                total = total.add(question.getPoint());
+            } else if (question.isAllowMistakes() && !idsSelected.isEmpty()) {
+                total = total.add(question.getPoint()
+                        .multiply(BigDecimal.ONE.subtract(
+                                BigDecimal.valueOf(countErrors).divide(BigDecimal.valueOf(idsCorrect.size()), 4, RoundingMode.HALF_UP)))
+                        .setScale(2, RoundingMode.HALF_UP));
+            }
+        }
+        return total;
+    }
+}
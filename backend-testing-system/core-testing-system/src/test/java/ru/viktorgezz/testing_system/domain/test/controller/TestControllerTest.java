@@ -8,11 +8,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import ru.viktorgezz.testing_system.domain.question.Type;
 import ru.viktorgezz.testing_system.domain.test.Status;
+import ru.viktorgezz.testing_system.domain.test.TestMapper;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
 import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataRequestDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestToPassDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
 import ru.viktorgezz.testing_system.domain.result.dto.ResultShortMetadataResponseDto;
+import ru.viktorgezz.testing_system.domain.result.service.intrf.LeaderboardService;
 import ru.viktorgezz.testing_system.domain.result.service.intrf.ResultQueryService;
 import ru.viktorgezz.testing_system.domain.test.service.intrf.TestCommandService;
 import ru.viktorgezz.testing_system.domain.test.service.intrf.TestQueryService;
@@ -28,6 +30,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static ru.viktorgezz.testing_system.util.CreationModel.*;
 
@@ -43,6 +46,9 @@ class TestControllerTest extends AbstractIntegrationControllerTest {
     @MockitoBean
     private ResultQueryService resultQueryService;
 
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
@@ -159,7 +165,7 @@ class TestControllerTest extends AbstractIntegrationControllerTest {
         testModel.setId(50L);
 
         when(testQueryService.findByTitle(any(), any()))
-                .thenReturn(new PageImpl<>(List.of(testModel)));
+                .thenReturn(new PageImpl<>(List.of(TestMapper.toDto(testModel))));
 
         given()
                 .spec(requestSpec)
@@ -244,4 +250,61 @@ class TestControllerTest extends AbstractIntegrationControllerTest {
 
         verify(resultQueryService).findResultLastThreeAttempts(idTest);
     }
+
+    @Test
+    @DisplayName("GET /tests/{id}/leaderboard: 400 с ошибкой параметра при лимите 0")
+    void getLeaderboard_ShouldReturnBadRequest_WhenLimitIsZero() {
+        expectLeaderboardLimitRejected(0);
+    }
+
+    @Test
+    @DisplayName("GET /tests/{id}/leaderboard: 400 с ошибкой параметра при лимите больше 100")
+    void getLeaderboard_ShouldReturnBadRequest_WhenLimitAboveMax() {
+        expectLeaderboardLimitRejected(101);
+    }
+
+    @Test
+    @DisplayName("GET /tests/facets: 400 с ошибкой параметра при лимите 0")
+    void getTopicFacets_ShouldReturnBadRequest_WhenLimitIsZero() {
+        expectFacetsParameterRejected("limit", "0");
+    }
+
+    @Test
+    @DisplayName("GET /tests/facets: 400 с ошибкой параметра при лимите больше 100")
+    void getTopicFacets_ShouldReturnBadRequest_WhenLimitAboveMax() {
+        expectFacetsParameterRejected("limit", "101");
+    }
+
+    @Test
+    @DisplayName("GET /tests/facets: 400 с ошибкой параметра при неизвестном режиме совпадения тем")
+    void getTopicFacets_ShouldReturnBadRequest_WhenTopicMatchUnknown() {
+        expectFacetsParameterRejected("topicMatch", "SOME");
+    }
+
+    private void expectFacetsParameterRejected(String name, String value) {
+        given()
+                .spec(requestSpec)
+                .queryParam(name, value)
+                .when()
+                .get("/tests/facets")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("validationErrors[0].field", equalTo(name));
+
+        verifyNoInteractions(testQueryService);
+    }
+
+    private void expectLeaderboardLimitRejected(int limit) {
+        given()
+                .spec(requestSpec)
+                .pathParam("id", 90L)
+                .queryParam("limit", limit)
+                .when()
+                .get("/tests/{id}/leaderboard")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("validationErrors[0].field", equalTo("limit"));
+
+        verifyNoInteractions(leaderboardService);
+    }
 }
@@ -11,6 +11,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.viktorgezz.testing_system.domain.test.Status;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.topic.Topic;
+import ru.viktorgezz.testing_system.domain.topic.repo.TopicRepo;
 import ru.viktorgezz.testing_system.domain.user.User;
 import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
 import ru.viktorgezz.testing_system.testconfig.AbstractIntegrationPostgresTest;
@@ -19,6 +21,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static ru.viktorgezz.testing_system.util.CreationModel.createTest;
+import static ru.viktorgezz.testing_system.util.CreationModel.createTopic;
 import static ru.viktorgezz.testing_system.util.CreationModel.createUserRandom;
 
 @DisplayName("TestPagingAndSortingRepo Integration Tests")
@@ -33,6 +36,9 @@ class TestPagingAndSortingRepoTest extends AbstractIntegrationPostgresTest {
     @Autowired
     private UserRepo userRepo;
 
+    @Autowired
+    private TopicRepo topicRepo;
+
     private User userAuthor;
 
     @BeforeEach
@@ -43,6 +49,7 @@ class TestPagingAndSortingRepoTest extends AbstractIntegrationPostgresTest {
     @AfterEach
     void tearDown() {
         testRepo.deleteAll();
+        topicRepo.deleteAll();
         userRepo.deleteAll();
     }
 
@@ -86,5 +93,48 @@ class TestPagingAndSortingRepoTest extends AbstractIntegrationPostgresTest {
         assertThat(idsFound).containsExactlyInAnyOrder(testFirst.getId(), testSecond.getId());
         assertThat(pageIds.getTotalElements()).isEqualTo(2);
     }
-}
 
+    @Test
+    @DisplayName("findTestIdsByTitleAndTopics: для ALL возврат публичных тестов со всеми темами фильтра")
+    void findTestIdsByTitleAndTopics_ShouldReturnTestsWithAllTopics_WhenCountTopicsMinIsFilterSize() {
+        Topic topicJava = topicRepo.save(createTopic("java"));
+        Topic topicSpring = topicRepo.save(createTopic("spring"));
+        TestModel testBoth = saveTestWithTopics("Java Web", Status.PUBLIC, topicJava, topicSpring);
+        saveTestWithTopics("Java Core", Status.PUBLIC, topicJava);
+        saveTestWithTopics("Java Hidden", Status.PRIVATE, topicJava, topicSpring);
+        saveTestWithTopics("Python Web", Status.PUBLIC, topicJava, topicSpring);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+
+        Page<Long> pageIds = testPagingAndSortingRepo.findTestIdsByTitleAndTopics(
+                "java", List.of(topicJava.getId(), topicSpring.getId()), 2, pageable);
+
+        assertThat(pageIds.getContent()).containsExactly(testBoth.getId());
+        assertThat(pageIds.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findTestIdsByTitleAndTopics: для ANY возврат публичных тестов хотя бы с одной темой фильтра")
+    void findTestIdsByTitleAndTopics_ShouldReturnTestsWithAnyTopic_WhenCountTopicsMinIsOne() {
+        Topic topicJava = topicRepo.save(createTopic("java"));
+        Topic topicSpring = topicRepo.save(createTopic("spring"));
+        Topic topicSql = topicRepo.save(createTopic("sql"));
+        TestModel testBoth = saveTestWithTopics("Java Web", Status.PUBLIC, topicJava, topicSpring);
+        TestModel testSpring = saveTestWithTopics("Spring Data", Status.PUBLIC, topicSpring);
+        saveTestWithTopics("Databases", Status.PUBLIC, topicSql);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+
+        Page<Long> pageIds = testPagingAndSortingRepo.findTestIdsByTitleAndTopics(
+                "", List.of(topicJava.getId(), topicSpring.getId()), 1, pageable);
+
+        assertThat(pageIds.getContent()).containsExactly(testBoth.getId(), testSpring.getId());
+        assertThat(pageIds.getTotalElements()).isEqualTo(2);
+    }
+
+    private TestModel saveTestWithTopics(String title, Status status, Topic... topics) {
+        TestModel test = createTest(title, "Desc", status, userAuthor);
+        for (Topic topic : topics) {
+            test.addTopic(topic);
+        }
+        return testRepo.save(test);
+    }
+}
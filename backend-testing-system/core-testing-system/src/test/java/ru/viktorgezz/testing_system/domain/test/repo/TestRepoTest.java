@@ -8,16 +8,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic.TestTopicRepo;
 import ru.viktorgezz.testing_system.domain.test.Status;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataResponseDto;
+import ru.viktorgezz.testing_system.domain.topic.Topic;
 import ru.viktorgezz.testing_system.domain.topic.repo.TopicRepo;
 import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
 import ru.viktorgezz.testing_system.testconfig.AbstractIntegrationPostgresTest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static ru.viktorgezz.testing_system.util.CreationModel.createTest;
+import static ru.viktorgezz.testing_system.util.CreationModel.createTopic;
 import static ru.viktorgezz.testing_system.util.CreationModel.createUserRandom;
 
 @DisplayName("TestRepo Integration Test")
@@ -51,19 +56,27 @@ class TestRepoTest extends AbstractIntegrationPostgresTest {
     }
 
     @Test
-    @DisplayName("findAllWithAuthorAndTopicsByIds: возврат тестов по списку id")
-    void findAllWithAuthorAndTopicsByIds_ShouldReturnTestsForSpecifiedIds_WhenTestsExist() {
-        TestModel testFirst = testRepo.save(createTest("Title A", "Desc A", Status.PUBLIC, userRepo.findById(idAuthor).orElseThrow()));
-        TestModel testSecond = testRepo.save(createTest("Title B", "Desc B", Status.PUBLIC, userRepo.findById(idAuthor).orElseThrow()));
-        testRepo.save(createTest("Title C", "Desc C", Status.PUBLIC, userRepo.findById(idAuthor).orElseThrow()));
-
-        List<TestModel> testsFound = testRepo.findAllWithAuthorAndTopicsByIds(List.of(testFirst.getId(), testSecond.getId()));
-
-        assertThat(testsFound).hasSize(2);
-        Set<Long> idsFound = testsFound.stream()
-                .map(TestModel::getId)
-                .collect(java.util.stream.Collectors.toSet());
-        assertThat(idsFound).containsExactlyInAnyOrder(testFirst.getId(), testSecond.getId());
+    @DisplayName("findMetadataByIds: проекция с автором и темами, у теста без тем — пустое множество")
+    void findMetadataByIds_ShouldProjectAuthorAndTopics_WhenTestsExist() {
+        Topic topicJava = topicRepo.save(createTopic("java"));
+        Topic topicSql = topicRepo.save(createTopic("sql"));
+        TestModel testWithTopics = createTest("Title A", "Desc A", Status.PUBLIC, userRepo.findById(idAuthor).orElseThrow());
+        testWithTopics.addTopic(topicJava);
+        testWithTopics.addTopic(topicSql);
+        testRepo.save(testWithTopics);
+        TestModel testWithoutTopics = testRepo.save(createTest("Title B", "Desc B", Status.PRIVATE, userRepo.findById(idAuthor).orElseThrow()));
+
+        Map<Long, TestMetadataResponseDto> idToTest = testRepo.findMetadataByIds(List.of(testWithTopics.getId(), testWithoutTopics.getId()))
+                .stream()
+                .collect(Collectors.toMap(TestMetadataResponseDto::id, Function.identity()));
+
+        assertThat(idToTest).hasSize(2);
+        TestMetadataResponseDto testFirst = idToTest.get(testWithTopics.getId());
+        assertThat(testFirst.title()).isEqualTo("Title A");
+        assertThat(testFirst.status()).isEqualTo(Status.PUBLIC);
+        assertThat(testFirst.author().id()).isEqualTo(idAuthor);
+        assertThat(testFirst.namesTopics()).containsExactlyInAnyOrder("java", "sql");
+        assertThat(idToTest.get(testWithoutTopics.getId()).namesTopics()).isEmpty();
     }
 
     @Test
@@ -0,0 +1,95 @@
+package ru.viktorgezz.testing_system.domain.test.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.viktorgezz.testing_system.domain.test.Status;
+import ru.viktorgezz.testing_system.domain.test.dto.TestTitleDto;
+import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TestTitleIndex Unit Tests")
+class TestTitleIndexTest {
+
+    @Mock
+    private TestRepo testRepo;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TestTitleIndex testTitleIndex;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        testTitleIndex = new TestTitleIndex(testRepo, meterRegistry, true);
+    }
+
+    @Test
+    @DisplayName("findIdsByTitle: пустой Optional, пока индекс не построен")
+    void findIdsByTitle_ShouldReturnEmpty_WhenIndexIsCold() {
+        Optional<Page<Long>> idsPage = testTitleIndex.findIdsByTitle("java", PageRequest.of(0, 10));
+
+        assertThat(idsPage).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findIdsByTitle: ищет подстроку без учета регистра и сортирует по названию")
+    void findIdsByTitle_ShouldMatchSubstringCaseInsensitive_WhenIndexBuilt() {
+        when(testRepo.findAllPublicTitles()).thenReturn(List.of(
+                new TestTitleDto(1L, "Основы Java"),
+                new TestTitleDto(2L, "Алгоритмы"),
+                new TestTitleDto(3L, "Java Streams"),
+                new TestTitleDto(4L, "JavaScript")
+        ));
+        testTitleIndex.rebuild();
+
+        Page<Long> idsPage = testTitleIndex.findIdsByTitle("JAVA", PageRequest.of(0, 2, Sort.by("title")))
+                .orElseThrow();
+
+        assertThat(idsPage.getTotalElements()).isEqualTo(3);
+        assertThat(idsPage.getContent()).containsExactly(3L, 4L);
+        assertThat(testTitleIndex.findIdsByTitle("ja", PageRequest.of(0, 10)).orElseThrow().getContent())
+                .containsExactlyInAnyOrder(1L, 3L, 4L);
+        assertThat(testTitleIndex.findIdsByTitle("python", PageRequest.of(0, 10)).orElseThrow().getContent())
+                .isEmpty();
+        assertThat(meterRegistry.get("search.title_index.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("onTestSaved/onTestDeleted: индекс обновляется точечно")
+    void onTestSaved_ShouldUpdateIndex_WhenTitleOrStatusChanged() {
+        when(testRepo.findAllPublicTitles()).thenReturn(List.of(new TestTitleDto(1L, "Основы Java")));
+        testTitleIndex.rebuild();
+
+        testTitleIndex.onTestSaved(1L, "Основы Kotlin", Status.PUBLIC);
+        testTitleIndex.onTestSaved(2L, "Java Streams", Status.PRIVATE);
+        testTitleIndex.onTestSaved(3L, "Java Core", Status.PUBLIC);
+        testTitleIndex.onTestDeleted(3L);
+
+        assertThat(testTitleIndex.findIdsByTitle("java", PageRequest.of(0, 10)).orElseThrow().getContent()).isEmpty();
+        assertThat(testTitleIndex.findIdsByTitle("kotlin", PageRequest.of(0, 10)).orElseThrow().getContent())
+                .containsExactly(1L);
+        assertThat(testTitleIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findIdsByTitle: пустой Optional для сортировки не по названию")
+    void findIdsByTitle_ShouldReturnEmpty_WhenSortIsNotSupported() {
+        when(testRepo.findAllPublicTitles()).thenReturn(List.of());
+        testTitleIndex.rebuild();
+
+        assertThat(testTitleIndex.findIdsByTitle("java", PageRequest.of(0, 10, Sort.by("id")))).isEmpty();
+    }
+}
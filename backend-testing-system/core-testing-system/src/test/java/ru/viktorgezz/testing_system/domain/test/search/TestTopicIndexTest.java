@@ -0,0 +1,148 @@
+package ru.viktorgezz.testing_system.domain.test.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic.TestTopicRepo;
+import ru.viktorgezz.testing_system.domain.test.Status;
+import ru.viktorgezz.testing_system.domain.test.dto.TestCatalogFilterDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TestCatalogFilterDto.TopicMatch;
+import ru.viktorgezz.testing_system.domain.test.dto.TestTopicLinkDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TopicFacetDto;
+import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
+import ru.viktorgezz.testing_system.domain.topic.Topic;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TestTopicIndex Unit Tests")
+class TestTopicIndexTest {
+
+    private static final PageRequest PAGE_ID_DESC = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"));
+
+    @Mock
+    private TestRepo testRepo;
+    @Mock
+    private TestTopicRepo testTopicRepo;
+
+    private TestTopicIndex testTopicIndex;
+
+    @BeforeEach
+    void setUp() {
+        testTopicIndex = new TestTopicIndex(testRepo, testTopicRepo, new SimpleMeterRegistry(), true);
+    }
+
+    @Test
+    @DisplayName("findIds: пустой Optional, пока индекс не построен")
+    void findIds_ShouldReturnEmpty_WhenIndexIsCold() {
+        Optional<Page<Long>> idsPage = testTopicIndex.findIds(filter(TopicMatch.ALL, "java"), null, PAGE_ID_DESC);
+
+        assertThat(idsPage).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findIds: ALL пересекает, ANY объединяет темы, результат сортируется по ID")
+    void findIds_ShouldIntersectOrUnionTopics_WhenIndexBuilt() {
+        buildIndex();
+
+        assertThat(testTopicIndex.findIds(filter(TopicMatch.ALL, "java", "sql"), null, PAGE_ID_DESC).orElseThrow())
+                .containsExactly(3L, 1L);
+        assertThat(testTopicIndex.findIds(filter(TopicMatch.ANY, "java", "sql"), null, PAGE_ID_DESC).orElseThrow())
+                .containsExactly(4L, 3L, 2L, 1L);
+        assertThat(testTopicIndex.findIds(filter(TopicMatch.ALL, "java", "unknown"), null, PAGE_ID_DESC).orElseThrow())
+                .isEmpty();
+        assertThat(testTopicIndex.findIds(filter(TopicMatch.ANY, "java", "unknown"), null, PAGE_ID_DESC).orElseThrow())
+                .containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    @DisplayName("findIds: пересекается с ID по названию и режет страницу по смещению")
+    void findIds_ShouldIntersectWithTitleMatchesAndPage_WhenTitleGiven() {
+        buildIndex();
+
+        Page<Long> idsPage = testTopicIndex.findIds(
+                filter(TopicMatch.ANY, "java", "sql"), List.of(1L, 3L, 4L, 99L), PageRequest.of(1, 2, Sort.by("id"))
+        ).orElseThrow();
+
+        assertThat(idsPage.getTotalElements()).isEqualTo(3);
+        assertThat(idsPage.getContent()).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("findIds: сортировка не по ID выполняется в БД")
+    void findIds_ShouldReturnEmpty_WhenSortIsNotById() {
+        buildIndex();
+
+        assertThat(testTopicIndex.findIds(filter(TopicMatch.ALL, "java"), null, PageRequest.of(0, 10, Sort.by("title"))))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("findFacets: считает темы среди подходящих тестов по убыванию числа")
+    void findFacets_ShouldCountTopicsWithinFilter_WhenIndexBuilt() {
+        buildIndex();
+
+        assertThat(testTopicIndex.findFacets(filter(TopicMatch.ALL), null, 10).orElseThrow())
+                .containsExactly(
+                        new TopicFacetDto("java", 3L),
+                        new TopicFacetDto("sql", 3L),
+                        new TopicFacetDto("spring", 1L)
+                );
+        assertThat(testTopicIndex.findFacets(filter(TopicMatch.ALL, "sql"), null, 2).orElseThrow())
+                .containsExactly(
+                        new TopicFacetDto("sql", 3L),
+                        new TopicFacetDto("java", 2L)
+                );
+    }
+
+    @Test
+    @DisplayName("onTestSaved: вне транзакции сразу меняет темы теста и удаляет непубличные тесты")
+    void onTestSaved_ShouldReplaceTopics_WhenNoTransaction() {
+        buildIndex();
+
+        testTopicIndex.onTestSaved(2L, Status.PUBLIC, List.of(new Topic(12L, "sql")));
+        testTopicIndex.onTestSaved(3L, Status.PRIVATE, List.of());
+        testTopicIndex.onTestDeleted(5L);
+
+        assertThat(testTopicIndex.findIds(filter(TopicMatch.ALL, "sql"), null, PAGE_ID_DESC).orElseThrow())
+                .containsExactly(4L, 2L, 1L);
+        assertThat(testTopicIndex.findFacets(filter(TopicMatch.ALL), null, 10).orElseThrow())
+                .containsExactly(
+                        new TopicFacetDto("sql", 3L),
+                        new TopicFacetDto("java", 1L)
+                );
+        assertThat(testTopicIndex.countTopics()).isEqualTo(2);
+    }
+
+    /**
+     * java: 1, 2, 3; sql: 1, 3, 4; spring: 5; тест 6 без тем.
+     */
+    private void buildIndex() {
+        when(testRepo.findAllPublicIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+        when(testTopicRepo.findAllPublicLinks()).thenReturn(List.of(
+                new TestTopicLinkDto(1L, 11L, "java"),
+                new TestTopicLinkDto(1L, 12L, "sql"),
+                new TestTopicLinkDto(2L, 11L, "java"),
+                new TestTopicLinkDto(3L, 11L, "java"),
+                new TestTopicLinkDto(3L, 12L, "sql"),
+                new TestTopicLinkDto(4L, 12L, "sql"),
+                new TestTopicLinkDto(5L, 13L, "spring")
+        ));
+        testTopicIndex.rebuild();
+    }
+
+    private static TestCatalogFilterDto filter(TopicMatch topicMatch, String... titlesTopic) {
+        return TestCatalogFilterDto.of(List.of(titlesTopic), topicMatch, null);
+    }
+}
@@ -16,15 +16,20 @@ import ru.viktorgezz.testing_system.domain.question.repo.QuestionRepo;
 import ru.viktorgezz.testing_system.domain.test.Status;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
 import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataRequestDto;
+import ru.viktorgezz.testing_system.domain.test.dto.TestToPassDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
 import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
 import ru.viktorgezz.testing_system.domain.test.service.intrf.TestCommandService;
+import ru.viktorgezz.testing_system.domain.test.service.intrf.TestQueryService;
 import ru.viktorgezz.testing_system.domain.topic.Topic;
 import ru.viktorgezz.testing_system.domain.topic.repo.TopicRepo;
 import ru.viktorgezz.testing_system.domain.user.User;
 import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
 import ru.viktorgezz.testing_system.testconfig.AbstractIntegrationPostgresTest;
 
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -39,6 +44,9 @@ class TestCommandServiceTest extends AbstractIntegrationPostgresTest {
     @Autowired
     private TestCommandService testCommandService;
 
+    @Autowired
+    private TestQueryService testQueryService;
+
     @Autowired
     private TestRepo testRepo;
 
@@ -442,6 +450,30 @@ class TestCommandServiceTest extends AbstractIntegrationPostgresTest {
         );
     }
 
+    @Test
+    @DisplayName("importTestContent: после импорта снимок для прохождения собирается заново")
+    void importTestContent_ShouldEvictTestToPassSnapshot_WhenContentChanged() {
+        TestModel test = testRepo.save(createTest(getRandomString(6), getRandomString(5), Status.PUBLIC, author));
+        Question question = questionRepo.save(createQuestionSingleChoice("Question old", BigDecimal.ONE, test));
+        AnswerOption answerOption = answerOptionRepo.save(createAnswerOption("Answer", true, question));
+        setSecurityContext(author);
+
+        TestToPassDto snapshotOld = testQueryService.findTestToPassById(test.getId());
+
+        String json = """
+                {"idTest": %d, "questions": [
+                  {"idQuestion": %d, "text": "Question new", "type": "SINGLE_CHOICE", "point": 1,
+                   "answerOptions": [{"idAnswerOption": %d, "text": "Answer", "isCorrect": true}]}
+                ]}
+                """.formatted(test.getId(), question.getId(), answerOption.getId());
+        testCommandService.importTestContent(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        TestToPassDto snapshotNew = testQueryService.findTestToPassById(test.getId());
+
+        assertThat(snapshotOld.questionsDto().getFirst().text()).isEqualTo("Question old");
+        assertThat(snapshotNew.questionsDto().getFirst().text()).isEqualTo("Question new");
+    }
+
     /**
      * Ищет вопрос по идентификатору в списке.
      */
@@ -16,6 +16,7 @@ import ru.viktorgezz.testing_system.domain.question.Question;
 import ru.viktorgezz.testing_system.domain.question.repo.QuestionRepo;
 import ru.viktorgezz.testing_system.domain.test.Status;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.dto.TestMetadataResponseDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestToPassDto;
 import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
 import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
@@ -100,26 +101,25 @@ public class TestQueryServiceTest extends AbstractIntegrationPostgresTest {
     void findAllWithAuthorAndTopics_ShouldReturnAllTestsWithRelations() {
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        Page<TestModel> pageActual = testQueryService.findAllWithAuthorAndTopics(pageRequest);
+        Page<TestMetadataResponseDto> pageActual = testQueryService.findAllWithAuthorAndTopics(pageRequest);
 
         assertThat(pageActual.getTotalElements()).isEqualTo(2);
         assertThat(pageActual.getContent()).hasSize(2);
         assertThat(pageActual.getContent())
-                .extracting(TestModel::getId)
+                .extracting(TestMetadataResponseDto::id)
                 .containsExactly(testModelFirst.getId(), testModelSecond.getId());
 
-        TestModel firstTest = pageActual.getContent().getFirst();
-        assertThat(firstTest.getAuthor()).isNotNull();
-        assertThat(firstTest.getAuthor()).isEqualTo(authorFirst);
-        assertThat(firstTest.getTopics())
-                .extracting(Topic::getTitle)
+        TestMetadataResponseDto firstTest = pageActual.getContent().getFirst();
+        assertThat(firstTest.author()).isNotNull();
+        assertThat(firstTest.author().id()).isEqualTo(authorFirst.getId());
+        assertThat(firstTest.author().username()).isEqualTo(authorFirst.getUsername());
+        assertThat(firstTest.namesTopics())
                 .containsExactlyInAnyOrder(topicFirst.getTitle(), topicCommon.getTitle());
 
-        TestModel secondTest = pageActual.getContent().get(1);
-        assertThat(secondTest.getAuthor()).isNotNull();
-        assertThat(secondTest.getAuthor()).isEqualTo(authorFirst);
-        assertThat(secondTest.getTopics())
-                .extracting(Topic::getTitle)
+        TestMetadataResponseDto secondTest = pageActual.getContent().get(1);
+        assertThat(secondTest.author()).isNotNull();
+        assertThat(secondTest.author().id()).isEqualTo(authorFirst.getId());
+        assertThat(secondTest.namesTopics())
                 .containsExactlyInAnyOrder(topicSecond.getTitle(), topicCommon.getTitle());
     }
 
@@ -129,7 +129,7 @@ public class TestQueryServiceTest extends AbstractIntegrationPostgresTest {
         testRepo.deleteAll();
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        Page<TestModel> pageActual = testQueryService.findAllWithAuthorAndTopics(pageRequest);
+        Page<TestMetadataResponseDto> pageActual = testQueryService.findAllWithAuthorAndTopics(pageRequest);
 
         assertThat(pageActual.getTotalElements()).isEqualTo(0);
         assertThat(pageActual.getContent()).isEmpty();
@@ -146,8 +146,8 @@ public class TestQueryServiceTest extends AbstractIntegrationPostgresTest {
         PageRequest pageRequestFirst = PageRequest.of(0, 2);
         PageRequest pageRequestSecond = PageRequest.of(1, 2);
 
-        Page<TestModel> pageFirst = testQueryService.findAllWithAuthorAndTopics(pageRequestFirst);
-        Page<TestModel> pageSecond = testQueryService.findAllWithAuthorAndTopics(pageRequestSecond);
+        Page<TestMetadataResponseDto> pageFirst = testQueryService.findAllWithAuthorAndTopics(pageRequestFirst);
+        Page<TestMetadataResponseDto> pageSecond = testQueryService.findAllWithAuthorAndTopics(pageRequestSecond);
 
         assertThat(pageFirst.getTotalElements()).isEqualTo(3);
         assertThat(pageFirst.getContent()).hasSize(2);
@@ -165,11 +165,11 @@ public class TestQueryServiceTest extends AbstractIntegrationPostgresTest {
         String searchSubstring = titleFirst.substring(0, Math.min(5, titleFirst.length()));
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        Page<TestModel> pageActual = testQueryService.findByTitle(searchSubstring, pageRequest);
+        Page<TestMetadataResponseDto> pageActual = testQueryService.findByTitle(searchSubstring, pageRequest);
 
         assertThat(pageActual.getTotalElements()).isGreaterThanOrEqualTo(1);
         assertThat(pageActual.getContent())
-                .extracting(TestModel::getTitle)
+                .extracting(TestMetadataResponseDto::title)
                 .contains(testModelFirst.getTitle());
     }
 
@@ -178,7 +178,7 @@ public class TestQueryServiceTest extends AbstractIntegrationPostgresTest {
     void findByTitle_ShouldReturnEmptyPage_WhenNoMatches() {
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        Page<TestModel> pageActual = testQueryService.findByTitle("NonExistentTitle12345", pageRequest);
+        Page<TestMetadataResponseDto> pageActual = testQueryService.findByTitle("NonExistentTitle12345", pageRequest);
 
         assertThat(pageActual.getTotalElements()).isEqualTo(0);
         assertThat(pageActual.getContent()).isEmpty();
@@ -192,16 +192,16 @@ public class TestQueryServiceTest extends AbstractIntegrationPostgresTest {
         String titleUpper = titleFirst.toUpperCase();
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        Page<TestModel> pageLower = testQueryService.findByTitle(titleLower, pageRequest);
-        Page<TestModel> pageUpper = testQueryService.findByTitle(titleUpper, pageRequest);
+        Page<TestMetadataResponseDto> pageLower = testQueryService.findByTitle(titleLower, pageRequest);
+        Page<TestMetadataResponseDto> pageUpper = testQueryService.findByTitle(titleUpper, pageRequest);
 
         assertThat(pageLower.getTotalElements()).isGreaterThanOrEqualTo(1);
         assertThat(pageUpper.getTotalElements()).isGreaterThanOrEqualTo(1);
         assertThat(pageLower.getContent())
-                .extracting(TestModel::getTitle)
+                .extracting(TestMetadataResponseDto::title)
                 .contains(testModelFirst.getTitle());
         assertThat(pageUpper.getContent())
-                .extracting(TestModel::getTitle)
+                .extracting(TestMetadataResponseDto::title)
                 .contains(testModelFirst.getTitle());
     }
 
@@ -225,6 +225,26 @@ public class TestQueryServiceTest extends AbstractIntegrationPostgresTest {
                 .isInstanceOf(jakarta.persistence.EntityNotFoundException.class);
     }
 
+    @Test
+    @DisplayName("findMetadataById: возвращает метаданные теста с автором и темами")
+    void findMetadataById_ShouldReturnAuthorAndTopics_WhenTestExists() {
+        TestMetadataResponseDto metadata = testQueryService.findMetadataById(testModelFirst.getId());
+
+        assertThat(metadata.id()).isEqualTo(testModelFirst.getId());
+        assertThat(metadata.title()).isEqualTo(testModelFirst.getTitle());
+        assertThat(metadata.author().id()).isEqualTo(authorFirst.getId());
+        assertThat(metadata.author().username()).isEqualTo(authorFirst.getUsername());
+        assertThat(metadata.namesTopics())
+                .containsExactlyInAnyOrder(topicFirst.getTitle(), topicCommon.getTitle());
+    }
+
+    @Test
+    @DisplayName("findMetadataById: выбрасывает EntityNotFoundException при отсутствии теста")
+    void findMetadataById_ShouldThrowEntityNotFoundException_WhenIdDoesNotExist() {
+        assertThatThrownBy(() -> testQueryService.findMetadataById(999999L))
+                .isInstanceOf(jakarta.persistence.EntityNotFoundException.class);
+    }
+
     @Test
     @DisplayName("findTestToPassById: возвращает DTO теста с вопросами и вариантами ответов")
     void findTestToPassById_ShouldReturnDtoWithQuestionsAndAnswerOptions_WhenTestExists() {
@@ -243,7 +263,24 @@ public class TestQueryServiceTest extends AbstractIntegrationPostgresTest {
         TestToPassDto.QuestionDto questionDto = dto.questionsDto().getFirst();
         assertThat(questionDto.idQuestion()).isEqualTo(questionSaved.getId());
         assertThat(questionDto.answerOptions()).hasSize(2);
-        verify(answerOptionQueryService, times(2)).findAllAnswerOptionByIdsQuestionWithQuestion(List.of(questionSaved.getId()));
+        verify(answerOptionQueryService).findAllAnswerOptionByIdsQuestionWithQuestion(List.of(questionSaved.getId()));
+    }
+
+    @Test
+    @DisplayName("findTestToPassById: повторный запрос отдается из кеша без обращения к БД")
+    void findTestToPassById_ShouldReturnCachedSnapshot_WhenCalledTwice() {
+        TestModel testSaved = testRepo.save(createTest("Test Cached", "Desc", Status.PUBLIC, authorFirst));
+        Question questionSaved = questionRepo.save(createQuestionSingleChoice("Question text", java.math.BigDecimal.ONE, testSaved));
+        AnswerOption answerOption = answerOptionRepo.save(createAnswerOption("Answer", true, questionSaved));
+
+        when(answerOptionQueryService.findAllAnswerOptionByIdsQuestionWithQuestion(anyList()))
+                .thenReturn(List.of(answerOption));
+
+        TestToPassDto dtoFirst = testQueryService.findTestToPassById(testSaved.getId());
+        TestToPassDto dtoSecond = testQueryService.findTestToPassById(testSaved.getId());
+
+        assertThat(dtoSecond).isSameAs(dtoFirst);
+        verify(answerOptionQueryService).findAllAnswerOptionByIdsQuestionWithQuestion(List.of(questionSaved.getId()));
     }
 
     @Test
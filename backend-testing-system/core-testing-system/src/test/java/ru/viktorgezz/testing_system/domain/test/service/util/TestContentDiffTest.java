@@ -0,0 +1,185 @@
+package ru.viktorgezz.testing_system.domain.test.service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.question.Type;
+import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.viktorgezz.testing_system.util.CreationModel.createAnswerOption;
+import static ru.viktorgezz.testing_system.util.CreationModel.createQuestionSingleChoice;
+
+@DisplayName("TestContentDiff Unit Tests")
+class TestContentDiffTest {
+
+    @Test
+    @DisplayName("compute: контент без изменений не дает операций")
+    void compute_ShouldBeEmpty_WhenContentIsUnchanged() {
+        Question question = createQuestionWithId(1L, "Q", "2.00");
+        AnswerOption answerOption = createAnswerOptionWithId(11L, "A", true, question);
+
+        TestContentDiff diff = TestContentDiff.compute(
+                List.of(question),
+                Map.of(1L, List.of(answerOption)),
+                List.of(toDto(question, List.of(toDto(answerOption))))
+        );
+
+        assertThat(diff.isEmpty()).isTrue();
+        assertThat(diff.isPointsChanged()).isFalse();
+    }
+
+    @Test
+    @DisplayName("compute: правка текста вопроса обновляет только его и не меняет баллы")
+    void compute_ShouldUpdateOnlyChangedQuestion_WhenTextIsFixed() {
+        Question questionFixed = createQuestionWithId(1L, "Qestion", "1.00");
+        Question questionSame = createQuestionWithId(2L, "Question", "1.0");
+
+        TestUpdateContentDto.QuestionDto questionFixedDto = new TestUpdateContentDto.QuestionDto(
+                1L, "Question", Type.SINGLE_CHOICE, new BigDecimal("1.00"), List.of(), List.of(), false);
+        TestContentDiff diff = TestContentDiff.compute(
+                List.of(questionFixed, questionSame),
+                Map.of(),
+                List.of(questionFixedDto, toDto(questionSame, List.of()))
+        );
+
+        assertThat(diff.getQuestionsToUpdate())
+                .extracting(TestContentDiff.QuestionChange::question)
+                .containsExactly(questionFixed);
+        assertThat(diff.getQuestionsToCreate()).isEmpty();
+        assertThat(diff.getQuestionsToDelete()).isEmpty();
+        assertThat(diff.isPointsChanged()).isFalse();
+        assertThat(diff.getIdsQuestionScoringChanged()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("compute: смена правильного варианта меняет подсчет вопроса, правка текста варианта — нет")
+    void compute_ShouldMarkScoringChanged_WhenCorrectAnswerOptionChanges() {
+        Question questionRekeyed = createQuestionWithId(1L, "Q1", "1.00");
+        Question questionRetexted = createQuestionWithId(2L, "Q2", "1.00");
+        AnswerOption answerOptionRekeyed = createAnswerOptionWithId(11L, "A", true, questionRekeyed);
+        AnswerOption answerOptionRetexted = createAnswerOptionWithId(21L, "B", true, questionRetexted);
+
+        TestContentDiff diff = TestContentDiff.compute(
+                List.of(questionRekeyed, questionRetexted),
+                Map.of(1L, List.of(answerOptionRekeyed), 2L, List.of(answerOptionRetexted)),
+                List.of(
+                        toDto(questionRekeyed, List.of(new TestUpdateContentDto.AnswerOptionDto(11L, "A", false, null))),
+                        toDto(questionRetexted, List.of(new TestUpdateContentDto.AnswerOptionDto(21L, "B fixed", true, null)))
+                )
+        );
+
+        assertThat(diff.getAnswerOptionsToUpdate()).hasSize(2);
+        assertThat(diff.getIdsQuestionScoringChanged()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("compute: изменение балла требует пересчета максимального балла")
+    void compute_ShouldMarkPointsChanged_WhenPointDiffers() {
+        Question question = createQuestionWithId(1L, "Q", "1.00");
+
+        TestUpdateContentDto.QuestionDto questionDto = new TestUpdateContentDto.QuestionDto(
+                1L, "Q", Type.SINGLE_CHOICE, new BigDecimal("1.50"), List.of(), List.of(), false);
+        TestContentDiff diff = TestContentDiff.compute(List.of(question), Map.of(), List.of(questionDto));
+
+        assertThat(diff.getQuestionsToUpdate()).hasSize(1);
+        assertThat(diff.isPointsChanged()).isTrue();
+        assertThat(diff.getIdsQuestionScoringChanged()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("compute: вопрос без сохраненного балла получает балл без ошибки")
+    void compute_ShouldMarkPointsChanged_WhenStoredPointIsNull() {
+        Question question = createQuestionWithId(1L, "Q", "1.00");
+        question.setPoint(null);
+
+        TestUpdateContentDto.QuestionDto questionDto = new TestUpdateContentDto.QuestionDto(
+                1L, "Q", Type.SINGLE_CHOICE, BigDecimal.ONE, List.of(), List.of(), false);
+        TestContentDiff diff = TestContentDiff.compute(List.of(question), Map.of(), List.of(questionDto));
+
+        assertThat(diff.getQuestionsToUpdate()).hasSize(1);
+        assertThat(diff.isPointsChanged()).isTrue();
+    }
+
+    @Test
+    @DisplayName("compute: варианты и вопросы создаются, изменяются и удаляются по ID")
+    void compute_ShouldSplitChangesById_WhenOptionsAndQuestionsChange() {
+        Question questionKept = createQuestionWithId(1L, "Q1", "1.00");
+        Question questionRemoved = createQuestionWithId(2L, "Q2", "1.00");
+        AnswerOption answerOptionSame = createAnswerOptionWithId(11L, "A", true, questionKept);
+        AnswerOption answerOptionChanged = createAnswerOptionWithId(12L, "B", false, questionKept);
+        AnswerOption answerOptionRemoved = createAnswerOptionWithId(13L, "C", false, questionKept);
+
+        TestUpdateContentDto.AnswerOptionDto answerOptionChangedDto =
+                new TestUpdateContentDto.AnswerOptionDto(12L, "B", true, null);
+        TestUpdateContentDto.AnswerOptionDto answerOptionNewDto =
+                new TestUpdateContentDto.AnswerOptionDto(null, "D", false, null);
+        TestUpdateContentDto.QuestionDto questionNewDto = new TestUpdateContentDto.QuestionDto(
+                null, "Q3", Type.SINGLE_CHOICE, BigDecimal.ONE, null,
+                List.of(new TestUpdateContentDto.AnswerOptionDto(null, "E", true, null)), false);
+
+        TestContentDiff diff = TestContentDiff.compute(
+                List.of(questionKept, questionRemoved),
+                Map.of(1L, List.of(answerOptionSame, answerOptionChanged, answerOptionRemoved)),
+                List.of(
+                        toDto(questionKept, List.of(toDto(answerOptionSame), answerOptionChangedDto, answerOptionNewDto)),
+                        questionNewDto
+                )
+        );
+
+        assertThat(diff.getQuestionsToUpdate()).isEmpty();
+        assertThat(diff.getQuestionsToCreate()).containsExactly(questionNewDto);
+        assertThat(diff.getQuestionsToDelete()).containsExactly(questionRemoved);
+        assertThat(diff.getAnswerOptionsToUpdate())
+                .extracting(TestContentDiff.AnswerOptionChange::answerOption)
+                .containsExactly(answerOptionChanged);
+        assertThat(diff.getAnswerOptionsToCreate())
+                .extracting(TestContentDiff.AnswerOptionCreation::answerOptionDto)
+                .containsExactly(answerOptionNewDto);
+        assertThat(diff.getAnswerOptionsToDelete()).containsExactly(answerOptionRemoved);
+        assertThat(diff.toChanges(0).answerOptionsCreated()).isEqualTo(2);
+        assertThat(diff.isPointsChanged()).isTrue();
+        assertThat(diff.getIdsQuestionScoringChanged()).containsExactly(1L);
+    }
+
+    private static Question createQuestionWithId(Long id, String text, String point) {
+        Question question = createQuestionSingleChoice(text, new BigDecimal(point), null);
+        question.setId(id);
+        return question;
+    }
+
+    private static AnswerOption createAnswerOptionWithId(Long id, String text, boolean isCorrect, Question question) {
+        AnswerOption answerOption = createAnswerOption(text, isCorrect, question);
+        answerOption.setId(id);
+        return answerOption;
+    }
+
+    private static TestUpdateContentDto.QuestionDto toDto(
+            Question question,
+            List<TestUpdateContentDto.AnswerOptionDto> answerOptionDtos
+    ) {
+        return new TestUpdateContentDto.QuestionDto(
+                question.getId(),
+                question.getText(),
+                question.getType(),
+                question.getPoint(),
+                question.getCorrectTextAnswers(),
+                answerOptionDtos,
+                question.isAllowMistakes()
+        );
+    }
+
+    private static TestUpdateContentDto.AnswerOptionDto toDto(AnswerOption answerOption) {
+        return new TestUpdateContentDto.AnswerOptionDto(
+                answerOption.getId(),
+                answerOption.getText(),
+                answerOption.isCorrect(),
+                answerOption.getExplanation()
+        );
+    }
+}
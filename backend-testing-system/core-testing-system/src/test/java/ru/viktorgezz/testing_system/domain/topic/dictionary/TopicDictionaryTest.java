@@ -0,0 +1,61 @@
+package ru.viktorgezz.testing_system.domain.topic.dictionary;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.viktorgezz.testing_system.domain.topic.repo.TopicWriter;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TopicDictionary Unit Tests")
+class TopicDictionaryTest {
+
+    @Mock
+    private TopicWriter topicWriter;
+
+    @Test
+    @DisplayName("onApplicationReady: заполняет словарь всеми темами из БД")
+    void onApplicationReady_ShouldLoadAllTopics_WhenEnabled() {
+        when(topicWriter.findAllIds()).thenReturn(Map.of("java", 1L, "sql", 2L));
+        TopicDictionary topicDictionary = new TopicDictionary(topicWriter, new SimpleMeterRegistry(), true);
+
+        topicDictionary.onApplicationReady();
+
+        assertThat(topicDictionary.size()).isEqualTo(2);
+        assertThat(topicDictionary.findId("java")).isEqualTo(1L);
+        assertThat(topicDictionary.findId("kotlin")).isNull();
+    }
+
+    @Test
+    @DisplayName("onTopicsCreated: вне транзакции добавляет темы сразу и не перезаписывает известные ID")
+    void onTopicsCreated_ShouldAddTopicsKeepingKnownIds_WhenNoTransaction() {
+        TopicDictionary topicDictionary = new TopicDictionary(topicWriter, new SimpleMeterRegistry(), true);
+        topicDictionary.onTopicsFound(Map.of("java", 1L));
+
+        topicDictionary.onTopicsCreated(Map.of("java", 7L, "kotlin", 3L));
+
+        assertThat(topicDictionary.findId("java")).isEqualTo(1L);
+        assertThat(topicDictionary.findId("kotlin")).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("выключенный словарь не читает БД и не запоминает темы")
+    void onTopicsFound_ShouldIgnoreTopics_WhenDisabled() {
+        TopicDictionary topicDictionary = new TopicDictionary(topicWriter, new SimpleMeterRegistry(), false);
+
+        topicDictionary.onApplicationReady();
+        topicDictionary.onTopicsFound(Map.of("java", 1L));
+        topicDictionary.onTopicsCreated(Map.of("sql", 2L));
+
+        assertThat(topicDictionary.size()).isZero();
+        verifyNoInteractions(topicWriter);
+    }
+}
@@ -5,18 +5,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.viktorgezz.testing_system.domain.many_to_many_entity.test_topic.TestTopicRepo;
 import ru.viktorgezz.testing_system.domain.test.Status;
 import ru.viktorgezz.testing_system.domain.test.TestModel;
 import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
 import ru.viktorgezz.testing_system.domain.topic.Topic;
 import ru.viktorgezz.testing_system.domain.topic.repo.TopicRepo;
+import ru.viktorgezz.testing_system.domain.topic.repo.TopicWriter;
 import ru.viktorgezz.testing_system.domain.user.User;
 import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
 import ru.viktorgezz.testing_system.testconfig.AbstractIntegrationPostgresTest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,6 +43,12 @@ public class TopicServiceTest extends AbstractIntegrationPostgresTest {
     private TestRepo testRepo;
     @Autowired
     private TestTopicRepo testTopicRepo;
+    @Autowired
+    private TopicWriter topicWriter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     private Topic topic1;
     private Topic topic2;
@@ -79,6 +92,38 @@ public class TopicServiceTest extends AbstractIntegrationPostgresTest {
         assertThat(titlesResult).containsExactlyInAnyOrder("existing", "new");
     }
 
+    @Test
+    @DisplayName("findOrCreateTopics: возвращает ID, под которыми недостающие темы вставлены в БД")
+    void findOrCreateTopics_ShouldReturnInsertedIds_WhenTopicsMissing() {
+        List<Topic> topicsResult = topicService.findOrCreateTopics(List.of("inserted first", "inserted second"));
+
+        Map<String, Long> titleToIdStored = topicRepo.findAll().stream()
+                .collect(Collectors.toMap(Topic::getTitle, Topic::getId));
+        assertThat(topicsResult).allSatisfy(topic ->
+                assertThat(topic.getId()).isNotNull().isEqualTo(titleToIdStored.get(topic.getTitle())));
+    }
+
+    @Test
+    @DisplayName("findOrCreateTopics: тема, параллельно созданная другой транзакцией, возвращается с ее ID без дубликата")
+    void findOrCreateTopics_ShouldReuseTopic_WhenConcurrentTransactionCreatesSameTitle() throws Exception {
+        CompletableFuture<List<Topic>> topicsFuture = new TransactionTemplate(transactionManager).execute(status -> {
+            topicWriter.insertIfAbsent(List.of("concurrent"));
+            CompletableFuture<List<Topic>> future = CompletableFuture.supplyAsync(() ->
+                    topicService.findOrCreateTopics(List.of("concurrent")));
+            // Вставка второй транзакции ждет коммита этой на уникальном индексе названия
+            awaitTopicInsertBlocked();
+            return future;
+        });
+
+        List<Topic> topicsResult = topicsFuture.get(10, TimeUnit.SECONDS);
+
+        List<Topic> topicsStored = topicRepo.findAll().stream()
+                .filter(topic -> topic.getTitle().equals("concurrent"))
+                .toList();
+        assertThat(topicsStored).hasSize(1);
+        assertThat(topicsResult).extracting(Topic::getId).containsExactly(topicsStored.getFirst().getId());
+    }
+
     @Test
     @DisplayName("saveAll: сохраняет все переданные темы")
     void saveAll_ShouldPersistAllTopics_WhenIterableProvided() {
@@ -93,4 +138,24 @@ public class TopicServiceTest extends AbstractIntegrationPostgresTest {
                 .extracting(Topic::getTitle)
                 .containsExactlyInAnyOrder("bulk1", "bulk2");
     }
+
+    private void awaitTopicInsertBlocked() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer countWaiting = jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM pg_stat_activity
+                    WHERE wait_event_type = 'Lock' AND query LIKE 'INSERT INTO topics%'
+                    """, Integer.class);
+            if (countWaiting != null && countWaiting > 0) {
+                return;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new AssertionError("Concurrent topic insert did not wait for the lock");
+    }
 }
@@ -6,12 +6,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
 import ru.viktorgezz.testing_system.domain.user.User;
 import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
 import ru.viktorgezz.testing_system.domain.user.service.impl.UserCommandServiceImpl;
 import ru.viktorgezz.testing_system.util.CreationModel;
 
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Unit tests for UserCommandServiceImpl")
@@ -53,4 +58,17 @@ class UserCommandServiceImplTest {
 
         verify(repoUser).save(userToSave);
     }
+
+    @Test
+    @DisplayName("updatePassword: сохраняет перехешированный пароль пользователя")
+    void updatePassword_ShouldSaveNewHash_WhenUserExists() {
+        User userExisting = CreationModel.createUserRandom();
+        when(repoUser.findByUsername(userExisting.getUsername())).thenReturn(Optional.of(userExisting));
+        when(repoUser.save(userExisting)).thenReturn(userExisting);
+
+        UserDetails userUpdated = serviceUserCommand.updatePassword(userExisting, "$2a$12$hash");
+
+        assertThat(userUpdated.getPassword()).isEqualTo("$2a$12$hash");
+        verify(repoUser).save(userExisting);
+    }
 }
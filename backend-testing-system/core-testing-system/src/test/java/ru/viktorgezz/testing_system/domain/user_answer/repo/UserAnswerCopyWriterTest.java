@@ -0,0 +1,126 @@
+package ru.viktorgezz.testing_system.domain.user_answer.repo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.viktorgezz.testing_system.domain.answer_option.AnswerOption;
+import ru.viktorgezz.testing_system.domain.answer_option.repo.AnswerOptionRepo;
+import ru.viktorgezz.testing_system.domain.question.Question;
+import ru.viktorgezz.testing_system.domain.question.repo.QuestionRepo;
+import ru.viktorgezz.testing_system.domain.result.Result;
+import ru.viktorgezz.testing_system.domain.result.repo.ResultRepo;
+import ru.viktorgezz.testing_system.domain.test.Status;
+import ru.viktorgezz.testing_system.domain.test.TestModel;
+import ru.viktorgezz.testing_system.domain.test.repo.TestRepo;
+import ru.viktorgezz.testing_system.domain.user.User;
+import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
+import ru.viktorgezz.testing_system.domain.user_answer.UserAnswer;
+import ru.viktorgezz.testing_system.testconfig.AbstractIntegrationPostgresTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.viktorgezz.testing_system.util.CreationModel.*;
+
+@DisplayName("UserAnswerCopyWriter Integration Tests")
+class UserAnswerCopyWriterTest extends AbstractIntegrationPostgresTest {
+
+    private static final int COUNT_ANSWERS = 120;
+
+    @Autowired
+    private UserAnswerCopyWriter userAnswerCopyWriter;
+    @Autowired
+    private UserAnswerRepo userAnswerRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private TestRepo testRepo;
+    @Autowired
+    private QuestionRepo questionRepo;
+    @Autowired
+    private AnswerOptionRepo answerOptionRepo;
+    @Autowired
+    private ResultRepo resultRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Result resultSaved;
+    private Question questionSaved;
+    private AnswerOption answerOptionCorrect;
+
+    @BeforeEach
+    void setUp() {
+        User userParticipant = userRepo.save(createUserRandom());
+        User userAuthor = userRepo.save(createUserRandom());
+
+        TestModel testModel = testRepo.save(createTest("Test", "Desc", Status.PUBLIC, userAuthor));
+        questionSaved = questionRepo.save(createQuestionSingleChoice("Question?", new BigDecimal("5.00"), testModel));
+        answerOptionCorrect = answerOptionRepo.save(createAnswerOption("Answer A", true, questionSaved));
+
+        resultSaved = resultRepo.save(createResultWithTest(userParticipant, testModel, null, null, 60));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userAnswerRepo.deleteAll();
+        answerOptionRepo.deleteAll();
+        questionRepo.deleteAll();
+        resultRepo.deleteAll();
+        testRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("copyAll: записывает ответы через COPY и проставляет уникальные id")
+    void copyAll_ShouldPersistRowsAndAssignIds_WhenManyAnswers() {
+        List<UserAnswer> userAnswers = new ArrayList<>();
+        for (int i = 0; i < COUNT_ANSWERS; i++) {
+            userAnswers.add(i % 2 == 0
+                    ? createUserAnswerForChoiceQuestion(resultSaved, questionSaved, answerOptionCorrect, true)
+                    : createUserAnswerForOpenTextQuestion(resultSaved, questionSaved, "ответ, \"с кавычками\"", false));
+        }
+
+        List<UserAnswer> userAnswersCopied = transactionTemplate.execute(status ->
+                userAnswerCopyWriter.copyAll(userAnswers));
+
+        assertThat(userAnswersCopied).hasSize(COUNT_ANSWERS);
+        assertThat(userAnswersCopied).extracting(UserAnswer::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(userAnswerRepo.count()).isEqualTo(COUNT_ANSWERS);
+
+        List<UserAnswer> userAnswersFound = userAnswerRepo.findAllByIdsQuestionAndResultIdWithQuestionAndAnswerOption(
+                List.of(questionSaved.getId()),
+                resultSaved.getId()
+        );
+        assertThat(userAnswersFound).hasSize(COUNT_ANSWERS);
+        assertThat(userAnswersFound)
+                .filteredOn(userAnswer -> userAnswer.getAnswerOption() == null)
+                .extracting(UserAnswer::getTextAnswer)
+                .containsOnly("ответ, \"с кавычками\"");
+    }
+
+    @Test
+    @DisplayName("copyAll: id не пересекаются с id, выданными Hibernate")
+    void copyAll_ShouldNotCollideWithHibernateIds_WhenMixedWithSave() {
+        UserAnswer userAnswerBefore = userAnswerRepo.save(
+                createUserAnswerForChoiceQuestion(resultSaved, questionSaved, answerOptionCorrect, true));
+
+        List<UserAnswer> userAnswersCopied = transactionTemplate.execute(status ->
+                userAnswerCopyWriter.copyAll(List.of(
+                        createUserAnswerForChoiceQuestion(resultSaved, questionSaved, answerOptionCorrect, true),
+                        createUserAnswerForChoiceQuestion(resultSaved, questionSaved, answerOptionCorrect, false)
+                )));
+
+        UserAnswer userAnswerAfter = userAnswerRepo.save(
+                createUserAnswerForChoiceQuestion(resultSaved, questionSaved, answerOptionCorrect, true));
+
+        assertThat(userAnswersCopied)
+                .extracting(UserAnswer::getId)
+                .doesNotContain(userAnswerBefore.getId(), userAnswerAfter.getId());
+        assertThat(userAnswerRepo.count()).isEqualTo(4);
+    }
+}
@@ -31,7 +31,8 @@ class GroupingUtilTest {
                 List.of(answerOptionFirst, answerOptionSecond),
                 Set.of(answerOptionSecond.getId()),
                 null,
-                questionSingleChoice
+                questionSingleChoice,
+                null
         );
 
         assertThat(userAnswersDto).hasSize(2);
@@ -52,7 +53,8 @@ class GroupingUtilTest {
                 List.of(),
                 Set.of(),
                 "правильный",
-                questionOpenText
+                questionOpenText,
+                TextAnswerMatcher.compile(questionOpenText)
         );
 
         assertThat(userAnswersDto).hasSize(1);
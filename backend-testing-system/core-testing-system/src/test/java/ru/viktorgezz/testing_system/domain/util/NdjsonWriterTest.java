@@ -0,0 +1,85 @@
+package ru.viktorgezz.testing_system.domain.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.viktorgezz.testing_system.domain.result.Grade;
+import ru.viktorgezz.testing_system.domain.result.ResultStatus;
+import ru.viktorgezz.testing_system.domain.result.dto.ResultExportDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("NdjsonWriter Unit Tests")
+class NdjsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("write: каждый объект пишется отдельной строкой без разделителей между ними")
+    void write_ShouldWriteOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream, 100)) {
+            writer.write(createResultExportDto(1L));
+            writer.write(createResultExportDto(2L));
+            assertThat(writer.getCountLines()).isEqualTo(2);
+        }
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{\"id\":1,").contains("\"completedAt\":\"2025-01-02T03:04:05\"");
+        assertThat(lines[1]).startsWith("{\"id\":2,");
+        assertThat(lines[2]).isEmpty();
+        assertThat(objectMapper.readValue(lines[1], ResultExportDto.class)).isEqualTo(createResultExportDto(2L));
+    }
+
+    @Test
+    @DisplayName("write: первая строка сбрасывается сразу, дальше — раз в flushEvery строк")
+    void write_ShouldFlushFirstLineAndThenEveryFlushEveryLines() throws IOException {
+        AtomicInteger countFlushes = new AtomicInteger();
+        OutputStream outputStream = new FilterOutputStream(new ByteArrayOutputStream()) {
+            @Override
+            public void flush() throws IOException {
+                countFlushes.incrementAndGet();
+                super.flush();
+            }
+        };
+
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream, 3)) {
+            writer.write(createResultExportDto(1L));
+            assertThat(countFlushes).hasValue(1);
+
+            writer.write(createResultExportDto(2L));
+            assertThat(countFlushes).hasValue(1);
+
+            writer.write(createResultExportDto(3L));
+            assertThat(countFlushes).hasValue(2);
+        }
+    }
+
+    private static ResultExportDto createResultExportDto(Long id) {
+        return new ResultExportDto(
+                id,
+                10L,
+                "user",
+                ResultStatus.SCORED,
+                new BigDecimal("4.50"),
+                Grade.A,
+                120,
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5)
+        );
+    }
+}
@@ -0,0 +1,83 @@
+package ru.viktorgezz.testing_system.domain.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.viktorgezz.testing_system.domain.question.Type;
+import ru.viktorgezz.testing_system.domain.test.dto.TestUpdateContentDto;
+import ru.viktorgezz.testing_system.exception.BusinessException;
+import ru.viktorgezz.testing_system.exception.ErrorCode;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TestJsonStreamReader Unit Tests")
+class TestJsonStreamReaderTest {
+
+    @Test
+    @DisplayName("readChunk: читает вопросы порциями и игнорирует неизвестные поля")
+    void readChunk_ShouldReadQuestionsInChunks_WhenJsonIsValid() {
+        String json = """
+                {
+                  "title": "ignored",
+                  "idTest": 7,
+                  "questions": [
+                    {"text": "Q1", "type": "single_choice", "point": 1.5,
+                     "answerOptions": [{"text": "A", "isCorrect": true}], "unknown": {"nested": [1, 2]}},
+                    {"idQuestion": 3, "text": "Q2", "type": "OPEN_TEXT", "point": 2, "correctTextAnswer": ["x"]},
+                    {"text": "Q3", "type": "MULTIPLE_CHOICE", "point": 1}
+                  ],
+                  "trailer": [1, 2, 3]
+                }
+                """;
+
+        try (TestJsonStreamReader reader = TestJsonStreamReader.open(toStream(json))) {
+            assertThat(reader.getIdTest()).isEqualTo(7L);
+
+            List<TestUpdateContentDto.QuestionDto> chunkFirst = reader.readChunk(2);
+            assertThat(chunkFirst).extracting(TestUpdateContentDto.QuestionDto::text).containsExactly("Q1", "Q2");
+            assertThat(chunkFirst.getFirst().type()).isEqualTo(Type.SINGLE_CHOICE);
+            assertThat(chunkFirst.getFirst().answerOptions()).hasSize(1);
+            assertThat(chunkFirst.get(1).idQuestion()).isEqualTo(3L);
+
+            assertThat(reader.readChunk(2)).extracting(TestUpdateContentDto.QuestionDto::text).containsExactly("Q3");
+            assertThat(reader.readChunk(2)).isEmpty();
+            assertThat(reader.getCountQuestionsRead()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("open: idTest после questions приводит к INVALID_TEST_IMPORT")
+    void open_ShouldThrow_WhenIdTestFollowsQuestions() {
+        String json = """
+                {"questions": [], "idTest": 7}
+                """;
+
+        assertThatThrownBy(() -> TestJsonStreamReader.open(toStream(json)))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_TEST_IMPORT);
+    }
+
+    @Test
+    @DisplayName("readChunk: некорректный вопрос приводит к INVALID_TEST_IMPORT с индексом вопроса")
+    void readChunk_ShouldThrowWithIndex_WhenQuestionIsMalformed() {
+        String json = """
+                {"idTest": 7, "questions": [{"text": "Q1", "type": "SINGLE_CHOICE", "point": 1}, {"point": "abc"}]}
+                """;
+
+        try (TestJsonStreamReader reader = TestJsonStreamReader.open(toStream(json))) {
+            assertThatThrownBy(() -> reader.readChunk(10))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("questions[1]");
+        }
+    }
+
+    private static InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
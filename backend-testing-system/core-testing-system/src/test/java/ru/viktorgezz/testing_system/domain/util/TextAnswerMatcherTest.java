@@ -0,0 +1,100 @@
+package ru.viktorgezz.testing_system.domain.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TextAnswerMatcher Unit Tests")
+class TextAnswerMatcherTest {
+
+    @Test
+    @DisplayName("normalize: NFKC, регистр, пробелы и ё приводятся к одной форме")
+    void normalize_ShouldUnifyForms_WhenTextDiffers() {
+        assertThat(TextAnswerMatcher.normalize("  Ёлка \t  ЗЕЛЁНАЯ ")).isEqualTo("елка зеленая");
+        assertThat(TextAnswerMatcher.normalize("ＡＢＣ")).isEqualTo("abc");
+        assertThat(TextAnswerMatcher.normalize("Straße")).isEqualTo("strasse");
+    }
+
+    @Test
+    @DisplayName("matches: без допуска принимает только точное совпадение после нормализации")
+    void matches_ShouldRequireExactMatch_WhenToleranceIsZero() {
+        TextAnswerMatcher matcher = TextAnswerMatcher.compile(List.of(" Москва ", "Moscow"), 0);
+
+        assertThat(matcher.matches("МОСКВА")).isTrue();
+        assertThat(matcher.matches("moscow ")).isTrue();
+        assertThat(matcher.matches("Москв")).isFalse();
+        assertThat(matcher.matches(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("matches: допуск принимает опечатки в пределах расстояния и не применяется к коротким ответам")
+    void matches_ShouldAcceptTypos_WhenWithinTolerance() {
+        TextAnswerMatcher matcher = TextAnswerMatcher.compile(List.of("Петербург", "да"), 1);
+
+        assertThat(matcher.matches("Питербург")).isTrue();
+        assertThat(matcher.matches("Петрбург")).isTrue();
+        assertThat(matcher.matches("Питербур")).isFalse();
+        assertThat(matcher.matches("до")).isFalse();
+    }
+
+    @Test
+    @DisplayName("compile: допуск больше максимального обрезается")
+    void compile_ShouldClampTolerance_WhenAboveMax() {
+        TextAnswerMatcher matcher = TextAnswerMatcher.compile(List.of("answer"), 10);
+
+        assertThat(matcher.getTolerance()).isEqualTo(TextAnswerMatcher.TOLERANCE_MAX);
+        assertThat(matcher.matches("answr")).isTrue();
+        assertThat(matcher.matches("ansxyz")).isFalse();
+    }
+
+    @Test
+    @DisplayName("isWithinDistance: совпадает с полным расстоянием Левенштейна на случайных строках")
+    void isWithinDistance_ShouldMatchFullLevenshtein_WhenRandomStrings() {
+        Random random = new Random(42);
+        for (int iteration = 0; iteration < 5_000; iteration++) {
+            int[] source = randomWord(random);
+            int[] target = randomWord(random);
+            int distance = levenshtein(source, target);
+
+            for (int k = 0; k <= TextAnswerMatcher.TOLERANCE_MAX; k++) {
+                assertThat(TextAnswerMatcher.isWithinDistance(source, target, k))
+                        .as("source=%s target=%s k=%d", new String(source, 0, source.length),
+                                new String(target, 0, target.length), k)
+                        .isEqualTo(distance <= k);
+            }
+        }
+    }
+
+    private static int[] randomWord(Random random) {
+        int length = random.nextInt(8);
+        int[] word = new int[length];
+        for (int i = 0; i < length; i++) {
+            word[i] = 'a' + random.nextInt(3);
+        }
+        return word;
+    }
+
+    private static int levenshtein(int[] source, int[] target) {
+        int[][] distances = new int[source.length + 1][target.length + 1];
+        for (int i = 0; i <= source.length; i++) {
+            distances[i][0] = i;
+        }
+        for (int j = 0; j <= target.length; j++) {
+            distances[0][j] = j;
+        }
+        for (int i = 1; i <= source.length; i++) {
+            for (int j = 1; j <= target.length; j++) {
+                int cost = source[i - 1] == target[j - 1] ? 0 : 1;
+                distances[i][j] = Math.min(
+                        distances[i - 1][j - 1] + cost,
+                        Math.min(distances[i - 1][j], distances[i][j - 1]) + 1
+                );
+            }
+        }
+        return distances[source.length][target.length];
+    }
+}
@@ -8,18 +8,12 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.server.LocalServerPort;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import ru.viktorgezz.security.service.JwtService;
 import ru.viktorgezz.testing_system.auth.dto.RegistrationRequest;
 import ru.viktorgezz.testing_system.auth.service.AuthenticationService;
 import ru.viktorgezz.testing_system.domain.user.Role;
 import ru.viktorgezz.testing_system.domain.user.repo.UserRepo;
 
-import java.util.Arrays;
-import java.util.Collection;
-
 /**
  * Базовый класс для API-тестов через RestAssured.
  * Подготавливает окружение: настраивает порт, регистрирует пользователя
@@ -70,25 +64,10 @@ public abstract class AbstractIntegrationControllerTest extends AbstractIntegrat
     }
 
     private void initRequestSpecification() {
-        String token = jwtService.generateAccessToken(new UserDetails() {
-            @Override
-            public Collection<? extends GrantedAuthority> getAuthorities() {
-                return Arrays.stream(Role.values())
-                        .map(role ->
-                                new SimpleGrantedAuthority("ROLE_" + role.name()))
-                        .toList();
-            }
-
-            @Override
-            public String getPassword() {
-                return "password";
-            }
-
-            @Override
-            public String getUsername() {
-                return USERNAME_TEST;
-            }
-        });
+        // Access-токен несет ID и роль пользователя, поэтому выпускается для зарегистрированного пользователя
+        String token = jwtService.generateAccessToken(
+                userRepo.findByUsername(USERNAME_TEST).orElseThrow()
+        );
         requestSpec = new RequestSpecBuilder()
                 .setContentType(ContentType.JSON)
                 .addHeader("Authorization", "Bearer " + token)
@@ -0,0 +1,19 @@
+package ru.viktorgezz.security;
+
+import java.time.Instant;
+
+/**
+ * Проверенные claims access-токена.
+ *
+ * @param idUser    ID пользователя
+ * @param username  имя пользователя (subject)
+ * @param role      роль пользователя без префикса
+ * @param expiresAt момент истечения токена
+ */
+public record AccessTokenClaims(
+        Long idUser,
+        String username,
+        String role,
+        Instant expiresAt
+) {
+}
@@ -10,8 +10,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -29,7 +27,7 @@ import java.io.IOException;
  * 2) Cookie {@code accessToken}
  * 3) Попытка обновления по Cookie {@code refreshToken} с установкой нового access-токена в cookie
  * <p>
- * При успешной валидации формирует {@link UsernamePasswordAuthenticationToken}
+ * При успешной валидации формирует {@link UsernamePasswordAuthenticationToken} с {@link JwtPrincipal}
  * и записывает его в {@link SecurityContextHolder}.
  */
 @Slf4j
@@ -38,7 +36,6 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
 
     @Override
     protected void doFilterInternal(
@@ -55,21 +52,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            final String username = jwtService.extractUsername(tokenAccess);
+            // Единственная проверка токена за запрос: подпись, срок действия и тип
+            final AccessTokenClaims claims = jwtService.verifyAccessToken(tokenAccess);
+            final String username = claims.username();
 
             if (username != null) {
-                final UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // Principal строится из claims без обращения к БД; сущность пользователя загружается только по требованию
+                final JwtPrincipal principal = new JwtPrincipal(claims);
 
-                if (jwtService.validateToken(tokenAccess, userDetails.getUsername())) {
-                    final UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("User '{}' authenticated successfully.", username);
-                }
+                final UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        principal.getAuthorities()
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                log.debug("User '{}' authenticated successfully.", username);
             }
         } catch (TokenExpiredException | InvalidJwtTokenException e) {
             log.debug("{}", e.getMessage());
@@ -0,0 +1,77 @@
+package ru.viktorgezz.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Легковесный principal, построенный из проверенных claims access-токена без обращения к БД.
+ * <p>
+ * Создается заново на каждый запрос, поэтому полная сущность пользователя, загруженная через
+ * {@link #getUser(Function)}, кешируется в пределах одного запроса.
+ * </p>
+ */
+public final class JwtPrincipal implements UserDetails, UserIdentity {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Long id;
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+
+    private volatile Object userLoaded;
+
+    public JwtPrincipal(AccessTokenClaims claims) {
+        this.id = claims.idUser();
+        this.username = claims.username();
+        this.authorities = claims.role() == null
+                ? List.of()
+                : List.of(new SimpleGrantedAuthority(toAuthority(claims.role())));
+    }
+
+    /**
+     * Возвращает полную сущность пользователя, загружая ее при первом обращении.
+     *
+     * @param loader загрузка пользователя по ID
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getUser(Function<Long, T> loader) {
+        Object user = userLoaded;
+        if (user == null) {
+            user = loader.apply(id);
+            userLoaded = user;
+        }
+        return (T) user;
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Пароль в токене не передается.
+     */
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    private static String toAuthority(String role) {
+        return role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role;
+    }
+}
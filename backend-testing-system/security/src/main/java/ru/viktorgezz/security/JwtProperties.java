@@ -18,4 +18,18 @@ public class JwtProperties {
 
     private long refreshExpirationMs;
 
+    /**
+     * Максимальное количество проверенных access-токенов в кеше.
+     */
+    private long verifiedTokenCacheMaximumSize = 10_000;
+
+    /**
+     * Максимальное количество активных refresh-токенов пользователя, более старые удаляются.
+     */
+    private int refreshTokenMaxPerUser = 10;
+
+    private long refreshTokenCacheMaximumSize = 10_000;
+
+    private long refreshTokenCacheTtlSeconds = 60;
+
 }
@@ -9,13 +9,20 @@ import java.util.Date;
 
 /**
  * Сущность для хранения refresh-токенов пользователей.
+ * Токен хранится только в виде SHA-256 ({@link #tokenHash}), поиск идет по уникальному индексу.
  */
 
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "refresh_tokens")
+@Table(
+        name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_username", columnList = "username"),
+                @Index(name = "idx_refresh_tokens_date_expiration", columnList = "date_expiration")
+        }
+)
 public class RefreshToken {
 
     @Id
@@ -25,19 +32,23 @@ public class RefreshToken {
     @Column(name = "username", nullable = false)
     private String username;
 
-    @Column(nullable = false, length = 1024, unique = true)
-    private String token;
+    /**
+     * В маппинге колонка допускает {@code null}: иначе {@code ddl-auto: update} не смог бы добавить ее в таблицу
+     * со строками от схемы до перехода на хеши. {@code NOT NULL} ставит {@link ru.viktorgezz.security.service.RefreshTokenLegacyCleanup}.
+     */
+    @Column(name = "token_hash", length = 64, unique = true)
+    private String tokenHash;
 
-    @Column(nullable = false)
+    @Column(name = "date_expiration", nullable = false)
     private Date dateExpiration;
 
     public RefreshToken(
             String username,
-            String token,
+            String tokenHash,
             Date dateExpiration
     ) {
         this.username = username;
-        this.token = token;
+        this.tokenHash = tokenHash;
         this.dateExpiration = dateExpiration;
     }
 }
@@ -1,10 +1,14 @@
 package ru.viktorgezz.security;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -14,13 +18,105 @@ import java.util.List;
 public interface RefreshTokenRepo extends CrudRepository<RefreshToken, Long> {
 
     @Modifying
-    void deleteByToken(String refreshToken);
+    @Query("DELETE FROM RefreshToken rt WHERE rt.tokenHash = :tokenHash")
+    void deleteByTokenHash(@Param("tokenHash") String tokenHash);
 
-    @Query("SELECT rt FROM RefreshToken rt WHERE rt.username = :username")
-    List<RefreshToken> findRefreshTokensByUsername(String username);
+    /**
+     * Проверяет, что токен с данным хешем принадлежит пользователю. Поиск по уникальному индексу {@code token_hash}.
+     */
+    @Query("""
+            SELECT COUNT(rt) > 0 FROM RefreshToken rt
+            WHERE rt.tokenHash = :tokenHash
+            AND rt.username = :username
+            """)
+    boolean existsByTokenHashAndUsername(@Param("tokenHash") String tokenHash, @Param("username") String username);
 
+    /**
+     * Получить токены пользователя от новых к старым.
+     */
+    @Query("SELECT rt FROM RefreshToken rt WHERE rt.username = :username ORDER BY rt.id DESC")
+    List<RefreshToken> findAllByUsernameNewestFirst(@Param("username") String username);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids")
+    void deleteAllByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Проверяет, осталась ли колонка {@code token} с токенами в открытом виде от схемы до перехода на хеши.
+     */
+    @Query(value = """
+            SELECT EXISTS (
+                SELECT 1 FROM information_schema.columns
+                WHERE table_schema = current_schema()
+                AND table_name = 'refresh_tokens'
+                AND column_name = 'token'
+            )
+            """, nativeQuery = true)
+    boolean existsLegacyTokenColumn();
+
+    /**
+     * Проверяет, допускает ли колонка {@code token_hash} {@code null}: так ее создает {@code ddl-auto}.
+     */
+    @Query(value = """
+            SELECT EXISTS (
+                SELECT 1 FROM information_schema.columns
+                WHERE table_schema = current_schema()
+                AND table_name = 'refresh_tokens'
+                AND column_name = 'token_hash'
+                AND is_nullable = 'YES'
+            )
+            """, nativeQuery = true)
+    boolean isTokenHashNullable();
+
+    /**
+     * Удаляет строки, созданные до перехода на хеши токенов.
+     *
+     * @return количество удаленных строк
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.tokenHash IS NULL")
+    int deleteAllWithoutTokenHash();
+
+    /**
+     * Удаляет колонку {@code token}: токены хранятся только в виде хеша.
+     * Затрагиваемая таблица указана явно, иначе Hibernate сбросил бы весь кеш второго уровня.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "ALTER TABLE refresh_tokens DROP COLUMN IF EXISTS token", nativeQuery = true)
+    void dropLegacyTokenColumn();
+
+    /**
+     * Запрещает {@code null} в {@code token_hash}, когда строк без хеша уже не осталось.
+     * Затрагиваемая таблица указана явно, иначе Hibernate сбросил бы весь кеш второго уровня.
+     */
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.dateExpiration < :dateNow")
-    void deleteExpiredTokens(@Param("dateNow") Date dateNow);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL", nativeQuery = true)
+    void setTokenHashNotNull();
+
+    /**
+     * Удаляет не более {@code batchSize} истекших токенов по индексу {@code idx_refresh_tokens_date_expiration}.
+     * Строки, заблокированные параллельной очисткой, пропускаются. Затрагиваемая таблица указана явно,
+     * иначе Hibernate сбрасывал бы весь кеш второго уровня на каждой порции очистки.
+     *
+     * @return количество удаленных строк
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE date_expiration < :dateNow
+                ORDER BY date_expiration
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteExpiredTokensBatch(@Param("dateNow") Date dateNow, @Param("batchSize") int batchSize);
+
+    @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.dateExpiration < :dateNow")
+    long countExpiredTokens(@Param("dateNow") Date dateNow);
 
 }
@@ -1,6 +1,8 @@
 package ru.viktorgezz.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,7 +14,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
@@ -20,6 +21,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import ru.viktorgezz.security.service.BoundedBCryptPasswordEncoder;
 
 import java.util.List;
 
@@ -29,12 +31,37 @@ import java.util.List;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@Slf4j
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     @Value("${security.origin-fronted}")
     private String originFrontend;
 
+    /**
+     * Стоимость BCrypt, одна на все узлы и перезапуски; подбор под {@code target-hash-ms} только пишется в лог.
+     */
+    @Value("${security.password.bcrypt-strength:12}")
+    private int bcryptStrength;
+
+    @Value("${security.password.target-hash-ms:250}")
+    private long targetHashMs;
+
+    @Value("${security.password.min-strength:10}")
+    private int minStrength;
+
+    @Value("${security.password.max-strength:14}")
+    private int maxStrength;
+
+    @Value("${security.password.concurrency:0}")
+    private int hashConcurrency;
+
+    @Value("${security.password.queue-capacity:200}")
+    private int hashQueueCapacity;
+
+    @Value("${security.password.wait-timeout-ms:5000}")
+    private long hashWaitTimeoutMs;
+
     private static final String[] PUBLIC_URLS = {
             "/auth/login",
             "/auth/register",
@@ -79,8 +106,23 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(final MeterRegistry meterRegistry) {
+        final int strengthCalibrated = BoundedBCryptPasswordEncoder.calibrateStrength(targetHashMs, minStrength, maxStrength);
+        if (strengthCalibrated != bcryptStrength) {
+            log.warn("BCrypt strength {} is configured, {} fits target-hash-ms {} on this machine",
+                    bcryptStrength, strengthCalibrated, targetHashMs);
+        }
+        // По умолчанию под хеширование отдается половина ядер, остальные остаются обычным запросам
+        final int concurrency = hashConcurrency > 0
+                ? hashConcurrency
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedBCryptPasswordEncoder(
+                bcryptStrength,
+                concurrency,
+                hashQueueCapacity,
+                hashWaitTimeoutMs,
+                meterRegistry
+        );
     }
 
     @Bean
@@ -0,0 +1,9 @@
+package ru.viktorgezz.security;
+
+/**
+ * Пользователь, у которого есть ID. По нему ID попадает в claims токенов.
+ */
+public interface UserIdentity {
+
+    Long getId();
+}
@@ -0,0 +1,18 @@
+package ru.viktorgezz.security.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Исключение, выбрасываемое, когда пул хеширования паролей переполнен
+ * или результат не получен за отведенное время ожидания.
+ * <p>
+ * Наследует {@link AuthenticationServiceException}, поэтому при входе не маскируется
+ * под неверные учетные данные.
+ * </p>
+ */
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
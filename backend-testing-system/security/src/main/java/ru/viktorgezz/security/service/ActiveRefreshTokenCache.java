@@ -0,0 +1,54 @@
+package ru.viktorgezz.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.viktorgezz.security.JwtProperties;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Ограниченный кеш недавних успешных проверок refresh-токенов (хеш токена -> имя владельца).
+ * <p>
+ * Хранит только найденные в БД токены. Запись удаляется при отзыве токена ({@code dropRefreshToken})
+ * и при вытеснении старых токенов пользователя. Короткий TTL ограничивает время, в течение которого
+ * другой экземпляр приложения может принять уже отозванный токен.
+ * </p>
+ */
+@Component
+public class ActiveRefreshTokenCache {
+
+    static final String CACHE_NAME = "activeRefreshTokens";
+
+    private final Cache<String, String> cache;
+
+    @Autowired
+    public ActiveRefreshTokenCache(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getRefreshTokenCacheMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(jwtProperties.getRefreshTokenCacheTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isActive(String tokenHash, String username) {
+        return username.equals(cache.getIfPresent(tokenHash));
+    }
+
+    public void putActive(String tokenHash, String username) {
+        cache.put(tokenHash, username);
+    }
+
+    public void invalidate(String tokenHash) {
+        cache.invalidate(tokenHash);
+    }
+
+    public void invalidateAll(Collection<String> tokenHashes) {
+        cache.invalidateAll(tokenHashes);
+    }
+}
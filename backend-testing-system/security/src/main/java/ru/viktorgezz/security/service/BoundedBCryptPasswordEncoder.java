@@ -0,0 +1,173 @@
+package ru.viktorgezz.security.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.viktorgezz.security.exception.PasswordHashingBusyException;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link PasswordEncoder} на BCrypt, который выполняет хеширование на отдельном ограниченном пуле потоков.
+ * <p>
+ * Одновременно считается не больше {@code concurrency} хешей, остальные ждут в ограниченной очереди.
+ * Поток запроса ждет результат не дольше {@code waitTimeoutMs}, после чего получает
+ * {@link PasswordHashingBusyException}. Так массовый вход в начале экзамена не занимает все ядра
+ * и не останавливает остальные запросы к API.
+ * </p>
+ * <p>
+ * {@link #upgradeEncoding(String)} возвращает {@code true}, если стоимость хеша ниже текущей,
+ * и при успешном входе пароль перехешируется через {@code UserDetailsPasswordService}. Хеши с большей
+ * стоимостью не понижаются: иначе узлы с разной стоимостью перехешировали бы пароль при каждом входе.
+ * </p>
+ * Метрики: {@code security.password.hash} (тег {@code operation}), {@code security.password.hash.wait},
+ * {@code security.password.hash.queue}.
+ */
+@Slf4j
+public class BoundedBCryptPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Pattern BCRYPT_STRENGTH = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final long waitTimeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer timerEncode;
+    private final Timer timerMatches;
+    private final Timer timerWait;
+
+    public BoundedBCryptPasswordEncoder(
+            int strength,
+            int concurrency,
+            int queueCapacity,
+            long waitTimeoutMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.executor = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-")
+        );
+
+        this.timerEncode = Timer.builder("security.password.hash")
+                .tag("operation", "encode")
+                .description("Time to compute a password hash")
+                .register(meterRegistry);
+        this.timerMatches = Timer.builder("security.password.hash")
+                .tag("operation", "matches")
+                .description("Time to compute a password hash")
+                .register(meterRegistry);
+        this.timerWait = Timer.builder("security.password.hash.wait")
+                .description("Time a password hash waits in the queue")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Подбирает стоимость BCrypt, при которой один хеш на этой машине считается не дольше целевого времени.
+     * Каждая единица стоимости удваивает время, поэтому достаточно замерить минимальную стоимость.
+     * Результат зависит от машины и ее загрузки, поэтому служит рекомендацией для настройки, а не применяется сам.
+     *
+     * @param targetMs    целевое время одного хеша
+     * @param minStrength минимальная стоимость, ниже которой не опускаемся
+     * @param maxStrength максимальная стоимость
+     */
+    public static int calibrateStrength(long targetMs, int minStrength, int maxStrength) {
+        final BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode(CALIBRATION_PASSWORD);
+
+        long nanosBest = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            final long startedAt = System.nanoTime();
+            probe.encode(CALIBRATION_PASSWORD);
+            nanosBest = Math.min(nanosBest, System.nanoTime() - startedAt);
+        }
+
+        double millis = nanosBest / 1_000_000.0;
+        int strength = minStrength;
+        while (strength < maxStrength && millis * 2 <= targetMs) {
+            millis *= 2;
+            strength++;
+        }
+        log.debug("BCrypt strength calibrated to {} (~{} ms per hash, target {} ms)", strength, Math.round(millis), targetMs);
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(timerEncode, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(timerMatches, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        final Matcher matcher = BCRYPT_STRENGTH.matcher(encodedPassword);
+        if (!matcher.find()) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+        return Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Timer timerHash, Supplier<T> hashing) {
+        final long enqueuedAt = System.nanoTime();
+        final Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                timerWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return timerHash.record(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Password hashing queue is full");
+        }
+
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingBusyException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Password hashing interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
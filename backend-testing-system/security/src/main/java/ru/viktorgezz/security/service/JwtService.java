@@ -1,6 +1,7 @@
 package ru.viktorgezz.security.service;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import ru.viktorgezz.security.AccessTokenClaims;
 
 /**
  * Сервис для управления JSON Web Tokens (JWT).
@@ -35,6 +36,17 @@ public interface JwtService {
      */
     boolean validateToken(String token, String usernameExpected);
 
+    /**
+     * Проверяет подпись, срок действия и тип access-токена и возвращает его claims.
+     * Уже проверенные токены берутся из кеша без повторной проверки подписи.
+     *
+     * @param token Access Token.
+     * @return Проверенные claims токена.
+     * @throws ru.viktorgezz.security.exception.TokenExpiredException если токен просрочен.
+     * @throws ru.viktorgezz.security.exception.InvalidJwtTokenException если токен невалиден или не является access-токеном.
+     */
+    AccessTokenClaims verifyAccessToken(String token);
+
     /**
      * Извлекает имя пользователя (subject) из токена.
      *
@@ -3,6 +3,7 @@ package ru.viktorgezz.security.service;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,16 +11,21 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.viktorgezz.security.AccessTokenClaims;
 import ru.viktorgezz.security.JwtProperties;
 import ru.viktorgezz.security.RefreshToken;
 import ru.viktorgezz.security.RefreshTokenRepo;
+import ru.viktorgezz.security.UserIdentity;
 import ru.viktorgezz.security.exception.InvalidJwtTokenException;
 import ru.viktorgezz.security.exception.TokenExpiredException;
 import ru.viktorgezz.security.util.KeyUtils;
+import ru.viktorgezz.security.util.TokenHashUtils;
 
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,98 +37,144 @@ public class JwtServiceImpl implements JwtService {
 
     private static final String TOKEN_TYPE = "token_type";
     private static final String ROLE = "role";
+    private static final String USER_ID = "user_id";
+    private static final String ACCESS_TOKEN = "ACCESS_TOKEN";
+    private static final String ROLE_PREFIX = "ROLE_";
 
     private final PrivateKey privateKey;
-    private final PublicKey publicKey;
+    private final JwtParser jwtParser;
 
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
 
+    private final int refreshTokenMaxPerUser;
+
     private final RefreshTokenRepo refreshTokenRepo;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ActiveRefreshTokenCache activeRefreshTokenCache;
 
 
     @Autowired
     public JwtServiceImpl(
             RefreshTokenRepo refreshTokenRepo,
+            VerifiedTokenCache verifiedTokenCache,
+            ActiveRefreshTokenCache activeRefreshTokenCache,
             JwtProperties jwtProperties
     ) throws Exception {
         this.refreshTokenRepo = refreshTokenRepo;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.activeRefreshTokenCache = activeRefreshTokenCache;
         this.privateKey = KeyUtils.loadPrivateKey("keys/private_key.pem");
-        this.publicKey = KeyUtils.loadPublicKey("keys/public_key.pem");
+        final PublicKey publicKey = KeyUtils.loadPublicKey("keys/public_key.pem");
+        // JwtParser неизменяем и потокобезопасен: строится один раз, а не на каждую проверку
+        this.jwtParser = Jwts.parser()
+                .verifyWith(publicKey)
+                .build();
         this.accessTokenExpiration = jwtProperties.getAccessExpirationMs();
         this.refreshTokenExpiration = jwtProperties.getRefreshExpirationMs();
+        this.refreshTokenMaxPerUser = jwtProperties.getRefreshTokenMaxPerUser();
     }
 
     public String generateAccessToken(final UserDetails userDetails) {
-        final String role = userDetails
-                .getAuthorities()
-                .stream()
-                .map(GrantedAuthority::getAuthority)
-                .findFirst()
-                .orElseThrow(IllegalArgumentException::new)
-                .replace("Role_", "");
-
+        final String role = extractRole(userDetails);
         final String username = userDetails.getUsername();
+        final Long idUser = extractIdUser(userDetails);
 
         log.debug("Generate acc-token for {} with role: {}", username, role);
-        final Map<String, Object> claims = Map.of(
-                TOKEN_TYPE, "ACCESS_TOKEN",
-                ROLE, role
-        );
-        return buildToken(username, claims, accessTokenExpiration);
+        return generateAccessToken(username, role, idUser);
     }
 
-    private String generateAccessToken(final String username, final String role) {
-        final Map<String, Object> claims = Map.of(
-                TOKEN_TYPE, "ACCESS_TOKEN",
-                ROLE, role
-        );
+    private String generateAccessToken(final String username, final String role, final Long idUser) {
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put(TOKEN_TYPE, ACCESS_TOKEN);
+        claims.put(ROLE, role);
+        if (idUser != null) {
+            claims.put(USER_ID, idUser);
+        }
 
         return buildToken(username, claims, accessTokenExpiration);
     }
 
+    /**
+     * Refresh Token несет роль и ID пользователя, чтобы по нему можно было выпустить access-токен без обращения к БД.
+     * В БД сохраняется только хеш токена. Если у пользователя становится больше
+     * {@code refreshTokenMaxPerUser} токенов, самые старые удаляются.
+     */
     @Transactional
     public String generateRefreshToken(final UserDetails userDetails) {
         final String username = userDetails.getUsername();
+        final Long idUser = extractIdUser(userDetails);
 
-        final Map<String, Object> claims = Map.of(TOKEN_TYPE, "REFRESH_TOKEN");
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put(TOKEN_TYPE, "REFRESH_TOKEN");
+        claims.put(ROLE, extractRole(userDetails));
+        if (idUser != null) {
+            claims.put(USER_ID, idUser);
+        }
         final String refreshToken = buildToken(username, claims, refreshTokenExpiration);
         RefreshToken token = new RefreshToken(
                 username,
-                refreshToken,
+                TokenHashUtils.sha256(refreshToken),
                 new Date(System.currentTimeMillis() + refreshTokenExpiration)
         );
 
         refreshTokenRepo.save(token);
+        evictOldestRefreshTokens(username);
         return refreshToken;
     }
 
     public boolean validateToken(final String token, final String usernameExpected) {
-        final String username = extractUsername(token);
-        return username.equals(usernameExpected) && !isTokenExpired(token);
+        final AccessTokenClaims claims = verifyAccessToken(token);
+        return claims.username().equals(usernameExpected);
+    }
+
+    public AccessTokenClaims verifyAccessToken(final String token) {
+        return verifiedTokenCache.get(token, this::parseAccessToken);
     }
 
     public String extractUsername(String token) {
         return extractClaimsStrict(token).getSubject();
     }
 
+    /**
+     * Выполняется в пишущей транзакции, чтобы проверка отзыва видела последний logout, а не отстающую реплику.
+     */
+    @Transactional
     public String refreshToken(final String refreshToken) {
         final Claims claims = extractClaimsAllowExpired(refreshToken);
         final String username = claims.getSubject();
         final String role = claims.get(ROLE, String.class);
+        final Long idUser = claims.get(USER_ID, Long.class);
 
         if (!"REFRESH_TOKEN".equals(claims.get(TOKEN_TYPE))) {
             throw new InvalidJwtTokenException("Invalid refresh token");
+        } else if (role == null || idUser == null) {
+            // Токены, выпущенные до появления claims роли и ID, требуют повторного входа
+            throw new InvalidJwtTokenException("Outdated refresh token");
         } else if (isExpired(claims) || isRefreshTokenWithdrown(refreshToken, username)) {
             throw new TokenExpiredException("Refresh token expired");
         }
 
-        return generateAccessToken(username, role);
+        return generateAccessToken(username, role, idUser);
     }
 
     @Transactional
     public void dropRefreshToken(final String refreshToken) {
-        refreshTokenRepo.deleteByToken(refreshToken);
+        final String tokenHash = TokenHashUtils.sha256(refreshToken);
+        refreshTokenRepo.deleteByTokenHash(tokenHash);
+        activeRefreshTokenCache.invalidate(tokenHash);
+    }
+
+    private void evictOldestRefreshTokens(final String username) {
+        final List<RefreshToken> tokens = refreshTokenRepo.findAllByUsernameNewestFirst(username);
+        if (tokens.size() <= refreshTokenMaxPerUser) {
+            return;
+        }
+
+        final List<RefreshToken> tokensEvicted = tokens.subList(refreshTokenMaxPerUser, tokens.size());
+        refreshTokenRepo.deleteAllByIds(tokensEvicted.stream().map(RefreshToken::getId).toList());
+        activeRefreshTokenCache.invalidateAll(tokensEvicted.stream().map(RefreshToken::getTokenHash).toList());
+        log.debug("Evicted {} oldest refresh tokens of {}", tokensEvicted.size(), username);
     }
 
     private String buildToken(
@@ -139,8 +191,35 @@ public class JwtServiceImpl implements JwtService {
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return isExpired(extractClaimsStrict(token));
+    private AccessTokenClaims parseAccessToken(String token) {
+        final Claims claims = extractClaimsStrict(token);
+        if (!ACCESS_TOKEN.equals(claims.get(TOKEN_TYPE))) {
+            throw new InvalidJwtTokenException("Invalid access token");
+        }
+        final Long idUser = claims.get(USER_ID, Long.class);
+        if (idUser == null) {
+            throw new InvalidJwtTokenException("Outdated access token");
+        }
+        return new AccessTokenClaims(
+                idUser,
+                claims.getSubject(),
+                claims.get(ROLE, String.class),
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    private String extractRole(final UserDetails userDetails) {
+        return userDetails
+                .getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElseThrow(IllegalArgumentException::new)
+                .replace(ROLE_PREFIX, "");
+    }
+
+    private Long extractIdUser(final UserDetails userDetails) {
+        return userDetails instanceof UserIdentity userIdentity ? userIdentity.getId() : null;
     }
 
     private boolean isExpired(Claims claims) {
@@ -168,9 +247,7 @@ public class JwtServiceImpl implements JwtService {
     }
 
     private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(publicKey)
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -180,13 +257,15 @@ public class JwtServiceImpl implements JwtService {
             return true;
         }
 
-        boolean tokenExists = refreshTokenRepo
-                .findRefreshTokensByUsername(username)
-                .stream()
-                .map(RefreshToken::getToken)
-                .toList()
-                .contains(refreshToken);
+        final String tokenHash = TokenHashUtils.sha256(refreshToken);
+        if (activeRefreshTokenCache.isActive(tokenHash, username)) {
+            return false;
+        }
 
+        final boolean tokenExists = refreshTokenRepo.existsByTokenHashAndUsername(tokenHash, username);
+        if (tokenExists) {
+            activeRefreshTokenCache.putActive(tokenHash, username);
+        }
         return !tokenExists;
     }
 }
@@ -0,0 +1,47 @@
+package ru.viktorgezz.security.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.viktorgezz.security.RefreshTokenRepo;
+
+/**
+ * Удаляет refresh-токены, сохраненные в открытом виде до перехода на хеши, и колонку {@code token} с ними,
+ * затем запрещает {@code null} в {@code token_hash}.
+ * <p>
+ * Такие токены все равно не принимаются: поиск идет только по {@code token_hash}, поэтому их владельцы
+ * входят заново. {@code ddl-auto: update} добавляет {@code token_hash} в таблицу со старыми строками только
+ * как nullable, поэтому {@code NOT NULL} ставится здесь, после удаления строк без хеша. Все делается один раз:
+ * при следующих стартах проверка заканчивается двумя запросами к {@code information_schema}.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RefreshTokenLegacyCleanup {
+
+    private final RefreshTokenRepo refreshTokenRepo;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void dropLegacyTokens() {
+        final boolean isLegacyColumnPresent = refreshTokenRepo.existsLegacyTokenColumn();
+        final boolean isTokenHashNullable = refreshTokenRepo.isTokenHashNullable();
+        if (!isLegacyColumnPresent && !isTokenHashNullable) {
+            return;
+        }
+
+        final int countDeleted = refreshTokenRepo.deleteAllWithoutTokenHash();
+        if (isLegacyColumnPresent) {
+            refreshTokenRepo.dropLegacyTokenColumn();
+        }
+        if (isTokenHashNullable) {
+            refreshTokenRepo.setTokenHashNotNull();
+        }
+        log.info("Deleted {} legacy refresh tokens stored without hash, refresh_tokens.token dropped: {}, token_hash set NOT NULL: {}",
+                countDeleted, isLegacyColumnPresent, isTokenHashNullable);
+    }
+}
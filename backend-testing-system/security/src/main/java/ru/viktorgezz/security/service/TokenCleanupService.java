@@ -1,34 +1,115 @@
 package ru.viktorgezz.security.service;
 
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.viktorgezz.security.RefreshTokenRepo;
 
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Сервис для периодической очистки истекших refresh токенов из базы данных.
+ * <p>
+ * Токены удаляются небольшими пакетами, каждый в отдельной короткой транзакции, с паузой между пакетами.
+ * За один запуск удаляется не больше {@code max-batches-per-run} пакетов. Прерванный запуск ничего не
+ * откатывает, остаток удалит следующий.
+ * </p>
+ * Метрики: {@code security.refresh_tokens.purged}, {@code security.refresh_tokens.purge.batch},
+ * {@code security.refresh_tokens.purge.backlog}.
  */
 @Slf4j
-@RequiredArgsConstructor
 @Service
 public class TokenCleanupService {
 
     private final RefreshTokenRepo refreshTokenRepo;
+    private final TransactionTemplate transactionTemplate;
 
-    @Scheduled(cron = "0 0 3 * * *")
-    @Scheduled(cron = "0 30 12 * * *")
-    @Transactional
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseBetweenBatchesMs;
+
+    private final Counter counterPurged;
+    private final Timer timerBatch;
+    private final AtomicLong backlog = new AtomicLong();
+
+    @Autowired
+    public TokenCleanupService(
+            RefreshTokenRepo refreshTokenRepo,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${security.token-cleanup.batch-size:1000}") int batchSize,
+            @Value("${security.token-cleanup.max-batches-per-run:50}") int maxBatchesPerRun,
+            @Value("${security.token-cleanup.pause-between-batches-ms:100}") long pauseBetweenBatchesMs
+    ) {
+        this.refreshTokenRepo = refreshTokenRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseBetweenBatchesMs = pauseBetweenBatchesMs;
+
+        this.counterPurged = Counter.builder("security.refresh_tokens.purged")
+                .description("Expired refresh tokens deleted")
+                .register(meterRegistry);
+        this.timerBatch = Timer.builder("security.refresh_tokens.purge.batch")
+                .description("Duration of one expired refresh token delete batch")
+                .register(meterRegistry);
+        Gauge.builder("security.refresh_tokens.purge.backlog", backlog, AtomicLong::get)
+                .description("Expired refresh tokens left after the last purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${security.token-cleanup.initial-delay-ms:60000}",
+            fixedDelayString = "${security.token-cleanup.interval-ms:600000}"
+    )
     public void purgeExpiredTokens() {
         try {
-            Date now = new Date();
-            refreshTokenRepo.deleteExpiredTokens(now);
-            log.debug("Purged expired tokens in {}", now);
+            final Date now = new Date();
+            long purged = 0;
+            int batches = 0;
+            int deleted;
+            do {
+                deleted = timerBatch.record(() -> deleteBatch(now));
+                counterPurged.increment(deleted);
+                purged += deleted;
+                batches++;
+            } while (deleted == batchSize && batches < maxBatchesPerRun && pause());
+
+            backlog.set(refreshTokenRepo.countExpiredTokens(now));
+            log.debug("Purged {} expired tokens in {} batches, {} left", purged, batches, backlog.get());
         } catch (Exception e) {
             log.error("Error purging expired tokens {}", e.getMessage(), e);
         }
     }
+
+    private int deleteBatch(Date now) {
+        final Integer deleted = transactionTemplate.execute(
+                status -> refreshTokenRepo.deleteExpiredTokensBatch(now, batchSize)
+        );
+        return deleted == null ? 0 : deleted;
+    }
+
+    /**
+     * Пауза между пакетами, чтобы не занимать БД и не конкурировать со входом пользователей.
+     *
+     * @return {@code false}, если поток прерван и очистку нужно остановить
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseBetweenBatchesMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 }
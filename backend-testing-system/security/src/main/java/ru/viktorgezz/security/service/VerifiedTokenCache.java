@@ -0,0 +1,83 @@
+package ru.viktorgezz.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.viktorgezz.security.AccessTokenClaims;
+import ru.viktorgezz.security.JwtProperties;
+import ru.viktorgezz.security.util.TokenHashUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Ограниченный кеш уже проверенных access-токенов.
+ * <p>
+ * Ключ - SHA-256 токена, сам токен в памяти не хранится. Запись живет ровно до {@code exp} токена,
+ * поэтому повторный запрос с тем же токеном не проверяет RSA-подпись, а просроченный токен из кеша не выдается.
+ * </p>
+ * Метрики: {@code cache.*} с тегом {@code cache=jwtAccessTokens} (hit ratio) и таймер {@code security.jwt.verification}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwtAccessTokens";
+
+    private final Cache<String, AccessTokenClaims> cache;
+    private final Timer timerVerification;
+
+    @Autowired
+    public VerifiedTokenCache(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getVerifiedTokenCacheMaximumSize())
+                .expireAfter(new ExpiryAtTokenExpiration())
+                .recordStats()
+                .build();
+        this.timerVerification = Timer.builder("security.jwt.verification")
+                .description("Time to parse and verify the signature of an access token")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Возвращает claims токена из кеша или проверяет токен и кладет результат в кеш.
+     *
+     * @param token    access-токен
+     * @param verifier полная проверка токена, вызывается при промахе; исключения пробрасываются без кеширования
+     */
+    public AccessTokenClaims get(final String token, final Function<String, AccessTokenClaims> verifier) {
+        final String key = TokenHashUtils.sha256(token);
+        final AccessTokenClaims claimsCached = cache.getIfPresent(key);
+        if (claimsCached != null) {
+            return claimsCached;
+        }
+
+        final AccessTokenClaims claims = timerVerification.record(() -> verifier.apply(token));
+        cache.put(key, claims);
+        return claims;
+    }
+
+    private static final class ExpiryAtTokenExpiration implements Expiry<String, AccessTokenClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, AccessTokenClaims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AccessTokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, AccessTokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.viktorgezz.security.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Утилитный класс для хеширования токенов, чтобы не хранить их в открытом виде.
+ */
+public class TokenHashUtils {
+
+    private TokenHashUtils() {}
+
+    /**
+     * Вычисляет SHA-256 токена.
+     *
+     * @return хеш в шестнадцатеричном виде (64 символа)
+     */
+    public static String sha256(final String token) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
@@ -161,10 +161,10 @@ export const deleteTest = async (testId) => {
  * @returns {Promise<void>}
  */
 export const updateTestContentJson = async (testId, testJson) => {
-  // Парсим JSON и устанавливаем idTest
+  // Парсим JSON и устанавливаем idTest первым полем: сервер читает документ потоком и ждет idTest до questions
   const jsonData = JSON.parse(testJson)
-  jsonData.idTest = testId
-  const jsonString = JSON.stringify(jsonData)
+  delete jsonData.idTest
+  const jsonString = JSON.stringify({ idTest: testId, ...jsonData })
   
   await apiClient.put('/tests/content/json', jsonString, {
     headers: {